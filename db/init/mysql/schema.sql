@@ -923,6 +923,8 @@ INSERT INTO `plugin_handle` VALUES ('1529402613199978551', '5', 'multiRuleHandle
 INSERT INTO `plugin_handle` VALUES ('1529402613199978552', '5', 'headerMaxSize', 'headerMaxSize', 1, 2, 3, '{\"defaultValue\":\"10240\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978553', '5', 'requestMaxSize', 'requestMaxSize', 1, 2, 4, '{\"defaultValue\":\"102400\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978554', '5', 'retryStrategy', 'retryStrategy', 3, 2, 0, '{\"required\":\"0\",\"defaultValue\":\"current\",\"placeholder\":\"retryStrategy\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507024', '5', 'hedgeDelay', 'hedgeDelay', 1, 2, 5, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"hedge delay ms, 0 disabled\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507025', '5', 'hedgePercentile', 'hedgePercentile', 1, 2, 6, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"latency percentile, 0 disabled\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978555', '13', 'upstreamHost', 'host', 2, 1, 0, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978556', '13', 'protocol', 'protocol', 2, 1, 2, '{\"defaultValue\":\"\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978557', '13', 'upstreamUrl', 'ip:port', 2, 1, 1, '{\"required\":\"1\",\"placeholder\":\"\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
@@ -1020,6 +1022,12 @@ INSERT INTO `plugin_handle` VALUES ('1529402613204172865', '30', 'maxIdle', 'max
 INSERT INTO `plugin_handle` VALUES ('1529402613204172866', '30', 'minIdle', 'minIdle', 1, 3, 8, '{\"required\":\"0\",\"defaultValue\":\"0\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613204172867', '30', 'maxActive', 'maxActive', 1, 3, 9, '{\"required\":\"0\",\"defaultValue\":\"8\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613204172868', '30', 'maxWait', 'maxWait', 3, 3, 10, '{\"required\":\"0\",\"defaultValue\":\"-1\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507026', '30', 'maxMemory', 'maxMemory', 1, 3, 11, '{\"required\":\"0\",\"defaultValue\":\"256\",\"placeholder\":\"memory cache size in MB\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507027', '30', 'offHeap', 'offHeap', 3, 3, 12, '{\"required\":\"0\",\"defaultValue\":\"false\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507028', '1', 'streamRequestBody', 'streamRequestBody', 3, 2, 10, '{\"required\":\"0\",\"defaultValue\":\"false\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507029', '1', 'maxPreReadSize', 'maxPreReadSize', 1, 2, 11, '{\"required\":\"0\",\"defaultValue\":\"262144\",\"placeholder\":\"max body bytes verified before proxy\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507030', '19', 'jwksPath', 'jwksPath', 2, 3, 1, '{\"required\":\"0\",\"placeholder\":\"local json web key set file path\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507031', '19', 'claimsCacheSize', 'claimsCacheSize', 1, 3, 2, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"max verified tokens cached, 0 no cache\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 INSERT INTO `plugin_handle` VALUES ('1529402613204172869', '30', 'timeoutSeconds', 'timeoutSeconds', 1, 2, 0, '{\"required\":\"0\",\"defaultValue\":\"60\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613204172870', '13', 'corethreads', 'corethreads', 1, 3, 3, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"corethreads\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613204172871', '13', 'threads', 'threads', 1, 3, 4, '{\"required\":\"0\",\"defaultValue\":\"2147483647\",\"placeholder\":\"threads\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
@@ -1903,6 +1911,13 @@ INSERT INTO `shenyu_dict` VALUES ('1679002911061737474', 'discoveryMode', 'DISCO
 INSERT INTO `shenyu_dict` VALUES ('1679002911061737475', 'discoveryMode', 'DISCOVERY_MODE', 'eureka', '{"eurekaClientRefreshInterval": "10", "eurekaClientRegistryFetchIntervalSeconds": "10"}', 'discoery mode to link eureka', 0, 1,'2023-03-01 10:48:49', '2023-03-01 10:48:49');
 INSERT INTO `shenyu_dict` VALUES ('1679002911061737478', 'rewriteMetaData', 'REWRITE_META_DATA', 'true', 'true', '', 4, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 INSERT INTO `shenyu_dict` VALUES ('1679002911061737479', 'rewriteMetaData', 'REWRITE_META_DATA', 'false', 'false', '', 4, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737480', 'algorithmName', 'ALGORITHM_LOCALTOKENBUCKET', 'localTokenBucket', 'localTokenBucket', 'Local token bucket algorithm', 4, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737481', 'algorithmName', 'ALGORITHM_LOCALSLIDINGWINDOW', 'localSlidingWindow', 'localSlidingWindow', 'Local sliding window algorithm', 5, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737482', 'algorithmName', 'ALGORITHM_TOKENBUCKETLEASE', 'tokenBucketLease', 'tokenBucketLease', 'Token bucket algorithm leasing tokens to nodes', 6, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737483', 'offHeap', 'OFF_HEAP', 'true', 'true', '', 1, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737484', 'offHeap', 'OFF_HEAP', 'false', 'false', '', 0, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737485', 'streamRequestBody', 'STREAM_REQUEST_BODY', 'true', 'true', '', 1, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737486', 'streamRequestBody', 'STREAM_REQUEST_BODY', 'false', 'false', '', 0, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 
 -- ----------------------------
 -- Table structure for user_role
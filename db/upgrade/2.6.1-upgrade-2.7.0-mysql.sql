@@ -18,6 +18,21 @@
 INSERT INTO `plugin_handle` VALUES ('1722804548510507021', '14', 'rewriteContextPath', 'rewriteContextPath', 2, 2, 2, '{"required":"0","defaultValue":""}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 INSERT INTO `plugin_handle` VALUES ('1722804548510507022', '14', 'percentage', 'percentage', 1, 2, 3, '{"required":"1","defaultValue":"100"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 INSERT INTO `plugin_handle` VALUES ('1722804548510507023', '3', 'rewriteMetaData', 'rewriteMetaData', 3, 2, 3, '{"required":"1","defaultValue":"false"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507024', '5', 'hedgeDelay', 'hedgeDelay', 1, 2, 5, '{"required":"0","defaultValue":"0","placeholder":"hedge delay ms, 0 disabled","rule":""}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507025', '5', 'hedgePercentile', 'hedgePercentile', 1, 2, 6, '{"required":"0","defaultValue":"0","placeholder":"latency percentile, 0 disabled","rule":""}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507026', '30', 'maxMemory', 'maxMemory', 1, 3, 11, '{\"required\":\"0\",\"defaultValue\":\"256\",\"placeholder\":\"memory cache size in MB\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507027', '30', 'offHeap', 'offHeap', 3, 3, 12, '{\"required\":\"0\",\"defaultValue\":\"false\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507028', '1', 'streamRequestBody', 'streamRequestBody', 3, 2, 10, '{\"required\":\"0\",\"defaultValue\":\"false\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507029', '1', 'maxPreReadSize', 'maxPreReadSize', 1, 2, 11, '{\"required\":\"0\",\"defaultValue\":\"262144\",\"placeholder\":\"max body bytes verified before proxy\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507030', '19', 'jwksPath', 'jwksPath', 2, 3, 1, '{\"required\":\"0\",\"placeholder\":\"local json web key set file path\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `plugin_handle` VALUES ('1722804548510507031', '19', 'claimsCacheSize', 'claimsCacheSize', 1, 3, 2, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"max verified tokens cached, 0 no cache\",\"rule\":\"\"}', '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 
 INSERT INTO `shenyu_dict` VALUES ('1679002911061737478', 'rewriteMetaData', 'REWRITE_META_DATA', 'true', 'true', '', 4, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 INSERT INTO `shenyu_dict` VALUES ('1679002911061737479', 'rewriteMetaData', 'REWRITE_META_DATA', 'false', 'false', '', 4, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737480', 'algorithmName', 'ALGORITHM_LOCALTOKENBUCKET', 'localTokenBucket', 'localTokenBucket', 'Local token bucket algorithm', 4, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737481', 'algorithmName', 'ALGORITHM_LOCALSLIDINGWINDOW', 'localSlidingWindow', 'localSlidingWindow', 'Local sliding window algorithm', 5, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737482', 'algorithmName', 'ALGORITHM_TOKENBUCKETLEASE', 'tokenBucketLease', 'tokenBucketLease', 'Token bucket algorithm leasing tokens to nodes', 6, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737483', 'offHeap', 'OFF_HEAP', 'true', 'true', '', 1, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737484', 'offHeap', 'OFF_HEAP', 'false', 'false', '', 0, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737485', 'streamRequestBody', 'STREAM_REQUEST_BODY', 'true', 'true', '', 1, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737486', 'streamRequestBody', 'STREAM_REQUEST_BODY', 'false', 'false', '', 0, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
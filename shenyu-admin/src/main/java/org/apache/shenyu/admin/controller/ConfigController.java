@@ -18,6 +18,7 @@
 package org.apache.shenyu.admin.controller;
 
 import com.google.common.collect.Maps;
+import org.apache.shenyu.admin.listener.http.ConfigDeltaData;
 import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.model.result.ShenyuAdminResult;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
@@ -26,6 +27,7 @@ import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
@@ -62,6 +64,22 @@ public class ConfigController {
         return ShenyuAdminResult.success(ShenyuResultMessage.SUCCESS, result);
     }
     
+    /**
+     * Fetch the changes of a config group since the version of the client.
+     *
+     * @param groupKey the group key
+     * @param version  the version of the client, negative if unknown
+     * @param md5      the md5 of the client
+     * @return the shenyu result
+     */
+    @GetMapping("/delta")
+    public ShenyuAdminResult fetchDelta(@NotNull final String groupKey,
+                                        @RequestParam(defaultValue = "-1") final long version,
+                                        @NotNull final String md5) {
+        ConfigDeltaData data = longPollingListener.fetchDelta(ConfigGroupEnum.valueOf(groupKey), version, md5);
+        return ShenyuAdminResult.success(ShenyuResultMessage.SUCCESS, data);
+    }
+    
     /**
      * Listener.
      *
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.http;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.admin.listener.ConfigDataCache;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The bounded change log of every config group, so the client can fetch the changes since its version
+ * instead of the whole group.
+ * every change records the md5 of the group after it, a client is only served the changes after the
+ * version whose md5 is the same as the client's, otherwise it has to fetch the whole group.
+ */
+public class ConfigChangeLog {
+
+    private final int capacity;
+
+    private final Map<ConfigGroupEnum, GroupLog> logs = new EnumMap<>(ConfigGroupEnum.class);
+
+    /**
+     * Instantiates a new Config change log.
+     *
+     * @param capacity the max changes kept of every group
+     */
+    public ConfigChangeLog(final int capacity) {
+        this.capacity = capacity;
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            logs.put(group, new GroupLog());
+        }
+    }
+
+    /**
+     * Append a change of the group.
+     * the refresh events can not be described as a delta, so the log of the group is reset.
+     *
+     * @param group     the group
+     * @param eventType the event type
+     * @param changed   the changed data
+     * @param cache     the cache of the group after the change
+     */
+    public void append(final ConfigGroupEnum group, final DataEventTypeEnum eventType, final List<?> changed, final ConfigDataCache cache) {
+        GroupLog log = logs.get(group);
+        synchronized (log) {
+            if (DataEventTypeEnum.REFRESH == eventType || DataEventTypeEnum.MYSELF == eventType || capacity <= 0) {
+                log.reset(cache.getMd5());
+                return;
+            }
+            log.version++;
+            log.changes.addLast(new ConfigDeltaData.Change(log.version, cache.getMd5(), eventType, changed));
+            while (log.changes.size() > capacity) {
+                ConfigDeltaData.Change evicted = log.changes.removeFirst();
+                log.baseVersion = evicted.getVersion();
+                log.baseMd5 = evicted.getMd5();
+            }
+        }
+    }
+
+    /**
+     * Reset the log of the group if the cache is changed without a change appended,
+     * such as the data is modified in the database directly.
+     *
+     * @param group the group
+     * @param cache the cache of the group
+     */
+    public void resetIfDrifted(final ConfigGroupEnum group, final ConfigDataCache cache) {
+        GroupLog log = logs.get(group);
+        synchronized (log) {
+            if (!StringUtils.equals(log.latestMd5(), cache.getMd5())) {
+                log.reset(cache.getMd5());
+            }
+        }
+    }
+
+    /**
+     * The changes of the group since the version of the client.
+     *
+     * @param group     the group
+     * @param version   the version of the client, negative if unknown
+     * @param clientMd5 the md5 of the client
+     * @param cache     the current cache of the group
+     * @return the changes, or full if the changes since the client's version are no longer kept
+     */
+    public ConfigDeltaData since(final ConfigGroupEnum group, final long version, final String clientMd5, final ConfigDataCache cache) {
+        GroupLog log = logs.get(group);
+        synchronized (log) {
+            // the cache has changed without the change appended yet
+            if (!StringUtils.equals(log.latestMd5(), cache.getMd5())) {
+                return ConfigDeltaData.full(cache.getMd5(), cache.getLastModifyTime(), log.version);
+            }
+            if (StringUtils.equals(clientMd5, cache.getMd5())) {
+                return ConfigDeltaData.changes(cache.getMd5(), cache.getLastModifyTime(), log.version, new ArrayList<>(0));
+            }
+            long from = log.find(version, clientMd5);
+            if (from < 0) {
+                return ConfigDeltaData.full(cache.getMd5(), cache.getLastModifyTime(), log.version);
+            }
+            List<ConfigDeltaData.Change> changes = new ArrayList<>((int) (log.version - from));
+            for (ConfigDeltaData.Change change : log.changes) {
+                if (change.getVersion() > from) {
+                    changes.add(change);
+                }
+            }
+            return ConfigDeltaData.changes(cache.getMd5(), cache.getLastModifyTime(), log.version, changes);
+        }
+    }
+
+    private static final class GroupLog {
+
+        private final Deque<ConfigDeltaData.Change> changes = new ArrayDeque<>();
+
+        private long version;
+
+        private long baseVersion;
+
+        private String baseMd5;
+
+        /**
+         * Drop the changes, the versions before are no longer served.
+         *
+         * @param md5 the md5 of the group
+         */
+        void reset(final String md5) {
+            changes.clear();
+            version++;
+            baseVersion = version;
+            baseMd5 = md5;
+        }
+
+        String latestMd5() {
+            return changes.isEmpty() ? baseMd5 : changes.getLast().getMd5();
+        }
+
+        /**
+         * Find the version the client is at.
+         *
+         * @param clientVersion the version of the client, negative if unknown
+         * @param clientMd5     the md5 of the client
+         * @return the version, -1 if not found
+         */
+        long find(final long clientVersion, final String clientMd5) {
+            for (Iterator<ConfigDeltaData.Change> iterator = changes.descendingIterator(); iterator.hasNext();) {
+                ConfigDeltaData.Change change = iterator.next();
+                if ((clientVersion < 0 || clientVersion == change.getVersion()) && StringUtils.equals(clientMd5, change.getMd5())) {
+                    return change.getVersion();
+                }
+            }
+            if ((clientVersion < 0 || clientVersion == baseVersion) && Objects.nonNull(baseMd5) && StringUtils.equals(clientMd5, baseMd5)) {
+                return baseVersion;
+            }
+            return -1;
+        }
+    }
+}
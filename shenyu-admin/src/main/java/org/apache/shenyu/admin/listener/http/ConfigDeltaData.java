@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.http;
+
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The changes of a config group since the version of the client.
+ * if the changes are no longer kept, {@code full} is true and the client should fetch the whole group.
+ */
+public final class ConfigDeltaData {
+
+    private final String md5;
+
+    private final long lastModifyTime;
+
+    private final long version;
+
+    private final boolean full;
+
+    private final List<Change> changes;
+
+    private ConfigDeltaData(final String md5, final long lastModifyTime, final long version, final boolean full, final List<Change> changes) {
+        this.md5 = md5;
+        this.lastModifyTime = lastModifyTime;
+        this.version = version;
+        this.full = full;
+        this.changes = changes;
+    }
+
+    /**
+     * The changes to apply.
+     *
+     * @param md5            the md5 after the changes are applied
+     * @param lastModifyTime the last modify time
+     * @param version        the version after the changes are applied
+     * @param changes        the changes
+     * @return the config delta data
+     */
+    public static ConfigDeltaData changes(final String md5, final long lastModifyTime, final long version, final List<Change> changes) {
+        return new ConfigDeltaData(md5, lastModifyTime, version, false, changes);
+    }
+
+    /**
+     * The client should fetch the whole group.
+     *
+     * @param md5            the md5 of the group
+     * @param lastModifyTime the last modify time
+     * @param version        the current version
+     * @return the config delta data
+     */
+    public static ConfigDeltaData full(final String md5, final long lastModifyTime, final long version) {
+        return new ConfigDeltaData(md5, lastModifyTime, version, true, Collections.emptyList());
+    }
+
+    /**
+     * Gets md5.
+     *
+     * @return the md5
+     */
+    public String getMd5() {
+        return md5;
+    }
+
+    /**
+     * Gets last modify time.
+     *
+     * @return the last modify time
+     */
+    public long getLastModifyTime() {
+        return lastModifyTime;
+    }
+
+    /**
+     * Gets version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Whether the client should fetch the whole group.
+     *
+     * @return the full
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Gets changes.
+     *
+     * @return the changes
+     */
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * One data changed event of the group.
+     */
+    public static final class Change {
+
+        private final long version;
+
+        private final String md5;
+
+        private final DataEventTypeEnum eventType;
+
+        private final List<?> data;
+
+        /**
+         * Instantiates a new Change.
+         *
+         * @param version   the version
+         * @param md5       the md5 of the group after the change
+         * @param eventType the event type
+         * @param data      the changed data
+         */
+        public Change(final long version, final String md5, final DataEventTypeEnum eventType, final List<?> data) {
+            this.version = version;
+            this.md5 = md5;
+            this.eventType = eventType;
+            this.data = data;
+        }
+
+        /**
+         * Gets version.
+         *
+         * @return the version
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Gets md5.
+         *
+         * @return the md5
+         */
+        public String getMd5() {
+            return md5;
+        }
+
+        /**
+         * Gets event type.
+         *
+         * @return the event type
+         */
+        public DataEventTypeEnum getEventType() {
+            return eventType;
+        }
+
+        /**
+         * Gets data.
+         *
+         * @return the data
+         */
+        public List<?> getData() {
+            return data;
+        }
+    }
+}
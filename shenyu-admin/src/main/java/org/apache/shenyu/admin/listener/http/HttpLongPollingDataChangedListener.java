@@ -88,6 +88,8 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
 
     private final HttpSyncProperties httpSyncProperties;
 
+    private final ConfigChangeLog changeLog;
+
     /**
      * Instantiates a new Http long polling data changed listener.
      *
@@ -98,6 +100,7 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
         this.scheduler = new ScheduledThreadPoolExecutor(1,
                 ShenyuThreadFactory.create("long-polling", true));
         this.httpSyncProperties = httpSyncProperties;
+        this.changeLog = new ConfigChangeLog(httpSyncProperties.getChangeLogSize());
     }
 
     @Override
@@ -116,6 +119,27 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
         LOG.info("http sync strategy refresh interval: {}ms", syncInterval);
     }
 
+    @Override
+    protected void refreshLocalCache() {
+        super.refreshLocalCache();
+        // the data modified without an event can not be described as a delta
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            changeLog.resetIfDrifted(group, CACHE.get(group.name()));
+        }
+    }
+
+    /**
+     * fetch the changes of the group since the client's version.
+     *
+     * @param groupKey  the group key
+     * @param version   the version of the client, negative if unknown
+     * @param clientMd5 the md5 of the client
+     * @return the changes, or full if the client should fetch the whole group
+     */
+    public ConfigDeltaData fetchDelta(final ConfigGroupEnum groupKey, final long version, final String clientMd5) {
+        return changeLog.since(groupKey, version, clientMd5, CACHE.get(groupKey.name()));
+    }
+
     /**
      * If the configuration data changes, the group information for the change is immediately responded.
      * Otherwise, the client's request thread is blocked until any data changes or the specified timeout is reached.
@@ -144,36 +168,43 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
 
     @Override
     protected void afterAppAuthChanged(final List<AppAuthData> changed, final DataEventTypeEnum eventType) {
+        changeLog.append(ConfigGroupEnum.APP_AUTH, eventType, changed, CACHE.get(ConfigGroupEnum.APP_AUTH.name()));
         scheduler.execute(new DataChangeTask(ConfigGroupEnum.APP_AUTH));
     }
 
     @Override
     protected void afterMetaDataChanged(final List<MetaData> changed, final DataEventTypeEnum eventType) {
+        changeLog.append(ConfigGroupEnum.META_DATA, eventType, changed, CACHE.get(ConfigGroupEnum.META_DATA.name()));
         scheduler.execute(new DataChangeTask(ConfigGroupEnum.META_DATA));
     }
 
     @Override
     protected void afterPluginChanged(final List<PluginData> changed, final DataEventTypeEnum eventType) {
+        changeLog.append(ConfigGroupEnum.PLUGIN, eventType, changed, CACHE.get(ConfigGroupEnum.PLUGIN.name()));
         scheduler.execute(new DataChangeTask(ConfigGroupEnum.PLUGIN));
     }
 
     @Override
     protected void afterRuleChanged(final List<RuleData> changed, final DataEventTypeEnum eventType) {
+        changeLog.append(ConfigGroupEnum.RULE, eventType, changed, CACHE.get(ConfigGroupEnum.RULE.name()));
         scheduler.execute(new DataChangeTask(ConfigGroupEnum.RULE));
     }
 
     @Override
     protected void afterSelectorChanged(final List<SelectorData> changed, final DataEventTypeEnum eventType) {
+        changeLog.append(ConfigGroupEnum.SELECTOR, eventType, changed, CACHE.get(ConfigGroupEnum.SELECTOR.name()));
         scheduler.execute(new DataChangeTask(ConfigGroupEnum.SELECTOR));
     }
 
     @Override
     protected void afterProxySelectorChanged(final List<ProxySelectorData> changed, final DataEventTypeEnum eventType) {
+        changeLog.append(ConfigGroupEnum.PROXY_SELECTOR, eventType, changed, CACHE.get(ConfigGroupEnum.PROXY_SELECTOR.name()));
         scheduler.execute(new DataChangeTask(ConfigGroupEnum.PROXY_SELECTOR));
     }
 
     @Override
     protected void afterDiscoveryUpstreamDataChanged(final List<DiscoverySyncData> changed, final DataEventTypeEnum eventType) {
+        changeLog.append(ConfigGroupEnum.DISCOVER_UPSTREAM, eventType, changed, CACHE.get(ConfigGroupEnum.DISCOVER_UPSTREAM.name()));
         scheduler.execute(new DataChangeTask(ConfigGroupEnum.DISCOVER_UPSTREAM));
     }
 
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.admin.controller;
 
+import org.apache.shenyu.admin.listener.http.ConfigDeltaData;
 import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
 import org.apache.shenyu.common.dto.ConfigData;
@@ -86,6 +87,24 @@ public final class ConfigControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    public void testFetchDelta() throws Exception {
+        final ConfigDeltaData deltaData = ConfigDeltaData.full("md5-value2", 0L, 3L);
+        doReturn(deltaData).when(mockLongPollingListener).fetchDelta(ConfigGroupEnum.SELECTOR, 2L, "md5-value1");
+
+        final MockHttpServletResponse response = mockMvc.perform(get("/configs/delta")
+                .param("groupKey", ConfigGroupEnum.SELECTOR.name())
+                .param("version", "2")
+                .param("md5", "md5-value1")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.full", is(true)))
+                .andExpect(jsonPath("$.data.md5", is("md5-value2")))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
     @Test
     public void testListener() throws Exception {
         // Run the test
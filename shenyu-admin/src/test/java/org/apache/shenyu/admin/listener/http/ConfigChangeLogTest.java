@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.http;
+
+import org.apache.shenyu.admin.listener.ConfigDataCache;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The TestCase for {@link ConfigChangeLog}.
+ */
+public final class ConfigChangeLogTest {
+
+    private ConfigChangeLog changeLog;
+
+    @BeforeEach
+    public void setUp() {
+        changeLog = new ConfigChangeLog(2);
+        changeLog.resetIfDrifted(ConfigGroupEnum.SELECTOR, cache("md5-0"));
+    }
+
+    @Test
+    public void testSince() {
+        changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, Collections.singletonList(selector("1")), cache("md5-1"));
+        changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.DELETE, Collections.singletonList(selector("2")), cache("md5-2"));
+        ConfigDeltaData delta = changeLog.since(ConfigGroupEnum.SELECTOR, -1, "md5-0", cache("md5-2"));
+        assertFalse(delta.isFull());
+        assertEquals(2, delta.getChanges().size());
+        assertEquals(DataEventTypeEnum.DELETE, delta.getChanges().get(1).getEventType());
+        assertEquals("md5-2", delta.getMd5());
+        delta = changeLog.since(ConfigGroupEnum.SELECTOR, delta.getChanges().get(0).getVersion(), "md5-1", cache("md5-2"));
+        assertEquals(1, delta.getChanges().size());
+        assertTrue(changeLog.since(ConfigGroupEnum.SELECTOR, delta.getVersion(), "md5-2", cache("md5-2")).getChanges().isEmpty());
+    }
+
+    @Test
+    public void testSinceEvicted() {
+        changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, Collections.singletonList(selector("1")), cache("md5-1"));
+        changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, Collections.singletonList(selector("2")), cache("md5-2"));
+        changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, Collections.singletonList(selector("3")), cache("md5-3"));
+        assertTrue(changeLog.since(ConfigGroupEnum.SELECTOR, -1, "md5-0", cache("md5-3")).isFull());
+        assertEquals(2, changeLog.since(ConfigGroupEnum.SELECTOR, -1, "md5-1", cache("md5-3")).getChanges().size());
+    }
+
+    @Test
+    public void testSinceReset() {
+        changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, Collections.singletonList(selector("1")), cache("md5-1"));
+        changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.REFRESH, Collections.singletonList(selector("1")), cache("md5-2"));
+        assertTrue(changeLog.since(ConfigGroupEnum.SELECTOR, -1, "md5-1", cache("md5-2")).isFull());
+        // modified without an event
+        assertTrue(changeLog.since(ConfigGroupEnum.SELECTOR, -1, "md5-2", cache("md5-3")).isFull());
+        changeLog.resetIfDrifted(ConfigGroupEnum.SELECTOR, cache("md5-3"));
+        assertFalse(changeLog.since(ConfigGroupEnum.SELECTOR, -1, "md5-3", cache("md5-3")).isFull());
+        assertTrue(changeLog.since(ConfigGroupEnum.SELECTOR, -1, "md5-2", cache("md5-3")).isFull());
+    }
+
+    private static ConfigDataCache cache(final String md5) {
+        return new ConfigDataCache(ConfigGroupEnum.SELECTOR.name(), "[]", md5, System.currentTimeMillis());
+    }
+
+    private static SelectorData selector(final String id) {
+        return SelectorData.builder().id(id).build();
+    }
+}
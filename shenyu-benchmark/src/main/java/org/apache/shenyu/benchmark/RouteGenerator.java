@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Reproducible route generator, the same count and seed always give the same routes and requests.
+ * the routes mix exact paths, path variables, wildcards and match-all patterns the way a real gateway does.
+ */
+public final class RouteGenerator {
+
+    private static final long SEED = 20240207L;
+
+    private static final int SERVICES = 100;
+
+    private final List<String> routes;
+
+    private final List<Integer> services;
+
+    private final List<String> requests;
+
+    private RouteGenerator(final List<String> routes, final List<Integer> services, final List<String> requests) {
+        this.routes = routes;
+        this.services = services;
+        this.requests = requests;
+    }
+
+    /**
+     * Generate the routes and one matching request path for every route, the requests are shuffled.
+     *
+     * @param count the route count
+     * @return the route generator
+     */
+    public static RouteGenerator generate(final int count) {
+        Random random = new Random(SEED);
+        List<String> routes = new ArrayList<>(count);
+        List<Integer> services = new ArrayList<>(count);
+        List<String> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int service = random.nextInt(SERVICES);
+            services.add(service);
+            String prefix = "/service" + service + "/resource" + i;
+            int kind = random.nextInt(10);
+            if (kind < 7) {
+                String action = "/action" + random.nextInt(8);
+                routes.add(prefix + action);
+                requests.add(prefix + action);
+            } else if (kind == 7) {
+                routes.add(prefix + "/{id}");
+                requests.add(prefix + "/" + random.nextInt(100000));
+            } else if (kind == 8) {
+                routes.add(prefix + "/*.json");
+                requests.add(prefix + "/item" + random.nextInt(100) + ".json");
+            } else {
+                routes.add(prefix + "/**");
+                requests.add(prefix + "/detail/" + random.nextInt(100));
+            }
+        }
+        Collections.shuffle(requests, random);
+        return new RouteGenerator(routes, services, requests);
+    }
+
+    /**
+     * Generate one selector of every service, which matches the paths of the service.
+     *
+     * @param pluginName the plugin name
+     * @return the selectors
+     */
+    public List<SelectorData> selectors(final String pluginName) {
+        return IntStream.range(0, SERVICES)
+                .mapToObj(service -> SelectorData.builder()
+                        .id(selectorId(service))
+                        .pluginName(pluginName)
+                        .name(selectorId(service))
+                        .type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                        .matchMode(MatchModeEnum.AND.getCode())
+                        .sort(service)
+                        .enabled(true)
+                        .logged(false)
+                        .continued(true)
+                        .matchRestful(false)
+                        .conditionList(Collections.singletonList(uriCondition("/service" + service + "/**")))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Generate one rule of every route, under the selector of its service.
+     *
+     * @param pluginName the plugin name
+     * @return the rules
+     */
+    public List<RuleData> rules(final String pluginName) {
+        return IntStream.range(0, routes.size())
+                .mapToObj(i -> RuleData.builder()
+                        .id(String.valueOf(i))
+                        .pluginName(pluginName)
+                        .selectorId(selectorId(services.get(i)))
+                        .name(routes.get(i))
+                        .matchMode(MatchModeEnum.AND.getCode())
+                        .sort(i)
+                        .enabled(true)
+                        .loged(false)
+                        .matchRestful(false)
+                        .conditionDataList(Collections.singletonList(uriCondition(routes.get(i))))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static String selectorId(final int service) {
+        return "selector" + service;
+    }
+
+    private static ConditionData uriCondition(final String path) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setOperator(OperatorEnum.MATCH.getAlias());
+        conditionData.setParamName("/");
+        conditionData.setParamValue(path);
+        return conditionData;
+    }
+
+    /**
+     * Gets routes.
+     *
+     * @return the route patterns
+     */
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Gets requests.
+     *
+     * @return the request paths
+     */
+    public List<String> getRequests() {
+        return requests;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.shenyu.benchmark.cache;
+
+import org.apache.shenyu.benchmark.RouteGenerator;
+import org.apache.shenyu.common.cache.WindowTinyLFUMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link WindowTinyLFUMap}, the map behind the selector and rule match caches.
+ * the cache is smaller than the paths when there are more routes than the default maximum size of 10000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class WindowTinyLFUMapBenchmark {
+
+    private static final long MAXIMUM_SIZE = 10000L;
+
+    @Param({"1000", "10000", "100000"})
+    private int routes;
+
+    private WindowTinyLFUMap<String, String> map;
+
+    private String[] paths;
+
+    /**
+     * Fill the map with the request paths.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        paths = RouteGenerator.generate(routes).getRequests().toArray(new String[0]);
+        map = new WindowTinyLFUMap<>(MAXIMUM_SIZE);
+        for (String path : paths) {
+            map.put(path, path);
+        }
+    }
+
+    /**
+     * Get a path.
+     *
+     * @param cursor the cursor of the thread
+     * @return the value
+     */
+    @Benchmark
+    public String get(final Cursor cursor) {
+        return map.get(cursor.next(paths));
+    }
+
+    /**
+     * Put a path.
+     *
+     * @param cursor the cursor of the thread
+     * @return the previous value
+     */
+    @Benchmark
+    public String put(final Cursor cursor) {
+        String path = cursor.next(paths);
+        return map.put(path, path);
+    }
+
+    /**
+     * The paths taken in turn by each thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        String next(final String[] paths) {
+            next = next + 1 == paths.length ? 0 : next + 1;
+            return paths[next];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.shenyu.benchmark.condition;
+
+import org.apache.shenyu.benchmark.RouteGenerator;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link MatchStrategyFactory#match(Integer, List, ServerWebExchange)} with the uri,
+ * header and query conditions of a rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchStrategyBenchmark {
+
+    @Param({"AND", "OR"})
+    private MatchModeEnum matchMode;
+
+    private Integer strategy;
+
+    private List<ConditionData> conditions;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the conditions and the exchange.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        RouteGenerator generator = RouteGenerator.generate(1);
+        RuleData rule = generator.rules("benchmark").get(0);
+        conditions = new ArrayList<>(rule.getConditionDataList());
+        conditions.add(condition("header", "X-Tenant", "equals", "shenyu"));
+        conditions.add(condition("query", "version", "startsWith", "v2"));
+        PredicateJudgeFactory.compile(conditions);
+        strategy = matchMode.getCode();
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get(generator.getRequests().get(0) + "?version=v2.1")
+                .header("X-Tenant", "shenyu")
+                .build());
+    }
+
+    /**
+     * Match the conditions.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public boolean match() {
+        return MatchStrategyFactory.match(strategy, conditions, exchange);
+    }
+
+    private static ConditionData condition(final String paramType, final String paramName, final String operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setParamName(paramName);
+        conditionData.setOperator(operator);
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
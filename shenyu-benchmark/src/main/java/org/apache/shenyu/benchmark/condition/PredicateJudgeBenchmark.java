@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.shenyu.benchmark.condition;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of every {@link PredicateJudge} on a compiled condition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredicateJudgeBenchmark {
+
+    private static final String PATH = "/http/order/save/1024";
+
+    @Param({"equals", "contains", "startsWith", "endsWith", "match", "regex", "pathPattern", "exclude", "TimeAfter", "TimeBefore", "isBlank"})
+    private String operator;
+
+    private ConditionData conditionData;
+
+    private PredicateJudge judge;
+
+    private String realData;
+
+    /**
+     * Compile the condition of the operator.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        conditionData = new ConditionData();
+        conditionData.setOperator(operator);
+        conditionData.setParamType("uri");
+        conditionData.setParamName("/");
+        realData = PATH;
+        switch (operator) {
+            case "equals":
+                conditionData.setParamValue(PATH);
+                break;
+            case "contains":
+                conditionData.setParamValue("/order/");
+                break;
+            case "startsWith":
+                conditionData.setParamValue("/http/");
+                break;
+            case "endsWith":
+                conditionData.setParamValue("/1024");
+                break;
+            case "match":
+                conditionData.setParamValue("/http/order/**");
+                break;
+            case "regex":
+                conditionData.setParamValue("^/http/order/[a-z]+/\\d+$");
+                break;
+            case "pathPattern":
+                conditionData.setParamValue("/http/{module}/save/{id}");
+                break;
+            case "exclude":
+                conditionData.setParamValue("/http/user/**");
+                break;
+            case "TimeAfter":
+                conditionData.setParamName(null);
+                conditionData.setParamValue("2020-01-01 00:00:00");
+                break;
+            case "TimeBefore":
+                conditionData.setParamName(null);
+                conditionData.setParamValue("2099-01-01 00:00:00");
+                break;
+            default:
+                conditionData.setParamValue("");
+                realData = "";
+                break;
+        }
+        PredicateJudgeFactory.compile(conditionData);
+        judge = PredicateJudgeFactory.newInstance(operator);
+    }
+
+    /**
+     * Judge through the factory, as the match strategies do.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public Boolean factoryJudge() {
+        return PredicateJudgeFactory.judge(conditionData, realData);
+    }
+
+    /**
+     * Judge on the resolved judge, without the extension lookup.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public Boolean judge() {
+        return judge.judge(conditionData, realData);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.shenyu.benchmark.json;
+
+import org.apache.shenyu.benchmark.RouteGenerator;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link GsonUtils} (de)serialization of the selector and rule data synced to the gateway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GsonUtilsBenchmark {
+
+    private SelectorData selector;
+
+    private RuleData rule;
+
+    private String selectorJson;
+
+    private String ruleJson;
+
+    /**
+     * Build the data and its json.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        RouteGenerator generator = RouteGenerator.generate(1);
+        selector = generator.selectors("divide").get(0);
+        selector.setHandle("[{\"upstreamHost\":\"localhost\",\"protocol\":\"http://\",\"upstreamUrl\":\"127.0.0.1:8080\",\"weight\":50,\"status\":true}]");
+        rule = generator.rules("divide").get(0);
+        rule.setHandle("{\"loadBalance\":\"random\",\"retryStrategy\":\"current\",\"retry\":3,\"timeout\":3000}");
+        selectorJson = GsonUtils.getInstance().toJson(selector);
+        ruleJson = GsonUtils.getInstance().toJson(rule);
+    }
+
+    /**
+     * Serialize the selector.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String selectorToJson() {
+        return GsonUtils.getInstance().toJson(selector);
+    }
+
+    /**
+     * Deserialize the selector.
+     *
+     * @return the selector
+     */
+    @Benchmark
+    public SelectorData selectorFromJson() {
+        return GsonUtils.getInstance().fromJson(selectorJson, SelectorData.class);
+    }
+
+    /**
+     * Serialize the rule.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String ruleToJson() {
+        return GsonUtils.getInstance().toJson(rule);
+    }
+
+    /**
+     * Deserialize the rule.
+     *
+     * @return the rule
+     */
+    @Benchmark
+    public RuleData ruleFromJson() {
+        return GsonUtils.getInstance().fromJson(ruleJson, RuleData.class);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.shenyu.benchmark.loadbalancer;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.spi.LoadBalancer;
+import org.apache.shenyu.spi.ExtensionLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark of every {@link LoadBalancer} of shenyu-loadbalancer, on 4 threads since the balancers share state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoadBalancerBenchmark {
+
+    private static final long SEED = 20240207L;
+
+    @Param({"random", "roundRobin", "hash", "leastActive", "p2c", "shortestResponse"})
+    private String algorithm;
+
+    @Param({"3", "50"})
+    private int upstreams;
+
+    private LoadBalancer loadBalancer;
+
+    private List<Upstream> upstreamList;
+
+    private String[] ips;
+
+    /**
+     * Build the upstreams, with reproducible weights.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(SEED);
+        loadBalancer = ExtensionLoader.getExtensionLoader(LoadBalancer.class).getJoin(algorithm);
+        upstreamList = IntStream.range(0, upstreams)
+                .mapToObj(i -> Upstream.builder()
+                        .protocol("http://")
+                        .url("10.0." + i / 256 + "." + i % 256 + ":8080")
+                        .weight(50 + random.nextInt(50))
+                        .status(true)
+                        .timestamp(System.currentTimeMillis() - 600_000L)
+                        .build())
+                .collect(Collectors.toList());
+        ips = IntStream.range(0, 1024).mapToObj(i -> "192.168." + i / 256 + "." + i % 256).toArray(String[]::new);
+    }
+
+    /**
+     * Select an upstream for a client.
+     *
+     * @param client the client state
+     * @return the upstream
+     */
+    @Benchmark
+    public Upstream select(final ClientState client) {
+        return loadBalancer.select(upstreamList, client.next(ips));
+    }
+
+    /**
+     * The client ips taken in turn by each thread.
+     */
+    @State(Scope.Thread)
+    public static class ClientState {
+
+        private int next;
+
+        String next(final String[] ips) {
+            next = next + 1 == ips.length ? 0 : next + 1;
+            return ips[next];
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.plugin;
+
+import org.apache.shenyu.benchmark.RouteGenerator;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.CommonPluginDataSubscriber;
+import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the selector and rule matching of {@link AbstractShenyuPlugin#execute(ServerWebExchange, ShenyuPluginChain)},
+ * with the match cache (L1) and the trie (L2) switched on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AbstractShenyuPluginBenchmark {
+
+    private static final String PLUGIN_NAME = "benchmark";
+
+    private static final int MAX_EXCHANGES = 4096;
+
+    private static final ShenyuPluginChain CHAIN = exchange -> Mono.empty();
+
+    @Param({"1000", "10000", "100000"})
+    private int routes;
+
+    @Param({"true", "false"})
+    private boolean matchCache;
+
+    @Param({"true", "false"})
+    private boolean trie;
+
+    private BenchmarkPlugin plugin;
+
+    private ServerWebExchange[] exchanges;
+
+    private int next;
+
+    /**
+     * Load the selectors and rules the way the data sync does, and build the exchanges.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getSelectorMatchCache().getCache().setEnabled(matchCache);
+        shenyuConfig.getSelectorMatchCache().getTrie().setEnabled(trie);
+        shenyuConfig.getRuleMatchCache().getCache().setEnabled(matchCache);
+        shenyuConfig.getRuleMatchCache().getTrie().setEnabled(trie);
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(ShenyuConfig.class, () -> shenyuConfig);
+        context.registerBean(TrieCacheTypeEnum.SELECTOR.getTrieType(), ShenyuTrie.class,
+                () -> new ShenyuTrie(shenyuConfig.getSelectorMatchCache().getTrie().getCacheSize(), shenyuConfig.getSelectorMatchCache().getTrie().getMatchMode()));
+        context.registerBean(TrieCacheTypeEnum.RULE.getTrieType(), ShenyuTrie.class,
+                () -> new ShenyuTrie(shenyuConfig.getRuleMatchCache().getTrie().getCacheSize(), shenyuConfig.getRuleMatchCache().getTrie().getMatchMode()));
+        context.refresh();
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+
+        RouteGenerator generator = RouteGenerator.generate(routes);
+        CommonPluginDataSubscriber subscriber = new CommonPluginDataSubscriber(Collections.emptyList(), context,
+                shenyuConfig.getSelectorMatchCache(), shenyuConfig.getRuleMatchCache());
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().id(PLUGIN_NAME).name(PLUGIN_NAME).enabled(true).build());
+        subscriber.replaceSelectorDataAll(generator.selectors(PLUGIN_NAME));
+        subscriber.replaceRuleDataAll(generator.rules(PLUGIN_NAME));
+        MatchDataCache.getInstance().cleanSelectorData();
+        MatchDataCache.getInstance().cleanRuleDataData();
+        plugin = new BenchmarkPlugin();
+
+        List<String> requests = generator.getRequests();
+        int step = Math.max(1, requests.size() / MAX_EXCHANGES);
+        exchanges = new ServerWebExchange[Math.min(requests.size(), MAX_EXCHANGES)];
+        for (int i = 0; i < exchanges.length; i++) {
+            exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get(requests.get(i * step)).build());
+        }
+    }
+
+    /**
+     * Execute the plugin on a request, the requests are taken in turn.
+     *
+     * @return the result of the plugin
+     */
+    @Benchmark
+    public Mono<Void> execute() {
+        ServerWebExchange exchange = exchanges[next];
+        next = next + 1 == exchanges.length ? 0 : next + 1;
+        return plugin.execute(exchange, CHAIN);
+    }
+
+    private static final class BenchmarkPlugin extends AbstractShenyuPlugin {
+
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return PLUGIN_NAME;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.shenyu.benchmark.cache;
+package org.apache.shenyu.benchmark.rpc;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.plugin.dubbo.common.param.DubboParamResolveService;
+import org.apache.shenyu.plugin.dubbo.common.param.DubboParamResolveServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the dubbo generic invocation parameters built from the request body,
+ * through the gson trees with the parameter types parsed per request, and in one pass with the parameter types parsed per meta data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DubboParamResolveBenchmark {
+
+    private static final String ORDER = "{\"id\":10086,\"name\":\"shenyu\",\"price\":99.9,\"paid\":true,"
+            + "\"items\":[{\"sku\":\"a-1\",\"count\":2},{\"sku\":\"b-2\",\"count\":1}],\"tags\":[\"gateway\",\"dubbo\"],"
+            + "\"address\":{\"city\":\"Hangzhou\",\"zip\":310000,\"lines\":[\"line1\",\"line2\"]}}";
+
+    @Param({"multi", "mapping", "bean"})
+    private String parameters;
+
+    private final DubboParamResolveService service = new DubboParamResolveServiceImpl();
+
+    private MetaData metaData;
+
+    private String body;
+
+    /**
+     * Build the meta data and the body of the parameters.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        String parameterTypes;
+        switch (parameters) {
+            case "multi":
+                parameterTypes = "java.lang.Long,java.lang.String,java.lang.Double,java.lang.Boolean,java.util.List,java.util.List,java.util.Map";
+                break;
+            case "mapping":
+                parameterTypes = "{\"id\":\"java.lang.Long\",\"name\":\"java.lang.String\",\"items\":\"java.util.List\",\"address\":\"java.util.Map\"}";
+                break;
+            default:
+                parameterTypes = "org.apache.shenyu.examples.dubbo.api.entity.Order";
+                break;
+        }
+        metaData = MetaData.builder().parameterTypes(parameterTypes).build();
+        metaData.extension();
+        body = ORDER;
+    }
+
+    /**
+     * Build the parameters through the gson trees, the parameter types are parsed per request.
+     *
+     * @return the parameters
+     */
+    @Benchmark
+    public Pair<String[], Object[]> gsonTree() {
+        return service.buildParameter(body, metaData.getParameterTypes());
+    }
+
+    /**
+     * Build the parameters in one pass with the parameter types parsed per meta data.
+     *
+     * @return the parameters
+     */
+    @Benchmark
+    public Pair<String[], Object[]> streaming() {
+        return service.buildParameter(body, metaData.extension());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.trie;
+
+import org.apache.shenyu.benchmark.RouteGenerator;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
+import org.apache.shenyu.common.enums.TrieMatchModeEnum;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrieNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link ShenyuTrie#match(String, String)} over generated routes.
+ * run it with {@code java -jar shenyu-benchmark/target/benchmarks.jar ShenyuTrieBenchmark -prof gc}
+ * to see the allocation per match as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShenyuTrieBenchmark {
+
+    private static final String SELECTOR_ID = "benchmark";
+
+    @Param({"1000", "10000", "100000"})
+    private int routes;
+
+    private ShenyuTrie trie;
+
+    private String[] requests;
+
+    private String[] mismatches;
+
+    private int next;
+
+    /**
+     * Build the trie.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        RouteGenerator generator = RouteGenerator.generate(routes);
+        trie = new ShenyuTrie(1000L, TrieMatchModeEnum.ANT_PATH_MATCH.getMatchMode());
+        List<String> paths = generator.getRoutes();
+        for (int i = 0; i < paths.size(); i++) {
+            RuleData rule = RuleData.builder().id(String.valueOf(i)).selectorId(SELECTOR_ID).sort(i).enabled(true).build();
+            trie.putNode(paths.get(i), rule, TrieCacheTypeEnum.RULE);
+        }
+        requests = generator.getRequests().toArray(new String[0]);
+        mismatches = generator.getRequests().stream().map(request -> request + "/missing").toArray(String[]::new);
+    }
+
+    /**
+     * Match a request path, the paths are taken in turn so that the branch predictor can not learn one of them.
+     *
+     * @return the matched node
+     */
+    @Benchmark
+    public ShenyuTrieNode match() {
+        String path = requests[next];
+        next = next + 1 == requests.length ? 0 : next + 1;
+        return trie.match(path, SELECTOR_ID);
+    }
+
+    /**
+     * Match a request path which has no route.
+     *
+     * @return null
+     */
+    @Benchmark
+    public ShenyuTrieNode mismatch() {
+        String path = mismatches[next];
+        next = next + 1 == mismatches.length ? 0 : next + 1;
+        return trie.match(path, SELECTOR_ID);
+    }
+}
@@ -49,6 +49,8 @@ public class ShenyuConfig {
     private Scheduler scheduler = new Scheduler();
     
     private UpstreamCheck upstreamCheck = new UpstreamCheck();
+    
+    private LoadBalanceConfig loadBalance = new LoadBalanceConfig();
 
     private CrossFilterConfig cross = new CrossFilterConfig();
 
@@ -70,6 +72,8 @@ public class ShenyuConfig {
     
     private AlertConfig alert = new AlertConfig();
     
+    private Instrumentation instrumentation = new Instrumentation();
+    
     /**
      * Gets health.
      *
@@ -286,6 +290,24 @@ public class ShenyuConfig {
         this.upstreamCheck = upstreamCheck;
     }
     
+    /**
+     * Gets load balance config.
+     *
+     * @return the load balance config
+     */
+    public LoadBalanceConfig getLoadBalance() {
+        return loadBalance;
+    }
+    
+    /**
+     * Sets load balance config.
+     *
+     * @param loadBalance the load balance config
+     */
+    public void setLoadBalance(final LoadBalanceConfig loadBalance) {
+        this.loadBalance = loadBalance;
+    }
+    
     /**
      * Gets cross.
      *
@@ -392,6 +414,24 @@ public class ShenyuConfig {
         this.alert = alert;
     }
     
+    /**
+     * Gets instrumentation.
+     *
+     * @return the instrumentation
+     */
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+    
+    /**
+     * Sets instrumentation.
+     *
+     * @param instrumentation the instrumentation
+     */
+    public void setInstrumentation(final Instrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+    
     /**
      * The type Scheduler.
      */
@@ -979,6 +1019,16 @@ public class ShenyuConfig {
         private boolean printEnabled;
         
         private Integer printInterval = 60000;
+        
+        /**
+         * default http check path, blank means a tcp connect check.
+         */
+        private String checkPath = "";
+        
+        /**
+         * expected http status of the check path, such as "200-399" or "200,204".
+         */
+        private String expectedStatus = "200-399";
     
         /**
          * Gets enabled.
@@ -1123,6 +1173,94 @@ public class ShenyuConfig {
         public void setPrintInterval(final Integer printInterval) {
             this.printInterval = printInterval;
         }
+    
+        /**
+         * Gets check path.
+         *
+         * @return the check path
+         */
+        public String getCheckPath() {
+            return checkPath;
+        }
+    
+        /**
+         * Sets check path.
+         *
+         * @param checkPath the check path
+         */
+        public void setCheckPath(final String checkPath) {
+            this.checkPath = checkPath;
+        }
+    
+        /**
+         * Gets expected status.
+         *
+         * @return the expected status
+         */
+        public String getExpectedStatus() {
+            return expectedStatus;
+        }
+    
+        /**
+         * Sets expected status.
+         *
+         * @param expectedStatus the expected status
+         */
+        public void setExpectedStatus(final String expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+    }
+    
+    /**
+     * The type Load balance config.
+     */
+    public static class LoadBalanceConfig {
+    
+        /**
+         * virtual node count of each upstream on the hash ring.
+         */
+        private Integer hashVirtualNodes = 5;
+    
+        /**
+         * hash function of the hash ring, md5 or murmur3.
+         */
+        private String hashAlgorithm = "md5";
+    
+        /**
+         * Gets hash virtual nodes.
+         *
+         * @return the hash virtual nodes
+         */
+        public Integer getHashVirtualNodes() {
+            return hashVirtualNodes;
+        }
+    
+        /**
+         * Sets hash virtual nodes.
+         *
+         * @param hashVirtualNodes the hash virtual nodes
+         */
+        public void setHashVirtualNodes(final Integer hashVirtualNodes) {
+            this.hashVirtualNodes = hashVirtualNodes;
+        }
+    
+        /**
+         * Gets hash algorithm.
+         *
+         * @return the hash algorithm
+         */
+        public String getHashAlgorithm() {
+            return hashAlgorithm;
+        }
+    
+        /**
+         * Sets hash algorithm.
+         *
+         * @param hashAlgorithm the hash algorithm
+         */
+        public void setHashAlgorithm(final String hashAlgorithm) {
+            this.hashAlgorithm = hashAlgorithm;
+        }
     }
     
     /**
@@ -2015,4 +2153,31 @@ public class ShenyuConfig {
             this.admins = admins;
         }
     }
+    
+    /**
+     * The plugin chain instrumentation, records the self time and skips of every plugin
+     * and how the selectors and rules are matched.
+     */
+    public static class Instrumentation {
+        
+        private boolean enabled;
+        
+        /**
+         * Gets enabled.
+         *
+         * @return the enabled
+         */
+        public boolean getEnabled() {
+            return enabled;
+        }
+        
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
 }
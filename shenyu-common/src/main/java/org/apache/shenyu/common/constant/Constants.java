@@ -117,6 +117,16 @@ public interface Constants {
      */
     String RETRY_STRATEGY = "retryStrategy";
     
+    /**
+     * The constant HTTP_HEDGE_DELAY.
+     */
+    String HTTP_HEDGE_DELAY = "httpHedgeDelay";
+    
+    /**
+     * The constant HTTP_HEDGE_PERCENTILE.
+     */
+    String HTTP_HEDGE_PERCENTILE = "httpHedgePercentile";
+    
     /**
      * The constant LOAD_BALANCE.
      */
@@ -132,6 +142,11 @@ public interface Constants {
      */
     String ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR = "original_response_content_type";
     
+    /**
+     * The request body shared by the plugins attribute name.
+     */
+    String CACHED_REQUEST_BODY = "cachedRequestBody";
+    
     /**
      * The constant HTTP_URI.
      */
@@ -682,6 +697,11 @@ public interface Constants {
      */
     String SHENYU_ADMIN_PATH_CONFIGS_FETCH = "/configs/fetch";
     
+    /**
+     * shenyu admin path configs delta.
+     */
+    String SHENYU_ADMIN_PATH_CONFIGS_DELTA = "/configs/delta";
+    
     /**
      * shenyu admin path configs listener.
      */
@@ -779,6 +799,11 @@ public interface Constants {
      * The constant DEFAULT_RULE.
      */
     String DEFAULT_RULE = "default_rule";
+    
+    /**
+     * The rule data matched by the last executed plugin.
+     */
+    String MATCHED_RULE = "matchedRule";
 
     /**
      * the plugin start time of plugin lifecycle.
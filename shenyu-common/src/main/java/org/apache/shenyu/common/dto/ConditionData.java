@@ -17,6 +17,8 @@
 
 package org.apache.shenyu.common.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.Objects;
 
 /**
@@ -46,6 +48,11 @@ public class ConditionData {
      */
     private String paramValue;
 
+    /**
+     * the compiled param value, it is prepared by the gateway and never serialized.
+     */
+    private transient volatile Object compiledValue;
+
     /**
      * get paramType.
      *
@@ -62,6 +69,7 @@ public class ConditionData {
      */
     public void setParamType(final String paramType) {
         this.paramType = paramType;
+        this.compiledValue = null;
     }
 
     /**
@@ -80,6 +88,7 @@ public class ConditionData {
      */
     public void setOperator(final String operator) {
         this.operator = operator;
+        this.compiledValue = null;
     }
 
     /**
@@ -116,6 +125,27 @@ public class ConditionData {
      */
     public void setParamValue(final String paramValue) {
         this.paramValue = paramValue;
+        this.compiledValue = null;
+    }
+
+    /**
+     * get compiledValue.
+     *
+     * @return compiledValue
+     */
+    @JsonIgnore
+    public Object getCompiledValue() {
+        return compiledValue;
+    }
+
+    /**
+     * set compiledValue.
+     *
+     * @param compiledValue compiledValue
+     */
+    @JsonIgnore
+    public void setCompiledValue(final Object compiledValue) {
+        this.compiledValue = compiledValue;
     }
 
     @Override
@@ -43,6 +43,8 @@ public class MetaData {
 
     private Boolean enabled;
 
+    private transient volatile MetaDataExtension extension;
+
     /**
      * no args constructor.
      */
@@ -246,6 +248,7 @@ public class MetaData {
      */
     public void setParameterTypes(final String parameterTypes) {
         this.parameterTypes = parameterTypes;
+        this.extension = null;
     }
 
     /**
@@ -264,6 +267,21 @@ public class MetaData {
      */
     public void setRpcExt(final String rpcExt) {
         this.rpcExt = rpcExt;
+        this.extension = null;
+    }
+
+    /**
+     * the parameter types and rpc extension parsed, they are parsed at the first time and reset when either is changed.
+     *
+     * @return the meta data extension
+     */
+    public MetaDataExtension extension() {
+        MetaDataExtension current = extension;
+        if (Objects.isNull(current)) {
+            current = MetaDataExtension.of(this);
+            extension = current;
+        }
+        return current;
     }
 
     /**
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.common.utils.ReflectUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The parameter types and rpc extension of a {@link MetaData} parsed once, so the rpc plugins do not parse them per request.
+ * the parameter types are either {@code type1,type2} or a name mapping {@code {"name1":"type1","name2":"type2"}},
+ * the classes are resolved only if they are on the classpath of the gateway, as the generic invocations need only the names.
+ */
+public final class MetaDataExtension {
+
+    private static final String[] EMPTY = new String[0];
+
+    private final String parameterTypes;
+
+    private final String[] parameterNames;
+
+    private final Map<String, Integer> parameterIndexes;
+
+    private final String[] parameterTypeNames;
+
+    private final Class<?>[] parameterClasses;
+
+    private final boolean singleBeanParameter;
+
+    private final String rpcExt;
+
+    private final Map<Class<?>, Object> rpcExtCache = new ConcurrentHashMap<>();
+
+    private MetaDataExtension(final String parameterTypes, final String rpcExt) {
+        this.parameterTypes = parameterTypes;
+        this.rpcExt = rpcExt;
+        if (StringUtils.isBlank(parameterTypes)) {
+            this.parameterNames = null;
+            this.parameterTypeNames = EMPTY;
+        } else if (isNameMapping(parameterTypes)) {
+            Map<String, String> paramNameMap = GsonUtils.getInstance().toObjectMap(parameterTypes, String.class);
+            this.parameterNames = paramNameMap.keySet().toArray(EMPTY);
+            this.parameterTypeNames = paramNameMap.values().toArray(EMPTY);
+        } else {
+            this.parameterNames = null;
+            this.parameterTypeNames = StringUtils.split(parameterTypes, ",");
+        }
+        this.parameterClasses = new Class<?>[parameterTypeNames.length];
+        for (int i = 0; i < parameterTypeNames.length; i++) {
+            parameterClasses[i] = resolve(parameterTypeNames[i]);
+        }
+        if (Objects.isNull(parameterNames)) {
+            this.parameterIndexes = Collections.emptyMap();
+        } else {
+            Map<String, Integer> indexes = new HashMap<>(parameterNames.length * 2);
+            for (int i = 0; i < parameterNames.length; i++) {
+                indexes.put(parameterNames[i], i);
+            }
+            this.parameterIndexes = indexes;
+        }
+        this.singleBeanParameter = parameterTypeNames.length == 1
+                && (Objects.isNull(parameterClasses[0]) || !ReflectUtils.isPrimitives(parameterClasses[0]));
+    }
+
+    /**
+     * Parse the parameter types and rpc extension of the meta data.
+     *
+     * @param metaData the meta data
+     * @return the meta data extension
+     */
+    public static MetaDataExtension of(final MetaData metaData) {
+        return new MetaDataExtension(metaData.getParameterTypes(), metaData.getRpcExt());
+    }
+
+    /**
+     * Parse the parameter types.
+     *
+     * @param parameterTypes the parameter types
+     * @return the meta data extension
+     */
+    public static MetaDataExtension ofParameterTypes(final String parameterTypes) {
+        return new MetaDataExtension(parameterTypes, null);
+    }
+
+    /**
+     * Gets the parameter types as configured.
+     *
+     * @return the parameter types
+     */
+    public String getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * Gets the parameter names of a name mapping, the array is shared and must not be modified.
+     *
+     * @return the parameter names, null if the parameter types are not a name mapping
+     */
+    public String[] getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * Gets the index of the parameter in a name mapping.
+     *
+     * @param name the parameter name
+     * @return the index, -1 if the parameter types are not a name mapping or the name is not mapped
+     */
+    public int indexOf(final String name) {
+        Integer index = parameterIndexes.get(name);
+        return Objects.isNull(index) ? -1 : index;
+    }
+
+    /**
+     * Whether the parameter types are a name mapping.
+     *
+     * @return true if name mapping
+     */
+    public boolean isNameMapping() {
+        return Objects.nonNull(parameterNames);
+    }
+
+    /**
+     * Gets the parameter type names, the array is shared by the requests and must not be modified.
+     *
+     * @return the parameter type names
+     */
+    public String[] getParameterTypeNames() {
+        return parameterTypeNames;
+    }
+
+    /**
+     * Gets the parameter classes, an element is null if the class is not on the classpath of the gateway.
+     * the array is shared and must not be modified.
+     *
+     * @return the parameter classes
+     */
+    public Class<?>[] getParameterClasses() {
+        return parameterClasses;
+    }
+
+    /**
+     * Whether there is only one parameter and it is not a primitive, so the whole body is the parameter.
+     *
+     * @return true if single bean parameter
+     */
+    public boolean isSingleBeanParameter() {
+        return singleBeanParameter;
+    }
+
+    /**
+     * Gets the rpc extension parsed to the type, the result is parsed once per type.
+     *
+     * @param type the type of the rpc extension
+     * @param <T> the type
+     * @return the rpc extension, null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getRpcExt(final Class<T> type) {
+        if (StringUtils.isBlank(rpcExt)) {
+            return null;
+        }
+        return (T) rpcExtCache.computeIfAbsent(type, key -> GsonUtils.getGson().fromJson(rpcExt, key));
+    }
+
+    private static boolean isNameMapping(final String parameterTypes) {
+        return parameterTypes.startsWith("{") && parameterTypes.endsWith("}");
+    }
+
+    private static Class<?> resolve(final String typeName) {
+        try {
+            return ClassUtils.getClass(typeName);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -60,6 +60,18 @@ public class DivideRuleHandle implements RuleHandle {
      * requestMaxSize.
      */
     private long requestMaxSize;
+
+    /**
+     * hedge delay in milliseconds, a second request is sent to another upstream
+     * if the first one has not responded by then, 0 means no hedging.
+     */
+    private long hedgeDelay;
+
+    /**
+     * hedge latency percentile, such as 95, overrides the hedge delay once the selector
+     * has enough latency samples, 0 means the fixed hedge delay only.
+     */
+    private double hedgePercentile;
     
     /**
      * New instance divide rule handle.
@@ -177,6 +189,42 @@ public class DivideRuleHandle implements RuleHandle {
     public void setRequestMaxSize(final long requestMaxSize) {
         this.requestMaxSize = requestMaxSize;
     }
+    
+    /**
+     * get hedgeDelay.
+     *
+     * @return hedgeDelay hedge delay
+     */
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+    
+    /**
+     * set hedgeDelay.
+     *
+     * @param hedgeDelay hedgeDelay
+     */
+    public void setHedgeDelay(final long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+    
+    /**
+     * get hedgePercentile.
+     *
+     * @return hedgePercentile hedge percentile
+     */
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+    
+    /**
+     * set hedgePercentile.
+     *
+     * @param hedgePercentile hedgePercentile
+     */
+    public void setHedgePercentile(final double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
 
     @Override
     public boolean equals(final Object o) {
@@ -188,13 +236,14 @@ public class DivideRuleHandle implements RuleHandle {
         }
         DivideRuleHandle that = (DivideRuleHandle) o;
         return retry == that.retry && timeout == that.timeout && headerMaxSize == that.headerMaxSize
-                && requestMaxSize == that.requestMaxSize && Objects.equals(loadBalance, that.loadBalance)
+                && requestMaxSize == that.requestMaxSize && hedgeDelay == that.hedgeDelay
+                && Double.compare(hedgePercentile, that.hedgePercentile) == 0 && Objects.equals(loadBalance, that.loadBalance)
                 && Objects.equals(retryStrategy, that.retryStrategy);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(loadBalance, retryStrategy, retry, timeout, headerMaxSize, requestMaxSize);
+        return Objects.hash(loadBalance, retryStrategy, retry, timeout, headerMaxSize, requestMaxSize, hedgeDelay, hedgePercentile);
     }
 
     @Override
@@ -214,6 +263,10 @@ public class DivideRuleHandle implements RuleHandle {
                 + headerMaxSize
                 + ", requestMaxSize="
                 + requestMaxSize
+                + ", hedgeDelay="
+                + hedgeDelay
+                + ", hedgePercentile="
+                + hedgePercentile
                 + '}';
     }
 }
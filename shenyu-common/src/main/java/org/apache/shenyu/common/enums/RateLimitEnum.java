@@ -28,7 +28,9 @@ public enum RateLimitEnum {
 
     CONCURRENT("concurrent_request_rate_limiter", "concurrent_request_rate_limiter.lua"),
 
-    TOKEN_BUCKET("request_rate_limiter", "request_rate_limiter.lua");
+    TOKEN_BUCKET("request_rate_limiter", "request_rate_limiter.lua"),
+
+    TOKEN_BUCKET_LEASE("request_lease_rate_limiter", "request_lease_rate_limiter.lua");
 
     private final String keyName;
 
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.instrument;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * The listener registry of an instrumentation.
+ * the instrumented code reports to the instrumentation instead of logging, and the listeners, such as a metrics reporter,
+ * turn the reports into metrics. the listeners are copied on write, so reporting reads a volatile array without locking.
+ *
+ * @param <L> the listener type
+ */
+public abstract class ListenerRegistry<L> {
+
+    private final IntFunction<L[]> arrayFactory;
+
+    private volatile L[] listeners;
+
+    /**
+     * Instantiates a new Listener registry.
+     *
+     * @param arrayFactory creates the listener array of the given length
+     */
+    protected ListenerRegistry(final IntFunction<L[]> arrayFactory) {
+        this.arrayFactory = arrayFactory;
+        this.listeners = arrayFactory.apply(0);
+    }
+
+    /**
+     * Whether any listener is registered, the instrumented code skips reporting if not.
+     *
+     * @return true if any listener
+     */
+    public boolean hasListeners() {
+        return listeners.length > 0;
+    }
+
+    /**
+     * Add a listener, such as a metrics reporter.
+     *
+     * @param listener the listener
+     */
+    public synchronized void addListener(final L listener) {
+        L[] current = listeners;
+        L[] added = Arrays.copyOf(current, current.length + 1);
+        added[current.length] = listener;
+        listeners = added;
+    }
+
+    /**
+     * Remove a listener.
+     *
+     * @param listener the listener
+     */
+    public synchronized void removeListener(final L listener) {
+        listeners = Arrays.stream(listeners).filter(each -> each != listener).toArray(arrayFactory);
+    }
+
+    /**
+     * The registered listeners, the array must not be modified.
+     *
+     * @return the listeners
+     */
+    protected L[] listeners() {
+        return listeners;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.instrument;
+
+/**
+ * The log pipeline instrumentation, the consumer thread of every log pipeline reports what it enqueued, dropped and flushed.
+ */
+public final class LogPipelineInstrumentation extends ListenerRegistry<LogPipelineInstrumentation.Listener> {
+
+    private static final LogPipelineInstrumentation INSTANCE = new LogPipelineInstrumentation();
+
+    private LogPipelineInstrumentation() {
+        super(Listener[]::new);
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static LogPipelineInstrumentation getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record the logs accepted into the buffer since the last report.
+     *
+     * @param pipeline the pipeline name
+     * @param count the count
+     */
+    public void recordEnqueued(final String pipeline, final long count) {
+        for (Listener listener : listeners()) {
+            listener.onEnqueued(pipeline, count);
+        }
+    }
+
+    /**
+     * Record the logs dropped since the last report.
+     *
+     * @param pipeline the pipeline name
+     * @param count the count
+     */
+    public void recordDropped(final String pipeline, final long count) {
+        for (Listener listener : listeners()) {
+            listener.onDropped(pipeline, count);
+        }
+    }
+
+    /**
+     * Record a batch handed over to the sink.
+     *
+     * @param pipeline the pipeline name
+     * @param flushed the count of logs flushed, 0 if the sink failed
+     * @param latencyNanos the nanoseconds spent in the sink
+     */
+    public void recordBatch(final String pipeline, final long flushed, final long latencyNanos) {
+        for (Listener listener : listeners()) {
+            listener.onBatch(pipeline, flushed, latencyNanos);
+        }
+    }
+
+    /**
+     * The instrumentation listener.
+     */
+    public interface Listener {
+
+        /**
+         * On the logs accepted into the buffer.
+         *
+         * @param pipeline the pipeline name
+         * @param count the count
+         */
+        default void onEnqueued(final String pipeline, final long count) {
+        }
+
+        /**
+         * On the logs dropped.
+         *
+         * @param pipeline the pipeline name
+         * @param count the count
+         */
+        default void onDropped(final String pipeline, final long count) {
+        }
+
+        /**
+         * On a batch handed over to the sink.
+         *
+         * @param pipeline the pipeline name
+         * @param flushed the count of logs flushed, 0 if the sink failed
+         * @param latencyNanos the nanoseconds spent in the sink
+         */
+        default void onBatch(final String pipeline, final long flushed, final long latencyNanos) {
+        }
+    }
+}
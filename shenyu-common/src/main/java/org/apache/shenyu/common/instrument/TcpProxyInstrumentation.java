@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.instrument;
+
+/**
+ * The tcp proxy instrumentation, the proxied connections report their connects, bytes and closes.
+ */
+public final class TcpProxyInstrumentation extends ListenerRegistry<TcpProxyInstrumentation.Listener> {
+
+    private static final TcpProxyInstrumentation INSTANCE = new TcpProxyInstrumentation();
+
+    private TcpProxyInstrumentation() {
+        super(Listener[]::new);
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static TcpProxyInstrumentation getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record a connection proxied to the upstream.
+     *
+     * @param proxy the proxy name
+     * @param connectNanos the nanoseconds to connect to the upstream
+     * @return whether the connection is counted by any listener, passed back on {@link #recordClose(String, long, boolean)}
+     */
+    public boolean recordConnect(final String proxy, final long connectNanos) {
+        Listener[] listeners = listeners();
+        for (Listener listener : listeners) {
+            listener.onConnect(proxy, connectNanos);
+        }
+        return listeners.length > 0;
+    }
+
+    /**
+     * Record a connection failed to connect to the upstream.
+     *
+     * @param proxy the proxy name
+     */
+    public void recordConnectError(final String proxy) {
+        for (Listener listener : listeners()) {
+            listener.onConnectError(proxy);
+        }
+    }
+
+    /**
+     * Record the bytes relayed.
+     *
+     * @param proxy the proxy name
+     * @param direction the direction
+     * @param bytes the bytes
+     */
+    public void recordBytes(final String proxy, final Direction direction, final long bytes) {
+        for (Listener listener : listeners()) {
+            listener.onBytes(proxy, direction, bytes);
+        }
+    }
+
+    /**
+     * Record a proxied connection closed.
+     *
+     * @param proxy the proxy name
+     * @param durationNanos the nanoseconds the connection lived
+     * @param counted whether the connect of the connection is counted
+     */
+    public void recordClose(final String proxy, final long durationNanos, final boolean counted) {
+        for (Listener listener : listeners()) {
+            listener.onClose(proxy, durationNanos, counted);
+        }
+    }
+
+    /**
+     * The direction of the relayed bytes.
+     */
+    public enum Direction {
+
+        /**
+         * From the client to the upstream.
+         */
+        UPSTREAM,
+
+        /**
+         * From the upstream to the client.
+         */
+        DOWNSTREAM
+    }
+
+    /**
+     * The instrumentation listener.
+     */
+    public interface Listener {
+
+        /**
+         * On a connection proxied to the upstream.
+         *
+         * @param proxy the proxy name
+         * @param connectNanos the nanoseconds to connect to the upstream
+         */
+        default void onConnect(final String proxy, final long connectNanos) {
+        }
+
+        /**
+         * On a connection failed to connect to the upstream.
+         *
+         * @param proxy the proxy name
+         */
+        default void onConnectError(final String proxy) {
+        }
+
+        /**
+         * On the bytes relayed.
+         *
+         * @param proxy the proxy name
+         * @param direction the direction
+         * @param bytes the bytes
+         */
+        default void onBytes(final String proxy, final Direction direction, final long bytes) {
+        }
+
+        /**
+         * On a proxied connection closed.
+         *
+         * @param proxy the proxy name
+         * @param durationNanos the nanoseconds the connection lived
+         * @param counted whether the connect of the connection is counted, a connection opened before
+         *                the listener was added must not be taken off the active connections
+         */
+        default void onClose(final String proxy, final long durationNanos, final boolean counted) {
+        }
+    }
+}
@@ -18,7 +18,14 @@
 package org.apache.shenyu.common.utils;
 
 import com.google.common.collect.ImmutableMap;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
 
+import javax.crypto.Mac;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -64,6 +71,37 @@ public final class SignUtils {
                 .sign(key, data);
     }
 
+    /**
+     * Returns a signer which signs the data fed in pieces,
+     * the signature is the same as {@link #sign(String, String, String)} of the whole data encoded in UTF-8.
+     *
+     * @param algorithmName the name of sign algorithm
+     * @param key           key
+     * @return signer
+     * @throws NullPointerException          if key is null
+     * @throws UnsupportedOperationException if algorithmName isn't supported
+     */
+    public static Signer signer(final String algorithmName, final String key) {
+        if (Objects.isNull(key)) {
+            throw new NullPointerException("Key is null.");
+        }
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (SIGN_MD5.equals(algorithmName)) {
+            // md5 signs data + key, so the key is the last piece
+            return new DigestSigner(org.apache.commons.codec.digest.DigestUtils.getMd5Digest(), keyBytes);
+        }
+        if (SIGN_HMD5.equals(algorithmName)) {
+            return new MacSigner(HmacUtils.getInitializedMac(HmacAlgorithms.HMAC_MD5, keyBytes));
+        }
+        if (SIGN_HS256.equals(algorithmName)) {
+            return new MacSigner(HmacUtils.getInitializedMac(HmacAlgorithms.HMAC_SHA_256, keyBytes));
+        }
+        if (SIGN_HS512.equals(algorithmName)) {
+            return new MacSigner(HmacUtils.getInitializedMac(HmacAlgorithms.HMAC_SHA_512, keyBytes));
+        }
+        throw new UnsupportedOperationException("unsupported sign algorithm:" + algorithmName);
+    }
+
     /**
      * Generate key string.
      *
@@ -78,4 +116,83 @@ public final class SignUtils {
         String sign(String key, String data);
     }
 
+    /**
+     * Signs the data fed in pieces.
+     */
+    public interface Signer {
+
+        /**
+         * Feeds a piece of data.
+         *
+         * @param data data
+         */
+        void update(byte[] data);
+
+        /**
+         * Feeds a piece of data, the position of the buffer is moved to its limit.
+         *
+         * @param data data
+         */
+        void update(ByteBuffer data);
+
+        /**
+         * Returns signature of the data fed as hex string (lowercase).
+         *
+         * @return signature
+         */
+        String sign();
+    }
+
+    private static final class DigestSigner implements Signer {
+
+        private final MessageDigest digest;
+
+        private final byte[] suffix;
+
+        DigestSigner(final MessageDigest digest, final byte[] suffix) {
+            this.digest = digest;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public void update(final byte[] data) {
+            digest.update(data);
+        }
+
+        @Override
+        public void update(final ByteBuffer data) {
+            digest.update(data);
+        }
+
+        @Override
+        public String sign() {
+            digest.update(suffix);
+            return Hex.encodeHexString(digest.digest());
+        }
+    }
+
+    private static final class MacSigner implements Signer {
+
+        private final Mac mac;
+
+        MacSigner(final Mac mac) {
+            this.mac = mac;
+        }
+
+        @Override
+        public void update(final byte[] data) {
+            mac.update(data);
+        }
+
+        @Override
+        public void update(final ByteBuffer data) {
+            mac.update(data);
+        }
+
+        @Override
+        public String sign() {
+            return Hex.encodeHexString(mac.doFinal());
+        }
+    }
+
 }
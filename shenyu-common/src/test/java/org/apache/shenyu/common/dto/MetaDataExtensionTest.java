@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for MetaDataExtension.
+ */
+public class MetaDataExtensionTest {
+
+    @Test
+    public void testParameterTypes() {
+        MetaDataExtension extension = MetaDataExtension.ofParameterTypes("java.lang.Integer,java.lang.String");
+        assertFalse(extension.isNameMapping());
+        assertFalse(extension.isSingleBeanParameter());
+        assertArrayEquals(new String[]{"java.lang.Integer", "java.lang.String"}, extension.getParameterTypeNames());
+        assertArrayEquals(new Class<?>[]{Integer.class, String.class}, extension.getParameterClasses());
+
+        extension = MetaDataExtension.ofParameterTypes("org.apache.shenyu.Unknown");
+        assertTrue(extension.isSingleBeanParameter());
+        assertNull(extension.getParameterClasses()[0]);
+    }
+
+    @Test
+    public void testNameMapping() {
+        MetaDataExtension extension = MetaDataExtension.ofParameterTypes("{\"id\":\"java.lang.Integer\",\"name\":\"java.lang.String\"}");
+        assertTrue(extension.isNameMapping());
+        assertArrayEquals(new String[]{"id", "name"}, extension.getParameterNames());
+        assertArrayEquals(new String[]{"java.lang.Integer", "java.lang.String"}, extension.getParameterTypeNames());
+    }
+
+    @Test
+    public void testRpcExt() {
+        MetaData metaData = MetaData.builder().parameterTypes("java.lang.String").rpcExt("{\"id\":\"1\"}").build();
+        MetaDataExtension extension = metaData.extension();
+        assertSame(extension, metaData.extension());
+        MetaData ext = extension.getRpcExt(MetaData.class);
+        assertEquals("1", ext.getId());
+        assertSame(ext, extension.getRpcExt(MetaData.class));
+
+        metaData.setRpcExt("{\"id\":\"2\"}");
+        assertNotSame(extension, metaData.extension());
+        assertEquals("2", metaData.extension().getRpcExt(MetaData.class).getId());
+        assertNull(MetaDataExtension.ofParameterTypes("java.lang.String").getRpcExt(MetaData.class));
+    }
+}
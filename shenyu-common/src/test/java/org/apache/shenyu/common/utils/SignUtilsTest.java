@@ -19,6 +19,9 @@ package org.apache.shenyu.common.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -53,6 +56,18 @@ public final class SignUtilsTest {
             () -> SignUtils.sign("supported_algorithm", "key", "data"));
     }
 
+    @Test
+    public void testSigner() {
+        for (String algorithm : new String[]{SignUtils.SIGN_MD5, SignUtils.SIGN_HMD5, SignUtils.SIGN_HS256, SignUtils.SIGN_HS512}) {
+            SignUtils.Signer signer = SignUtils.signer(algorithm, "test");
+            signer.update("a1".getBytes(StandardCharsets.UTF_8));
+            signer.update(ByteBuffer.wrap("b2".getBytes(StandardCharsets.UTF_8)));
+            assertThat(signer.sign(), is(SignUtils.sign(algorithm, "test", "a1b2")));
+        }
+        assertThrowsExactly(UnsupportedOperationException.class,
+            () -> SignUtils.signer("supported_algorithm", "key"));
+    }
+
     @Test
     public void testGenerateKey() {
         assertNotNull(SignUtils.generateKey());
@@ -26,9 +26,11 @@ import org.apache.shenyu.common.utils.MapUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -39,6 +41,10 @@ import java.util.stream.Collectors;
  */
 public final class UpstreamCacheManager {
 
+    private static final String CHECK_PATH = "checkPath";
+
+    private static final String EXPECTED_STATUS = "expectedStatus";
+
     private static final UpstreamCacheManager INSTANCE = new UpstreamCacheManager();
 
     private static final Map<String, List<Upstream>> UPSTREAM_MAP = Maps.newConcurrentMap();
@@ -60,6 +66,10 @@ public final class UpstreamCacheManager {
 
     private int unhealthyThreshold;
 
+    private String checkPath;
+
+    private String expectedStatus;
+
     /**
      * healthy upstream print parameters.
      */
@@ -67,6 +77,8 @@ public final class UpstreamCacheManager {
 
     private Integer printInterval;
 
+    private ScheduledThreadPoolExecutor printExecutor;
+
     private UpstreamCacheManager() {
         initHealthCheck();
     }
@@ -80,10 +92,13 @@ public final class UpstreamCacheManager {
         healthyThreshold = upstreamCheck.getHealthyThreshold();
         unhealthyThreshold = upstreamCheck.getUnhealthyThreshold();
         checkInterval = upstreamCheck.getInterval();
+        checkPath = upstreamCheck.getCheckPath();
+        expectedStatus = upstreamCheck.getExpectedStatus();
         printEnable = upstreamCheck.getPrintEnabled();
         printInterval = upstreamCheck.getPrintInterval();
         createTask();
         scheduleHealthCheck();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
     }
 
     private void createTask() {
@@ -92,6 +107,7 @@ public final class UpstreamCacheManager {
         task.setCheckTimeout(checkTimeout);
         task.setHealthyThreshold(healthyThreshold);
         task.setUnhealthyThreshold(unhealthyThreshold);
+        task.setDefaultProbe(checkPath, expectedStatus);
     }
 
     private void scheduleHealthCheck() {
@@ -100,12 +116,20 @@ public final class UpstreamCacheManager {
             // executor for log print
             if (printEnable) {
                 ThreadFactory printFactory = ShenyuThreadFactory.create("upstream-health-print", true);
-                new ScheduledThreadPoolExecutor(1, printFactory)
-                        .scheduleWithFixedDelay(task::print, printInterval, printInterval, TimeUnit.MILLISECONDS);
+                printExecutor = new ScheduledThreadPoolExecutor(1, printFactory);
+                printExecutor.scheduleWithFixedDelay(task::print, printInterval, printInterval, TimeUnit.MILLISECONDS);
             }
         }
     }
 
+    /**
+     * Stop the health check and release the event loops of the prober.
+     */
+    public void close() {
+        Optional.ofNullable(printExecutor).ifPresent(ScheduledThreadPoolExecutor::shutdownNow);
+        task.close();
+    }
+
     /**
      * Gets instance.
      *
@@ -135,6 +159,34 @@ public final class UpstreamCacheManager {
         task.triggerRemoveAll(key);
     }
 
+    /**
+     * Submit the health check probe of the selector, it overrides the default check path.
+     *
+     * @param selectorId     the selector id
+     * @param checkPath      the http check path, blank means a tcp connect check, null means the default probe
+     * @param expectedStatus the expected http status, such as "200-399"
+     */
+    public void submitProbe(final String selectorId, final String checkPath, final String expectedStatus) {
+        task.putProbe(selectorId, checkPath, expectedStatus);
+    }
+
+    /**
+     * Submit the health check probe of a discovery selector, it is taken from the first upstream whose props have a check path,
+     * and the selector falls back to the default probe when none has.
+     * The probe is configured by the discovery upstream props, so only the selectors synced by discovery (divide and websocket) carry one,
+     * the others, such as the springcloud selectors whose handle has no props, are checked by the default probe.
+     *
+     * @param selectorId     the selector id
+     * @param upstreamProps the props of the upstreams
+     */
+    public void submitProbe(final String selectorId, final List<Properties> upstreamProps) {
+        Properties probe = Optional.ofNullable(upstreamProps).orElse(Collections.emptyList()).stream()
+                .filter(properties -> properties.containsKey(CHECK_PATH))
+                .findFirst()
+                .orElse(new Properties());
+        submitProbe(selectorId, probe.getProperty(CHECK_PATH), probe.getProperty(EXPECTED_STATUS));
+    }
+
     /**
      * Submit .
      *
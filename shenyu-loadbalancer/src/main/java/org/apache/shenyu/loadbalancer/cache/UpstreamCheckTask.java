@@ -22,18 +22,14 @@ import com.google.common.collect.Maps;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.utils.GsonUtils;
-import org.apache.shenyu.common.utils.MapUtils;
-import org.apache.shenyu.common.utils.UpstreamCheckUtils;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -56,13 +52,17 @@ public final class UpstreamCheckTask implements Runnable {
 
     private final Object lock = new Object();
 
-    private final AtomicBoolean checkStarted = new AtomicBoolean(false);
+    private final Map<String, UpstreamProber.Probe> probes = Maps.newConcurrentMap();
 
-    private final List<CompletableFuture<UpstreamWithSelectorId>> futures = Lists.newArrayList();
+    private final AtomicBoolean checkStarted = new AtomicBoolean(false);
 
     private final int checkInterval;
 
-    private ExecutorService executor;
+    private volatile UpstreamProber prober;
+
+    private ScheduledThreadPoolExecutor executor;
+
+    private UpstreamProber.Probe defaultProbe = UpstreamProber.Probe.of("", null);
 
     private int poolSize;
 
@@ -96,12 +96,23 @@ public final class UpstreamCheckTask implements Runnable {
     public void schedule() {
         // executor for health check
         ThreadFactory healthCheckFactory = ShenyuThreadFactory.create("upstream-health-check", true);
-        new ScheduledThreadPoolExecutor(1, healthCheckFactory)
-                .scheduleWithFixedDelay(this, 3000, checkInterval, TimeUnit.MILLISECONDS);
+        executor = new ScheduledThreadPoolExecutor(1, healthCheckFactory);
+        executor.scheduleWithFixedDelay(this, 3000, checkInterval, TimeUnit.MILLISECONDS);
+    }
 
-        // executor for async request, avoid request block health check thread
-        ThreadFactory requestFactory = ShenyuThreadFactory.create("upstream-health-check-request", true);
-        executor = new ScheduledThreadPoolExecutor(poolSize, requestFactory);
+    /**
+     * Stop the health check and dispose the event loops of the prober.
+     */
+    public void close() {
+        if (Objects.nonNull(executor)) {
+            executor.shutdownNow();
+        }
+        synchronized (lock) {
+            if (Objects.nonNull(prober)) {
+                prober.dispose();
+                prober = null;
+            }
+        }
     }
     
     /**
@@ -114,7 +125,32 @@ public final class UpstreamCheckTask implements Runnable {
     }
 
     /**
-     * get checkThreadPoolSize.
+     * Set the default probe of the selectors without their own probe.
+     *
+     * @param checkPath the http check path, blank means a tcp connect check
+     * @param expectedStatus the expected http status
+     */
+    public void setDefaultProbe(final String checkPath, final String expectedStatus) {
+        this.defaultProbe = UpstreamProber.Probe.of(checkPath, expectedStatus);
+    }
+
+    /**
+     * Set the probe of the selector.
+     *
+     * @param selectorId selectorId
+     * @param checkPath the http check path, blank means a tcp connect check, null means the default probe
+     * @param expectedStatus the expected http status
+     */
+    public void putProbe(final String selectorId, final String checkPath, final String expectedStatus) {
+        if (Objects.isNull(checkPath)) {
+            probes.remove(selectorId);
+            return;
+        }
+        probes.put(selectorId, UpstreamProber.Probe.of(checkPath, expectedStatus));
+    }
+
+    /**
+     * get checkThreadPoolSize, it is the event loop size of the prober.
      *
      * @return checkThreadPoolSize
      */
@@ -155,42 +191,51 @@ public final class UpstreamCheckTask implements Runnable {
     }
 
     private void healthCheck() {
+        if (!tryStartHealthCheck()) {
+            return;
+        }
+        /*
+         * The probes are multiplexed by the prober and every result is published as soon as it arrives,
+         * the round only ends when the last probe finished, so the next round will not overlap it.
+         */
         try {
-            /*
-             * If there is no synchronized. when check is done and all upstream check result is in the futures list.
-             * In the same time, triggerRemoveAll() called before waitFinish(), there will be dirty data stay in map.
-             */
+            List<UpstreamWithSelectorId> targets = Lists.newArrayList();
             synchronized (lock) {
-                if (tryStartHealthCheck()) {
-                    doHealthCheck();
-                    waitFinish();
-                }
+                collect(healthyUpstream, targets);
+                collect(unhealthyUpstream, targets);
             }
+            UpstreamProber upstreamProber = obtainProber();
+            Flux.fromIterable(targets)
+                    .flatMap(target -> upstreamProber.probe(target.getUpstream(), probes.getOrDefault(target.getSelectorId(), defaultProbe))
+                            .map(pass -> check(target.getSelectorId(), target.getUpstream(), pass)))
+                    .doFinally(signal -> finishHealthCheck())
+                    .subscribe(this::putEntityToMap, e -> LOG.error("[Health Check] Meet problem: ", e));
         } catch (Exception e) {
             LOG.error("[Health Check] Meet problem: ", e);
-        } finally {
             finishHealthCheck();
         }
     }
 
-    private void doHealthCheck() {
-        check(healthyUpstream);
-        check(unhealthyUpstream);
+    private UpstreamProber obtainProber() {
+        if (Objects.isNull(prober)) {
+            synchronized (lock) {
+                if (Objects.isNull(prober)) {
+                    prober = new UpstreamProber(Math.min(poolSize, Runtime.getRuntime().availableProcessors()), checkTimeout);
+                }
+            }
+        }
+        return prober;
     }
 
-    private void check(final Map<String, List<Upstream>> map) {
+    private void collect(final Map<String, List<Upstream>> map, final List<UpstreamWithSelectorId> targets) {
         for (Map.Entry<String, List<Upstream>> entry : map.entrySet()) {
-            String key = entry.getKey();
-            List<Upstream> value = entry.getValue();
-            for (Upstream upstream : value) {
-                CompletableFuture<UpstreamWithSelectorId> future = CompletableFuture.supplyAsync(() -> check(key, upstream), executor);
-                futures.add(future);
+            for (Upstream upstream : entry.getValue()) {
+                targets.add(new UpstreamWithSelectorId(entry.getKey(), upstream));
             }
         }
     }
 
-    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream) {
-        boolean pass = UpstreamCheckUtils.checkUrl(upstream.getUrl(), checkTimeout);
+    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream, final boolean pass) {
         if (pass) {
             if (upstream.isHealthy()) {
                 upstream.setLastHealthTimestamp(System.currentTimeMillis());
@@ -225,26 +270,28 @@ public final class UpstreamCheckTask implements Runnable {
         return checkStarted.compareAndSet(false, true);
     }
 
-    private void waitFinish() throws ExecutionException, InterruptedException {
-        for (CompletableFuture<UpstreamWithSelectorId> future : futures) {
-            UpstreamWithSelectorId entity = future.get();
-            putEntityToMap(entity);
-        }
-
-        futures.clear();
-    }
-
     private void putEntityToMap(final UpstreamWithSelectorId entity) {
         Upstream upstream = entity.getUpstream();
-        if (upstream.isHealthy()) {
-            putToMap(healthyUpstream, entity.getSelectorId(), upstream);
-            removeFromMap(unhealthyUpstream, entity.getSelectorId(), upstream);
-        } else {
-            putToMap(unhealthyUpstream, entity.getSelectorId(), upstream);
-            removeFromMap(healthyUpstream, entity.getSelectorId(), upstream);
+        synchronized (lock) {
+            // the upstream may be removed while it was probed, do not bring it back.
+            if (!contains(healthyUpstream, entity.getSelectorId(), upstream) && !contains(unhealthyUpstream, entity.getSelectorId(), upstream)) {
+                return;
+            }
+            if (upstream.isHealthy()) {
+                putToMap(healthyUpstream, entity.getSelectorId(), upstream);
+                removeFromMap(unhealthyUpstream, entity.getSelectorId(), upstream);
+            } else {
+                putToMap(unhealthyUpstream, entity.getSelectorId(), upstream);
+                removeFromMap(healthyUpstream, entity.getSelectorId(), upstream);
+            }
         }
     }
 
+    private boolean contains(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
+        List<Upstream> list = map.get(selectorId);
+        return Objects.nonNull(list) && list.contains(upstream);
+    }
+
     private void finishHealthCheck() {
         checkStarted.set(false);
     }
@@ -270,11 +317,17 @@ public final class UpstreamCheckTask implements Runnable {
         removeFromMap(unhealthyUpstream, selectorId, upstream);
     }
 
+    /*
+     * The lists are copied on write and never changed once published, so a reader can iterate them without the lock,
+     * and a load balancer can cache what it derives from a list by the list identity.
+     */
     private void putToMap(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
         synchronized (lock) {
-            List<Upstream> list = MapUtils.computeIfAbsent(map, selectorId, k -> Lists.newArrayList());
-            if (!list.contains(upstream)) {
-                list.add(upstream);
+            List<Upstream> list = map.get(selectorId);
+            if (Objects.isNull(list) || !list.contains(upstream)) {
+                List<Upstream> copy = Objects.isNull(list) ? Lists.newArrayList() : Lists.newArrayList(list);
+                copy.add(upstream);
+                map.put(selectorId, copy);
             }
         }
     }
@@ -282,8 +335,10 @@ public final class UpstreamCheckTask implements Runnable {
     private void removeFromMap(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
         synchronized (lock) {
             List<Upstream> list = map.get(selectorId);
-            if (CollectionUtils.isNotEmpty(list)) {
-                list.remove(upstream);
+            if (CollectionUtils.isNotEmpty(list) && list.contains(upstream)) {
+                List<Upstream> copy = Lists.newArrayList(list);
+                copy.remove(upstream);
+                map.put(selectorId, copy);
             }
         }
     }
@@ -298,6 +353,7 @@ public final class UpstreamCheckTask implements Runnable {
             healthyUpstream.remove(selectorId);
             unhealthyUpstream.remove(selectorId);
         }
+        probes.remove(selectorId);
     }
     
     /**
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import io.netty.channel.ChannelOption;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpClient;
+
+import java.time.Duration;
+import java.util.BitSet;
+
+/**
+ * Non-blocking upstream prober, all the tcp and http probes are multiplexed on a few event loop threads.
+ */
+public final class UpstreamProber {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamProber.class);
+
+    private static final String HTTP = "http://";
+
+    private static final String HTTPS = "https://";
+
+    private static final String DEFAULT_EXPECTED_STATUS = "200-399";
+
+    private final LoopResources loopResources;
+
+    private final int timeout;
+
+    /**
+     * Instantiates a new Upstream prober.
+     *
+     * @param threads the event loop threads
+     * @param timeout the probe timeout in milliseconds
+     */
+    public UpstreamProber(final int threads, final int timeout) {
+        this.loopResources = LoopResources.create("upstream-health-check-request", Math.max(1, threads), true);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Probe the upstream, a tcp connect when the probe has no path, otherwise an http GET.
+     *
+     * @param upstream the upstream
+     * @param probe the probe
+     * @return true if the upstream passes the probe, never errors
+     */
+    public Mono<Boolean> probe(final Upstream upstream, final Probe probe) {
+        final String url = upstream.getUrl();
+        if (StringUtils.isBlank(url)) {
+            return Mono.just(false);
+        }
+        Mono<Boolean> result = StringUtils.isBlank(probe.getPath()) ? connect(url) : request(upstream, probe);
+        return result.timeout(Duration.ofMillis(timeout))
+                .onErrorResume(e -> {
+                    // a failed probe is routine, the cause is enough without the stack trace
+                    LOG.error("upstream probe is error. url:{} path:{} timeout:{} cause:{}", url, probe.getPath(), timeout, e.toString());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Dispose the event loops.
+     */
+    public void dispose() {
+        loopResources.dispose();
+    }
+
+    private Mono<Boolean> connect(final String url) {
+        final String hostPort = url.startsWith(HTTP) || url.startsWith(HTTPS) ? StringUtils.split(url, "\\/\\/")[1] : url;
+        final String[] split = StringUtils.split(hostPort, Constants.COLONS);
+        final int port = split.length > 1 ? Integer.parseInt(StringUtils.substringBefore(split[1], "/").trim()) : url.startsWith(HTTPS) ? 443 : 80;
+        return TcpClient.create(ConnectionProvider.newConnection())
+                .runOn(loopResources)
+                .host(split[0].trim())
+                .port(port)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout)
+                .connect()
+                .doOnNext(Connection::dispose)
+                .map(connection -> true);
+    }
+
+    private Mono<Boolean> request(final Upstream upstream, final Probe probe) {
+        final String url = upstream.getUrl();
+        final String base = url.startsWith(HTTP) || url.startsWith(HTTPS) ? url
+                : StringUtils.defaultIfBlank(upstream.getProtocol(), HTTP) + url;
+        final String path = probe.getPath().startsWith("/") ? probe.getPath() : "/" + probe.getPath();
+        return HttpClient.create(ConnectionProvider.newConnection())
+                .runOn(loopResources)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout)
+                .responseTimeout(Duration.ofMillis(timeout))
+                .get()
+                .uri(StringUtils.removeEnd(base, "/") + path)
+                .response()
+                .map(response -> probe.isExpected(response.status().code()));
+    }
+
+    /**
+     * The probe of a selector, the path to GET and the expected http status.
+     */
+    public static final class Probe {
+
+        private final String path;
+
+        private final BitSet expectedStatus;
+
+        private Probe(final String path, final BitSet expectedStatus) {
+            this.path = path;
+            this.expectedStatus = expectedStatus;
+        }
+
+        /**
+         * Parse the probe.
+         *
+         * @param path the path, blank means a tcp connect
+         * @param expectedStatus the expected status, such as "200-399" or "200,204", the invalid parts are ignored
+         *                       and "200-399" is used when nothing is left
+         * @return the probe
+         */
+        public static Probe of(final String path, final String expectedStatus) {
+            BitSet status = parseStatus(StringUtils.defaultIfBlank(expectedStatus, DEFAULT_EXPECTED_STATUS));
+            if (status.isEmpty()) {
+                LOG.warn("upstream probe expected status {} is invalid, use {}", expectedStatus, DEFAULT_EXPECTED_STATUS);
+                status = parseStatus(DEFAULT_EXPECTED_STATUS);
+            }
+            return new Probe(StringUtils.trimToEmpty(path), status);
+        }
+
+        private static BitSet parseStatus(final String expectedStatus) {
+            BitSet status = new BitSet(600);
+            for (String part : StringUtils.split(expectedStatus, ',')) {
+                String[] range = StringUtils.split(part.trim(), '-');
+                int from = range.length > 0 ? NumberUtils.toInt(range[0].trim(), -1) : -1;
+                int to = range.length > 1 ? NumberUtils.toInt(range[1].trim(), -1) : from;
+                if (from >= 0 && to >= from && to < 1000) {
+                    status.set(from, to + 1);
+                }
+            }
+            return status;
+        }
+
+        /**
+         * Gets path.
+         *
+         * @return the path
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Whether the status is expected.
+         *
+         * @param status the http status
+         * @return true if expected
+         */
+        public boolean isExpected(final int status) {
+            return expectedStatus.get(status);
+        }
+    }
+}
@@ -17,13 +17,21 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.stream.IntStream;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.config.ShenyuConfig.LoadBalanceConfig;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.spi.Join;
 
@@ -33,10 +41,38 @@ import org.apache.shenyu.spi.Join;
 @Join
 public class HashLoadBalancer extends AbstractLoadBalancer {
 
+    private static final String MURMUR3 = "murmur3";
+
+    private static final ToLongFunction<String> MD5_HASH = HashLoadBalancer::hash;
+
+    private static final ToLongFunction<String> MURMUR3_HASH = HashLoadBalancer::murmur3;
+
+    private static final LoadBalanceConfig DEFAULT_CONFIG = new LoadBalanceConfig();
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("MD5 not supported", e);
+        }
+    });
+
+    /**
+     * the rings by the identity of the upstream list, the lists published by the upstream cache are never changed in place.
+     */
+    private final Cache<List<Upstream>, HashRing> published = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(4096)
+            .build();
+
     /**
-     * virtual node used to solve unbalanced load.
+     * the rings by the content of the upstream list, for the callers building a new list per select.
+     * a changed upstream list gets a new ring and the stale one expires.
      */
-    private static final int VIRTUAL_NODE_NUM = 5;
+    private final Cache<Long, HashRing> rings = Caffeine.newBuilder()
+            .maximumSize(4096)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
 
     /**
      * consistent hash with virtual node to select upstream.
@@ -47,32 +83,52 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
      */
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        final ConcurrentSkipListMap<Long, Upstream> treeMap = new ConcurrentSkipListMap<>();
-        upstreamList.forEach(upstream -> IntStream.range(0, VIRTUAL_NODE_NUM).forEach(i -> {
-            long addressHash = hash("SHENYU-" + upstream.getUrl() + "-HASH-" + i);
-            treeMap.put(addressHash, upstream);
-        }));
-        long hash = hash(ip);
-        SortedMap<Long, Upstream> lastRing = treeMap.tailMap(hash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
+        final LoadBalanceConfig loadBalanceConfig = obtainConfig();
+        final int virtualNodes = Math.max(1, Optional.ofNullable(loadBalanceConfig.getHashVirtualNodes()).orElse(1));
+        final ToLongFunction<String> hashFunction = MURMUR3.equalsIgnoreCase(loadBalanceConfig.getHashAlgorithm())
+                ? MURMUR3_HASH : MD5_HASH;
+        HashRing ring = published.getIfPresent(upstreamList);
+        if (Objects.isNull(ring) || !ring.isBuiltWith(virtualNodes, hashFunction)) {
+            ring = lookup(upstreamList, virtualNodes, hashFunction);
+            published.put(upstreamList, ring);
         }
-        return treeMap.firstEntry().getValue();
+        return upstreamList.get(ring.locate(hashFunction.applyAsLong(ip)));
+    }
+
+    private HashRing lookup(final List<Upstream> upstreamList, final int virtualNodes, final ToLongFunction<String> hashFunction) {
+        final long fingerprint = fingerprint(upstreamList, virtualNodes, hashFunction);
+        HashRing ring = rings.getIfPresent(fingerprint);
+        if (Objects.isNull(ring) || !ring.isBuiltFrom(upstreamList, virtualNodes, hashFunction)) {
+            ring = new HashRing(upstreamList, virtualNodes, hashFunction);
+            rings.put(fingerprint, ring);
+        }
+        return ring;
+    }
+
+    /**
+     * the config is read on every select, so a refreshed {@link ShenyuConfig} takes effect without a restart.
+     */
+    private LoadBalanceConfig obtainConfig() {
+        return Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).map(ShenyuConfig::getLoadBalance).orElse(DEFAULT_CONFIG);
+    }
+
+    private static long fingerprint(final List<Upstream> upstreamList, final int virtualNodes, final ToLongFunction<String> hashFunction) {
+        long fingerprint = 31L * virtualNodes + (hashFunction == MURMUR3_HASH ? 1 : 0);
+        for (Upstream upstream : upstreamList) {
+            fingerprint = 31L * fingerprint + Objects.hashCode(upstream.getUrl());
+        }
+        return fingerprint;
+    }
+
+    private static long murmur3(final String key) {
+        return Hashing.murmur3_32_fixed().hashString(key, StandardCharsets.UTF_8).asInt() & 0xffffffffL;
     }
 
     private static long hash(final String key) {
         // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
-        }
+        MessageDigest md5 = MD5.get();
         md5.reset();
-        byte[] keyBytes;
-        keyBytes = key.getBytes(StandardCharsets.UTF_8);
-        md5.update(keyBytes);
-        byte[] digest = md5.digest();
+        byte[] digest = md5.digest(key.getBytes(StandardCharsets.UTF_8));
         // hash code, Truncate to 32-bits
         long hashCode = (long) (digest[3] & 0xFF) << 24
                 | ((long) (digest[2] & 0xFF) << 16)
@@ -80,4 +136,77 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
                 | (digest[0] & 0xFF);
         return hashCode & 0xffffffffL;
     }
+
+    /**
+     * Immutable hash ring, the virtual nodes are sorted by hash and located by binary search.
+     * the ring keeps the index of the upstream in the source list, so the caller always gets its own upstream instance.
+     */
+    private static final class HashRing {
+
+        private final String[] urls;
+
+        private final int virtualNodes;
+
+        private final ToLongFunction<String> hashFunction;
+
+        private final long[] hashes;
+
+        private final int[] upstreamIndexes;
+
+        HashRing(final List<Upstream> upstreamList, final int virtualNodes, final ToLongFunction<String> hashFunction) {
+            this.urls = upstreamList.stream().map(Upstream::getUrl).toArray(String[]::new);
+            this.virtualNodes = virtualNodes;
+            this.hashFunction = hashFunction;
+            long[] nodes = new long[urls.length * virtualNodes];
+            for (int index = 0; index < urls.length; index++) {
+                for (int i = 0; i < virtualNodes; i++) {
+                    long addressHash = hashFunction.applyAsLong("SHENYU-" + urls[index] + "-HASH-" + i);
+                    // high 32 bits hold the hash, low 32 bits hold the insert order, a later upstream wins a hash collision.
+                    // the sign bit is flipped so that the signed sort keeps the unsigned hash order.
+                    nodes[index * virtualNodes + i] = (addressHash << 32 | (index * virtualNodes + i)) ^ Long.MIN_VALUE;
+                }
+            }
+            Arrays.sort(nodes);
+            int size = 0;
+            long[] sortedHashes = new long[nodes.length];
+            int[] sortedIndexes = new int[nodes.length];
+            for (long sortedNode : nodes) {
+                long node = sortedNode ^ Long.MIN_VALUE;
+                long addressHash = node >>> 32;
+                int upstreamIndex = (int) (node & 0xffffffffL) / virtualNodes;
+                if (size > 0 && sortedHashes[size - 1] == addressHash) {
+                    sortedIndexes[size - 1] = upstreamIndex;
+                    continue;
+                }
+                sortedHashes[size] = addressHash;
+                sortedIndexes[size++] = upstreamIndex;
+            }
+            this.hashes = Arrays.copyOf(sortedHashes, size);
+            this.upstreamIndexes = Arrays.copyOf(sortedIndexes, size);
+        }
+
+        boolean isBuiltWith(final int virtualNodes, final ToLongFunction<String> hashFunction) {
+            return this.virtualNodes == virtualNodes && this.hashFunction == hashFunction;
+        }
+
+        boolean isBuiltFrom(final List<Upstream> upstreamList, final int virtualNodes, final ToLongFunction<String> hashFunction) {
+            if (!isBuiltWith(virtualNodes, hashFunction) || urls.length != upstreamList.size()) {
+                return false;
+            }
+            for (int i = 0; i < urls.length; i++) {
+                if (!Objects.equals(urls[i], upstreamList.get(i).getUrl())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int locate(final long hash) {
+            int position = Arrays.binarySearch(hashes, hash);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            return upstreamIndexes[position == hashes.length ? 0 : position];
+        }
+    }
 }
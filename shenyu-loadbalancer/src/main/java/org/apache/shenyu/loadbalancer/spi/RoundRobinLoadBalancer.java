@@ -17,141 +17,191 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
-import org.apache.shenyu.common.utils.MapUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.spi.Join;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Round-robin load balance impl.
+ * the smooth weighted round-robin sequence is precomputed into a schedule per upstream list,
+ * so a select is a single {@code getAndIncrement} and an array read.
  */
 @Join
 public class RoundRobinLoadBalancer extends AbstractLoadBalancer {
 
-    private final int recyclePeriod = 60000;
+    /**
+     * the max schedule length, larger weights are scaled down proportionally.
+     */
+    private static final int MAX_SCHEDULE_LENGTH = 1 << 14;
 
-    private final ConcurrentMap<String, ConcurrentMap<String, WeightedRoundRobin>> methodWeightMap = new ConcurrentHashMap<>(16);
+    /**
+     * how often the schedule of a warming up upstream list is regenerated.
+     */
+    private static final long WARMUP_REFRESH_PERIOD = 1000L;
 
-    private final AtomicBoolean updateLock = new AtomicBoolean();
+    /**
+     * the schedules by the identity of the upstream list, the lists published by the upstream cache are never changed in place.
+     */
+    private final Cache<List<Upstream>, Schedule> published = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(4096)
+            .build();
+
+    /**
+     * the schedules by the content of the upstream list, for the callers building a new list per select.
+     */
+    private final Cache<Long, Schedule> schedules = Caffeine.newBuilder()
+            .maximumSize(4096)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
 
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        String key = upstreamList.get(0).getUrl();
-        ConcurrentMap<String, WeightedRoundRobin> map = MapUtils.computeIfAbsent(methodWeightMap, key, k -> new ConcurrentHashMap<>(16));
-        int totalWeight = 0;
-        long maxCurrent = Long.MIN_VALUE;
-        long now = System.currentTimeMillis();
-        Upstream selectedInvoker = null;
-        WeightedRoundRobin selectedWeightedRoundRobin = null;
-        for (Upstream upstream : upstreamList) {
-            String rKey = upstream.getUrl();
-            int weight = getWeight(upstream);
-            WeightedRoundRobin weightedRoundRobin = MapUtils.computeIfAbsent(map, rKey, k -> {
-                WeightedRoundRobin roundRobin = new WeightedRoundRobin();
-                roundRobin.setWeight(weight);
-                return roundRobin;
-            });
-            if (weight != weightedRoundRobin.getWeight()) {
-                // weight changed.
-                weightedRoundRobin.setWeight(weight);
-            }
-            long cur = weightedRoundRobin.increaseCurrent();
-            weightedRoundRobin.setLastUpdate(now);
-            if (cur > maxCurrent) {
-                maxCurrent = cur;
-                selectedInvoker = upstream;
-                selectedWeightedRoundRobin = weightedRoundRobin;
-            }
-            totalWeight += weight;
+        Schedule schedule = published.getIfPresent(upstreamList);
+        if (Objects.isNull(schedule) || schedule.isExpired()) {
+            schedule = lookup(upstreamList);
+            published.put(upstreamList, schedule);
         }
-        if (!updateLock.get() && upstreamList.size() != map.size() && updateLock.compareAndSet(false, true)) {
-            try {
-                // copy -> modify -> update reference.
-                ConcurrentMap<String, WeightedRoundRobin> newMap = new ConcurrentHashMap<>(map);
-                newMap.entrySet().removeIf(item -> now - item.getValue().getLastUpdate() > recyclePeriod);
-                methodWeightMap.put(key, newMap);
-            } finally {
-                updateLock.set(false);
-            }
+        return upstreamList.get(schedule.next());
+    }
+
+    private Schedule lookup(final List<Upstream> upstreamList) {
+        final long fingerprint = fingerprint(upstreamList);
+        Schedule schedule = schedules.getIfPresent(fingerprint);
+        if (Objects.isNull(schedule) || !schedule.isBuiltFrom(upstreamList) || schedule.isExpired()) {
+            schedule = new Schedule(upstreamList, buildWeights(upstreamList));
+            schedules.put(fingerprint, schedule);
         }
-        if (Objects.nonNull(selectedInvoker)) {
-            selectedWeightedRoundRobin.sel(totalWeight);
-            return selectedInvoker;
+        return schedule;
+    }
+
+    private int[] buildWeights(final List<Upstream> upstreamList) {
+        int[] weights = new int[upstreamList.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Math.max(0, getWeight(upstreamList.get(i)));
         }
-        // should not happen here.
-        return upstreamList.get(0);
+        return weights;
+    }
+
+    private static long fingerprint(final List<Upstream> upstreamList) {
+        long fingerprint = 1L;
+        for (Upstream upstream : upstreamList) {
+            fingerprint = 31L * fingerprint + Objects.hashCode(upstream.getUrl());
+            fingerprint = 31L * fingerprint + upstream.getWeight();
+        }
+        return fingerprint;
+    }
+
+    private static int gcd(final int a, final int b) {
+        return b == 0 ? a : gcd(b, a % b);
     }
 
     /**
-     * The type Weighted round-robin.
+     * The interleaved smooth weighted round-robin schedule of an upstream list.
      */
-    protected static class WeightedRoundRobin {
+    private static final class Schedule {
 
-        private int weight;
+        private final String[] urls;
 
-        private final AtomicLong current = new AtomicLong(0);
+        private final int[] configWeights;
 
-        private long lastUpdate;
+        private final boolean[] status;
 
-        /**
-         * Gets weight.
-         *
-         * @return the weight
-         */
-        int getWeight() {
-            return weight;
+        private final int[] sequence;
+
+        private final long expireAt;
+
+        private final AtomicInteger position = new AtomicInteger();
+
+        Schedule(final List<Upstream> upstreamList, final int[] weights) {
+            this.urls = new String[upstreamList.size()];
+            this.configWeights = new int[urls.length];
+            this.status = new boolean[urls.length];
+            boolean warming = false;
+            for (int i = 0; i < urls.length; i++) {
+                Upstream upstream = upstreamList.get(i);
+                urls[i] = upstream.getUrl();
+                configWeights[i] = upstream.getWeight();
+                status[i] = upstream.isStatus();
+                warming = warming || (upstream.isStatus() && weights[i] < upstream.getWeight());
+            }
+            this.expireAt = warming ? System.currentTimeMillis() + WARMUP_REFRESH_PERIOD : Long.MAX_VALUE;
+            this.sequence = generate(normalize(weights));
         }
 
-        /**
-         * Sets weight.
-         *
-         * @param weight the weight
-         */
-        void setWeight(final int weight) {
-            this.weight = weight;
-            current.set(0);
+        boolean isBuiltFrom(final List<Upstream> upstreamList) {
+            if (urls.length != upstreamList.size()) {
+                return false;
+            }
+            for (int i = 0; i < urls.length; i++) {
+                Upstream upstream = upstreamList.get(i);
+                if (!Objects.equals(urls[i], upstream.getUrl()) || configWeights[i] != upstream.getWeight() || status[i] != upstream.isStatus()) {
+                    return false;
+                }
+            }
+            return true;
         }
 
-        /**
-         * Increase current long.
-         *
-         * @return the long
-         */
-        long increaseCurrent() {
-            return current.addAndGet(weight);
+        boolean isExpired() {
+            return expireAt != Long.MAX_VALUE && System.currentTimeMillis() > expireAt;
         }
 
-        /**
-         * Sel.
-         *
-         * @param total the total
-         */
-        void sel(final int total) {
-            current.addAndGet(-1 * total);
+        int next() {
+            return sequence[Math.floorMod(position.getAndIncrement(), sequence.length)];
         }
 
-        /**
-         * Gets last update.
-         *
-         * @return the last update
-         */
-        long getLastUpdate() {
-            return lastUpdate;
+        private static int[] normalize(final int[] weights) {
+            int gcd = 0;
+            long total = 0;
+            for (int weight : weights) {
+                gcd = gcd(weight, gcd);
+                total += weight;
+            }
+            if (total == 0) {
+                return weights;
+            }
+            int[] normalized = new int[weights.length];
+            long length = total / gcd;
+            for (int i = 0; i < weights.length; i++) {
+                normalized[i] = weights[i] / gcd;
+                if (length > MAX_SCHEDULE_LENGTH && normalized[i] > 0) {
+                    normalized[i] = (int) Math.max(1, (long) normalized[i] * MAX_SCHEDULE_LENGTH / length);
+                }
+            }
+            return normalized;
         }
 
-        /**
-         * Sets last update.
-         *
-         * @param lastUpdate the last update
-         */
-        void setLastUpdate(final long lastUpdate) {
-            this.lastUpdate = lastUpdate;
+        private static int[] generate(final int[] weights) {
+            int total = 0;
+            for (int weight : weights) {
+                total += weight;
+            }
+            if (total == 0) {
+                // every upstream is offline, keep the old behavior of picking the first one
+                return new int[]{0};
+            }
+            int[] sequence = new int[total];
+            long[] current = new long[weights.length];
+            for (int step = 0; step < total; step++) {
+                int selected = 0;
+                long maxCurrent = Long.MIN_VALUE;
+                for (int i = 0; i < weights.length; i++) {
+                    current[i] += weights[i];
+                    if (current[i] > maxCurrent) {
+                        maxCurrent = current[i];
+                        selected = i;
+                    }
+                }
+                current[selected] -= total;
+                sequence[step] = selected;
+            }
+            return sequence;
         }
     }
 }
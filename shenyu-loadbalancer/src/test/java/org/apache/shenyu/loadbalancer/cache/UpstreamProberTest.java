@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The type Upstream prober test.
+ */
+public final class UpstreamProberTest {
+
+    private final UpstreamProber prober = new UpstreamProber(1, 3000);
+
+    private HttpServer server;
+
+    private String url;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/health", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/down", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        url = "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        prober.dispose();
+    }
+
+    @Test
+    public void testTcpProbe() {
+        Upstream upstream = Upstream.builder().url(url).build();
+        assertTrue(prober.probe(upstream, UpstreamProber.Probe.of("", null)).block());
+        assertFalse(prober.probe(Upstream.builder().url("").build(), UpstreamProber.Probe.of("", null)).block());
+    }
+
+    @Test
+    public void testHttpProbe() {
+        Upstream upstream = Upstream.builder().protocol("http://").url(url).build();
+        assertTrue(prober.probe(upstream, UpstreamProber.Probe.of("/health", "200-299")).block());
+        assertFalse(prober.probe(upstream, UpstreamProber.Probe.of("down", "200-299")).block());
+        assertTrue(prober.probe(upstream, UpstreamProber.Probe.of("down", "200,503")).block());
+        server.stop(0);
+        assertFalse(prober.probe(upstream, UpstreamProber.Probe.of("/health", null)).block());
+    }
+
+    @Test
+    public void testProbeOf() {
+        UpstreamProber.Probe probe = UpstreamProber.Probe.of(" /health ", "200-204, 302");
+        assertEquals("/health", probe.getPath());
+        assertTrue(probe.isExpected(204));
+        assertTrue(probe.isExpected(302));
+        assertFalse(probe.isExpected(301));
+    }
+
+    @Test
+    public void testProbeOfInvalidStatus() {
+        UpstreamProber.Probe probe = UpstreamProber.Probe.of("/health", "2xx, 204");
+        assertTrue(probe.isExpected(204));
+        assertFalse(probe.isExpected(200));
+        UpstreamProber.Probe fallback = UpstreamProber.Probe.of("/health", "ok");
+        assertTrue(fallback.isExpected(200));
+        assertTrue(fallback.isExpected(399));
+        assertFalse(fallback.isExpected(500));
+    }
+}
@@ -17,13 +17,27 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import com.google.common.hash.Hashing;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * HashLoadBalancer unit test.
@@ -42,4 +56,64 @@ class HashLoadBalancerTest {
         assertEquals(upstreamList.get(2).getUrl(), upstream.getUrl());
     }
 
+    @Test
+    void doSelectSameAsTreeMapRing() {
+        final HashLoadBalancer hashLoadBalancer = new HashLoadBalancer();
+        final List<Upstream> upstreamList = IntStream.range(0, 20)
+                .mapToObj(i -> Upstream.builder().url("http://10.0.0." + i + "/api").build())
+                .collect(Collectors.toList());
+        assertSameAsTreeMapRing(hashLoadBalancer, upstreamList, HashLoadBalancerTest::md5);
+        // the upstream cache publishes a changed list as a new list
+        final List<Upstream> shrunkList = new ArrayList<>(upstreamList.subList(1, upstreamList.size()));
+        for (int i = 0; i < 200; i++) {
+            assertNotEquals("http://10.0.0.0/api", hashLoadBalancer.select(shrunkList, "192.168.1." + i).getUrl());
+        }
+    }
+
+    @Test
+    void doSelectWithRefreshedConfig() {
+        final HashLoadBalancer hashLoadBalancer = new HashLoadBalancer();
+        final List<Upstream> upstreamList = IntStream.range(0, 20)
+                .mapToObj(i -> Upstream.builder().url("http://10.0.0." + i + "/api").build())
+                .collect(Collectors.toList());
+        assertSameAsTreeMapRing(hashLoadBalancer, upstreamList, HashLoadBalancerTest::md5);
+        final ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getLoadBalance().setHashAlgorithm("murmur3");
+        Singleton.INST.single(ShenyuConfig.class, shenyuConfig);
+        try {
+            assertSameAsTreeMapRing(hashLoadBalancer, upstreamList,
+                    key -> Hashing.murmur3_32_fixed().hashString(key, StandardCharsets.UTF_8).asInt() & 0xffffffffL);
+        } finally {
+            Singleton.INST.single(ShenyuConfig.class, new ShenyuConfig());
+        }
+    }
+
+    private static void assertSameAsTreeMapRing(final HashLoadBalancer hashLoadBalancer, final List<Upstream> upstreamList,
+                                                final ToLongFunction<String> hash) {
+        final ConcurrentSkipListMap<Long, Upstream> treeMap = new ConcurrentSkipListMap<>();
+        for (Upstream upstream : upstreamList) {
+            for (int i = 0; i < 5; i++) {
+                treeMap.put(hash.applyAsLong("SHENYU-" + upstream.getUrl() + "-HASH-" + i), upstream);
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            final String ip = "192.168.1." + i;
+            final Map.Entry<Long, Upstream> entry = Optional.ofNullable(treeMap.ceilingEntry(hash.applyAsLong(ip)))
+                    .orElse(treeMap.firstEntry());
+            assertSame(entry.getValue(), hashLoadBalancer.select(upstreamList, ip));
+        }
+    }
+
+    private static long md5(final String key) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            final long hashCode = (long) (digest[3] & 0xFF) << 24
+                    | ((long) (digest[2] & 0xFF) << 16)
+                    | ((long) (digest[1] & 0xFF) << 8)
+                    | (digest[0] & 0xFF);
+            return hashCode & 0xffffffffL;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
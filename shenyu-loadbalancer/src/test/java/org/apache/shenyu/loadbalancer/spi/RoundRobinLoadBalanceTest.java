@@ -20,9 +20,11 @@ package org.apache.shenyu.loadbalancer.spi;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -57,6 +59,28 @@ public final class RoundRobinLoadBalanceTest {
         assertEquals(60, countMap.get("upstream-50").intValue());
     }
 
+    @Test
+    public void roundRobinLoadBalanceLargeWeightTest() {
+        // the weights are scaled down to the max schedule length without overflowing
+        List<Upstream> upstreamList =
+                Stream.of(300000, 100001)
+                        .map(weight -> Upstream.builder()
+                                .url("upstream-" + weight)
+                                .weight(weight)
+                                .build())
+                        .collect(Collectors.toList());
+
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        Map<String, Integer> countMap = new HashMap<>();
+        IntStream.range(0, 16383).forEach(i -> {
+            Upstream result = roundRobinLoadBalancer.select(upstreamList, "");
+            int count = countMap.getOrDefault(result.getUrl(), 0);
+            countMap.put(result.getUrl(), ++count);
+        });
+        assertEquals(12287, countMap.get("upstream-300000").intValue());
+        assertEquals(4096, countMap.get("upstream-100001").intValue());
+    }
+
     @Test
     public void roundRobinLoadBalanceOrderedWeightTest() {
         List<Upstream> upstreamList =
@@ -118,4 +142,45 @@ public final class RoundRobinLoadBalanceTest {
         roundRobinLoadBalancer.select(upstreamList, "");
         roundRobinLoadBalancer.select(upstreamList2, "");
     }
+
+    @Test
+    public void roundRobinLoadBalanceSmoothScheduleTest() {
+        List<Upstream> upstreamList =
+                Stream.of(5, 1, 1, 0)
+                        .map(weight -> Upstream.builder()
+                                .url("upstream-" + weight + "-" + UUID.randomUUID())
+                                .weight(weight)
+                                .build())
+                        .collect(Collectors.toList());
+        upstreamList.get(2).setStatus(false);
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        String sequence = IntStream.range(0, 12)
+                .mapToObj(i -> String.valueOf(upstreamList.indexOf(roundRobinLoadBalancer.select(upstreamList, ""))))
+                .collect(Collectors.joining());
+        assertEquals("000100000100", sequence);
+        // a changed upstream list is published as a new list
+        upstreamList.get(2).setStatus(true);
+        List<Upstream> changedList = new ArrayList<>(upstreamList);
+        sequence = IntStream.range(0, 7)
+                .mapToObj(i -> String.valueOf(changedList.indexOf(roundRobinLoadBalancer.select(changedList, ""))))
+                .collect(Collectors.joining());
+        assertEquals("0010200", sequence);
+    }
+
+    @Test
+    public void roundRobinLoadBalanceNewListPerSelectTest() {
+        List<Upstream> upstreamList =
+                Stream.of(2, 1)
+                        .map(weight -> Upstream.builder()
+                                .url("upstream-" + weight + "-" + UUID.randomUUID())
+                                .weight(weight)
+                                .build())
+                        .collect(Collectors.toList());
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        // the lists of the same upstreams share the schedule
+        String sequence = IntStream.range(0, 6)
+                .mapToObj(i -> String.valueOf(upstreamList.indexOf(roundRobinLoadBalancer.select(new ArrayList<>(upstreamList), ""))))
+                .collect(Collectors.joining());
+        assertEquals("010010", sequence);
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.instrument;
+
+import org.apache.shenyu.common.instrument.ListenerRegistry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The plugin chain instrumentation, off by default.
+ * the plugin chain records the self time, which excludes the downstream plugins, and the skips of every plugin,
+ * the plugins record how their selectors and rules are matched.
+ */
+public final class PluginInstrumentation extends ListenerRegistry<PluginInstrumentation.Listener> {
+
+    private static final PluginInstrumentation INSTANCE = new PluginInstrumentation();
+
+    private final Map<String, PluginStats> stats = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    private PluginInstrumentation() {
+        super(Listener[]::new);
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static PluginInstrumentation getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether the instrumentation is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the instrumentation.
+     *
+     * @param enabled the enabled
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record the self time of a plugin execution.
+     *
+     * @param plugin the plugin name
+     * @param nanos the self time in nanoseconds
+     */
+    public void recordSelfTime(final String plugin, final long nanos) {
+        stats(plugin).recordSelfTime(nanos);
+        for (Listener listener : listeners()) {
+            listener.onSelfTime(plugin, nanos);
+        }
+    }
+
+    /**
+     * Record a plugin skip.
+     *
+     * @param plugin the plugin name
+     */
+    public void recordSkip(final String plugin) {
+        stats(plugin).recordSkip();
+        for (Listener listener : listeners()) {
+            listener.onSkip(plugin);
+        }
+    }
+
+    /**
+     * Record how a plugin matches its selector or rule, only when enabled.
+     *
+     * @param plugin the plugin name
+     * @param target the target
+     * @param outcome the outcome
+     */
+    public void recordMatch(final String plugin, final MatchTarget target, final MatchOutcome outcome) {
+        if (!enabled) {
+            return;
+        }
+        stats(plugin).recordMatch(target, outcome);
+        for (Listener listener : listeners()) {
+            listener.onMatch(plugin, target, outcome);
+        }
+    }
+
+    /**
+     * Gets the stats by plugin name.
+     *
+     * @return the stats
+     */
+    public Map<String, PluginStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Clear the stats.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    private PluginStats stats(final String plugin) {
+        PluginStats pluginStats = stats.get(plugin);
+        if (Objects.isNull(pluginStats)) {
+            pluginStats = stats.computeIfAbsent(plugin, name -> new PluginStats());
+        }
+        return pluginStats;
+    }
+
+    /**
+     * The instrumentation listener.
+     */
+    public interface Listener {
+
+        /**
+         * On the self time of a plugin execution.
+         *
+         * @param plugin the plugin name
+         * @param nanos the self time in nanoseconds
+         */
+        default void onSelfTime(final String plugin, final long nanos) {
+        }
+
+        /**
+         * On a plugin skip.
+         *
+         * @param plugin the plugin name
+         */
+        default void onSkip(final String plugin) {
+        }
+
+        /**
+         * On a selector or rule match.
+         *
+         * @param plugin the plugin name
+         * @param target the target
+         * @param outcome the outcome
+         */
+        default void onMatch(final String plugin, final MatchTarget target, final MatchOutcome outcome) {
+        }
+    }
+}
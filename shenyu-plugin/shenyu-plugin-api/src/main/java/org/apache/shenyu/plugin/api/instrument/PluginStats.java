@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.instrument;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The instrumented stats of one plugin.
+ * the self time is kept in a log-linear histogram of microseconds, every power of two is split into 8 buckets,
+ * so a percentile is within 12.5% of the real one.
+ */
+public final class PluginStats {
+
+    private static final int SUB_BUCKETS = 8;
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int BUCKETS = 224;
+
+    private static final MatchOutcome[] OUTCOMES = MatchOutcome.values();
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder skips = new LongAdder();
+
+    private final LongAdder selfNanos = new LongAdder();
+
+    private final LongAccumulator maxSelfNanos = new LongAccumulator(Long::max, 0);
+
+    private final AtomicLongArray selfTimeBuckets = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLongArray matches = new AtomicLongArray(MatchTarget.values().length * OUTCOMES.length);
+
+    /**
+     * Record the self time of an execution.
+     *
+     * @param nanos the self time in nanoseconds
+     */
+    public void recordSelfTime(final long nanos) {
+        long self = Math.max(0, nanos);
+        executions.increment();
+        selfNanos.add(self);
+        maxSelfNanos.accumulate(self);
+        selfTimeBuckets.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMicros(self)));
+    }
+
+    /**
+     * Record a skip.
+     */
+    public void recordSkip() {
+        skips.increment();
+    }
+
+    /**
+     * Record how a selector or rule is matched.
+     *
+     * @param target the target
+     * @param outcome the outcome
+     */
+    public void recordMatch(final MatchTarget target, final MatchOutcome outcome) {
+        matches.incrementAndGet(target.ordinal() * OUTCOMES.length + outcome.ordinal());
+    }
+
+    /**
+     * Gets the execution count.
+     *
+     * @return the count
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Gets the skip count.
+     *
+     * @return the count
+     */
+    public long getSkips() {
+        return skips.sum();
+    }
+
+    /**
+     * Gets the mean self time.
+     *
+     * @return the microseconds
+     */
+    public double getSelfTimeMeanMicros() {
+        long count = executions.sum();
+        return count == 0 ? 0 : selfNanos.sum() / 1000d / count;
+    }
+
+    /**
+     * Gets the max self time.
+     *
+     * @return the microseconds
+     */
+    public long getSelfTimeMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxSelfNanos.get());
+    }
+
+    /**
+     * Gets the median self time.
+     *
+     * @return the microseconds
+     */
+    public long getSelfTimeP50Micros() {
+        return selfTimePercentileMicros(50);
+    }
+
+    /**
+     * Gets the 99th percentile self time.
+     *
+     * @return the microseconds
+     */
+    public long getSelfTimeP99Micros() {
+        return selfTimePercentileMicros(99);
+    }
+
+    /**
+     * Gets the selector match counts by outcome.
+     *
+     * @return the counts
+     */
+    public Map<String, Long> getSelectorMatches() {
+        return matches(MatchTarget.SELECTOR);
+    }
+
+    /**
+     * Gets the rule match counts by outcome.
+     *
+     * @return the counts
+     */
+    public Map<String, Long> getRuleMatches() {
+        return matches(MatchTarget.RULE);
+    }
+
+    /**
+     * The self time percentile.
+     *
+     * @param percentile the percentile, such as 99.9
+     * @return the upper bound of the percentile bucket in microseconds, 0 if nothing is recorded
+     */
+    public long selfTimePercentileMicros(final double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = selfTimeBuckets.get(i);
+            sum += snapshot[i];
+        }
+        if (sum == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(sum * Math.min(100d, Math.max(0d, percentile)) / 100d));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private Map<String, Long> matches(final MatchTarget target) {
+        Map<String, Long> result = new LinkedHashMap<>(OUTCOMES.length);
+        for (MatchOutcome outcome : OUTCOMES) {
+            result.put(outcome.name().toLowerCase(Locale.ROOT), matches.get(target.ordinal() * OUTCOMES.length + outcome.ordinal()));
+        }
+        return result;
+    }
+
+    static int bucket(final long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int index = (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    static long upperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
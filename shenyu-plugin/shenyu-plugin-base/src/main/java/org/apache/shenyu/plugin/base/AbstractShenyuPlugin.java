@@ -33,9 +33,13 @@ import org.apache.shenyu.common.utils.ListUtil;
 import org.apache.shenyu.common.utils.LogUtils;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.instrument.MatchOutcome;
+import org.apache.shenyu.plugin.api.instrument.MatchTarget;
+import org.apache.shenyu.plugin.api.instrument.PluginInstrumentation;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.apache.shenyu.plugin.base.condition.decision.MatchDecisionEngine;
 import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrieNode;
@@ -45,12 +49,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * abstract shenyu plugin please extends.
@@ -102,24 +102,15 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         if (CollectionUtils.isEmpty(selectors)) {
             return handleSelectorIfNull(pluginName, exchange, chain);
         }
-        SelectorData selectorData = obtainSelectorDataCacheIfEnabled(path);
         // handle Selector
-        if (Objects.nonNull(selectorData) && StringUtils.isBlank(selectorData.getId())) {
+        SelectorData selectorData = obtainSelectorData(exchange, pluginName, selectors, path);
+        if (Objects.isNull(selectorData) || StringUtils.isBlank(selectorData.getId())) {
             return handleSelectorIfNull(pluginName, exchange, chain);
         }
-        if (Objects.isNull(selectorData)) {
-            selectorData = trieMatchSelector(exchange, pluginName, path);
-            if (Objects.isNull(selectorData)) {
-                selectorData = defaultMatchSelector(exchange, selectors, path);
-                if (Objects.isNull(selectorData)) {
-                    return handleSelectorIfNull(pluginName, exchange, chain);
-                }
-            }
-        }
         printLog(selectorData, pluginName);
         if (!selectorData.getContinued()) {
             // if continued， not match rules
-            return doExecute(exchange, chain, selectorData, defaultRuleData(selectorData));
+            return matched(exchange, chain, selectorData, defaultRuleData(selectorData));
         }
         List<RuleData> rules = BaseDataCache.getInstance().obtainRuleData(selectorData.getId());
         if (CollectionUtils.isEmpty(rules)) {
@@ -129,28 +120,62 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             //get last
             RuleData rule = rules.get(rules.size() - 1);
             printLog(rule, pluginName);
-            return doExecute(exchange, chain, selectorData, rule);
+            return matched(exchange, chain, selectorData, rule);
         }
         // lru map as L1 cache,the cache is enabled by default.
         // if the L1 cache fails to hit, using L2 cache based on trie cache.
         // if the L2 cache fails to hit, execute default strategy.
-        RuleData ruleData = obtainRuleDataCacheIfEnabled(path);
-        if (Objects.nonNull(ruleData) && Objects.isNull(ruleData.getId())) {
+        RuleData ruleData = obtainRuleData(exchange, pluginName, selectorData, rules, path);
+        if (Objects.isNull(ruleData) || Objects.isNull(ruleData.getId())) {
             return handleRuleIfNull(pluginName, exchange, chain);
         }
-        if (Objects.isNull(ruleData)) {
-            // L1 cache not exist data, try to get data through trie cache
-            ruleData = trieMatchRule(exchange, selectorData, path);
-            // trie cache fails to hit, execute default strategy
-            if (Objects.isNull(ruleData)) {
-                ruleData = defaultMatchRule(exchange, rules, path);
-                if (Objects.isNull(ruleData)) {
-                    return handleRuleIfNull(pluginName, exchange, chain);
-                }
-            }
-        }
         printLog(ruleData, pluginName);
-        return doExecute(exchange, chain, selectorData, ruleData);
+        return matched(exchange, chain, selectorData, ruleData);
+    }
+    
+    private SelectorData obtainSelectorData(final ServerWebExchange exchange, final String pluginName, final List<SelectorData> selectors, final String path) {
+        SelectorData selectorData = obtainSelectorDataCacheIfEnabled(path);
+        if (Objects.nonNull(selectorData)) {
+            recordMatch(pluginName, MatchTarget.SELECTOR, StringUtils.isBlank(selectorData.getId()) ? MatchOutcome.MISS : MatchOutcome.CACHE);
+            return selectorData;
+        }
+        selectorData = trieMatchSelector(exchange, pluginName, path);
+        if (Objects.nonNull(selectorData)) {
+            recordMatch(pluginName, MatchTarget.SELECTOR, MatchOutcome.TRIE);
+            return selectorData;
+        }
+        selectorData = defaultMatchSelector(exchange, selectors, path);
+        recordMatch(pluginName, MatchTarget.SELECTOR, Objects.isNull(selectorData) ? MatchOutcome.MISS : MatchOutcome.SCAN);
+        return selectorData;
+    }
+    
+    private RuleData obtainRuleData(final ServerWebExchange exchange, final String pluginName, final SelectorData selectorData,
+                                    final List<RuleData> rules, final String path) {
+        RuleData ruleData = obtainRuleDataCacheIfEnabled(path);
+        if (Objects.nonNull(ruleData)) {
+            recordMatch(pluginName, MatchTarget.RULE, Objects.isNull(ruleData.getId()) ? MatchOutcome.MISS : MatchOutcome.CACHE);
+            return ruleData;
+        }
+        // L1 cache not exist data, try to get data through trie cache
+        ruleData = trieMatchRule(exchange, selectorData, path);
+        if (Objects.nonNull(ruleData)) {
+            recordMatch(pluginName, MatchTarget.RULE, MatchOutcome.TRIE);
+            return ruleData;
+        }
+        // trie cache fails to hit, execute default strategy
+        ruleData = defaultMatchRule(exchange, selectorData, rules, path);
+        recordMatch(pluginName, MatchTarget.RULE, Objects.isNull(ruleData) ? MatchOutcome.MISS : MatchOutcome.SCAN);
+        return ruleData;
+    }
+    
+    private void recordMatch(final String pluginName, final MatchTarget target, final MatchOutcome outcome) {
+        PluginInstrumentation.getInstance().recordMatch(pluginName, target, outcome);
+    }
+    
+    private Mono<Void> matched(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+        // metrics label the request by the matched rule instead of the raw path
+        exchange.getAttributes().put(Constants.MATCHED_RULE, rule);
+        return doExecute(exchange, chain, selector, rule);
     }
     
     protected String getRawPath(final ServerWebExchange exchange) {
@@ -251,32 +276,26 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
     }
 
     private Pair<Boolean, SelectorData> matchSelector(final ServerWebExchange exchange, final Collection<SelectorData> selectors) {
-        List<SelectorData> filterCollectors = selectors.stream()
-                .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange))
-                .distinct()
-                .collect(Collectors.toList());
-        if (filterCollectors.size() > 1) {
-            return Pair.of(Boolean.FALSE, manyMatchSelector(filterCollectors));
-        } else {
-            return Pair.of(Boolean.TRUE, filterCollectors.stream().findFirst().orElse(null));
-        }
-    }
-
-    private SelectorData manyMatchSelector(final List<SelectorData> filterCollectors) {
-        //What needs to be dealt with here is the and condition. If the number of and conditions is the same and is matched at the same time,
+        // What needs to be dealt with here is the and condition. If the number of and conditions is the same and is matched at the same time,
         // it will be sorted by the sort field.
-        Map<Integer, List<Pair<Integer, SelectorData>>> collect =
-                filterCollectors.stream().map(selector -> {
-                    boolean match = MatchModeEnum.match(selector.getMatchMode(), MatchModeEnum.AND);
-                    int sort = 0;
-                    if (match) {
-                        sort = selector.getConditionList().size();
-                    }
-                    return Pair.of(sort, selector);
-                }).collect(Collectors.groupingBy(Pair::getLeft));
-        Integer max = Collections.max(collect.keySet());
-        List<Pair<Integer, SelectorData>> pairs = collect.get(max);
-        return pairs.stream().map(Pair::getRight).min(Comparator.comparing(SelectorData::getSort)).orElse(null);
+        SelectorData matched = null;
+        boolean unique = true;
+        for (SelectorData selector : selectors) {
+            if (!selector.getEnabled() || !filterSelector(selector, exchange)) {
+                continue;
+            }
+            if (Objects.isNull(matched)) {
+                matched = selector;
+                continue;
+            }
+            unique = unique && matched.equals(selector);
+            int compare = Integer.compare(andConditionCount(selector.getMatchMode(), selector.getConditionList()),
+                    andConditionCount(matched.getMatchMode(), matched.getConditionList()));
+            if (compare > 0 || (compare == 0 && selector.getSort() < matched.getSort())) {
+                matched = selector;
+            }
+        }
+        return Pair.of(unique, matched);
     }
 
     private Boolean filterSelector(final SelectorData selector, final ServerWebExchange exchange) {
@@ -290,30 +309,28 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
     }
 
     private Pair<Boolean, RuleData> matchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
-        List<RuleData> filterRuleData = rules.stream()
-                .filter(rule -> filterRule(rule, exchange))
-                .distinct()
-                .collect(Collectors.toList());
-        if (filterRuleData.size() > 1) {
-            return Pair.of(Boolean.FALSE, manyMatchRule(filterRuleData));
-        } else {
-            return Pair.of(Boolean.TRUE, filterRuleData.stream().findFirst().orElse(null));
+        RuleData matched = null;
+        boolean unique = true;
+        for (RuleData rule : rules) {
+            if (!filterRule(rule, exchange)) {
+                continue;
+            }
+            if (Objects.isNull(matched)) {
+                matched = rule;
+                continue;
+            }
+            unique = unique && matched.equals(rule);
+            int compare = Integer.compare(andConditionCount(rule.getMatchMode(), rule.getConditionDataList()),
+                    andConditionCount(matched.getMatchMode(), matched.getConditionDataList()));
+            if (compare > 0 || (compare == 0 && rule.getSort() < matched.getSort())) {
+                matched = rule;
+            }
         }
+        return Pair.of(unique, matched);
     }
 
-    private RuleData manyMatchRule(final List<RuleData> filterRuleData) {
-        Map<Integer, List<Pair<Integer, RuleData>>> collect =
-                filterRuleData.stream().map(rule -> {
-                    boolean match = MatchModeEnum.match(rule.getMatchMode(), MatchModeEnum.AND);
-                    int sort = 0;
-                    if (match) {
-                        sort = rule.getConditionDataList().size();
-                    }
-                    return Pair.of(sort, rule);
-                }).collect(Collectors.groupingBy(Pair::getLeft));
-        Integer max = Collections.max(collect.keySet());
-        List<Pair<Integer, RuleData>> pairs = collect.get(max);
-        return pairs.stream().map(Pair::getRight).min(Comparator.comparing(RuleData::getSort)).orElse(null);
+    private int andConditionCount(final Integer matchMode, final List<ConditionData> conditionList) {
+        return MatchModeEnum.match(matchMode, MatchModeEnum.AND) ? conditionList.size() : 0;
     }
 
     private Boolean filterRule(final RuleData ruleData, final ServerWebExchange exchange) {
@@ -378,7 +395,8 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
     }
     
     private SelectorData defaultMatchSelector(final ServerWebExchange exchange, final List<SelectorData> selectors, final String path) {
-        Pair<Boolean, SelectorData> matchSelectorPair = matchSelector(exchange, selectors);
+        MatchDecisionEngine<SelectorData> decision = BaseDataCache.getInstance().obtainSelectorDecision(named());
+        Pair<Boolean, SelectorData> matchSelectorPair = Objects.nonNull(decision) ? decision.match(exchange) : matchSelector(exchange, selectors);
         SelectorData selectorData = matchSelectorPair.getRight();
         if (Objects.nonNull(selectorData)) {
             LogUtils.info(LOG, "{} selector match success from default strategy", named());
@@ -397,8 +415,9 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         }
     }
     
-    private RuleData defaultMatchRule(final ServerWebExchange exchange, final List<RuleData> rules, final String path) {
-        Pair<Boolean, RuleData> matchRulePair = matchRule(exchange, rules);
+    private RuleData defaultMatchRule(final ServerWebExchange exchange, final SelectorData selectorData, final List<RuleData> rules, final String path) {
+        MatchDecisionEngine<RuleData> decision = BaseDataCache.getInstance().obtainRuleDecision(selectorData.getId());
+        Pair<Boolean, RuleData> matchRulePair = Objects.nonNull(decision) ? decision.match(exchange) : matchRule(exchange, rules);
         RuleData ruleData = matchRulePair.getRight();
         if (Objects.nonNull(ruleData)) {
             LOG.info("{} rule match path from default strategy", named());
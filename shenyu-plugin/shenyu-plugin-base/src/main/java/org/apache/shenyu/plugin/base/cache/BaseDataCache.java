@@ -22,11 +22,19 @@ import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.condition.decision.MatchDecisionEngine;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +44,10 @@ public final class BaseDataCache {
 
     private static final BaseDataCache INSTANCE = new BaseDataCache();
 
+    private static final Comparator<SelectorData> SELECTOR_COMPARATOR = Comparator.comparing(SelectorData::getSort);
+
+    private static final Comparator<RuleData> RULE_COMPARATOR = Comparator.comparing(RuleData::getSort);
+
     /**
      * pluginName -> PluginData.
      */
@@ -51,6 +63,16 @@ public final class BaseDataCache {
      */
     private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
 
+    /**
+     * pluginName -> compiled selector decision.
+     */
+    private static final ConcurrentMap<String, MatchDecisionEngine<SelectorData>> SELECTOR_DECISION_MAP = Maps.newConcurrentMap();
+
+    /**
+     * selectorId -> compiled rule decision.
+     */
+    private static final ConcurrentMap<String, MatchDecisionEngine<RuleData>> RULE_DECISION_MAP = Maps.newConcurrentMap();
+
     private BaseDataCache() {
     }
     
@@ -132,13 +154,36 @@ public final class BaseDataCache {
      */
     public void removeSelectData(final SelectorData selectorData) {
         Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
+            // copy on write, the list may be iterated by the requests
             synchronized (SELECTOR_MAP) {
-                Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
+                SELECTOR_MAP.computeIfPresent(data.getPluginName(), (key, list) -> list.stream()
+                        .filter(e -> !e.getId().equals(data.getId())).collect(Collectors.toList()));
             }
+            SELECTOR_DECISION_MAP.remove(data.getPluginName());
         });
     }
     
+    /**
+     * Replace all the selector data, the sorted selectors and the compiled decisions are built off to the side,
+     * then every plugin's selectors are published in one put and the plugins no longer have selectors are removed,
+     * so the requests never see the selectors missing while a full refresh is running.
+     *
+     * @param selectorDataList the selector data list
+     */
+    public void replaceSelectData(final List<SelectorData> selectorDataList) {
+        Map<String, List<SelectorData>> selectorMap = group(selectorDataList, SelectorData::getPluginName, SelectorData::getId, SELECTOR_COMPARATOR);
+        Map<String, MatchDecisionEngine<SelectorData>> decisionMap = new HashMap<>(selectorMap.size());
+        selectorMap.forEach((pluginName, selectors) -> decisionMap.put(pluginName, MatchDecisionEngine.compileSelectors(selectors)));
+        synchronized (SELECTOR_MAP) {
+            selectorMap.forEach((pluginName, selectors) -> {
+                SELECTOR_MAP.put(pluginName, selectors);
+                SELECTOR_DECISION_MAP.put(pluginName, decisionMap.get(pluginName));
+            });
+            SELECTOR_MAP.keySet().retainAll(selectorMap.keySet());
+            SELECTOR_DECISION_MAP.keySet().retainAll(selectorMap.keySet());
+        }
+    }
+
     /**
      * Remove select data by plugin name.
      *
@@ -146,6 +191,7 @@ public final class BaseDataCache {
      */
     public void removeSelectDataByPluginName(final String pluginName) {
         SELECTOR_MAP.remove(pluginName);
+        SELECTOR_DECISION_MAP.remove(pluginName);
     }
     
     /**
@@ -153,6 +199,7 @@ public final class BaseDataCache {
      */
     public void cleanSelectorData() {
         SELECTOR_MAP.clear();
+        SELECTOR_DECISION_MAP.clear();
     }
     
     /**
@@ -190,13 +237,35 @@ public final class BaseDataCache {
      */
     public void removeRuleData(final RuleData ruleData) {
         Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
+            // copy on write, the list may be iterated by the requests
             synchronized (RULE_MAP) {
-                Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
+                RULE_MAP.computeIfPresent(data.getSelectorId(), (key, list) -> list.stream()
+                        .filter(rule -> !rule.getId().equals(data.getId())).collect(Collectors.toList()));
             }
+            RULE_DECISION_MAP.remove(data.getSelectorId());
         });
     }
     
+    /**
+     * Replace all the rule data, the sorted rules and the compiled decisions are built off to the side,
+     * then every selector's rules are published in one put and the selectors no longer have rules are removed.
+     *
+     * @param ruleDataList the rule data list
+     */
+    public void replaceRuleData(final List<RuleData> ruleDataList) {
+        Map<String, List<RuleData>> ruleMap = group(ruleDataList, RuleData::getSelectorId, RuleData::getId, RULE_COMPARATOR);
+        Map<String, MatchDecisionEngine<RuleData>> decisionMap = new HashMap<>(ruleMap.size());
+        ruleMap.forEach((selectorId, rules) -> decisionMap.put(selectorId, MatchDecisionEngine.compileRules(rules)));
+        synchronized (RULE_MAP) {
+            ruleMap.forEach((selectorId, rules) -> {
+                RULE_MAP.put(selectorId, rules);
+                RULE_DECISION_MAP.put(selectorId, decisionMap.get(selectorId));
+            });
+            RULE_MAP.keySet().retainAll(ruleMap.keySet());
+            RULE_DECISION_MAP.keySet().retainAll(ruleMap.keySet());
+        }
+    }
+
     /**
      * Remove rule data by selector id.
      *
@@ -204,6 +273,7 @@ public final class BaseDataCache {
      */
     public void removeRuleDataBySelectorId(final String selectorId) {
         RULE_MAP.remove(selectorId);
+        RULE_DECISION_MAP.remove(selectorId);
     }
     
     /**
@@ -211,6 +281,7 @@ public final class BaseDataCache {
      */
     public void cleanRuleData() {
         RULE_MAP.clear();
+        RULE_DECISION_MAP.clear();
     }
     
     /**
@@ -232,6 +303,28 @@ public final class BaseDataCache {
         return RULE_MAP.get(selectorId);
     }
     
+    /**
+     * Obtain the compiled selector decision of the plugin, it is rebuilt lazily after the selectors changed.
+     *
+     * @param pluginName the plugin name
+     * @return the decision engine, null if the plugin has no selector
+     */
+    public MatchDecisionEngine<SelectorData> obtainSelectorDecision(final String pluginName) {
+        return SELECTOR_DECISION_MAP.computeIfAbsent(pluginName, key -> Optional.ofNullable(SELECTOR_MAP.get(key))
+                .map(MatchDecisionEngine::compileSelectors).orElse(null));
+    }
+    
+    /**
+     * Obtain the compiled rule decision of the selector, it is rebuilt lazily after the rules changed.
+     *
+     * @param selectorId the selector id
+     * @return the decision engine, null if the selector has no rule
+     */
+    public MatchDecisionEngine<RuleData> obtainRuleDecision(final String selectorId) {
+        return RULE_DECISION_MAP.computeIfAbsent(selectorId, key -> Optional.ofNullable(RULE_MAP.get(key))
+                .map(MatchDecisionEngine::compileRules).orElse(null));
+    }
+    
     /**
      * Gets plugin map.
      *
@@ -268,16 +361,9 @@ public final class BaseDataCache {
     private void ruleAccept(final RuleData data) {
         String selectorId = data.getSelectorId();
         synchronized (RULE_MAP) {
-            if (RULE_MAP.containsKey(selectorId)) {
-                List<RuleData> existList = RULE_MAP.get(selectorId);
-                final List<RuleData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-                resultList.add(data);
-                final List<RuleData> collect = resultList.stream().sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
-                RULE_MAP.put(selectorId, collect);
-            } else {
-                RULE_MAP.put(selectorId, Lists.newArrayList(data));
-            }
+            RULE_MAP.put(selectorId, upsert(RULE_MAP.get(selectorId), data, RuleData::getId, RULE_COMPARATOR));
         }
+        RULE_DECISION_MAP.remove(selectorId);
     }
 
     /**
@@ -288,15 +374,57 @@ public final class BaseDataCache {
     private void selectorAccept(final SelectorData data) {
         String key = data.getPluginName();
         synchronized (SELECTOR_MAP) {
-            if (SELECTOR_MAP.containsKey(key)) {
-                List<SelectorData> existList = SELECTOR_MAP.get(key);
-                final List<SelectorData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-                resultList.add(data);
-                final List<SelectorData> collect = resultList.stream().sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
-                SELECTOR_MAP.put(key, collect);
+            SELECTOR_MAP.put(key, upsert(SELECTOR_MAP.get(key), data, SelectorData::getId, SELECTOR_COMPARATOR));
+        }
+        SELECTOR_DECISION_MAP.remove(key);
+    }
+
+    /**
+     * copy the sorted list without the data of the same id, and insert the data after the ones of the same sort,
+     * which is a linear copy instead of sorting the whole list again.
+     */
+    private static <T> List<T> upsert(final List<T> existList, final T data, final Function<T, String> id, final Comparator<T> comparator) {
+        if (Objects.isNull(existList)) {
+            return Lists.newArrayList(data);
+        }
+        final String dataId = id.apply(data);
+        final List<T> resultList = new ArrayList<>(existList.size() + 1);
+        for (T exist : existList) {
+            if (!id.apply(exist).equals(dataId)) {
+                resultList.add(exist);
+            }
+        }
+        int low = 0;
+        int high = resultList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(resultList.get(mid), data) <= 0) {
+                low = mid + 1;
             } else {
-                SELECTOR_MAP.put(key, Lists.newArrayList(data));
+                high = mid;
             }
         }
+        resultList.add(low, data);
+        return resultList;
+    }
+
+    /**
+     * group the data by key, the later data of the same id wins, then sort every group once.
+     */
+    private static <T> Map<String, List<T>> group(final Collection<T> dataList, final Function<T, String> key,
+                                                  final Function<T, String> id, final Comparator<T> comparator) {
+        Map<String, Map<String, T>> distinct = new LinkedHashMap<>();
+        for (T data : dataList) {
+            if (Objects.nonNull(data)) {
+                distinct.computeIfAbsent(key.apply(data), k -> new LinkedHashMap<>()).put(id.apply(data), data);
+            }
+        }
+        Map<String, List<T>> result = new HashMap<>(distinct.size());
+        distinct.forEach((k, values) -> {
+            List<T> sorted = new ArrayList<>(values.values());
+            sorted.sort(comparator);
+            result.put(k, sorted);
+        });
+        return result;
     }
 }
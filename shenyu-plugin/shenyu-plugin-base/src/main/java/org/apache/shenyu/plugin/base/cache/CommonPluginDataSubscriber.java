@@ -20,15 +20,18 @@ package org.apache.shenyu.plugin.base.cache;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.config.ShenyuConfig.RuleMatchCache;
 import org.apache.shenyu.common.config.ShenyuConfig.SelectorMatchCache;
+import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
 import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
 import org.apache.shenyu.common.enums.TrieEventEnum;
 import org.apache.shenyu.common.utils.MapUtils;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
 import org.apache.shenyu.plugin.base.event.TrieEvent;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
@@ -38,10 +41,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -157,6 +164,26 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         selectorTrie.clear();
     }
     
+    @Override
+    public void replaceSelectorDataAll(final List<SelectorData> selectorDataList) {
+        LOG.info("start replace all selector data, size: {}", selectorDataList.size());
+        final List<SelectorData> selectors = selectorDataList.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        selectors.forEach(selectorData -> PredicateJudgeFactory.compile(selectorData.getConditionList()));
+        final List<SelectorData> removed = removedData(BaseDataCache.getInstance().getSelectorMap().values(), selectors, SelectorData::getId);
+        // build the new selectors, decisions and trie off to the side, then publish them without clearing first
+        BaseDataCache.getInstance().replaceSelectData(selectors);
+        if (selectorMatchConfig.getTrie().getEnabled()) {
+            ShenyuTrie selectorTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.SELECTOR.getTrieType());
+            selectorTrie.replace(selectors.stream().filter(selectorData -> Boolean.TRUE.equals(selectorData.getEnabled())).collect(Collectors.toList()),
+                    selectorData -> uriPaths(selectorData.getConditionList()), TrieCacheTypeEnum.SELECTOR);
+        }
+        MatchDataCache.getInstance().cleanSelectorData();
+        removed.forEach(selectorData -> Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
+                .ifPresent(handler -> handler.removeSelector(selectorData)));
+        selectors.forEach(selectorData -> Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
+                .ifPresent(handler -> handler.handlerSelector(selectorData)));
+    }
+    
     @Override
     public void refreshSelectorDataSelf(final List<SelectorData> selectorDataList) {
         if (CollectionUtils.isEmpty(selectorDataList)) {
@@ -186,6 +213,26 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         ruleTrie.clear();
     }
     
+    @Override
+    public void replaceRuleDataAll(final List<RuleData> ruleDataList) {
+        LOG.info("start replace all rule data, size: {}", ruleDataList.size());
+        final List<RuleData> rules = ruleDataList.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        rules.forEach(ruleData -> PredicateJudgeFactory.compile(ruleData.getConditionDataList()));
+        final List<RuleData> removed = removedData(BaseDataCache.getInstance().getRuleMap().values(), rules, RuleData::getId);
+        // build the new rules, decisions and trie off to the side, then publish them without clearing first
+        BaseDataCache.getInstance().replaceRuleData(rules);
+        if (ruleMatchCacheConfig.getTrie().getEnabled()) {
+            ShenyuTrie ruleTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.RULE.getTrieType());
+            ruleTrie.replace(rules.stream().filter(ruleData -> Boolean.TRUE.equals(ruleData.getEnabled())).collect(Collectors.toList()),
+                    ruleData -> uriPaths(ruleData.getConditionDataList()), TrieCacheTypeEnum.RULE);
+        }
+        MatchDataCache.getInstance().cleanRuleDataData();
+        removed.forEach(ruleData -> Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
+                .ifPresent(handler -> handler.removeRule(ruleData)));
+        rules.forEach(ruleData -> Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
+                .ifPresent(handler -> handler.handlerRule(ruleData)));
+    }
+    
     @Override
     public void refreshRuleDataSelf(final List<RuleData> ruleDataList) {
         if (CollectionUtils.isEmpty(ruleDataList)) {
@@ -194,6 +241,18 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanRuleDataSelf(ruleDataList);
     }
     
+    private static <T> List<T> removedData(final Collection<List<T>> cached, final List<T> dataList, final Function<T, String> id) {
+        final Set<String> ids = dataList.stream().map(id).collect(Collectors.toSet());
+        return cached.stream().flatMap(List::stream).filter(data -> !ids.contains(id.apply(data))).collect(Collectors.toList());
+    }
+    
+    private static List<String> uriPaths(final List<ConditionData> conditionDataList) {
+        return Optional.ofNullable(conditionDataList).orElse(Collections.emptyList()).stream()
+                .filter(conditionData -> ParamTypeEnum.URI.getName().equals(conditionData.getParamType()))
+                .map(ConditionData::getParamValue)
+                .collect(Collectors.toList());
+    }
+    
     private <T> void subscribeDataHandler(final T classData, final DataEventTypeEnum dataType) {
         if (dataType == DataEventTypeEnum.UPDATE) {
             Optional.ofNullable(classData)
@@ -235,6 +294,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             }
         } else if (data instanceof SelectorData) {
             SelectorData selectorData = (SelectorData) data;
+            PredicateJudgeFactory.compile(selectorData.getConditionList());
             BaseDataCache.getInstance().cacheSelectData(selectorData);
             Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
                     .ifPresent(handler -> handler.handlerSelector(selectorData));
@@ -250,6 +310,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             updateSelectorTrieCache(selectorData);
         } else if (data instanceof RuleData) {
             RuleData ruleData = (RuleData) data;
+            PredicateJudgeFactory.compile(ruleData.getConditionDataList());
             BaseDataCache.getInstance().cacheRuleData(ruleData);
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.handlerRule(ruleData));
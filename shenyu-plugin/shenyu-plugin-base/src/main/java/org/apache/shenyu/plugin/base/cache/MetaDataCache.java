@@ -77,6 +77,8 @@ public final class MetaDataCache {
             // so it is always clean
             clean(META_DATA_MAP.get(data.getId()).getPath());
         }
+        // parse the parameter types here instead of in the first request
+        data.extension();
         META_DATA_MAP.put(data.getId(), data);
         final String path = data.getPath();
         clean(path);
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.decision;
+
+import java.util.Arrays;
+
+/**
+ * Per thread evaluation state of a {@link MatchDecisionEngine}.
+ * the arrays are reused between requests, an epoch stamp marks which slots belong to the current evaluation.
+ */
+final class DecisionContext {
+
+    private static final ThreadLocal<DecisionContext> CONTEXT = ThreadLocal.withInitial(DecisionContext::new);
+
+    private int epoch;
+
+    private int[] conditionStamps = new int[16];
+
+    private boolean[] conditionResults = new boolean[16];
+
+    private int[] realDataStamps = new int[16];
+
+    private String[] realDatas = new String[16];
+
+    private DecisionContext() {
+    }
+
+    /**
+     * Begin a new evaluation on the current thread.
+     *
+     * @param conditionSize the distinct condition size
+     * @param realDataSize the distinct real data size
+     * @return the context
+     */
+    static DecisionContext begin(final int conditionSize, final int realDataSize) {
+        DecisionContext context = CONTEXT.get();
+        if (context.conditionStamps.length < conditionSize) {
+            context.conditionStamps = Arrays.copyOf(context.conditionStamps, conditionSize);
+            context.conditionResults = Arrays.copyOf(context.conditionResults, conditionSize);
+        }
+        if (context.realDataStamps.length < realDataSize) {
+            context.realDataStamps = Arrays.copyOf(context.realDataStamps, realDataSize);
+            context.realDatas = Arrays.copyOf(context.realDatas, realDataSize);
+        }
+        if (++context.epoch == Integer.MAX_VALUE) {
+            Arrays.fill(context.conditionStamps, 0);
+            Arrays.fill(context.realDataStamps, 0);
+            context.epoch = 1;
+        }
+        return context;
+    }
+
+    /**
+     * Whether the condition has been evaluated in the current evaluation.
+     *
+     * @param index the condition index
+     * @return true if evaluated
+     */
+    boolean isConditionEvaluated(final int index) {
+        return conditionStamps[index] == epoch;
+    }
+
+    /**
+     * Gets condition result.
+     *
+     * @param index the condition index
+     * @return the result
+     */
+    boolean getConditionResult(final int index) {
+        return conditionResults[index];
+    }
+
+    /**
+     * Record condition result.
+     *
+     * @param index the condition index
+     * @param result the result
+     */
+    void putConditionResult(final int index, final boolean result) {
+        conditionStamps[index] = epoch;
+        conditionResults[index] = result;
+    }
+
+    /**
+     * Whether the real data has been built in the current evaluation.
+     *
+     * @param slot the real data slot
+     * @return true if built
+     */
+    boolean isRealDataBuilt(final int slot) {
+        return realDataStamps[slot] == epoch;
+    }
+
+    /**
+     * Gets real data.
+     *
+     * @param slot the real data slot
+     * @return the real data
+     */
+    String getRealData(final int slot) {
+        return realDatas[slot];
+    }
+
+    /**
+     * Record real data.
+     *
+     * @param slot the real data slot
+     * @param realData the real data
+     */
+    void putRealData(final int slot, final String realData) {
+        realDataStamps[slot] = epoch;
+        realDatas[slot] = realData;
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.decision;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.condition.data.ParameterData;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.apache.shenyu.plugin.base.condition.judge.BlankPredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Precompiled selector/rule decision structure of one plugin (or one selector).
+ *
+ * <p>Candidates are sorted once at build time by the same tie-break the default strategy used
+ * (the AND condition count desc, then the sort field asc), so the first match is the winner.
+ * Identical conditions are evaluated only once per request, and identical parameters are read once.
+ * The match results are pre-built {@link Pair}s, so matching does not allocate.</p>
+ *
+ * @param <T> {@link SelectorData} or {@link RuleData}
+ */
+public final class MatchDecisionEngine<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MatchDecisionEngine.class);
+
+    private static final int NEVER_MATCH = -1;
+
+    private final Pair<Boolean, T> empty = Pair.of(Boolean.TRUE, null);
+
+    private final Pair<Boolean, T>[] uniqueResults;
+
+    private final Pair<Boolean, T>[] manyResults;
+
+    private final boolean[] alwaysMatch;
+
+    private final boolean[] orMode;
+
+    private final int[][] candidateConditions;
+
+    private final ConditionData[] conditions;
+
+    private final PredicateJudge[] judges;
+
+    private final int[] realDataSlots;
+
+    private final ParameterData[] parameterDatas;
+
+    private final String[] paramNames;
+
+    @SuppressWarnings("unchecked")
+    private MatchDecisionEngine(final List<Candidate<T>> candidates, final Compiler compiler) {
+        int size = candidates.size();
+        this.uniqueResults = new Pair[size];
+        this.manyResults = new Pair[size];
+        this.alwaysMatch = new boolean[size];
+        this.orMode = new boolean[size];
+        this.candidateConditions = new int[size][];
+        for (int i = 0; i < size; i++) {
+            Candidate<T> candidate = candidates.get(i);
+            uniqueResults[i] = Pair.of(Boolean.TRUE, candidate.data);
+            manyResults[i] = Pair.of(Boolean.FALSE, candidate.data);
+            alwaysMatch[i] = candidate.alwaysMatch;
+            orMode[i] = candidate.orMode;
+            candidateConditions[i] = candidate.conditionIndexes;
+        }
+        this.conditions = compiler.conditions.toArray(new ConditionData[0]);
+        this.judges = compiler.judges.toArray(new PredicateJudge[0]);
+        this.realDataSlots = compiler.realDataSlots.stream().mapToInt(Integer::intValue).toArray();
+        this.parameterDatas = compiler.parameterDatas.toArray(new ParameterData[0]);
+        this.paramNames = compiler.paramNames.toArray(new String[0]);
+    }
+
+    /**
+     * Compile the selectors of one plugin.
+     *
+     * @param selectors the selectors
+     * @return the decision engine
+     */
+    public static MatchDecisionEngine<SelectorData> compileSelectors(final List<SelectorData> selectors) {
+        Compiler compiler = new Compiler();
+        List<Candidate<SelectorData>> candidates = new ArrayList<>();
+        for (SelectorData selector : distinct(selectors)) {
+            if (!Boolean.TRUE.equals(selector.getEnabled())) {
+                continue;
+            }
+            boolean fullFlow = !Objects.equals(selector.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode());
+            if (!fullFlow && CollectionUtils.isEmpty(selector.getConditionList())) {
+                continue;
+            }
+            candidates.add(new Candidate<>(selector, selector.getMatchMode(), selector.getSort(), fullFlow,
+                    selector.getConditionList(), compiler));
+        }
+        return new MatchDecisionEngine<>(sort(candidates), compiler);
+    }
+
+    /**
+     * Compile the rules of one selector.
+     *
+     * @param rules the rules
+     * @return the decision engine
+     */
+    public static MatchDecisionEngine<RuleData> compileRules(final List<RuleData> rules) {
+        Compiler compiler = new Compiler();
+        List<Candidate<RuleData>> candidates = new ArrayList<>();
+        for (RuleData rule : distinct(rules)) {
+            if (!Boolean.TRUE.equals(rule.getEnabled())) {
+                continue;
+            }
+            candidates.add(new Candidate<>(rule, rule.getMatchMode(), rule.getSort(), false,
+                    rule.getConditionDataList(), compiler));
+        }
+        return new MatchDecisionEngine<>(sort(candidates), compiler);
+    }
+
+    /**
+     * Match the exchange.
+     * the left of the result is true when at most one candidate matched, which means the result can be cached.
+     *
+     * @param exchange the exchange
+     * @return the matched data, the right is null if nothing matched
+     */
+    public Pair<Boolean, T> match(final ServerWebExchange exchange) {
+        if (uniqueResults.length == 0) {
+            return empty;
+        }
+        DecisionContext context = DecisionContext.begin(conditions.length, parameterDatas.length);
+        int matched = NEVER_MATCH;
+        for (int i = 0; i < uniqueResults.length; i++) {
+            if (matchCandidate(i, exchange, context)) {
+                if (matched != NEVER_MATCH) {
+                    return manyResults[matched];
+                }
+                matched = i;
+            }
+        }
+        return matched == NEVER_MATCH ? empty : uniqueResults[matched];
+    }
+
+    /**
+     * Candidate size.
+     *
+     * @return the size
+     */
+    public int size() {
+        return uniqueResults.length;
+    }
+
+    private boolean matchCandidate(final int index, final ServerWebExchange exchange, final DecisionContext context) {
+        if (alwaysMatch[index]) {
+            return true;
+        }
+        int[] conditionIndexes = candidateConditions[index];
+        if (orMode[index]) {
+            for (int conditionIndex : conditionIndexes) {
+                if (evaluate(conditionIndex, exchange, context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int conditionIndex : conditionIndexes) {
+            if (!evaluate(conditionIndex, exchange, context)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean evaluate(final int conditionIndex, final ServerWebExchange exchange, final DecisionContext context) {
+        if (context.isConditionEvaluated(conditionIndex)) {
+            return context.getConditionResult(conditionIndex);
+        }
+        boolean result = false;
+        PredicateJudge judge = judges[conditionIndex];
+        int slot = realDataSlots[conditionIndex];
+        if (Objects.nonNull(judge) && slot != NEVER_MATCH) {
+            String realData;
+            if (context.isRealDataBuilt(slot)) {
+                realData = context.getRealData(slot);
+            } else {
+                realData = parameterDatas[slot].builder(paramNames[slot], exchange);
+                context.putRealData(slot, realData);
+            }
+            if (judge instanceof BlankPredicateJudge || StringUtils.isNotBlank(realData)) {
+                result = Boolean.TRUE.equals(judge.judge(conditions[conditionIndex], realData));
+            }
+        }
+        context.putConditionResult(conditionIndex, result);
+        return result;
+    }
+
+    private static <T> List<T> distinct(final List<T> list) {
+        return new ArrayList<>(new LinkedHashSet<>(Objects.isNull(list) ? Collections.emptyList() : list));
+    }
+
+    private static <T> List<Candidate<T>> sort(final List<Candidate<T>> candidates) {
+        // the same tie-break as the default strategy: more AND conditions first, then the smaller sort.
+        candidates.sort(Comparator.<Candidate<T>>comparingInt(candidate -> -candidate.andConditionCount)
+                .thenComparing(candidate -> candidate.sort, Comparator.nullsLast(Comparator.naturalOrder())));
+        return candidates;
+    }
+
+    private static final class Candidate<T> {
+
+        private final T data;
+
+        private final Integer sort;
+
+        private final boolean alwaysMatch;
+
+        private final boolean orMode;
+
+        private final int andConditionCount;
+
+        private final int[] conditionIndexes;
+
+        Candidate(final T data, final Integer matchMode, final Integer sort, final boolean alwaysMatch,
+                  final List<ConditionData> conditionList, final Compiler compiler) {
+            this.data = data;
+            this.sort = sort;
+            this.alwaysMatch = alwaysMatch;
+            this.orMode = MatchModeEnum.match(matchMode, MatchModeEnum.OR);
+            List<ConditionData> conditionDataList = Objects.isNull(conditionList) ? Collections.emptyList() : conditionList;
+            this.andConditionCount = MatchModeEnum.match(matchMode, MatchModeEnum.AND) ? conditionDataList.size() : 0;
+            this.conditionIndexes = conditionDataList.stream().mapToInt(compiler::indexOf).toArray();
+        }
+    }
+
+    private static final class Compiler {
+
+        private final Map<ConditionData, Integer> conditionIndexes = new HashMap<>();
+
+        private final Map<Pair<String, String>, Integer> parameterIndexes = new HashMap<>();
+
+        private final List<ConditionData> conditions = new ArrayList<>();
+
+        private final List<PredicateJudge> judges = new ArrayList<>();
+
+        private final List<Integer> realDataSlots = new ArrayList<>();
+
+        private final List<ParameterData> parameterDatas = new ArrayList<>();
+
+        private final List<String> paramNames = new ArrayList<>();
+
+        int indexOf(final ConditionData condition) {
+            return conditionIndexes.computeIfAbsent(condition, this::compile);
+        }
+
+        private int compile(final ConditionData condition) {
+            conditions.add(condition);
+            judges.add(resolve(condition, c -> StringUtils.isBlank(c.getOperator()) ? null : PredicateJudgeFactory.newInstance(c.getOperator())));
+            Integer slot = resolve(condition, c -> parameterIndexes.computeIfAbsent(Pair.of(c.getParamType(), c.getParamName()), key -> {
+                parameterDatas.add(ParameterDataFactory.newInstance(key.getLeft()));
+                paramNames.add(key.getRight());
+                return parameterDatas.size() - 1;
+            }));
+            realDataSlots.add(Objects.isNull(slot) ? NEVER_MATCH : slot);
+            return conditions.size() - 1;
+        }
+
+        private <R> R resolve(final ConditionData condition, final Function<ConditionData, R> resolver) {
+            try {
+                return resolver.apply(condition);
+            } catch (RuntimeException e) {
+                LOG.warn("invalid condition {}, it will never match", condition, e);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.judge;
+
+import org.apache.shenyu.common.dto.ConditionData;
+
+import java.util.Objects;
+
+/**
+ * Predicate judge which judges with the compiled param value.
+ *
+ * @param <T> the compiled value type
+ */
+public abstract class AbstractPredicateJudge<T> implements PredicateJudge {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Boolean judge(final ConditionData conditionData, final String realData) {
+        Object compiledValue = conditionData.getCompiledValue();
+        // the condition is not compiled when it is not loaded by the subscriber, parse it in place.
+        T value = Objects.nonNull(compiledValue) ? (T) compiledValue : doCompile(conditionData);
+        return doJudge(conditionData, value, realData);
+    }
+
+    @Override
+    public Object compile(final ConditionData conditionData) {
+        return doCompile(conditionData);
+    }
+
+    /**
+     * compile the param value.
+     *
+     * @param conditionData condition data
+     * @return the compiled value
+     */
+    protected abstract T doCompile(ConditionData conditionData);
+
+    /**
+     * judge the real data with the compiled value.
+     *
+     * @param conditionData condition data
+     * @param compiledValue the compiled value
+     * @param realData the real data
+     * @return true is pass  false is not pass.
+     */
+    protected abstract Boolean doJudge(ConditionData conditionData, T compiledValue, String realData);
+}
@@ -24,10 +24,15 @@ import org.apache.shenyu.spi.Join;
  * Contains predicate judge.
  */
 @Join
-public class ContainsPredicateJudge implements PredicateJudge {
+public class ContainsPredicateJudge extends AbstractPredicateJudge<String> {
 
     @Override
-    public Boolean judge(final ConditionData conditionData, final String realData) {
-        return realData.contains(conditionData.getParamValue().trim());
+    protected String doCompile(final ConditionData conditionData) {
+        return conditionData.getParamValue().trim();
+    }
+
+    @Override
+    protected Boolean doJudge(final ConditionData conditionData, final String compiledValue, final String realData) {
+        return realData.contains(compiledValue);
     }
 }
@@ -24,10 +24,15 @@ import org.apache.shenyu.spi.Join;
  * Ends with predicate judge.
  */
 @Join
-public class EndsWithPredicateJudge implements PredicateJudge {
+public class EndsWithPredicateJudge extends AbstractPredicateJudge<String> {
 
     @Override
-    public Boolean judge(final ConditionData conditionData, final String realData) {
-        return realData.endsWith(conditionData.getParamValue().trim());
+    protected String doCompile(final ConditionData conditionData) {
+        return conditionData.getParamValue().trim();
+    }
+
+    @Override
+    protected Boolean doJudge(final ConditionData conditionData, final String compiledValue, final String realData) {
+        return realData.endsWith(compiledValue);
     }
 }
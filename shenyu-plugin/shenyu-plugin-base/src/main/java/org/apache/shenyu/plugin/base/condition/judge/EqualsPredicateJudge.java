@@ -26,10 +26,15 @@ import java.util.Objects;
  * Equals predicate judge.
  */
 @Join
-public class EqualsPredicateJudge implements PredicateJudge {
+public class EqualsPredicateJudge extends AbstractPredicateJudge<String> {
 
     @Override
-    public Boolean judge(final ConditionData conditionData, final String realData) {
-        return Objects.equals(realData, conditionData.getParamValue().trim());
+    protected String doCompile(final ConditionData conditionData) {
+        return conditionData.getParamValue().trim();
+    }
+
+    @Override
+    protected Boolean doJudge(final ConditionData conditionData, final String compiledValue, final String realData) {
+        return Objects.equals(realData, compiledValue);
     }
 }
@@ -28,13 +28,18 @@ import java.util.Objects;
  * Exclude predicate judge.
  */
 @Join
-public class ExcludePredicateJudge implements PredicateJudge {
+public class ExcludePredicateJudge extends AbstractPredicateJudge<String> {
 
     @Override
-    public Boolean judge(final ConditionData conditionData, final String realData) {
+    protected String doCompile(final ConditionData conditionData) {
+        return conditionData.getParamValue().trim();
+    }
+
+    @Override
+    protected Boolean doJudge(final ConditionData conditionData, final String compiledValue, final String realData) {
         if (Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType())) {
-            return !PathMatchUtils.match(conditionData.getParamValue().trim(), realData);
+            return !PathMatchUtils.match(compiledValue, realData);
         }
-        return !realData.contains(conditionData.getParamValue().trim());
+        return !realData.contains(compiledValue);
     }
 }
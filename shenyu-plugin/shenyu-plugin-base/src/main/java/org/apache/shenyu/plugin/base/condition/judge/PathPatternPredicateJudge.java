@@ -19,8 +19,10 @@ package org.apache.shenyu.plugin.base.condition.judge;
 
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.enums.ParamTypeEnum;
-import org.apache.shenyu.plugin.base.utils.PathMatchUtils;
 import org.apache.shenyu.spi.Join;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.util.Objects;
 
@@ -31,13 +33,22 @@ import java.util.Objects;
  * Path pattern predicate judge.
  */
 @Join
-public class PathPatternPredicateJudge implements PredicateJudge {
+public class PathPatternPredicateJudge extends AbstractPredicateJudge<Object> {
 
     @Override
-    public Boolean judge(final ConditionData conditionData, final String realData) {
+    protected Object doCompile(final ConditionData conditionData) {
+        String paramValue = conditionData.getParamValue().trim();
         if (Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType())) {
-            return PathMatchUtils.pathPattern(conditionData.getParamValue().trim(), realData);
+            return PathPatternParser.defaultInstance.parse(paramValue);
         }
-        return realData.contains(conditionData.getParamValue().trim());
+        return paramValue;
+    }
+
+    @Override
+    protected Boolean doJudge(final ConditionData conditionData, final Object compiledValue, final String realData) {
+        if (compiledValue instanceof PathPattern) {
+            return ((PathPattern) compiledValue).matches(PathContainer.parsePath(realData));
+        }
+        return realData.contains((String) compiledValue);
     }
 }
@@ -36,4 +36,15 @@ public interface PredicateJudge {
      */
     Boolean judge(ConditionData conditionData, String realData);
 
+    /**
+     * compile the param value of conditionData ahead of the request,
+     * the result is attached by {@linkplain PredicateJudgeFactory#compile(ConditionData)}.
+     *
+     * @param conditionData {@linkplain ConditionData}
+     * @return the compiled value, null if nothing to compile.
+     */
+    default Object compile(ConditionData conditionData) {
+        return null;
+    }
+
 }
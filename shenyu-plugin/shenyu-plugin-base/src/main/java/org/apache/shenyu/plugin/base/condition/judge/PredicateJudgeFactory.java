@@ -21,7 +21,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.enums.OperatorEnum;
 import org.apache.shenyu.spi.ExtensionLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -29,6 +32,8 @@ import java.util.Objects;
  */
 public final class PredicateJudgeFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(PredicateJudgeFactory.class);
+
     private PredicateJudgeFactory() {
     }
 
@@ -60,6 +65,34 @@ public final class PredicateJudgeFactory {
         return predicateJudge.judge(conditionData, realData);
     }
 
+    /**
+     * compile the condition data list ahead of the request.
+     *
+     * @param conditionDataList condition data list
+     */
+    public static void compile(final List<ConditionData> conditionDataList) {
+        if (Objects.nonNull(conditionDataList)) {
+            conditionDataList.forEach(PredicateJudgeFactory::compile);
+        }
+    }
+
+    /**
+     * compile the condition data ahead of the request, the compiled value is attached to the condition data.
+     * if the param value can not be compiled, it is left to the judge and fails on the request as before.
+     *
+     * @param conditionData condition data
+     */
+    public static void compile(final ConditionData conditionData) {
+        if (Objects.isNull(conditionData) || StringUtils.isBlank(conditionData.getOperator()) || Objects.isNull(conditionData.getParamValue())) {
+            return;
+        }
+        try {
+            conditionData.setCompiledValue(newInstance(conditionData.getOperator()).compile(conditionData));
+        } catch (RuntimeException e) {
+            LOG.warn("compile condition data failed, condition: {}", conditionData, e);
+        }
+    }
+
     /**
      * process special operator, like = need to change to equals.
      *
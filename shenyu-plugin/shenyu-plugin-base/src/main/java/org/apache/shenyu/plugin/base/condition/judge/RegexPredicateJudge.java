@@ -26,10 +26,15 @@ import java.util.regex.Pattern;
  * Regex predicate judge.
  */
 @Join
-public class RegexPredicateJudge implements PredicateJudge {
+public class RegexPredicateJudge extends AbstractPredicateJudge<Pattern> {
 
     @Override
-    public Boolean judge(final ConditionData conditionData, final String realData) {
-        return Pattern.matches(conditionData.getParamValue().trim(), realData);
+    protected Pattern doCompile(final ConditionData conditionData) {
+        return Pattern.compile(conditionData.getParamValue().trim());
+    }
+
+    @Override
+    protected Boolean doJudge(final ConditionData conditionData, final Pattern compiledValue, final String realData) {
+        return compiledValue.matcher(realData).matches();
     }
 }
@@ -24,10 +24,15 @@ import org.apache.shenyu.spi.Join;
  * Starts with predicate judge.
  */
 @Join
-public class StartsWithPredicateJudge implements PredicateJudge {
+public class StartsWithPredicateJudge extends AbstractPredicateJudge<String> {
 
     @Override
-    public Boolean judge(final ConditionData conditionData, final String realData) {
-        return realData.startsWith(conditionData.getParamValue().trim());
+    protected String doCompile(final ConditionData conditionData) {
+        return conditionData.getParamValue().trim();
+    }
+
+    @Override
+    protected Boolean doJudge(final ConditionData conditionData, final String compiledValue, final String realData) {
+        return realData.startsWith(compiledValue);
     }
 }
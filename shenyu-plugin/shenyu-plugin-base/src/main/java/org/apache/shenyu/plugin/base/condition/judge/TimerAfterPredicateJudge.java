@@ -28,14 +28,19 @@ import java.util.Objects;
  * Timer after predicate judge.
  */
 @Join
-public class TimerAfterPredicateJudge implements PredicateJudge {
+public class TimerAfterPredicateJudge extends AbstractPredicateJudge<LocalDateTime> {
 
     @Override
-    public Boolean judge(final ConditionData conditionData, final String realData) {
+    protected LocalDateTime doCompile(final ConditionData conditionData) {
+        return DateUtils.parseLocalDateTime(conditionData.getParamValue().trim());
+    }
+
+    @Override
+    protected Boolean doJudge(final ConditionData conditionData, final LocalDateTime compiledValue, final String realData) {
         String paramName = conditionData.getParamName();
         if (Objects.isNull(paramName)) {
-            return LocalDateTime.now().isAfter(DateUtils.parseLocalDateTime(conditionData.getParamValue().trim()));
+            return LocalDateTime.now().isAfter(compiledValue);
         }
-        return DateUtils.parseLocalDateTime(realData).isAfter(DateUtils.parseLocalDateTime(conditionData.getParamValue().trim()));
+        return DateUtils.parseLocalDateTime(realData).isAfter(compiledValue);
     }
 }
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.support;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.apache.shenyu.common.constant.Constants;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.NonNull;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The request body shared by the plugins of one exchange.
+ * the body is aggregated once, the plugins read it through the lazy views and
+ * write the modified body back here, the downstream reads the latest body once when it is proxied.
+ */
+public final class CachedRequestBody {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Charset charset;
+
+    private byte[] bytes;
+
+    private String string;
+
+    private JsonElement json;
+
+    private CachedRequestBody(final ServerWebExchange exchange, final byte[] bytes) {
+        this.charset = Optional.ofNullable(exchange.getRequest().getHeaders().getContentType())
+                .map(MediaType::getCharset).orElse(StandardCharsets.UTF_8);
+        this.bytes = bytes;
+    }
+
+    /**
+     * Obtain the cached body of the exchange, the body is read at the first time.
+     *
+     * @param exchange        the exchange
+     * @param maxInMemorySize the max bytes of the body, negative means no limit
+     * @return the cached request body
+     */
+    public static Mono<CachedRequestBody> obtain(final ServerWebExchange exchange, final int maxInMemorySize) {
+        CachedRequestBody cached = exchange.getAttribute(Constants.CACHED_REQUEST_BODY);
+        if (Objects.nonNull(cached)) {
+            return Mono.just(cached);
+        }
+        return DataBufferUtils.join(exchange.getRequest().getBody(), maxInMemorySize)
+                .map(dataBuffer -> {
+                    // copy out once and give the pooled buffer back, the views are built from the copy
+                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                    dataBuffer.read(bytes);
+                    DataBufferUtils.release(dataBuffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(EMPTY)
+                .map(bytes -> {
+                    CachedRequestBody body = new CachedRequestBody(exchange, bytes);
+                    exchange.getAttributes().put(Constants.CACHED_REQUEST_BODY, body);
+                    return body;
+                });
+    }
+
+    /**
+     * Decorate the exchange so its request body is read from this cache.
+     *
+     * @param exchange the exchange
+     * @return the exchange whose request body is read from this cache
+     */
+    public ServerWebExchange decorate(final ServerWebExchange exchange) {
+        if (exchange.getRequest() instanceof BodyRequestDecorator) {
+            return exchange;
+        }
+        return exchange.mutate().request(new BodyRequestDecorator(exchange, this)).build();
+    }
+
+    /**
+     * The raw bytes of the body.
+     *
+     * @return the bytes
+     */
+    public synchronized byte[] getBytes() {
+        if (Objects.isNull(bytes)) {
+            bytes = Objects.nonNull(string) ? string.getBytes(charset) : json.toString().getBytes(charset);
+        }
+        return bytes;
+    }
+
+    /**
+     * The body as string, decoded with the charset of the content type.
+     *
+     * @return the string
+     */
+    public synchronized String getString() {
+        if (Objects.isNull(string)) {
+            string = Objects.nonNull(bytes) ? new String(bytes, charset) : json.toString();
+        }
+        return string;
+    }
+
+    /**
+     * The body as json tree.
+     * the tree is shared, call {@link #setJson(JsonElement)} after it is modified.
+     *
+     * @return the json
+     */
+    public synchronized JsonElement getJson() {
+        if (Objects.isNull(json)) {
+            json = JsonParser.parseString(getString());
+        }
+        return json;
+    }
+
+    /**
+     * Replace the body.
+     *
+     * @param body the new body
+     */
+    public synchronized void setString(final String body) {
+        this.string = Objects.isNull(body) ? "" : body;
+        this.bytes = null;
+        this.json = null;
+    }
+
+    /**
+     * Replace the body with the json tree, it is serialized when the body is read.
+     *
+     * @param body the new body
+     */
+    public synchronized void setJson(final JsonElement body) {
+        this.json = body;
+        this.bytes = null;
+        this.string = null;
+    }
+
+    static class BodyRequestDecorator extends ServerHttpRequestDecorator {
+
+        private final ServerWebExchange exchange;
+
+        private final CachedRequestBody body;
+
+        BodyRequestDecorator(final ServerWebExchange exchange, final CachedRequestBody body) {
+            super(exchange.getRequest());
+            this.exchange = exchange;
+            this.body = body;
+        }
+
+        @Override
+        @NonNull
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> {
+                byte[] bytes = body.getBytes();
+                if (bytes.length == 0) {
+                    return Flux.empty();
+                }
+                return Flux.just(exchange.getResponse().bufferFactory().wrap(bytes));
+            });
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(super.getHeaders());
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            headers.setContentLength(body.getBytes().length);
+            return headers;
+        }
+    }
+}
@@ -22,7 +22,6 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.shenyu.common.cache.WindowTinyLFUMap;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
@@ -45,6 +44,7 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class ShenyuTrie {
     
@@ -53,6 +53,8 @@ public class ShenyuTrie {
     private static final String WILDCARD = "*";
 
     private static final String MATCH_ALL = "**";
+
+    private static final ThreadLocal<MatchContext> MATCH_CONTEXT = ThreadLocal.withInitial(MatchContext::new);
     
     /**
      * when the trie is selector trie, the key is pluginName, when the trie is rule trie, the key is selectorId.
@@ -65,9 +67,23 @@ public class ShenyuTrie {
      */
     private final TrieMatchModeEnum matchMode;
 
+    /**
+     * a staging trie is built off to the side by {@link #replace}, its fail to nodes are built once after all the nodes are put.
+     */
+    private final boolean staging;
+
     public ShenyuTrie(final Long cacheSize, final String matchMode) {
         this.matchMode = TrieMatchModeEnum.acquireTrieMatch(matchMode);
-        this.keyRootMap = new WindowTinyLFUMap<>(cacheSize);
+        // a root is read on every request and written only on data changes, and an evicted root would lose its routes,
+        // so the cache size is only the initial capacity
+        this.keyRootMap = new ConcurrentHashMap<>((int) Math.min(Math.max(16L, Optional.ofNullable(cacheSize).orElse(16L)), 1024L));
+        this.staging = false;
+    }
+
+    private ShenyuTrie(final TrieMatchModeEnum matchMode) {
+        this.matchMode = matchMode;
+        this.keyRootMap = new HashMap<>();
+        this.staging = true;
     }
 
     /**
@@ -77,6 +93,30 @@ public class ShenyuTrie {
         cleanup(this.keyRootMap);
     }
 
+    /**
+     * replace all the nodes of the trie, the new roots are built off to the side and every root is swapped in one put,
+     * so the requests never see a missing root while a full refresh is running.
+     *
+     * @param sources the selector data or rule data
+     * @param uriPaths the uri paths of a source
+     * @param cacheType cache type
+     * @param <T> the data type
+     */
+    public <T> void replace(final List<T> sources, final Function<T, List<String>> uriPaths, final TrieCacheTypeEnum cacheType) {
+        ShenyuTrie stagingTrie = new ShenyuTrie(matchMode);
+        for (T source : sources) {
+            try {
+                stagingTrie.putNode(uriPaths.apply(source), source, cacheType);
+            } catch (ShenyuException e) {
+                // one illegal path should not abort the whole refresh
+                LOG.error("put trie node error, source: {}", source, e);
+            }
+        }
+        stagingTrie.keyRootMap.values().forEach(this::buildFailToNode);
+        this.keyRootMap.putAll(stagingTrie.keyRootMap);
+        this.keyRootMap.keySet().retainAll(stagingTrie.keyRootMap.keySet());
+    }
+
     /**
      * judge the trie is empty.
      *
@@ -165,7 +205,9 @@ public class ShenyuTrie {
                 node.getPathCache().put(ruleData.getSelectorId(), Lists.newArrayList(ruleData));
             }
             node.setBizInfo(ruleData.getSelectorId());
-            buildFailToNode(keyRootMap.get(ruleData.getSelectorId()));
+            if (!staging) {
+                buildFailToNode(keyRootMap.get(ruleData.getSelectorId()));
+            }
         } else {
             List<?> collections = node.getPathCache().get(selectorData.getPluginName());
             if (CollectionUtils.isNotEmpty(collections)) {
@@ -180,7 +222,9 @@ public class ShenyuTrie {
                 node.getPathCache().put(selectorData.getPluginName(), Lists.newArrayList(selectorData));
             }
             node.setBizInfo(selectorData.getPluginName());
-            buildFailToNode(keyRootMap.get(selectorData.getPluginName()));
+            if (!staging) {
+                buildFailToNode(keyRootMap.get(selectorData.getPluginName()));
+            }
         }
     }
     
@@ -279,25 +323,26 @@ public class ShenyuTrie {
      * @return {@linkplain ShenyuTrieNode}
      */
     public ShenyuTrieNode match(final String uriPath, final String bizInfo) {
-        String strippedPath = StringUtils.strip(uriPath, "/");
-        String[] pathParts = StringUtils.split(strippedPath, "/");
-        if (ArrayUtils.isEmpty(pathParts)) {
+        MatchContext context = MATCH_CONTEXT.get();
+        int length = context.split(uriPath);
+        if (length == 0) {
             return null;
         }
+        int[] starts = context.starts;
+        int[] ends = context.ends;
+        int[] matchAll = context.matchAll;
+        int[] wildcard = context.wildcard;
+        int[] pathVariable = context.pathVariable;
         ShenyuTrieNode currentNode = keyRootMap.get(bizInfo);
         int startIndex = 0;
-        int[] matchAll = new int[pathParts.length];
-        int[] wildcard = new int[pathParts.length];
-        int[] pathVariable = new int[pathParts.length];
         ShenyuTrieNode matchNode;
-        while (startIndex < pathParts.length) {
-            String pathPart = pathParts[startIndex];
+        while (startIndex < length) {
             if (Objects.isNull(currentNode)) {
                 return null;
             }
-            if (containsKey(currentNode.getChildren(), pathPart)) {
-                currentNode = currentNode.getChildren().get(pathPart);
-            } else if (hasWildcardNode(currentNode.getChildren(), pathPart) && Objects.nonNull(matchNode = findMatchWildcard(currentNode.getChildren(), pathPart)) && wildcard[startIndex] == 0) {
+            if (Objects.nonNull(matchNode = currentNode.findChild(uriPath, starts[startIndex], ends[startIndex]))) {
+                currentNode = matchNode;
+            } else if (wildcard[startIndex] == 0 && Objects.nonNull(matchNode = findMatchWildcard(currentNode, uriPath, starts[startIndex], ends[startIndex]))) {
                 currentNode = matchNode;
                 wildcard[startIndex] = 1;
             } else if (containsKey(currentNode.getChildren(), MATCH_ALL) && matchAll[startIndex] == 0) {
@@ -305,16 +350,15 @@ public class ShenyuTrie {
                 matchAll[startIndex] = 1;
                 int matchAllIndex = startIndex;
                 while (true) {
-                    if (matchAllIndex == pathParts.length - 1) {
+                    if (matchAllIndex == length - 1) {
                         break;
                     }
                     matchAllIndex++;
-                    if (containsKey(currentNode.getChildren(), pathParts[matchAllIndex])) {
-                        currentNode = currentNode.getChildren().get(pathParts[matchAllIndex]);
+                    if (Objects.nonNull(matchNode = currentNode.findChild(uriPath, starts[matchAllIndex], ends[matchAllIndex]))) {
+                        currentNode = matchNode;
                         startIndex = matchAllIndex;
                         break;
-                    } else if (hasWildcardNode(currentNode.getChildren(), pathParts[matchAllIndex])
-                            && Objects.nonNull(matchNode = findMatchWildcard(currentNode.getChildren(), pathParts[matchAllIndex]))) {
+                    } else if (Objects.nonNull(matchNode = findMatchWildcard(currentNode, uriPath, starts[matchAllIndex], ends[matchAllIndex]))) {
                         currentNode = matchNode;
                         wildcard[matchAllIndex] = 1;
                         startIndex = matchAllIndex;
@@ -348,11 +392,11 @@ public class ShenyuTrie {
                 }
                 continue;
             }
-            if (startIndex < pathParts.length - 1 && Objects.nonNull(currentNode) && !currentNode.getEndOfPath()) {
+            if (startIndex < length - 1 && Objects.nonNull(currentNode) && !currentNode.getEndOfPath()) {
                 startIndex++;
                 continue;
             }
-            if ((startIndex == pathParts.length - 1 && checkNode(currentNode, bizInfo)) || (Objects.nonNull(currentNode) && isMatchAll(currentNode.getMatchStr()) && checkNode(currentNode, bizInfo))) {
+            if ((startIndex == length - 1 && checkNode(currentNode, bizInfo)) || (Objects.nonNull(currentNode) && isMatchAll(currentNode.getMatchStr()) && checkNode(currentNode, bizInfo))) {
                 return currentNode;
             }
         }
@@ -500,6 +544,7 @@ public class ShenyuTrie {
         if (isMatchWildcard(segment)) {
             ShenyuTrieNode wildcardNode = this.put(segment, shenyuTrieNode);
             wildcardNode.setWildcard(true);
+            shenyuTrieNode.indexChild(wildcardNode);
         } else if (isPathVariable(segment)) {
             /* dynamic route */
             ShenyuTrieNode childNode;
@@ -540,6 +585,7 @@ public class ShenyuTrie {
             childrenNode.setMatchStr(segment);
             childrenNode.setParentNode(shenyuTrieNode);
             shenyuTrieNode.getChildren().put(segment, childrenNode);
+            shenyuTrieNode.indexChild(childrenNode);
         }
         return childrenNode;
     }
@@ -598,7 +644,7 @@ public class ShenyuTrie {
         if (Objects.isNull(parentNode)) {
             return;
         }
-        Optional.ofNullable(parentNode.getChildren()).ifPresent(cache -> cache.remove(key));
+        Optional.ofNullable(parentNode.getChildren()).map(cache -> cache.remove(key)).ifPresent(parentNode::unindexChild);
     }
 
     private boolean hasWildcardNode(final Map<String, ShenyuTrieNode> children, final String key) {
@@ -608,18 +654,28 @@ public class ShenyuTrie {
         return children.values().stream().anyMatch(child -> isMatchWildcardPattern(key, child.getMatchStr()));
     }
 
-    private static ShenyuTrieNode findMatchWildcard(final Map<String, ShenyuTrieNode> children, final String pathPart) {
-        if (Objects.isNull(children)) {
+    private static ShenyuTrieNode findMatchWildcard(final ShenyuTrieNode node, final String path, final int from, final int to) {
+        ShenyuTrieNode[] wildcardChildren = node.getWildcardChildren();
+        if (Objects.isNull(wildcardChildren)) {
             return null;
         }
-        return children.values().stream().filter(child -> child.getWildcard() && isMatchWildcardPattern(pathPart, child.getMatchStr())).findFirst().orElse(null);
+        for (ShenyuTrieNode child : wildcardChildren) {
+            if (isMatchWildcardPattern(path, from, to, child.getMatchStr())) {
+                return child;
+            }
+        }
+        return null;
     }
 
     private static boolean isMatchWildcardPattern(final String segment, final String pattern) {
-        int sRight = segment.length();
+        return isMatchWildcardPattern(segment, 0, segment.length(), pattern);
+    }
+
+    private static boolean isMatchWildcardPattern(final String path, final int from, final int to, final String pattern) {
+        int sRight = to;
         int pRight = pattern.length();
-        while (sRight > 0 && pRight > 0 && pattern.charAt(pRight - 1) != '*') {
-            if (segment.charAt(sRight - 1) == pattern.charAt(pRight - 1)) {
+        while (sRight > from && pRight > 0 && pattern.charAt(pRight - 1) != '*') {
+            if (path.charAt(sRight - 1) == pattern.charAt(pRight - 1)) {
                 --sRight;
                 --pRight;
             } else {
@@ -628,10 +684,10 @@ public class ShenyuTrie {
         }
 
         if (pRight == 0) {
-            return sRight == 0;
+            return sRight == from;
         }
 
-        int sIndex = 0;
+        int sIndex = from;
         int pIndex = 0;
         int sRecord = -1;
         int pRecord = -1;
@@ -641,7 +697,7 @@ public class ShenyuTrie {
                 ++pIndex;
                 sRecord = sIndex;
                 pRecord = pIndex;
-            } else if (segment.charAt(sIndex) == pattern.charAt(pIndex)) {
+            } else if (path.charAt(sIndex) == pattern.charAt(pIndex)) {
                 ++sIndex;
                 ++pIndex;
             } else if (sRecord != -1 && sRecord + 1 < sRight) {
@@ -724,4 +780,67 @@ public class ShenyuTrie {
             cache.clear();
         }
     }
+
+    /**
+     * the per thread scratch of a match, the path is scanned as index ranges of its segments
+     * so that no substring is created, and the conflict marks are reused.
+     */
+    private static final class MatchContext {
+
+        private int[] starts = new int[16];
+
+        private int[] ends = new int[16];
+
+        private int[] matchAll = new int[16];
+
+        private int[] wildcard = new int[16];
+
+        private int[] pathVariable = new int[16];
+
+        /**
+         * split the path into the ranges of its non-empty segments and reset the marks.
+         *
+         * @param path the path
+         * @return the segment count
+         */
+        int split(final String path) {
+            if (Objects.isNull(path)) {
+                return 0;
+            }
+            int count = 0;
+            int index = 0;
+            int length = path.length();
+            while (index < length) {
+                while (index < length && path.charAt(index) == '/') {
+                    index++;
+                }
+                if (index == length) {
+                    break;
+                }
+                int start = index;
+                while (index < length && path.charAt(index) != '/') {
+                    index++;
+                }
+                if (count == starts.length) {
+                    grow();
+                }
+                starts[count] = start;
+                ends[count] = index;
+                count++;
+            }
+            Arrays.fill(matchAll, 0, count, 0);
+            Arrays.fill(wildcard, 0, count, 0);
+            Arrays.fill(pathVariable, 0, count, 0);
+            return count;
+        }
+
+        private void grow() {
+            int capacity = starts.length << 1;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            matchAll = new int[capacity];
+            wildcard = new int[capacity];
+            pathVariable = new int[capacity];
+        }
+    }
 }
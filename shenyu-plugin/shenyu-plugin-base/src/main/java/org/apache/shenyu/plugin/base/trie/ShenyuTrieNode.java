@@ -20,10 +20,13 @@ package org.apache.shenyu.plugin.base.trie;
 import org.apache.shenyu.common.constant.Constants;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * ShenyuTrieNode.
@@ -32,6 +35,11 @@ public class ShenyuTrieNode implements Serializable {
 
     private static final long serialVersionUID = -2347426887850566364L;
 
+    /**
+     * the slot of a removed child in the child index, skipped by the lookup and reused by the next insert.
+     */
+    private static final ShenyuTrieNode REMOVED = new ShenyuTrieNode();
+
     /**
      * abc match abc, :a match all words as a variable names a, * match all words  ,** match all words and children.
      */
@@ -87,6 +95,22 @@ public class ShenyuTrieNode implements Serializable {
      */
     private ShenyuTrieNode failToNode;
 
+    /**
+     * children indexed by the hash of their match string, open addressing, so that a range of the request path
+     * is looked up without a substring. a child is inserted in place, the index is rebuilt only when it is half full.
+     */
+    private transient volatile AtomicReferenceArray<ShenyuTrieNode> childIndex;
+
+    /**
+     * the slots of the child index taken by a child or a removed child, guarded by this node.
+     */
+    private transient int childIndexUsed;
+
+    /**
+     * the wildcard children, in the iteration order of children.
+     */
+    private transient volatile ShenyuTrieNode[] wildcardChildren;
+
     public ShenyuTrieNode() {
     }
 
@@ -188,6 +212,152 @@ public class ShenyuTrieNode implements Serializable {
      */
     public void setChildren(final Map<String, ShenyuTrieNode> children) {
         this.children = children;
+        indexChildren();
+    }
+
+    /**
+     * rebuild the child index, it must be called after the children are replaced as a whole.
+     */
+    public synchronized void indexChildren() {
+        Map<String, ShenyuTrieNode> current = children;
+        if (Objects.isNull(current) || current.isEmpty()) {
+            childIndex = null;
+            childIndexUsed = 0;
+            wildcardChildren = null;
+            return;
+        }
+        List<ShenyuTrieNode> nodes = new ArrayList<>(current.values());
+        AtomicReferenceArray<ShenyuTrieNode> index = new AtomicReferenceArray<>(Integer.highestOneBit(nodes.size() * 4 - 1) << 1);
+        List<ShenyuTrieNode> wildcards = new ArrayList<>();
+        for (ShenyuTrieNode node : nodes) {
+            insert(index, node);
+            if (node.getWildcard()) {
+                wildcards.add(node);
+            }
+        }
+        childIndexUsed = nodes.size();
+        childIndex = index;
+        wildcardChildren = wildcards.isEmpty() ? null : wildcards.toArray(new ShenyuTrieNode[0]);
+    }
+
+    /**
+     * index a child put into the children, or a child whose wildcard flag is set, without rebuilding the index.
+     *
+     * @param child the child
+     */
+    public synchronized void indexChild(final ShenyuTrieNode child) {
+        AtomicReferenceArray<ShenyuTrieNode> index = childIndex;
+        if (Objects.isNull(index) || (childIndexUsed + 1) * 2 > index.length()) {
+            // half full, rebuild with room for the children to double
+            indexChildren();
+            return;
+        }
+        if (Objects.isNull(findChild(child.getMatchStr(), 0, child.getMatchStr().length()))) {
+            if (insert(index, child)) {
+                childIndexUsed++;
+            }
+        }
+        if (child.getWildcard()) {
+            ShenyuTrieNode[] wildcards = wildcardChildren;
+            if (Objects.isNull(wildcards)) {
+                wildcardChildren = new ShenyuTrieNode[]{child};
+            } else if (Arrays.stream(wildcards).noneMatch(each -> each == child)) {
+                ShenyuTrieNode[] added = Arrays.copyOf(wildcards, wildcards.length + 1);
+                added[wildcards.length] = child;
+                wildcardChildren = added;
+            }
+        }
+    }
+
+    /**
+     * remove a child removed from the children from the index, without rebuilding the index.
+     *
+     * @param child the child
+     */
+    public synchronized void unindexChild(final ShenyuTrieNode child) {
+        AtomicReferenceArray<ShenyuTrieNode> index = childIndex;
+        if (Objects.isNull(index)) {
+            return;
+        }
+        int mask = index.length() - 1;
+        int slot = child.getMatchStr().hashCode() & mask;
+        ShenyuTrieNode node;
+        while (Objects.nonNull(node = index.get(slot))) {
+            if (node == child) {
+                // the slot keeps the probe chain of the following children
+                index.set(slot, REMOVED);
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ShenyuTrieNode[] wildcards = wildcardChildren;
+        if (Objects.nonNull(wildcards)) {
+            ShenyuTrieNode[] remained = Arrays.stream(wildcards).filter(each -> each != child).toArray(ShenyuTrieNode[]::new);
+            wildcardChildren = remained.length == 0 ? null : remained;
+        }
+    }
+
+    private static boolean insert(final AtomicReferenceArray<ShenyuTrieNode> index, final ShenyuTrieNode node) {
+        int mask = index.length() - 1;
+        int slot = node.getMatchStr().hashCode() & mask;
+        ShenyuTrieNode current;
+        while (Objects.nonNull(current = index.get(slot)) && current != REMOVED) {
+            slot = (slot + 1) & mask;
+        }
+        index.set(slot, node);
+        // a reused removed slot is already counted as used
+        return Objects.isNull(current);
+    }
+
+    /**
+     * find the child whose match string equals the range of the path.
+     *
+     * @param path the path
+     * @param from the range start, inclusive
+     * @param to the range end, exclusive
+     * @return the child or null
+     */
+    public ShenyuTrieNode findChild(final String path, final int from, final int to) {
+        AtomicReferenceArray<ShenyuTrieNode> index = indexedChildren();
+        if (Objects.isNull(index)) {
+            return null;
+        }
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + path.charAt(i);
+        }
+        int length = to - from;
+        int mask = index.length() - 1;
+        int slot = hash & mask;
+        ShenyuTrieNode node;
+        while (Objects.nonNull(node = index.get(slot))) {
+            String matchStr = node.getMatchStr();
+            if (node != REMOVED && matchStr.hashCode() == hash && matchStr.length() == length && path.regionMatches(from, matchStr, 0, length)) {
+                return node;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * get the wildcard children.
+     *
+     * @return the wildcard children, null if none
+     */
+    public ShenyuTrieNode[] getWildcardChildren() {
+        indexedChildren();
+        return wildcardChildren;
+    }
+
+    private AtomicReferenceArray<ShenyuTrieNode> indexedChildren() {
+        AtomicReferenceArray<ShenyuTrieNode> index = childIndex;
+        if (Objects.isNull(index) && Objects.nonNull(children) && !children.isEmpty()) {
+            // the index is transient, rebuild it after deserialization
+            indexChildren();
+            index = childIndex;
+        }
+        return index;
     }
 
     /**
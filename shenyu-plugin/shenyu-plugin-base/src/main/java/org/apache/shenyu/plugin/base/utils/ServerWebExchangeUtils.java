@@ -17,16 +17,11 @@
 
 package org.apache.shenyu.plugin.base.utils;
 
-import org.apache.shenyu.plugin.base.support.BodyInserterContext;
-import org.apache.shenyu.plugin.base.support.CachedBodyOutputMessage;
-import org.apache.shenyu.plugin.base.support.RequestDecorator;
+import org.apache.shenyu.plugin.base.support.CachedRequestBody;
 import org.apache.shenyu.plugin.base.support.ResponseDecorator;
-import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.http.codec.DecoderHttpMessageReader;
 import org.springframework.http.codec.HttpMessageReader;
-import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
-import org.springframework.web.reactive.function.BodyInserter;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -35,6 +30,8 @@ import java.util.function.Function;
 
 public class ServerWebExchangeUtils {
 
+    private static final int DEFAULT_MAX_IN_MEMORY_SIZE = 256 * 1024;
+
     /**
      * Rewrites Request Body.
      *
@@ -47,20 +44,31 @@ public class ServerWebExchangeUtils {
                                                              final List<HttpMessageReader<?>> readers,
                                                              final Function<String, Mono<String>> convert) {
 
-        ServerRequest serverRequest = ServerRequest.create(exchange, readers);
-        CachedBodyOutputMessage outputMessage = ResponseUtils.newCachedBodyOutputMessage(exchange);
-
-        return serverRequest.bodyToMono(String.class)
-                .switchIfEmpty(Mono.defer(() -> Mono.just("")))
-                .flatMap(convert)
-                .flatMap(body -> {
-                    BodyInserter<String, ReactiveHttpOutputMessage> bodyInserter = BodyInserters.fromValue(body);
-                    return bodyInserter.insert(outputMessage, new BodyInserterContext());
-                }).then(Mono.defer(() -> {
-                    ServerHttpRequestDecorator decorator = new RequestDecorator(exchange, outputMessage);
-                    return Mono.just(exchange.mutate().request(decorator).build());
-                })).onErrorResume(throwable -> ResponseUtils.release(outputMessage, throwable));
+        // the body is aggregated once per exchange and shared by the plugins, it is encoded again only when it is proxied
+        return CachedRequestBody.obtain(exchange, maxInMemorySize(readers))
+                .flatMap(cachedBody -> convert.apply(cachedBody.getString())
+                        .map(body -> {
+                            if (!body.equals(cachedBody.getString())) {
+                                cachedBody.setString(body);
+                            }
+                            return cachedBody.decorate(exchange);
+                        }));
+    }
 
+    /**
+     * The max bytes of the body the readers buffer in memory.
+     *
+     * @param readers reader to read request-body
+     * @return the max bytes, negative means no limit
+     */
+    public static int maxInMemorySize(final List<HttpMessageReader<?>> readers) {
+        return readers.stream()
+                .filter(DecoderHttpMessageReader.class::isInstance)
+                .map(reader -> ((DecoderHttpMessageReader<?>) reader).getDecoder())
+                .filter(StringDecoder.class::isInstance)
+                .map(decoder -> ((StringDecoder) decoder).getMaxInMemorySize())
+                .findFirst()
+                .orElse(DEFAULT_MAX_IN_MEMORY_SIZE);
     }
 
     /**
@@ -182,6 +182,21 @@ public final class CommonPluginDataSubscriberTest {
         assertEquals(Lists.newArrayList(secondCachedSelectorData), baseDataCache.obtainSelectorData(secondCachedSelectorData.getPluginName()));
     }
 
+    @Test
+    public void testReplaceSelectorDataAll() {
+        baseDataCache.cleanSelectorData();
+        SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build();
+        SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName2).sort(1).build();
+        baseDataCache.cacheSelectData(firstCachedSelectorData);
+        baseDataCache.cacheSelectData(secondCachedSelectorData);
+
+        SelectorData replacedSelectorData = SelectorData.builder().id("1").name(mockName1).pluginName(mockPluginName1).sort(2).build();
+        SelectorData addedSelectorData = SelectorData.builder().id("3").pluginName(mockPluginName1).sort(1).build();
+        commonPluginDataSubscriber.replaceSelectorDataAll(Lists.newArrayList(replacedSelectorData, addedSelectorData));
+        assertEquals(Lists.newArrayList(addedSelectorData, replacedSelectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+        assertNull(baseDataCache.obtainSelectorData(mockPluginName2));
+    }
+
     @Test
     public void testOnRuleSubscribe() {
         baseDataCache.cleanRuleData();
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.decision;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for MatchDecisionEngine.
+ */
+public final class MatchDecisionEngineTest {
+
+    private final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/test")
+            .header("version", "v1").build());
+
+    @Test
+    public void testSelectorUniqueMatch() {
+        SelectorData http = selector("1", 2, MatchModeEnum.AND, condition("uri", "match", "/http/**"));
+        SelectorData other = selector("2", 1, MatchModeEnum.AND, condition("uri", "match", "/other/**"));
+        MatchDecisionEngine<SelectorData> engine = MatchDecisionEngine.compileSelectors(Lists.newArrayList(http, other));
+        Pair<Boolean, SelectorData> result = engine.match(exchange);
+        assertTrue(result.getLeft());
+        assertSame(http, result.getRight());
+        assertSame(result, engine.match(exchange));
+    }
+
+    @Test
+    public void testSelectorManyMatchTieBreak() {
+        SelectorData single = selector("1", 1, MatchModeEnum.AND, condition("uri", "match", "/http/**"));
+        SelectorData twoLaterSort = selector("2", 3, MatchModeEnum.AND, condition("uri", "match", "/http/**"), condition("header", "=", "v1"));
+        SelectorData twoEarlierSort = selector("3", 2, MatchModeEnum.AND, condition("uri", "=", "/http/test"), condition("header", "=", "v1"));
+        SelectorData or = selector("4", 0, MatchModeEnum.OR, condition("uri", "match", "/http/**"), condition("header", "=", "v2"));
+        MatchDecisionEngine<SelectorData> engine = MatchDecisionEngine.compileSelectors(Lists.newArrayList(single, twoLaterSort, twoEarlierSort, or));
+        Pair<Boolean, SelectorData> result = engine.match(exchange);
+        assertFalse(result.getLeft());
+        assertSame(twoEarlierSort, result.getRight());
+    }
+
+    @Test
+    public void testSelectorSkipDisabledAndEmptyCondition() {
+        SelectorData disabled = selector("1", 1, MatchModeEnum.AND, condition("uri", "match", "/http/**"));
+        disabled.setEnabled(false);
+        SelectorData empty = selector("2", 1, MatchModeEnum.AND);
+        SelectorData fullFlow = selector("3", 9, MatchModeEnum.AND);
+        fullFlow.setType(SelectorTypeEnum.FULL_FLOW.getCode());
+        MatchDecisionEngine<SelectorData> engine = MatchDecisionEngine.compileSelectors(Lists.newArrayList(disabled, empty, fullFlow));
+        assertEquals(1, engine.size());
+        assertSame(fullFlow, engine.match(exchange).getRight());
+    }
+
+    @Test
+    public void testRuleNotMatch() {
+        RuleData rule = RuleData.builder().id("1").enabled(true).sort(1).matchMode(MatchModeEnum.AND.getCode())
+                .conditionDataList(Lists.newArrayList(condition("uri", "match", "/other/**"))).build();
+        MatchDecisionEngine<RuleData> engine = MatchDecisionEngine.compileRules(Collections.singletonList(rule));
+        Pair<Boolean, RuleData> result = engine.match(exchange);
+        assertTrue(result.getLeft());
+        assertNull(result.getRight());
+    }
+
+    private SelectorData selector(final String id, final int sort, final MatchModeEnum matchMode, final ConditionData... conditions) {
+        return SelectorData.builder().id(id).sort(sort).enabled(true).matchMode(matchMode.getCode())
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).conditionList(Lists.newArrayList(conditions)).build();
+    }
+
+    private ConditionData condition(final String paramType, final String operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName("header".equals(paramType) ? "version" : "/");
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
@@ -22,8 +22,12 @@ import org.apache.shenyu.common.enums.OperatorEnum;
 import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -157,4 +161,26 @@ public final class PredicateJudgeFactoryTest {
         assertTrue(PredicateJudgeFactory.judge(conditionData, ""));
         assertFalse(PredicateJudgeFactory.judge(conditionData, "test"));
     }
+
+    @Test
+    public void testCompile() {
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue(" [/a-zA-Z0-9]+ ");
+        PredicateJudgeFactory.compile(conditionData);
+        assertTrue(conditionData.getCompiledValue() instanceof Pattern);
+        assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/test"));
+        assertFalse(PredicateJudgeFactory.judge(conditionData, "/http/test?"));
+
+        conditionData.setOperator(OperatorEnum.PATH_PATTERN.getAlias());
+        assertNull(conditionData.getCompiledValue());
+        conditionData.setParamValue("/http/**");
+        PredicateJudgeFactory.compile(conditionData);
+        assertTrue(conditionData.getCompiledValue() instanceof PathPattern);
+        assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/test"));
+
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue("[");
+        PredicateJudgeFactory.compile(conditionData);
+        assertNull(conditionData.getCompiledValue());
+    }
 }
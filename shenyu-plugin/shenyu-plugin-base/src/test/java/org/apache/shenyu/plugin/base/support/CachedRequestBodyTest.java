@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.support;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test cases for CachedRequestBody.
+ */
+public final class CachedRequestBodyTest {
+
+    private static final String BODY = "{\"name\":\"shenyu\"}";
+
+    @Test
+    public void testObtainOnce() {
+        ServerWebExchange exchange = exchange(BODY);
+        CachedRequestBody first = CachedRequestBody.obtain(exchange, -1).block();
+        CachedRequestBody second = CachedRequestBody.obtain(exchange, -1).block();
+        assertSame(first, second);
+        assertEquals(BODY, second.getString());
+        assertEquals("shenyu", second.getJson().getAsJsonObject().get("name").getAsString());
+    }
+
+    @Test
+    public void testWriteBack() {
+        ServerWebExchange exchange = exchange(BODY);
+        CachedRequestBody cachedBody = CachedRequestBody.obtain(exchange, -1).block();
+        JsonObject json = cachedBody.getJson().getAsJsonObject();
+        json.addProperty("id", 1);
+        cachedBody.setJson(json);
+        ServerWebExchange decorated = cachedBody.decorate(exchange);
+        assertSame(decorated, cachedBody.decorate(decorated));
+        String expected = "{\"name\":\"shenyu\",\"id\":1}";
+        assertEquals(expected.length(), decorated.getRequest().getHeaders().getContentLength());
+        StepVerifier.create(DataBufferUtils.join(decorated.getRequest().getBody())
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8)))
+                .expectNext(expected)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testEmptyBody() {
+        CachedRequestBody cachedBody = CachedRequestBody.obtain(exchange(""), -1).block();
+        assertEquals("", cachedBody.getString());
+    }
+
+    @Test
+    public void testMaxInMemorySize() {
+        StepVerifier.create(CachedRequestBody.obtain(exchange(BODY), 4))
+                .expectError(DataBufferLimitException.class)
+                .verify();
+    }
+
+    private ServerWebExchange exchange(final String body) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("localhost")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body));
+    }
+}
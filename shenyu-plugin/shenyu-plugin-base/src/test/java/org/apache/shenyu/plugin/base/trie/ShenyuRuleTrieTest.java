@@ -283,6 +283,28 @@ public class ShenyuRuleTrieTest {
         Assertions.assertNull(shenyuAntPathTrie.match("/aa/bb/cc/dd/rr/mm/ee/yy", "1"));
     }
 
+    @Test
+    public void matchSegmentRange() {
+        RuleData ruleData = RuleData.builder()
+                .id("1")
+                .pluginName("test")
+                .selectorId("1")
+                .name("test-plugin-rule")
+                .enabled(true)
+                .build();
+        StringBuilder longPath = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            longPath.append("/s").append(i);
+        }
+        shenyuAntPathTrie.putNode(longPath.toString(), ruleData, TrieCacheTypeEnum.RULE);
+        shenyuAntPathTrie.putNode("/api/*.json", ruleData, TrieCacheTypeEnum.RULE);
+        Assertions.assertEquals(longPath.toString(), shenyuAntPathTrie.match(longPath + "/", "1").getFullPath());
+        Assertions.assertNull(shenyuAntPathTrie.match(longPath + "/s40", "1"));
+        Assertions.assertEquals("/api/*.json", shenyuAntPathTrie.match("//api//user.json", "1").getFullPath());
+        Assertions.assertNull(shenyuAntPathTrie.match("/api/user.xml", "1"));
+        Assertions.assertNull(shenyuAntPathTrie.match("///", "1"));
+    }
+
     @Test
     public void matchSameSelectorId() {
         final String normalUri = "/a/b/c";
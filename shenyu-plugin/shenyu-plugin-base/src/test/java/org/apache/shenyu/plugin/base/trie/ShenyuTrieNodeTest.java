@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.shenyu.plugin.base.trie;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ShenyuTrieNodeTest {
+    
+    private static final int WIDTH = 2000;
+    
+    @Test
+    public void testIndexChildIncrementally() {
+        ShenyuTrieNode parent = new ShenyuTrieNode("/", "/", false);
+        for (int i = 0; i < WIDTH; i++) {
+            put(parent, "path" + i);
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            String path = "/api/path" + i + "/detail";
+            ShenyuTrieNode child = parent.findChild(path, 5, path.indexOf("/detail"));
+            Assertions.assertNotNull(child);
+            Assertions.assertEquals("path" + i, child.getMatchStr());
+        }
+        Assertions.assertNull(parent.findChild("path" + WIDTH, 0, ("path" + WIDTH).length()));
+    }
+    
+    @Test
+    public void testUnindexChild() {
+        ShenyuTrieNode parent = new ShenyuTrieNode("/", "/", false);
+        for (int i = 0; i < WIDTH; i++) {
+            put(parent, "path" + i);
+        }
+        for (int i = 0; i < WIDTH; i += 2) {
+            parent.unindexChild(parent.getChildren().remove("path" + i));
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            String matchStr = "path" + i;
+            Assertions.assertEquals(i % 2 == 1, parent.findChild(matchStr, 0, matchStr.length()) != null);
+        }
+        // a removed slot is reused
+        put(parent, "path0");
+        Assertions.assertNotNull(parent.findChild("path0", 0, "path0".length()));
+    }
+    
+    @Test
+    public void testIndexWildcardChild() {
+        ShenyuTrieNode parent = new ShenyuTrieNode("/", "/", false);
+        put(parent, "path");
+        ShenyuTrieNode wildcard = put(parent, "**");
+        Assertions.assertNull(parent.getWildcardChildren());
+        wildcard.setWildcard(true);
+        parent.indexChild(wildcard);
+        parent.indexChild(wildcard);
+        Assertions.assertArrayEquals(new ShenyuTrieNode[]{wildcard}, parent.getWildcardChildren());
+        parent.unindexChild(parent.getChildren().remove("**"));
+        Assertions.assertNull(parent.getWildcardChildren());
+        Assertions.assertNotNull(parent.findChild("path", 0, "path".length()));
+    }
+    
+    private static ShenyuTrieNode put(final ShenyuTrieNode parent, final String matchStr) {
+        ShenyuTrieNode child = new ShenyuTrieNode();
+        child.setMatchStr(matchStr);
+        child.setParentNode(parent);
+        parent.getChildren().put(matchStr, child);
+        parent.indexChild(child);
+        return child;
+    }
+}
@@ -31,40 +31,37 @@ import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.publisher.Sinks;
 import reactor.util.annotation.NonNull;
 
+import java.nio.ByteBuffer;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CacheWritePlugin.
  */
 public class CachePlugin extends AbstractShenyuPlugin {
 
+    private final Map<String, Sinks.Empty<Void>> loading = new ConcurrentHashMap<>();
+
     @Override
     public Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain,
                                 final SelectorData selector, final RuleData rule) {
         ICache cache = CacheUtils.getCache();
         if (Objects.nonNull(cache)) {
-            return cache.getData(CacheUtils.dataKey(exchange))
-                    .zipWith(cache.getData(CacheUtils.contentTypeKey(exchange)))
-                    .flatMap(data -> Mono.just(Optional.of(data)))
+            final String key = CacheUtils.dataKey(exchange);
+            return cache.getResponse(key)
+                    .map(Optional::of)
                     .defaultIfEmpty(Optional.empty())
-                    .flatMap(dataFlg -> {
-                        if (dataFlg.isPresent()) {
-                            byte[] bytes = dataFlg.get().getT1();
-                            byte[] contentTypeBytes = dataFlg.get().getT2();
-                            cache.setContentType(exchange, contentTypeBytes);
-                            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes))
-                                    .doOnNext(data -> exchange.getResponse().getHeaders().setContentLength(data.readableByteCount())));
-                        }
-                        CacheRuleHandle cacheRuleHandle = buildRuleHandle(rule);
-                        return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build());
-                    });
+                    .flatMap(response -> response.map(cached -> write(exchange, cached))
+                            .orElseGet(() -> load(exchange, chain, rule, cache, key)));
         }
         CacheRuleHandle cacheRuleHandle = buildRuleHandle(rule);
         return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build());
@@ -84,17 +81,59 @@ public class CachePlugin extends AbstractShenyuPlugin {
         return CachePluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
     }
 
+    private Mono<Void> load(final ServerWebExchange exchange, final ShenyuPluginChain chain, final RuleData rule,
+                            final ICache cache, final String key) {
+        final Sinks.Empty<Void> loaded = Sinks.empty();
+        final Sinks.Empty<Void> leader = loading.putIfAbsent(key, loaded);
+        final CacheRuleHandle cacheRuleHandle = buildRuleHandle(rule);
+        if (Objects.nonNull(leader)) {
+            // an identical request is calling the upstream, serve its response once cached
+            return leader.asMono()
+                    .then(Mono.defer(() -> cache.getResponse(key)))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> response.map(cached -> write(exchange, cached))
+                            .orElseGet(() -> chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build())));
+        }
+        final CacheHttpResponse response = new CacheHttpResponse(exchange, cacheRuleHandle, key, () -> {
+            loading.remove(key, loaded);
+            loaded.tryEmitEmpty();
+        });
+        return chain.execute(exchange.mutate().response(response).build()).doFinally(signalType -> response.releaseIfNotCaching());
+    }
+
+    private Mono<Void> write(final ServerWebExchange exchange, final CachedResponse cached) {
+        final ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setContentType(Optional.ofNullable(cached.getContentType()).orElse(MediaType.APPLICATION_JSON));
+        final DataBuffer body = response.bufferFactory().wrap(cached.getBody());
+        response.getHeaders().setContentLength(body.readableByteCount());
+        return response.writeWith(Mono.just(body));
+    }
+
     static class CacheHttpResponse extends ServerHttpResponseDecorator {
 
         private final ServerWebExchange exchange;
 
         private final CacheRuleHandle cacheRuleHandle;
 
+        private final String key;
+
+        private final Runnable release;
+
+        private volatile boolean caching;
+
         CacheHttpResponse(final ServerWebExchange exchange,
                           final CacheRuleHandle cacheRuleHandle) {
+            this(exchange, cacheRuleHandle, CacheUtils.dataKey(exchange), () -> { });
+        }
+
+        CacheHttpResponse(final ServerWebExchange exchange, final CacheRuleHandle cacheRuleHandle,
+                          final String key, final Runnable release) {
             super(exchange.getResponse());
             this.exchange = exchange;
             this.cacheRuleHandle = cacheRuleHandle;
+            this.key = key;
+            this.release = release;
         }
 
         @Override
@@ -104,18 +143,29 @@ public class CachePlugin extends AbstractShenyuPlugin {
             return dataBufferMono.flatMap(dataBuffer -> {
                 byte[] bytes = new byte[dataBuffer.readableByteCount()];
                 dataBuffer.read(bytes);
+                DataBufferUtils.release(dataBuffer);
                 return WebFluxResultUtils.result(this.exchange, cacheResponse(bytes));
             });
         }
 
+        /**
+         * Release the waiting identical requests if the response is not being cached.
+         */
+        void releaseIfNotCaching() {
+            if (!caching) {
+                release.run();
+            }
+        }
+
         @NonNull
         private byte[] cacheResponse(final byte[] bodyBytes) {
             final ICache cache = CacheUtils.getCache();
             if (Objects.nonNull(cache)) {
-                final MediaType contentType = this.getHeaders().getContentType();
-                cache.cacheData(CacheUtils.dataKey(this.exchange), bodyBytes,
-                        this.cacheRuleHandle.getTimeoutSeconds()).subscribeOn(Schedulers.boundedElastic()).subscribe();
-                cache.cacheContentType(CacheUtils.contentTypeKey(this.exchange), contentType, this.cacheRuleHandle.getTimeoutSeconds());
+                caching = true;
+                final CachedResponse response = new CachedResponse(this.getHeaders().getContentType(), ByteBuffer.wrap(bodyBytes));
+                cache.cacheResponse(key, response, this.cacheRuleHandle.getTimeoutSeconds())
+                        .doFinally(signalType -> release.run())
+                        .subscribe();
             }
             return bodyBytes;
         }
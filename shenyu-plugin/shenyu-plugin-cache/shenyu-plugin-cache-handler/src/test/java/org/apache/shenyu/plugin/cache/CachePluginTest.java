@@ -40,10 +40,13 @@ import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -113,4 +116,41 @@ public class CachePluginTest {
         StepVerifier.create(result3).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void coalesceTest() {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        Singleton.INST.single(ICache.class, new MemoryCache());
+        final CachePlugin cachePlugin = new CachePlugin();
+        final RuleData ruleData = new RuleData();
+        CachePluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), new CacheRuleHandle());
+        final AtomicInteger calls = new AtomicInteger();
+        final Sinks.Empty<Void> upstream = Sinks.empty();
+        final ShenyuPluginChain shenyuPluginChain = mock(ShenyuPluginChain.class);
+        when(shenyuPluginChain.execute(any())).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            ServerWebExchange exchange = invocation.getArgument(0);
+            exchange.getResponse().getHeaders().setContentType(MediaType.TEXT_PLAIN);
+            return upstream.asMono().then(exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap("body".getBytes(StandardCharsets.UTF_8)))));
+        });
+        MockServerWebExchange leader = MockServerWebExchange.from(MockServerHttpRequest.get("/coalesce?id=1").build());
+        MockServerWebExchange follower = MockServerWebExchange.from(MockServerHttpRequest.get("/coalesce?id=1").build());
+        final Mono<Void> result = Mono.when(cachePlugin.doExecute(leader, shenyuPluginChain, null, ruleData),
+                cachePlugin.doExecute(follower, shenyuPluginChain, null, ruleData));
+        StepVerifier.create(result).expectSubscription().then(upstream::tryEmitEmpty).verifyComplete();
+        Assertions.assertEquals(1, calls.get());
+        StepVerifier.create(follower.getResponse().getBodyAsString()).expectNext("body").verifyComplete();
+        Assertions.assertEquals(MediaType.TEXT_PLAIN, follower.getResponse().getHeaders().getContentType());
+    }
+
+    @Test
+    public void cachedResponseTest() {
+        CachedResponse response = new CachedResponse(MediaType.APPLICATION_JSON, ByteBuffer.wrap("{}".getBytes(StandardCharsets.UTF_8)));
+        CachedResponse decoded = CachedResponse.decode(response.encode());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, decoded.getContentType());
+        Assertions.assertEquals("{}", StandardCharsets.UTF_8.decode(decoded.getBody()).toString());
+        Assertions.assertNull(CachedResponse.decode("{}".getBytes(StandardCharsets.UTF_8)));
+    }
 }
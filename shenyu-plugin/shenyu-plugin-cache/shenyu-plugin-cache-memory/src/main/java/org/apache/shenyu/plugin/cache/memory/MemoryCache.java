@@ -17,26 +17,47 @@
 
 package org.apache.shenyu.plugin.cache.memory;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.apache.shenyu.plugin.cache.CachedResponse;
 import org.apache.shenyu.plugin.cache.ICache;
+import org.springframework.http.MediaType;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
-import java.util.Map;
+import java.nio.ByteBuffer;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * MemoryCache.
+ * one cache bounded by the total bytes of its entries, every entry expires after its own timeout.
  */
 public final class MemoryCache implements ICache {
 
-    private final Map<String, Cache<String, byte[]>> mainCache;
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final Cache<String, Entry> mainCache;
+
+    private final boolean offHeap;
 
     public MemoryCache() {
-        this.mainCache = new ConcurrentHashMap<>();
+        this(new MemoryCacheConfig());
+    }
+
+    /**
+     * Instantiates a new Memory cache.
+     *
+     * @param config the config
+     */
+    public MemoryCache(final MemoryCacheConfig config) {
+        this.offHeap = config.isOffHeap();
+        this.mainCache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, config.getMaxMemory()) * 1024 * 1024)
+                .weigher((String key, Entry entry) -> key.length() * 2 + entry.body.capacity() + ENTRY_OVERHEAD)
+                .expireAfter(new EntryExpiry())
+                .executor(Runnable::run)
+                .build();
     }
 
     /**
@@ -49,10 +70,20 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<Boolean> cacheData(final String key, final byte[] bytes, final long timeoutSeconds) {
-        final Cache<String, byte[]> cache = CacheBuilder.newBuilder().expireAfterWrite(timeoutSeconds, TimeUnit.SECONDS).build();
-        cache.put(key, bytes);
-        this.mainCache.put(key, cache);
-        return Mono.fromCallable(() -> Boolean.TRUE).subscribeOn(Schedulers.boundedElastic());
+        return Mono.just(put(key, null, false, ByteBuffer.wrap(bytes), timeoutSeconds));
+    }
+
+    /**
+     * Cache the response with the key.
+     *
+     * @param key            the cache key
+     * @param response       the response
+     * @param timeoutSeconds the timeout seconds
+     * @return success or not
+     */
+    @Override
+    public Mono<Boolean> cacheResponse(final String key, final CachedResponse response, final long timeoutSeconds) {
+        return Mono.just(put(key, response.getContentType(), true, response.getBody(), timeoutSeconds));
     }
 
     /**
@@ -63,13 +94,7 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<Boolean> isExist(final String key) {
-        final Cache<String, byte[]> cache = this.mainCache.get(key);
-        if (Objects.isNull(cache) || !cache.asMap().containsKey(key)) {
-            // remove from main cache
-            this.mainCache.remove(key);
-            return Mono.fromCallable(() -> Boolean.FALSE).subscribeOn(Schedulers.boundedElastic());
-        }
-        return Mono.fromCallable(() -> Boolean.TRUE).subscribeOn(Schedulers.boundedElastic());
+        return Mono.just(this.mainCache.asMap().containsKey(key));
     }
 
     /**
@@ -80,12 +105,29 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public Mono<byte[]> getData(final String key) {
-        return isExist(key).mapNotNull(exist -> {
-            if (exist) {
-                return this.mainCache.get(key).asMap().get(key);
-            }
-            return null;
-        });
+        final Entry entry = this.mainCache.getIfPresent(key);
+        if (Objects.isNull(entry)) {
+            return Mono.empty();
+        }
+        final ByteBuffer body = entry.body.duplicate();
+        final byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        return Mono.just(bytes);
+    }
+
+    /**
+     * Get the response with the key.
+     *
+     * @param key the cache key
+     * @return the response
+     */
+    @Override
+    public Mono<CachedResponse> getResponse(final String key) {
+        final Entry entry = this.mainCache.getIfPresent(key);
+        if (Objects.isNull(entry) || !entry.response) {
+            return Mono.empty();
+        }
+        return Mono.just(new CachedResponse(entry.contentType, entry.body.asReadOnlyBuffer()));
     }
 
     /**
@@ -93,6 +135,52 @@ public final class MemoryCache implements ICache {
      */
     @Override
     public void close() {
-        this.mainCache.clear();
+        this.mainCache.invalidateAll();
+    }
+
+    private boolean put(final String key, final MediaType contentType, final boolean response, final ByteBuffer body, final long timeoutSeconds) {
+        if (timeoutSeconds <= 0) {
+            return false;
+        }
+        final ByteBuffer copy = offHeap ? ByteBuffer.allocateDirect(body.remaining()) : ByteBuffer.allocate(body.remaining());
+        copy.put(body).flip();
+        this.mainCache.put(key, new Entry(contentType, response, copy, TimeUnit.SECONDS.toNanos(timeoutSeconds)));
+        return true;
+    }
+
+    private static final class Entry {
+
+        private final MediaType contentType;
+
+        private final boolean response;
+
+        private final ByteBuffer body;
+
+        private final long timeoutNanos;
+
+        Entry(final MediaType contentType, final boolean response, final ByteBuffer body, final long timeoutNanos) {
+            this.contentType = contentType;
+            this.response = response;
+            this.body = body;
+            this.timeoutNanos = timeoutNanos;
+        }
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(final String key, final Entry entry, final long currentTime) {
+            return entry.timeoutNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Entry entry, final long currentTime, final long currentDuration) {
+            return entry.timeoutNanos;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Entry entry, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
     }
 }
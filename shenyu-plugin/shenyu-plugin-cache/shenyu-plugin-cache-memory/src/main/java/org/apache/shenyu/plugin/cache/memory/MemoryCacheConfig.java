@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cache.memory;
+
+/**
+ * MemoryCacheConfig.
+ */
+public class MemoryCacheConfig {
+
+    /**
+     * the max memory of the cached entries in MB.
+     */
+    private long maxMemory = 256;
+
+    /**
+     * store the cached entries off heap.
+     */
+    private boolean offHeap;
+
+    /**
+     * Get the max memory in MB.
+     * @return the max memory
+     */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Set the max memory in MB.
+     * @param maxMemory the max memory
+     */
+    public void setMaxMemory(final long maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Whether the cached entries are stored off heap.
+     * @return off heap or not
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Set whether the cached entries are stored off heap.
+     * @param offHeap off heap or not
+     */
+    public void setOffHeap(final boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+}
@@ -17,13 +17,19 @@
 
 package org.apache.shenyu.plugin.cache.memory;
 
-import org.junit.Test;
+import org.apache.shenyu.plugin.cache.CachedResponse;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * MemoryCacheTest.
@@ -42,4 +48,37 @@ public class MemoryCacheTest {
         memoryCache.getData(key).subscribe(v -> assertEquals("data", new String(v, StandardCharsets.UTF_8)));
     }
 
+    @Test
+    public void testResponse() {
+        MemoryCacheConfig config = new MemoryCacheConfig();
+        config.setOffHeap(true);
+        final MemoryCache memoryCache = new MemoryCache(config);
+        final CachedResponse response = new CachedResponse(MediaType.TEXT_PLAIN, ByteBuffer.wrap("body".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(memoryCache.cacheResponse("response", response, 10).block());
+        final CachedResponse cached = memoryCache.getResponse("response").block();
+        assertEquals(MediaType.TEXT_PLAIN, cached.getContentType());
+        assertEquals("body", StandardCharsets.UTF_8.decode(cached.getBody()).toString());
+        assertEquals("body", new String(memoryCache.getData("response").block(), StandardCharsets.UTF_8));
+        memoryCache.cacheData("data", new byte[1], 10).block();
+        assertNull(memoryCache.getResponse("data").block());
+        assertFalse(memoryCache.cacheData("expired", new byte[1], 0).block());
+        assertFalse(memoryCache.isExist("expired").block());
+    }
+
+    @Test
+    public void testMaxMemory() {
+        MemoryCacheConfig config = new MemoryCacheConfig();
+        config.setMaxMemory(1);
+        final MemoryCache memoryCache = new MemoryCache(config);
+        for (int i = 0; i < 64; i++) {
+            memoryCache.cacheData("data" + i, new byte[64 * 1024], 60).block();
+        }
+        int exist = 0;
+        for (int i = 0; i < 64; i++) {
+            if (memoryCache.isExist("data" + i).block()) {
+                exist++;
+            }
+        }
+        assertTrue(exist <= 16);
+    }
 }
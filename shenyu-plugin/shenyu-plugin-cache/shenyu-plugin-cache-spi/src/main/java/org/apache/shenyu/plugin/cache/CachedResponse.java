@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cache;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The cached response, the body and the content type kept in one entry.
+ */
+public final class CachedResponse {
+
+    private static final int MAGIC = 0x53594331;
+
+    private static final int HEADER_LENGTH = 6;
+
+    private final MediaType contentType;
+
+    private final ByteBuffer body;
+
+    /**
+     * Instantiates a new Cached response.
+     *
+     * @param contentType the content type, nullable
+     * @param body the body
+     */
+    public CachedResponse(final MediaType contentType, final ByteBuffer body) {
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    /**
+     * Get the content type.
+     *
+     * @return the content type, null if unknown
+     */
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Get the body, a view sharing the cached bytes.
+     *
+     * @return the body
+     */
+    public ByteBuffer getBody() {
+        return body.duplicate();
+    }
+
+    /**
+     * Encode into the bytes of one cache entry.
+     *
+     * @return the bytes
+     */
+    public byte[] encode() {
+        byte[] type = Objects.isNull(contentType) ? new byte[0] : contentType.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + type.length + body.remaining());
+        buffer.putInt(MAGIC).putShort((short) type.length).put(type).put(body.duplicate());
+        return buffer.array();
+    }
+
+    /**
+     * Decode the bytes of one cache entry.
+     *
+     * @param bytes the bytes
+     * @return the cached response, null if the bytes are not encoded by {@link #encode()}
+     */
+    public static CachedResponse decode(final byte[] bytes) {
+        if (bytes.length < HEADER_LENGTH) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC) {
+            return null;
+        }
+        int typeLength = buffer.getShort() & 0xFFFF;
+        if (buffer.remaining() < typeLength) {
+            return null;
+        }
+        MediaType contentType = null;
+        if (typeLength > 0) {
+            try {
+                contentType = MediaType.valueOf(new String(bytes, HEADER_LENGTH, typeLength, StandardCharsets.UTF_8));
+            } catch (InvalidMediaTypeException e) {
+                return null;
+            }
+        }
+        buffer.position(HEADER_LENGTH + typeLength);
+        return new CachedResponse(contentType, buffer.slice());
+    }
+}
@@ -52,6 +52,26 @@ public interface ICache {
      */
     Mono<byte[]> getData(String key);
 
+    /**
+     * Cache the response, the body and the content type in one entry.
+     * @param key the cache key
+     * @param response the response
+     * @param timeoutSeconds value valid time
+     * @return success or not
+     */
+    default Mono<Boolean> cacheResponse(final String key, final CachedResponse response, final long timeoutSeconds) {
+        return cacheData(key, response.encode(), timeoutSeconds);
+    }
+
+    /**
+     * Get the response cached by {@link #cacheResponse(String, CachedResponse, long)}.
+     * @param key the cache key
+     * @return the response
+     */
+    default Mono<CachedResponse> getResponse(final String key) {
+        return getData(key).mapNotNull(CachedResponse::decode);
+    }
+
     /**
      * cache the content type.
      * @param key the key
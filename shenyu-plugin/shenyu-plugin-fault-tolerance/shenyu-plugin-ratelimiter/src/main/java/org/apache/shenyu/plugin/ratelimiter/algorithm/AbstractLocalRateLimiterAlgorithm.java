@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Abstract local rate limiter algorithm.
+ * every key owns a small state, the states are kept in a bounded cache and expire once they idle long
+ * enough to be as good as new.
+ *
+ * @param <S> the state type
+ */
+public abstract class AbstractLocalRateLimiterAlgorithm<S> implements LocalRateLimiterAlgorithm {
+
+    protected static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long MAXIMUM_KEYS = 100_000;
+
+    private final Cache<String, S> states = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_KEYS)
+            .expireAfter(new IdleExpiry())
+            .build();
+
+    @Override
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        if (limiterHandle.getReplenishRate() <= 0 || limiterHandle.getBurstCapacity() <= 0) {
+            return Mono.just(new RateLimiterResponse(false, 0, Collections.emptyList()));
+        }
+        S state = states.get(id, key -> newState(limiterHandle));
+        long left = acquire(state, limiterHandle, System.nanoTime());
+        return Mono.just(new RateLimiterResponse(left >= 0, left >= 0 ? left : -1 - left, Collections.emptyList()));
+    }
+
+    /**
+     * New state of a key.
+     *
+     * @param limiterHandle the limiter handle
+     * @return the state
+     */
+    protected abstract S newState(RateLimiterHandle limiterHandle);
+
+    /**
+     * Try to acquire the permits of a request.
+     *
+     * @param state the state of the key
+     * @param limiterHandle the limiter handle
+     * @param now the current nano time
+     * @return the tokens left if allowed, otherwise {@code -1 - left}
+     */
+    protected abstract long acquire(S state, RateLimiterHandle limiterHandle, long now);
+
+    /**
+     * The nanos after which an idle state is as good as new.
+     *
+     * @param state the state
+     * @return the nanos
+     */
+    protected abstract long idleNanos(S state);
+
+    @Override
+    public String getScriptName() {
+        return null;
+    }
+
+    @Override
+    public RedisScript<List<Long>> getScript() {
+        return null;
+    }
+
+    @Override
+    public List<String> getKeys(final String id) {
+        return Collections.emptyList();
+    }
+
+    private final class IdleExpiry implements Expiry<String, S> {
+
+        @Override
+        public long expireAfterCreate(final String key, final S value, final long currentTime) {
+            return idleNanos(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final S value, final long currentTime, final long currentDuration) {
+            return idleNanos(value);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final S value, final long currentTime, final long currentDuration) {
+            return idleNanos(value);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.spi.Join;
+
+/**
+ * The type Local sliding window rate limiter algorithm.
+ * the sliding window of the redis script kept in process: at most {@code burstCapacity} requests in the last
+ * {@code burstCapacity / replenishRate} seconds, counted in a ring of sub windows.
+ * the check against the capacity and the increment have to be one step, so a request holds the lock of its key
+ * while it sums the ring; the lock is per key and only held for a few reads.
+ */
+@Join
+public class LocalSlidingWindowRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<LocalSlidingWindowRateLimiterAlgorithm.Window> {
+
+    private static final int SLOTS = 10;
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private static final long ORIGIN = System.nanoTime();
+
+    @Override
+    protected Window newState(final RateLimiterHandle limiterHandle) {
+        return new Window(windowNanos(limiterHandle));
+    }
+
+    @Override
+    protected long acquire(final Window window, final RateLimiterHandle limiterHandle, final long now) {
+        long capacity = (long) limiterHandle.getBurstCapacity();
+        long windowNanos = windowNanos(limiterHandle);
+        synchronized (window) {
+            if (window.windowNanos != windowNanos) {
+                window.resize(windowNanos);
+            }
+            int current = (int) ((now - ORIGIN) / (windowNanos / SLOTS));
+            long counted = 0;
+            for (int i = 0; i < SLOTS; i++) {
+                long value = window.slots[i];
+                int age = current - (int) (value >>> 32);
+                if (age >= 0 && age < SLOTS) {
+                    counted += value & COUNT_MASK;
+                }
+            }
+            if (counted >= capacity) {
+                return -1;
+            }
+            int slot = Math.floorMod(current, SLOTS);
+            long value = window.slots[slot];
+            long count = (int) (value >>> 32) == current ? value & COUNT_MASK : 0;
+            window.slots[slot] = ((long) current << 32) | (count + 1);
+            return capacity - counted - 1;
+        }
+    }
+
+    @Override
+    protected long idleNanos(final Window window) {
+        return window.windowNanos;
+    }
+
+    private static long windowNanos(final RateLimiterHandle limiterHandle) {
+        return Math.max(SLOTS, (long) (limiterHandle.getBurstCapacity() / limiterHandle.getReplenishRate() * NANOS_PER_SECOND));
+    }
+
+    /**
+     * The ring of sub windows, every slot packs its sub window number and its count into one long.
+     * guarded by the window itself.
+     */
+    static final class Window {
+
+        private final long[] slots = new long[SLOTS];
+
+        private volatile long windowNanos;
+
+        Window(final long windowNanos) {
+            this.windowNanos = windowNanos;
+        }
+
+        private void resize(final long windowNanos) {
+            for (int i = 0; i < SLOTS; i++) {
+                slots[i] = 0;
+            }
+            this.windowNanos = windowNanos;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.spi.Join;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Local token bucket rate limiter algorithm.
+ * the token bucket of the redis script kept in process as a generic cell rate: one CAS on the theoretical
+ * arrival time of the next request, so {@code burstCapacity} requests may run ahead of {@code replenishRate}.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Generic_cell_rate_algorithm">generic cell rate algorithm</a>
+ */
+@Join
+public class LocalTokenBucketRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<LocalTokenBucketRateLimiterAlgorithm.Bucket> {
+
+    private static final long MIN_IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Override
+    protected Bucket newState(final RateLimiterHandle limiterHandle) {
+        return new Bucket(expiryNanos(limiterHandle.getBurstCapacity() * NANOS_PER_SECOND / limiterHandle.getReplenishRate()));
+    }
+
+    @Override
+    protected long acquire(final Bucket bucket, final RateLimiterHandle limiterHandle, final long now) {
+        double interval = NANOS_PER_SECOND / limiterHandle.getReplenishRate();
+        long increment = (long) (limiterHandle.getRequestCount() * interval);
+        long limit = (long) (limiterHandle.getBurstCapacity() * interval);
+        long idle = expiryNanos(limit);
+        if (bucket.idleNanos != idle) {
+            // a bucket idle for its fill time is full again, so it may expire then
+            bucket.idleNanos = idle;
+        }
+        while (true) {
+            long tat = bucket.get();
+            long base = Math.max(tat, now);
+            long next = base + increment;
+            if (next - now > limit) {
+                return -1 - (long) ((limit - (base - now)) / interval);
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return (long) ((limit - (next - now)) / interval);
+            }
+        }
+    }
+
+    @Override
+    protected long idleNanos(final Bucket bucket) {
+        return bucket.idleNanos;
+    }
+
+    private static long expiryNanos(final double fillNanos) {
+        return Math.max((long) fillNanos, MIN_IDLE_NANOS);
+    }
+
+    /**
+     * The theoretical arrival time of the next request.
+     */
+    static final class Bucket extends AtomicLong {
+
+        private static final long serialVersionUID = -1816412512413421046L;
+
+        private volatile long idleNanos;
+
+        Bucket(final long idleNanos) {
+            super(Long.MIN_VALUE);
+            this.idleNanos = idleNanos;
+        }
+    }
+}
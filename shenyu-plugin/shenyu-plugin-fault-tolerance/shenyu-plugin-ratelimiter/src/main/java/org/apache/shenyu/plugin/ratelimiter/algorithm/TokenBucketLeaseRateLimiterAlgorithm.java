@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.apache.shenyu.spi.Join;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The type Token bucket lease rate limiter algorithm.
+ * the token bucket stays in redis, but every gateway node leases a batch of tokens worth a tenth of a second
+ * and serves requests from it locally, so redis is only asked once per batch.
+ * the leased tokens not used within a second are given up, which bounds how far the nodes may overrun the limit.
+ */
+@Join
+public class TokenBucketLeaseRateLimiterAlgorithm extends AbstractRateLimiterAlgorithm implements LocalRateLimiterAlgorithm {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenBucketLeaseRateLimiterAlgorithm.class);
+
+    private static final double LEASE_SECONDS = 0.1;
+
+    private static final long LEASE_EXPIRE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long MAXIMUM_KEYS = 100_000;
+
+    private final Cache<String, Lease> leases = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_KEYS)
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build();
+
+    public TokenBucketLeaseRateLimiterAlgorithm() {
+        super(RateLimitEnum.TOKEN_BUCKET_LEASE.getScriptName());
+    }
+
+    @Override
+    protected String getKeyName() {
+        return RateLimitEnum.TOKEN_BUCKET_LEASE.getKeyName();
+    }
+
+    @Override
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        long permits = Math.max(1, (long) Math.ceil(limiterHandle.getRequestCount()));
+        Lease lease = leases.get(id, key -> new Lease());
+        long left = lease.acquire(permits, System.nanoTime());
+        if (left >= 0) {
+            return Mono.just(new RateLimiterResponse(true, left, Collections.emptyList()));
+        }
+        return lease.renew(() -> fetch(id, limiterHandle, permits)).map(granted -> {
+            if (granted < 0) {
+                // redis is unavailable, let the request pass as the script rate limiters do
+                return new RateLimiterResponse(true, -1, Collections.emptyList());
+            }
+            long remaining = lease.acquire(permits, System.nanoTime());
+            return new RateLimiterResponse(remaining >= 0, Math.max(0, remaining), Collections.emptyList());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Long> fetch(final String id, final RateLimiterHandle limiterHandle, final long permits) {
+        double replenishRate = limiterHandle.getReplenishRate();
+        double burstCapacity = limiterHandle.getBurstCapacity();
+        long batch = Math.max(permits, (long) Math.min(burstCapacity, Math.ceil(replenishRate * LEASE_SECONDS)));
+        List<String> scriptArgs = Arrays.asList(String.valueOf(replenishRate), String.valueOf(burstCapacity),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(permits), String.valueOf(batch));
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(getScript(), getKeys(id), scriptArgs);
+        return resultFlux.next()
+                .map(results -> results.get(0))
+                .defaultIfEmpty(0L)
+                .onErrorResume(throwable -> {
+                    LOG.error("Error occurred while leasing tokens by TokenBucketLeaseRateLimiterAlgorithm:{}", throwable.getMessage());
+                    return Mono.just(-1L);
+                });
+    }
+
+    /**
+     * The tokens leased by this node.
+     */
+    static final class Lease {
+
+        private final AtomicLong tokens = new AtomicLong();
+
+        private final AtomicReference<Mono<Long>> renewing = new AtomicReference<>();
+
+        private volatile long expireAt = System.nanoTime();
+
+        /**
+         * Acquire the permits from the lease.
+         *
+         * @param permits the permits
+         * @param now the current nano time
+         * @return the tokens left, negative if the lease is used up or expired
+         */
+        long acquire(final long permits, final long now) {
+            if (now - expireAt >= 0) {
+                return -1;
+            }
+            while (true) {
+                long current = tokens.get();
+                if (current < permits) {
+                    return -1;
+                }
+                if (tokens.compareAndSet(current, current - permits)) {
+                    return current - permits;
+                }
+            }
+        }
+
+        /**
+         * Renew the lease, the concurrent callers share one round trip.
+         *
+         * @param fetch the fetch of the granted tokens
+         * @return the granted tokens, negative on error
+         */
+        Mono<Long> renew(final Supplier<Mono<Long>> fetch) {
+            Mono<Long> current = renewing.get();
+            while (Objects.isNull(current)) {
+                Mono<Long> renewal = Mono.defer(fetch)
+                        .doOnNext(this::grant)
+                        .doFinally(signalType -> renewing.set(null))
+                        .cache();
+                if (renewing.compareAndSet(null, renewal)) {
+                    return renewal;
+                }
+                current = renewing.get();
+            }
+            return current;
+        }
+
+        private void grant(final long granted) {
+            if (granted < 0) {
+                return;
+            }
+            // the tokens left of the previous lease are not enough for a request, give them up
+            tokens.set(granted);
+            expireAt = System.nanoTime() + LEASE_EXPIRE_NANOS;
+        }
+    }
+}
@@ -17,10 +17,9 @@
 
 package org.apache.shenyu.plugin.ratelimiter.executor;
 
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.LocalRateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
@@ -44,7 +43,7 @@ public class RedisRateLimiter {
     private static final Logger LOG = LoggerFactory.getLogger(RedisRateLimiter.class);
 
     /**
-     * Verify using different current limiting algorithm scripts.
+     * Verify using different current limiting algorithm scripts, or in process by the local algorithms.
      *
      * @param id is rule id
      * @param limiterHandle the limiter handle
@@ -52,16 +51,17 @@ public class RedisRateLimiter {
      */
     @SuppressWarnings("unchecked")
     public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
-        double replenishRate = limiterHandle.getReplenishRate();
-        double burstCapacity = limiterHandle.getBurstCapacity();
-        double requestCount = limiterHandle.getRequestCount();
         RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
+        if (rateLimiterAlgorithm instanceof LocalRateLimiterAlgorithm) {
+            return ((LocalRateLimiterAlgorithm) rateLimiterAlgorithm).isAllowed(id, limiterHandle);
+        }
         RedisScript<?> script = rateLimiterAlgorithm.getScript();
         List<String> keys = rateLimiterAlgorithm.getKeys(id);
-        List<String> scriptArgs = Stream.of(replenishRate, burstCapacity, Instant.now().getEpochSecond(), requestCount).map(String::valueOf).collect(Collectors.toList());
+        List<String> scriptArgs = Arrays.asList(String.valueOf(limiterHandle.getReplenishRate()), String.valueOf(limiterHandle.getBurstCapacity()),
+                String.valueOf(Instant.now().getEpochSecond()), String.valueOf(limiterHandle.getRequestCount()));
         Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
         return resultFlux.onErrorResume(throwable -> Flux.just(Arrays.asList(1L, -1L)))
-                .reduce(new ArrayList<Long>(), (longs, l) -> {
+                .reduceWith(ArrayList<Long>::new, (longs, l) -> {
                     longs.addAll(l);
                     return longs;
                 }).map(results -> {
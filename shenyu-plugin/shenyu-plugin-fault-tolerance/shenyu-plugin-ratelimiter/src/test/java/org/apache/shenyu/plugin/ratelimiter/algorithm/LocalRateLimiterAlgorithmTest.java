@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for local rate limiter algorithms.
+ */
+public final class LocalRateLimiterAlgorithmTest {
+
+    @Test
+    public void localTokenBucketTest() {
+        LocalTokenBucketRateLimiterAlgorithm algorithm = new LocalTokenBucketRateLimiterAlgorithm();
+        RateLimiterHandle handle = handle(1, 3);
+        LocalTokenBucketRateLimiterAlgorithm.Bucket bucket = algorithm.newState(handle);
+        long now = System.nanoTime();
+        assertEquals(2, algorithm.acquire(bucket, handle, now));
+        assertEquals(1, algorithm.acquire(bucket, handle, now));
+        assertEquals(0, algorithm.acquire(bucket, handle, now));
+        assertEquals(-1, algorithm.acquire(bucket, handle, now));
+        assertEquals(0, algorithm.acquire(bucket, handle, now + TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(2, algorithm.acquire(bucket, handle, now + TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    public void localSlidingWindowTest() {
+        LocalSlidingWindowRateLimiterAlgorithm algorithm = new LocalSlidingWindowRateLimiterAlgorithm();
+        RateLimiterHandle handle = handle(1, 2);
+        LocalSlidingWindowRateLimiterAlgorithm.Window window = algorithm.newState(handle);
+        long now = System.nanoTime();
+        assertEquals(1, algorithm.acquire(window, handle, now));
+        assertEquals(0, algorithm.acquire(window, handle, now));
+        assertTrue(algorithm.acquire(window, handle, now) < 0);
+        assertTrue(algorithm.acquire(window, handle, now + TimeUnit.SECONDS.toNanos(1)) < 0);
+        assertEquals(1, algorithm.acquire(window, handle, now + TimeUnit.SECONDS.toNanos(3)));
+    }
+
+    @Test
+    public void localSlidingWindowConcurrentTest() throws Exception {
+        LocalSlidingWindowRateLimiterAlgorithm algorithm = new LocalSlidingWindowRateLimiterAlgorithm();
+        RateLimiterHandle handle = handle(0.001, 50);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int j = 0; j < 100; j++) {
+                        if (algorithm.isAllowed("rule", handle).block().isAllowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Integer> future : futures) {
+                allowed += future.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(50, allowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void isAllowedTest() {
+        LocalRateLimiterAlgorithm algorithm = new LocalTokenBucketRateLimiterAlgorithm();
+        RateLimiterHandle handle = handle(0.001, 1);
+        RateLimiterResponse response = algorithm.isAllowed("rule", handle).block();
+        assertTrue(response.isAllowed());
+        assertFalse(algorithm.isAllowed("rule", handle).block().isAllowed());
+        assertTrue(algorithm.isAllowed("rule-127.0.0.1", handle).block().isAllowed());
+        assertFalse(algorithm.isAllowed("rule", handle(0, 1)).block().isAllowed());
+    }
+
+    private static RateLimiterHandle handle(final double replenishRate, final double burstCapacity) {
+        RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setReplenishRate(replenishRate);
+        handle.setBurstCapacity(burstCapacity);
+        return handle;
+    }
+}
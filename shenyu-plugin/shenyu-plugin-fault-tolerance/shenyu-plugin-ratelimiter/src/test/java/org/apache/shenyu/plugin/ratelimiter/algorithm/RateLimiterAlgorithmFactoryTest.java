@@ -43,5 +43,14 @@ public final class RateLimiterAlgorithmFactoryTest {
 
         RateLimiterAlgorithm<?> slidingWindowRateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("slidingWindow");
         assertThat(slidingWindowRateLimiterAlgorithm.getClass().getName(), is("org.apache.shenyu.plugin.ratelimiter.algorithm.SlidingWindowRateLimiterAlgorithm"));
+
+        RateLimiterAlgorithm<?> localTokenBucketRateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("localTokenBucket");
+        assertThat(localTokenBucketRateLimiterAlgorithm.getClass().getName(), is("org.apache.shenyu.plugin.ratelimiter.algorithm.LocalTokenBucketRateLimiterAlgorithm"));
+
+        RateLimiterAlgorithm<?> localSlidingWindowRateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("localSlidingWindow");
+        assertThat(localSlidingWindowRateLimiterAlgorithm.getClass().getName(), is("org.apache.shenyu.plugin.ratelimiter.algorithm.LocalSlidingWindowRateLimiterAlgorithm"));
+
+        RateLimiterAlgorithm<?> tokenBucketLeaseRateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("tokenBucketLease");
+        assertThat(tokenBucketLeaseRateLimiterAlgorithm.getClass().getName(), is("org.apache.shenyu.plugin.ratelimiter.algorithm.TokenBucketLeaseRateLimiterAlgorithm"));
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for TokenBucketLeaseRateLimiterAlgorithm.
+ */
+public final class TokenBucketLeaseRateLimiterAlgorithmTest {
+
+    private ReactiveRedisTemplate<?, ?> reactiveRedisTemplate;
+
+    private RateLimiterHandle handle;
+
+    @BeforeEach
+    public void setUp() {
+        reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        handle = new RateLimiterHandle();
+        handle.setReplenishRate(30);
+        handle.setBurstCapacity(100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void leaseTest() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(Lists.newArrayList(3L, 97L)), Flux.just(Lists.newArrayList(0L, 0L)));
+        TokenBucketLeaseRateLimiterAlgorithm algorithm = new TokenBucketLeaseRateLimiterAlgorithm();
+        RateLimiterResponse response = algorithm.isAllowed("lease", handle).block();
+        assertTrue(response.isAllowed());
+        assertEquals(2, response.getTokensRemaining());
+        assertEquals(1, algorithm.isAllowed("lease", handle).block().getTokensRemaining());
+        assertEquals(0, algorithm.isAllowed("lease", handle).block().getTokensRemaining());
+        assertFalse(algorithm.isAllowed("lease", handle).block().isAllowed());
+        verify(reactiveRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void leaseErrorTest() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.error(Throwable::new));
+        RateLimiterResponse response = new TokenBucketLeaseRateLimiterAlgorithm().isAllowed("error", handle).block();
+        assertTrue(response.isAllowed());
+        assertEquals(-1, response.getTokensRemaining());
+    }
+}
@@ -135,4 +135,20 @@ public class RedisRateLimiterScriptsTest {
                 .expectComplete()
                 .verify();
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void tokenBucketLeaseLuaTest() {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("tokenBucketLease");
+        RedisScript<?> script = rateLimiterAlgorithm.getScript();
+        List<String> keys = rateLimiterAlgorithm.getKeys("test-tokenBucketLease");
+        List<String> scriptArgs = Arrays.asList(10 + "", 100 + "", String.valueOf(System.currentTimeMillis()), "1", "5");
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
+        StepVerifier
+                .create(resultFlux)
+                .expectSubscription()
+                .expectNext(Arrays.asList(5L, 95L))
+                .expectComplete()
+                .verify();
+    }
 }
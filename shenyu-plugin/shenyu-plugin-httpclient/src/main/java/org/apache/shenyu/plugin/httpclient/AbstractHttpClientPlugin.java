@@ -17,10 +17,13 @@
 
 package org.apache.shenyu.plugin.httpclient;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutException;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.RetryEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
@@ -36,11 +39,14 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.httpclient.config.DuplicateResponseHeaderProperties.DuplicateResponseHeaderStrategy;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties.BodyReplay;
 import org.apache.shenyu.plugin.httpclient.exception.ShenyuTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
@@ -52,12 +58,16 @@ import reactor.util.retry.RetryBackoffSpec;
 import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -68,6 +78,29 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
 
     protected static final Logger LOG = LoggerFactory.getLogger(AbstractHttpClientPlugin.class);
 
+    private static final Set<HttpMethod> HEDGE_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private static final Cache<String, LatencyHistogram> LATENCY_HISTOGRAMS = Caffeine.newBuilder()
+            .maximumSize(10000).expireAfterAccess(Duration.ofHours(1)).build();
+
+    private final BodyReplay bodyReplay;
+
+    /**
+     * Instantiates a new Abstract http client plugin without the body replay.
+     */
+    protected AbstractHttpClientPlugin() {
+        this(null);
+    }
+
+    /**
+     * Instantiates a new Abstract http client plugin.
+     *
+     * @param bodyReplay the request body replay config of retries
+     */
+    protected AbstractHttpClientPlugin(final BodyReplay bodyReplay) {
+        this.bodyReplay = bodyReplay;
+    }
+
     @Override
     public final Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
@@ -82,7 +115,20 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
         final int retryTimes = (int) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY)).orElse(0);
         final String retryStrategy = (String) Optional.ofNullable(exchange.getAttribute(Constants.RETRY_STRATEGY)).orElseGet(RetryEnum.CURRENT::getName);
         LogUtils.debug(LOG, () -> String.format("The request urlPath is: %s, retryTimes is : %s, retryStrategy is : %s", uri, retryTimes, retryStrategy));
-        final Mono<R> response = doRequest(exchange, exchange.getRequest().getMethodValue(), uri, exchange.getRequest().getBody())
+        if (retryTimes > 0 && BodyReplayBuffer.isReplayable(exchange.getRequest(), bodyReplay)) {
+            // the body can only be read once, buffer it so that every attempt sends the whole body
+            return BodyReplayBuffer.buffer(exchange.getRequest().getBody(), exchange.getResponse().bufferFactory(),
+                            exchange.getRequest().getHeaders().getContentLength(), bodyReplay)
+                    .onErrorMap(DataBufferLimitException.class, th -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, th.getMessage(), th))
+                    .flatMap(replay -> execute(exchange, chain, uri, duration, retryTimes, retryStrategy, replay.body(), replay));
+        }
+        return execute(exchange, chain, uri, duration, retryTimes, retryStrategy, exchange.getRequest().getBody(), null);
+    }
+
+    private Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final URI uri, final Duration duration,
+                               final int retryTimes, final String retryStrategy, final Flux<DataBuffer> body, final BodyReplayBuffer replay) {
+        final Set<URI> exclude = Sets.newConcurrentHashSet(Collections.singleton(uri));
+        final Mono<R> response = Mono.defer(() -> request(exchange, uri, body, exclude))
                 .timeout(duration, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + duration)))
                 .doOnError(e -> LOG.error(e.getMessage(), e));
         if (RetryEnum.CURRENT.getName().equals(retryStrategy)) {
@@ -96,27 +142,92 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                     .onRetryExhaustedThrow((retryBackoffSpecErr, retrySignal) -> {
                         throw new ShenyuTimeoutException("Request timeout, the maximum number of retry times has been exceeded");
                     });
-            return response.retryWhen(retryBackoffSpec)
+            return release(response.retryWhen(retryBackoffSpec), replay)
                     .onErrorMap(ShenyuTimeoutException.class, th -> new ResponseStatusException(HttpStatus.REQUEST_TIMEOUT, th.getMessage(), th))
                     .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
                     .flatMap((Function<Object, Mono<? extends Void>>) o -> chain.execute(exchange));
         }
-        final Set<URI> exclude = Sets.newHashSet(uri);
-        return resend(response, exchange, duration, exclude, retryTimes)
+        return release(resend(response, exchange, duration, exclude, retryTimes, body), replay)
                 .onErrorMap(ShenyuException.class, th -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
                         ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg(), th))
                 .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
                 .flatMap((Function<Object, Mono<? extends Void>>) o -> chain.execute(exchange));
     }
 
+    private Mono<R> request(final ServerWebExchange exchange, final URI uri, final Flux<DataBuffer> body, final Set<URI> exclude) {
+        final Long hedgeDelay = exchange.getAttribute(Constants.HTTP_HEDGE_DELAY);
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        if (Objects.isNull(hedgeDelay) || Objects.isNull(selectorId) || !HEDGE_METHODS.contains(exchange.getRequest().getMethod())) {
+            return doRequest(exchange, exchange.getRequest().getMethodValue(), uri, body);
+        }
+        final LatencyHistogram latency = LATENCY_HISTOGRAMS.get(selectorId, key -> new LatencyHistogram());
+        final double percentile = (double) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_HEDGE_PERCENTILE)).orElse(0d);
+        final long percentileDelay = percentile > 0 ? latency.percentile(percentile) : -1;
+        // the percentile delay is used once the selector has enough latency samples
+        final long delay = percentileDelay >= 0 ? Math.max(1, percentileDelay) : hedgeDelay;
+        final AtomicBoolean claimed = new AtomicBoolean();
+        final Mono<R> primary = attempt(exchange, uri, body, claimed, latency);
+        if (delay <= 0) {
+            return primary;
+        }
+        final Mono<R> hedged = Mono.delay(Duration.ofMillis(delay)).flatMap(tick -> {
+            final URI hedgeUri = selectUri(exchange, exclude);
+            if (Objects.isNull(hedgeUri)) {
+                return Mono.never();
+            }
+            exclude.add(hedgeUri);
+            LogUtils.debug(LOG, () -> String.format("The request %s has not responded in %sms, hedge it to %s", uri, delay, hedgeUri));
+            return attempt(exchange, hedgeUri, body, claimed, latency)
+                    .onErrorResume(e -> {
+                        // the primary request keeps its own error handling
+                        LOG.warn("The hedged request {} error: {}", hedgeUri, e.getMessage());
+                        return Mono.never();
+                    });
+        });
+        // the first response, or an error of the primary request, wins and cancels the other one
+        return Mono.firstWithSignal(primary, hedged);
+    }
+
+    private Mono<R> attempt(final ServerWebExchange exchange, final URI uri, final Flux<DataBuffer> body,
+                            final AtomicBoolean claimed, final LatencyHistogram latency) {
+        return Mono.defer(() -> {
+            final HedgedExchange attempt = new HedgedExchange(exchange);
+            final long start = System.nanoTime();
+            final AtomicBoolean recorded = new AtomicBoolean();
+            final Runnable recordLatency = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            };
+            return doRequest(attempt, exchange.getRequest().getMethodValue(), uri, body)
+                    .flatMap(response -> {
+                        recordLatency.run();
+                        if (claimed.compareAndSet(false, true)) {
+                            attempt.commit();
+                            return Mono.just(response);
+                        }
+                        // the other attempt has won the race
+                        discard(attempt, response);
+                        return Mono.never();
+                    })
+                    // a slow attempt cancelled by the winner lasted at least this long, leaving it out biases the percentile delay low
+                    .doOnCancel(recordLatency);
+        });
+    }
+
+    private Mono<R> release(final Mono<R> response, final BodyReplayBuffer replay) {
+        return Objects.isNull(replay) ? response : response.doFinally(signal -> replay.release());
+    }
+
     private Mono<R> resend(final Mono<R> clientResponse,
                            final ServerWebExchange exchange,
                            final Duration duration,
                            final Set<URI> exclude,
-                           final int retryTimes) {
+                           final int retryTimes,
+                           final Flux<DataBuffer> body) {
         Mono<R> result = clientResponse;
         for (int i = 0; i < retryTimes; i++) {
-            result = resend(result, exchange, duration, exclude);
+            result = resend(result, exchange, duration, exclude, body);
         }
         return result;
     }
@@ -124,42 +235,53 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
     private Mono<R> resend(final Mono<R> response,
                            final ServerWebExchange exchange,
                            final Duration duration,
-                           final Set<URI> exclude) {
+                           final Set<URI> exclude,
+                           final Flux<DataBuffer> body) {
         // does it necessary to add backoff interval time ?
         return response.onErrorResume(th -> {
-            final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
-            final String loadBalance = exchange.getAttribute(Constants.LOAD_BALANCE);
-            //always query the latest available list
-            final List<Upstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selectorId)
-                    .stream().filter(data -> {
-                        final String trimUri = data.getUrl().trim();
-                        for (URI needToExclude : exclude) {
-                            // exclude already called
-                            if ((needToExclude.getHost() + ":" + needToExclude.getPort()).equals(trimUri)) {
-                                return false;
-                            }
-                        }
-                        return true;
-                    }).collect(Collectors.toList());
-            if (CollectionUtils.isEmpty(upstreamList)) {
-                // no need to retry anymore
-                return Mono.error(new ShenyuException(ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg()));
+            if (Objects.nonNull(ExceptionUtils.throwableOfType(th, DataBufferLimitException.class))) {
+                // the request body is over its limit, another upstream will not take it either
+                return Mono.error(th);
             }
-            final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
-            final Upstream upstream = LoadBalancerFactory.selector(upstreamList, loadBalance, ip);
-            if (Objects.isNull(upstream)) {
+            final URI newUri = selectUri(exchange, exclude);
+            if (Objects.isNull(newUri)) {
                 // no need to retry anymore
                 return Mono.error(new ShenyuException(ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg()));
             }
-            final URI newUri = RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
             // in order not to affect the next retry call, newUri needs to be excluded
             exclude.add(newUri);
-            return doRequest(exchange, exchange.getRequest().getMethodValue(), newUri, exchange.getRequest().getBody())
+            return doRequest(exchange, exchange.getRequest().getMethodValue(), newUri, body)
                     .timeout(duration, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + duration)))
                     .doOnError(e -> LOG.error(e.getMessage(), e));
         });
     }
 
+    private URI selectUri(final ServerWebExchange exchange, final Set<URI> exclude) {
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        final String loadBalance = exchange.getAttribute(Constants.LOAD_BALANCE);
+        //always query the latest available list
+        final List<Upstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selectorId)
+                .stream().filter(data -> {
+                    final String trimUri = data.getUrl().trim();
+                    for (URI needToExclude : exclude) {
+                        // exclude already called
+                        if ((needToExclude.getHost() + ":" + needToExclude.getPort()).equals(trimUri)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }).collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(upstreamList)) {
+            return null;
+        }
+        final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
+        final Upstream upstream = LoadBalancerFactory.selector(upstreamList, loadBalance, ip);
+        if (Objects.isNull(upstream)) {
+            return null;
+        }
+        return RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
+    }
+
     /**
      * Process the Web request.
      *
@@ -171,6 +293,15 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
      */
     protected abstract Mono<R> doRequest(ServerWebExchange exchange, String httpMethod,
                                          URI uri, Flux<DataBuffer> body);
+
+    /**
+     * Discard the response of a hedged request which has lost the race.
+     *
+     * @param exchange the exchange of the lost request
+     * @param response the response
+     */
+    protected void discard(final ServerWebExchange exchange, final R response) {
+    }
     
     protected void duplicateHeaders(final HttpHeaders headers, final String header, final DuplicateResponseHeaderStrategy strategy) {
         List<String> headerValues = headers.get(header);
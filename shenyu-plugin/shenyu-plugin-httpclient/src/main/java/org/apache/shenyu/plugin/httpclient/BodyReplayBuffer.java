@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties.BodyReplay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The request body buffered once and replayed on every attempt of a retried request.
+ * the pooled buffers are retained up to the memory threshold, a larger body is spilled to a temp file.
+ * every replay emits retained slices, so the buffers are only freed by {@link #release()} after the final attempt.
+ * a body without a content length is buffered up to the max body size, a larger one fails with {@link DataBufferLimitException}.
+ */
+public final class BodyReplayBuffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BodyReplayBuffer.class);
+
+    private static final int SPILL_READ_CHUNK = 8192;
+
+    private final List<DataBuffer> buffers = new ArrayList<>();
+
+    private final DataBufferFactory bufferFactory;
+
+    private final long memoryThreshold;
+
+    private final long maxBodySize;
+
+    private final Path spillDirectory;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private long size;
+
+    private Path file;
+
+    private FileChannel channel;
+
+    private BodyReplayBuffer(final DataBufferFactory bufferFactory, final long memoryThreshold, final long maxBodySize, final Path spillDirectory) {
+        this.bufferFactory = bufferFactory;
+        this.memoryThreshold = memoryThreshold;
+        this.maxBodySize = maxBodySize;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Whether the request body should be buffered for replay.
+     *
+     * @param request the request
+     * @param bodyReplay the body replay config
+     * @return true if the request has a body that is not declared larger than the max body size
+     */
+    public static boolean isReplayable(final ServerHttpRequest request, final BodyReplay bodyReplay) {
+        if (Objects.isNull(bodyReplay) || !bodyReplay.isEnabled()
+                || HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod())) {
+            return false;
+        }
+        long contentLength = request.getHeaders().getContentLength();
+        return contentLength != 0 && contentLength <= bodyReplay.getMaxBodySize();
+    }
+
+    /**
+     * Buffer the body.
+     *
+     * @param body the body, consumed once
+     * @param bufferFactory the buffer factory of the spilled body
+     * @param contentLength the declared content length, -1 if unknown
+     * @param bodyReplay the body replay config
+     * @return the replay buffer, or {@link DataBufferLimitException} if the body is larger than the max body size
+     */
+    public static Mono<BodyReplayBuffer> buffer(final Flux<DataBuffer> body, final DataBufferFactory bufferFactory,
+                                                final long contentLength, final BodyReplay bodyReplay) {
+        final long memoryThreshold = bodyReplay.getMemoryThreshold();
+        final Path spillDirectory = Paths.get(StringUtils.defaultIfBlank(bodyReplay.getSpillDirectory(), System.getProperty("java.io.tmpdir")));
+        final BodyReplayBuffer replay = new BodyReplayBuffer(bufferFactory, memoryThreshold, bodyReplay.getMaxBodySize(), spillDirectory);
+        // a body that may be spilled is written off the event loop
+        final Flux<DataBuffer> source = contentLength >= 0 && contentLength <= memoryThreshold
+                ? body : body.publishOn(Schedulers.boundedElastic());
+        return source.doOnNext(replay::append)
+                .then(Mono.fromCallable(replay::complete))
+                .doOnError(e -> replay.release())
+                .doOnCancel(replay::release);
+    }
+
+    /**
+     * Replay the body, every subscription emits the whole body again.
+     *
+     * @return the body
+     */
+    public Flux<DataBuffer> body() {
+        return Flux.defer(() -> {
+            if (released.get()) {
+                return Flux.error(new IllegalStateException("the request body has been released"));
+            }
+            if (Objects.nonNull(file)) {
+                return DataBufferUtils.read(file, bufferFactory, SPILL_READ_CHUNK);
+            }
+            return Flux.fromIterable(buffers).map(buffer -> buffer.retainedSlice(buffer.readPosition(), buffer.readableByteCount()));
+        });
+    }
+
+    /**
+     * The buffered size.
+     *
+     * @return the size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Whether the body is spilled to a temp file.
+     *
+     * @return true if spilled
+     */
+    public boolean isSpilled() {
+        return Objects.nonNull(file);
+    }
+
+    /**
+     * Release the buffers and delete the spilled file, only the first call takes effect.
+     */
+    public void release() {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        buffers.forEach(DataBufferUtils::release);
+        buffers.clear();
+        closeChannel();
+        if (Objects.nonNull(file)) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn("delete the spilled request body {} error", file, e);
+            }
+        }
+    }
+
+    private void append(final DataBuffer buffer) {
+        size += buffer.readableByteCount();
+        if (size > maxBodySize) {
+            // a chunked body is only known to be too large once it is read, stop buffering it here
+            DataBufferUtils.release(buffer);
+            throw new DataBufferLimitException("the request body to replay exceeds the limit of " + maxBodySize + " bytes");
+        }
+        if (Objects.isNull(channel) && size <= memoryThreshold) {
+            buffers.add(buffer);
+            return;
+        }
+        try {
+            if (Objects.isNull(channel)) {
+                file = Files.createTempFile(spillDirectory, "shenyu-body-", ".tmp");
+                channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                for (DataBuffer buffered : buffers) {
+                    write(buffered);
+                    DataBufferUtils.release(buffered);
+                }
+                buffers.clear();
+            }
+            write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private void write(final DataBuffer buffer) throws IOException {
+        ByteBuffer byteBuffer = buffer.asByteBuffer();
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+    }
+
+    private BodyReplayBuffer complete() {
+        closeChannel();
+        return this;
+    }
+
+    private void closeChannel() {
+        if (Objects.nonNull(channel) && channel.isOpen()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.warn("close the spilled request body {} error", file, e);
+            }
+        }
+    }
+}
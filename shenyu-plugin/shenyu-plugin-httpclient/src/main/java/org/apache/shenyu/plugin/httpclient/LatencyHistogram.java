@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram of a selector, the hedge delay is taken from its percentile.
+ * every power of two millisecond range is split into 8 buckets, so a percentile is within 12.5% of the real one.
+ * the counts are halved once the window is full, recent latencies weigh more than the old ones.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int BUCKETS = 128;
+
+    private static final long MIN_SAMPLES = 100;
+
+    private static final long WINDOW = 4096;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Record a latency.
+     *
+     * @param millis the latency in milliseconds
+     */
+    public void record(final long millis) {
+        counts.incrementAndGet(bucket(Math.max(0, millis)));
+        total.increment();
+        if (total.sum() >= WINDOW) {
+            decay();
+        }
+    }
+
+    /**
+     * The latency percentile.
+     *
+     * @param percentile the percentile, such as 99.9
+     * @return the upper bound of the percentile bucket in milliseconds, -1 if there are not enough samples
+     */
+    public long percentile(final double percentile) {
+        long sum = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            sum += snapshot[i];
+        }
+        if (sum < MIN_SAMPLES) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(sum * Math.min(100d, Math.max(0d, percentile)) / 100d);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank && snapshot[i] > 0) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private synchronized void decay() {
+        if (total.sum() < WINDOW) {
+            return;
+        }
+        long removed = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            long half = count >> 1;
+            // records racing with the decay are kept
+            counts.addAndGet(i, half - count);
+            removed += count - half;
+        }
+        total.add(-removed);
+    }
+
+    static int bucket(final long millis) {
+        if (millis < SUB_BUCKETS) {
+            return (int) millis;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(millis);
+        int index = (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + (int) ((millis >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    static long upperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -24,15 +24,15 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.httpclient.config.DuplicateResponseHeaderProperties;
 import org.apache.shenyu.plugin.httpclient.config.DuplicateResponseHeaderProperties.DuplicateResponseHeaderStrategy;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties.BodyReplay;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.NettyDataBuffer;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.AbstractServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
 
@@ -56,6 +56,18 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
      * @param properties proerties
      */
     public NettyHttpClientPlugin(final HttpClient httpClient, final DuplicateResponseHeaderProperties properties) {
+        this(httpClient, properties, null);
+    }
+
+    /**
+     * Instantiates a new Netty http client plugin with the request body replay of retries.
+     *
+     * @param httpClient the http client
+     * @param properties properties
+     * @param bodyReplay the body replay config
+     */
+    public NettyHttpClientPlugin(final HttpClient httpClient, final DuplicateResponseHeaderProperties properties, final BodyReplay bodyReplay) {
+        super(bodyReplay);
         this.httpClient = httpClient;
         this.properties = properties;
     }
@@ -79,19 +91,21 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
                     if (StringUtils.isNotBlank(contentTypeValue)) {
                         exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
                     }
-                    HttpStatus status = HttpStatus.resolve(res.status().code());
-                    if (Objects.nonNull(status)) {
-                        response.setStatusCode(status);
-                    } else if (response instanceof AbstractServerHttpResponse) {
-                        response.setRawStatusCode(res.status().code());
-                    } else {
-                        throw new IllegalStateException("Unable to set status code on response: " + res.status().code() + ", " + response.getClass());
-                    }
+                    // the raw code keeps an unknown status such as 599, the response may be a decorator of a hedged attempt
+                    response.setRawStatusCode(res.status().code());
                     response.getHeaders().putAll(headers);
                     return Mono.just(res);
                 }));
     }
 
+    @Override
+    protected void discard(final ServerWebExchange exchange, final HttpClientResponse response) {
+        Connection connection = exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR);
+        if (Objects.nonNull(connection)) {
+            connection.dispose();
+        }
+    }
+
     private void duplicate(final HttpHeaders headers) {
         List<String> duplicateHeaders = properties.getHeaders();
         if (CollectionUtils.isEmpty(duplicateHeaders)) {
@@ -24,6 +24,7 @@ import org.apache.shenyu.common.enums.ResultEnum;
 import org.apache.shenyu.plugin.base.utils.MediaTypeUtils;
 import org.apache.shenyu.plugin.httpclient.config.DuplicateResponseHeaderProperties;
 import org.apache.shenyu.plugin.httpclient.config.DuplicateResponseHeaderProperties.DuplicateResponseHeaderStrategy;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties.BodyReplay;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
@@ -37,6 +38,7 @@ import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * The type Web client plugin.
@@ -54,6 +56,18 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ResponseEntity<Flu
      * @param properties properties
      */
     public WebClientPlugin(final WebClient webClient, final DuplicateResponseHeaderProperties properties) {
+        this(webClient, properties, null);
+    }
+
+    /**
+     * Instantiates a new Web client plugin with the request body replay of retries.
+     *
+     * @param webClient the web client
+     * @param properties properties
+     * @param bodyReplay the body replay config
+     */
+    public WebClientPlugin(final WebClient webClient, final DuplicateResponseHeaderProperties properties, final BodyReplay bodyReplay) {
+        super(bodyReplay);
         this.webClient = webClient;
         this.properties = properties;
     }
@@ -97,6 +111,14 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ResponseEntity<Flu
                 });
     }
     
+    @Override
+    protected void discard(final ServerWebExchange exchange, final ResponseEntity<Flux<DataBuffer>> response) {
+        if (Objects.nonNull(response.getBody())) {
+            // cancel the body so that the connection is closed instead of read up
+            response.getBody().subscribe(DataBufferUtils::release).dispose();
+        }
+    }
+
     private void duplicate(final HttpHeaders headers) {
         List<String> duplicateHeaders = properties.getHeaders();
         if (CollectionUtils.isEmpty(duplicateHeaders)) {
@@ -121,6 +121,11 @@ public class HttpClientProperties {
      */
     private Integer maxInMemorySize = 1;
 
+    /**
+     * The request body replay buffer for retries.
+     */
+    private BodyReplay bodyReplay = new BodyReplay();
+
     /**
      * Gets strategy.
      *
@@ -390,6 +395,123 @@ public class HttpClientProperties {
         this.maxInMemorySize = maxInMemorySize;
     }
 
+    /**
+     * Gets body replay.
+     *
+     * @return the body replay
+     */
+    public BodyReplay getBodyReplay() {
+        return bodyReplay;
+    }
+
+    /**
+     * Sets body replay.
+     *
+     * @param bodyReplay the body replay
+     */
+    public void setBodyReplay(final BodyReplay bodyReplay) {
+        this.bodyReplay = bodyReplay;
+    }
+
+    /**
+     * The type Body replay.
+     * when enabled, the body of a request that may be retried is buffered once and replayed on every attempt.
+     */
+    public static class BodyReplay {
+
+        /**
+         * Whether to buffer the request body for retries, defaults to false.
+         */
+        private boolean enabled;
+
+        /**
+         * The bytes kept in memory, a larger body is spilled to a temp file, the default is 256kb.
+         */
+        private Long memoryThreshold = 256 * 1024L;
+
+        /**
+         * A request declaring a larger content length is not buffered, the default is 10mb.
+         */
+        private Long maxBodySize = 10 * 1024 * 1024L;
+
+        /**
+         * The directory of the spilled bodies, defaults to java.io.tmpdir.
+         */
+        private String spillDirectory;
+
+        /**
+         * Is enabled.
+         *
+         * @return the enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets memory threshold.
+         *
+         * @return the memory threshold
+         */
+        public Long getMemoryThreshold() {
+            return memoryThreshold;
+        }
+
+        /**
+         * Sets memory threshold.
+         *
+         * @param memoryThreshold the memory threshold
+         */
+        public void setMemoryThreshold(final Long memoryThreshold) {
+            this.memoryThreshold = memoryThreshold;
+        }
+
+        /**
+         * Gets max body size.
+         *
+         * @return the max body size
+         */
+        public Long getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        /**
+         * Sets max body size.
+         *
+         * @param maxBodySize the max body size
+         */
+        public void setMaxBodySize(final Long maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+
+        /**
+         * Gets spill directory.
+         *
+         * @return the spill directory
+         */
+        public String getSpillDirectory() {
+            return spillDirectory;
+        }
+
+        /**
+         * Sets spill directory.
+         *
+         * @param spillDirectory the spill directory
+         */
+        public void setSpillDirectory(final String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+        }
+    }
+
     /**
      * The type Pool.
      */
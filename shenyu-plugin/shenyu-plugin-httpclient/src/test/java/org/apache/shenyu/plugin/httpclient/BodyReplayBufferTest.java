@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties.BodyReplay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for BodyReplayBuffer.
+ */
+public final class BodyReplayBufferTest {
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    @TempDir
+    private Path spillDirectory;
+
+    private BodyReplay bodyReplay;
+
+    @BeforeEach
+    public void setUp() {
+        bodyReplay = new BodyReplay();
+        bodyReplay.setEnabled(true);
+        bodyReplay.setMemoryThreshold(8L);
+        bodyReplay.setMaxBodySize(64L);
+        bodyReplay.setSpillDirectory(spillDirectory.toString());
+    }
+
+    @Test
+    public void testReplayInMemory() {
+        List<DataBuffer> source = buffers("abc", "def");
+        BodyReplayBuffer replay = BodyReplayBuffer.buffer(Flux.fromIterable(source), bufferFactory, 6, bodyReplay).block();
+        assertFalse(replay.isSpilled());
+        assertEquals("abcdef", read(replay));
+        assertEquals("abcdef", read(replay));
+        replay.release();
+        source.forEach(buffer -> assertEquals(0, ((NettyDataBuffer) buffer).getNativeBuffer().refCnt()));
+        assertThrows(IllegalStateException.class, () -> replay.body().blockLast());
+    }
+
+    @Test
+    public void testReplaySpilled() throws Exception {
+        List<DataBuffer> source = buffers("abcd", "efgh", "ijkl");
+        BodyReplayBuffer replay = BodyReplayBuffer.buffer(Flux.fromIterable(source), bufferFactory, -1, bodyReplay).block();
+        assertTrue(replay.isSpilled());
+        assertEquals(12, replay.size());
+        assertEquals("abcdefghijkl", read(replay));
+        assertEquals("abcdefghijkl", read(replay));
+        source.forEach(buffer -> assertEquals(0, ((NettyDataBuffer) buffer).getNativeBuffer().refCnt()));
+        replay.release();
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testChunkedBodyOverLimit() throws Exception {
+        String part = String.join("", Collections.nCopies(30, "a"));
+        List<DataBuffer> source = buffers(part, part, part);
+        assertThrows(DataBufferLimitException.class,
+            () -> BodyReplayBuffer.buffer(Flux.fromIterable(source), bufferFactory, -1, bodyReplay).block());
+        source.forEach(buffer -> assertEquals(0, ((NettyDataBuffer) buffer).getNativeBuffer().refCnt()));
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testIsReplayable() {
+        assertTrue(BodyReplayBuffer.isReplayable(MockServerHttpRequest.post("/").body("body"), bodyReplay));
+        assertTrue(BodyReplayBuffer.isReplayable(MockServerHttpRequest.post("/").build(), bodyReplay));
+        assertFalse(BodyReplayBuffer.isReplayable(MockServerHttpRequest.get("/").build(), bodyReplay));
+        assertFalse(BodyReplayBuffer.isReplayable(MockServerHttpRequest.post("/").contentLength(65).build(), bodyReplay));
+        bodyReplay.setEnabled(false);
+        assertFalse(BodyReplayBuffer.isReplayable(MockServerHttpRequest.post("/").body("body"), bodyReplay));
+    }
+
+    private List<DataBuffer> buffers(final String... parts) {
+        return Arrays.stream(parts)
+                .map(part -> (DataBuffer) bufferFactory.wrap(bufferFactory.allocateBuffer().write(part, StandardCharsets.UTF_8).asByteBuffer()))
+                .collect(Collectors.toList());
+    }
+
+    private String read(final BodyReplayBuffer replay) {
+        return replay.body().map(buffer -> {
+            String part = buffer.toString(StandardCharsets.UTF_8);
+            DataBufferUtils.release(buffer);
+            return part;
+        }).collect(Collectors.joining()).block();
+    }
+}
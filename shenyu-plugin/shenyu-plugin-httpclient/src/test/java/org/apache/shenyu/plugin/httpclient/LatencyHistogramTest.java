@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for LatencyHistogram.
+ */
+public final class LatencyHistogramTest {
+
+    @Test
+    public void testBucket() {
+        for (long millis = 0; millis < 100000; millis++) {
+            int bucket = LatencyHistogram.bucket(millis);
+            assertTrue(LatencyHistogram.upperBound(bucket) >= millis);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < millis);
+        }
+        assertEquals(17, LatencyHistogram.upperBound(LatencyHistogram.bucket(16)));
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(10);
+        }
+        assertEquals(-1, histogram.percentile(50));
+        histogram.record(1000);
+        assertEquals(10, histogram.percentile(50));
+        assertEquals(10, histogram.percentile(99));
+        assertTrue(histogram.percentile(100) >= 1000);
+    }
+
+    @Test
+    public void testDecay() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 4000; i++) {
+            histogram.record(1000);
+        }
+        for (int i = 0; i < 4000; i++) {
+            histogram.record(5);
+        }
+        assertEquals(5, histogram.percentile(50));
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.httpclient;
 
+import com.sun.net.httpserver.HttpServer;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import org.apache.shenyu.common.constant.Constants;
@@ -41,7 +42,9 @@ import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 import reactor.test.StepVerifier;
 
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -89,6 +92,31 @@ public final class NettyHttpClientPluginTest {
         StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for an unknown status of a hedged request.
+     */
+    @Test
+    public void testHedgedUnknownStatus() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/test", httpExchange -> {
+            httpExchange.sendResponseHeaders(599, -1);
+            httpExchange.close();
+        });
+        server.start();
+        try {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
+                    .remoteAddress(new InetSocketAddress("127.0.0.1", 8080)).build());
+            exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+            exchange.getAttributes().put(Constants.HTTP_URI, URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/test"));
+            exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, "hedge-unknown-status");
+            exchange.getAttributes().put(Constants.HTTP_HEDGE_DELAY, 10_000L);
+            StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().expectComplete().verify(Duration.ofSeconds(3));
+            assertEquals(599, exchange.getResponse().getRawStatusCode());
+        } finally {
+            server.stop(0);
+        }
+    }
+
     /**
      * test case for NettyHttpClientPlugin {@link NettyHttpClientPlugin#skip(ServerWebExchange)}.
      */
@@ -17,9 +17,14 @@
 
 package org.apache.shenyu.plugin.httpclient;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.google.common.collect.Lists;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RetryEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
@@ -35,6 +40,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
@@ -47,11 +53,17 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -118,6 +130,76 @@ public final class WebClientPluginTest {
         StepVerifier.create(monoErrorTest).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for the hedged request of WebClientPlugin.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHedgedRequest() throws Exception {
+        UpstreamCacheManager.getInstance().submit("hedge", Lists.newArrayList(
+                Upstream.builder().protocol("http://").url("slow:80").build(),
+                Upstream.builder().protocol("http://").url("fast:80").build()));
+        given(this.exchangeFunction.exchange(any())).willAnswer(invocation -> {
+            ClientRequest request = invocation.getArgument(0);
+            String host = request.url().getHost();
+            Mono<ClientResponse> response = Mono.just(ClientResponse.create(HttpStatus.OK).header("upstream", host).build());
+            return "slow".equals(host) ? response.delayElement(Duration.ofSeconds(2)) : response;
+        });
+        WebClient webClient = WebClient.builder().exchangeFunction(this.exchangeFunction).build();
+        WebClientPlugin hedgePlugin = new WebClientPlugin(webClient, new DuplicateResponseHeaderProperties());
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 8080)).build());
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        exchange.getAttributes().put(Constants.HTTP_URI, URI.create("http://slow:80/test"));
+        exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, "hedge");
+        exchange.getAttributes().put(Constants.LOAD_BALANCE, "roundRobin");
+        exchange.getAttributes().put(Constants.HTTP_HEDGE_DELAY, 50L);
+        final ShenyuPluginChain chain = mock(ShenyuPluginChain.class);
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        StepVerifier.create(hedgePlugin.execute(exchange, chain)).expectSubscription().expectComplete().verify(Duration.ofSeconds(1));
+        assertEquals("fast", exchange.getResponse().getHeaders().getFirst("upstream"));
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        // the cancelled slow attempt is recorded as well as the fast one
+        Field histograms = AbstractHttpClientPlugin.class.getDeclaredField("LATENCY_HISTOGRAMS");
+        histograms.setAccessible(true);
+        LatencyHistogram latency = ((Cache<String, LatencyHistogram>) histograms.get(null)).getIfPresent("hedge");
+        Field total = LatencyHistogram.class.getDeclaredField("total");
+        total.setAccessible(true);
+        assertEquals(2L, ((LongAdder) total.get(latency)).sum());
+        UpstreamCacheManager.getInstance().removeByKey("hedge");
+    }
+
+    /**
+     * test case for the failover of WebClientPlugin, a body over its limit is not resent.
+     */
+    @Test
+    public void testFailoverNotResendBodyOverLimit() {
+        UpstreamCacheManager.getInstance().submit("failover", Lists.newArrayList(
+                Upstream.builder().protocol("http://").url("first:80").build(),
+                Upstream.builder().protocol("http://").url("second:80").build()));
+        AtomicInteger attempts = new AtomicInteger();
+        given(this.exchangeFunction.exchange(any())).willAnswer(invocation -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IllegalStateException("write the request body failed", new DataBufferLimitException("too large")));
+        });
+        WebClient webClient = WebClient.builder().exchangeFunction(this.exchangeFunction).build();
+        WebClientPlugin failoverPlugin = new WebClientPlugin(webClient, new DuplicateResponseHeaderProperties());
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 8080)).build());
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        exchange.getAttributes().put(Constants.HTTP_URI, URI.create("http://first:80/test"));
+        exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, "failover");
+        exchange.getAttributes().put(Constants.LOAD_BALANCE, "roundRobin");
+        exchange.getAttributes().put(Constants.HTTP_RETRY, 1);
+        exchange.getAttributes().put(Constants.RETRY_STRATEGY, RetryEnum.FAILOVER.getName());
+        final ShenyuPluginChain chain = mock(ShenyuPluginChain.class);
+        StepVerifier.create(failoverPlugin.execute(exchange, chain))
+                .expectErrorMatches(e -> e.getCause() instanceof DataBufferLimitException)
+                .verify(Duration.ofSeconds(1));
+        assertEquals(1, attempts.get());
+        UpstreamCacheManager.getInstance().removeByKey("failover");
+    }
+
     /**
      * test case for WebClientPlugin {@link WebClientPlugin#skip(ServerWebExchange)}.
      */
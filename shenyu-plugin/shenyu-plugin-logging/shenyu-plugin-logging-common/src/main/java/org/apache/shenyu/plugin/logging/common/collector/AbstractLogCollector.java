@@ -17,29 +17,16 @@
 
 package org.apache.shenyu.plugin.logging.common.collector;
 
-import org.apache.shenyu.common.concurrent.MemorySafeTaskQueue;
-import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
-import org.apache.shenyu.common.concurrent.ShenyuThreadPoolExecutor;
-import org.apache.shenyu.common.config.ShenyuConfig;
-import org.apache.shenyu.common.constant.Constants;
-import org.apache.shenyu.common.utils.Singleton;
-import org.apache.shenyu.common.utils.ThreadUtils;
 import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
 import org.apache.shenyu.plugin.logging.common.config.GenericGlobalConfig;
 import org.apache.shenyu.plugin.logging.common.constant.GenericLoggingConstant;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+import org.apache.shenyu.plugin.logging.common.pipeline.LogPipeline;
+import org.apache.shenyu.plugin.logging.common.pipeline.OverflowPolicy;
 import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.shenyu.plugin.logging.desensitize.api.utils.DataDesensitizeUtils.desensitizeForBody;
@@ -51,39 +38,41 @@ import static org.apache.shenyu.plugin.logging.desensitize.api.utils.DataDesensi
 public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?, L>, L extends ShenyuRequestLog, C extends GenericGlobalConfig>
         implements LogCollector<L> {
 
-    private static final Logger LOG = LoggerFactory.getLogger(AbstractLogCollector.class);
-
-    private int bufferSize;
-
-    private BlockingQueue<L> bufferQueue;
-
-    private long lastPushTime;
+    private volatile LogPipeline<L> pipeline;
 
     private final AtomicBoolean started = new AtomicBoolean(true);
 
     @Override
-    public void start() {
-        bufferSize = getLogCollectConfig().getBufferQueueSize();
-        bufferQueue = new LinkedBlockingDeque<>(bufferSize);
-        ShenyuConfig config = Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).orElse(new ShenyuConfig());
-        final ShenyuConfig.SharedPool sharedPool = config.getSharedPool();
-        ShenyuThreadPoolExecutor threadExecutor = new ShenyuThreadPoolExecutor(sharedPool.getCorePoolSize(),
-                sharedPool.getMaximumPoolSize(), sharedPool.getKeepAliveTime(), TimeUnit.MILLISECONDS,
-                new MemorySafeTaskQueue<>(Constants.THE_256_MB),
-                ShenyuThreadFactory.create(config.getSharedPool().getPrefix(), true),
-                new ThreadPoolExecutor.AbortPolicy());
+    public synchronized void start() {
+        C config = getLogCollectConfig();
+        LogPipeline<L> created = new LogPipeline<>(getClass().getSimpleName(), config.getBufferQueueSize(),
+                config.getBatchSize(), config.getLingerMillis(), OverflowPolicy.of(config.getOverflowPolicy()), this::consume);
+        created.start();
+        LogPipeline<L> previous = pipeline;
+        pipeline = created;
         started.set(true);
-        threadExecutor.execute(this::consume);
+        if (Objects.nonNull(previous)) {
+            previous.shutdown();
+        }
     }
 
     @Override
     public void collect(final L log) {
-        if (Objects.isNull(log) || Objects.isNull(getLogConsumeClient())) {
+        LogPipeline<L> current = pipeline;
+        // a closed collector drops the log even if a concurrent close has not cleared the pipeline yet
+        if (!started.get() || Objects.isNull(log) || Objects.isNull(current) || Objects.isNull(getLogConsumeClient())) {
             return;
         }
-        if (bufferQueue.size() < bufferSize) {
-            bufferQueue.add(log);
-        }
+        current.publish(log);
+    }
+
+    /**
+     * get the log pipeline, which exposes the enqueued, dropped and flushed counters.
+     *
+     * @return the pipeline, null before start
+     */
+    public LogPipeline<L> getPipeline() {
+        return pipeline;
     }
 
     @Override
@@ -93,31 +82,15 @@ public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?,
     }
 
     /**
-     * batch and async consume.
+     * consume a batch on the pipeline thread.
+     *
+     * @param logs the logs
+     * @throws Exception the exception
      */
-    private void consume() {
-        while (started.get()) {
-            int diffTimeMSForPush = 100;
-            try {
-                List<L> logs = new ArrayList<>();
-                int size = bufferQueue.size();
-                long time = System.currentTimeMillis();
-                long timeDiffMs = time - lastPushTime;
-                int batchSize = 100;
-                if (size >= batchSize || timeDiffMs > diffTimeMSForPush) {
-                    bufferQueue.drainTo(logs, batchSize);
-                    AbstractLogConsumeClient<?, L> logCollectClient = getLogConsumeClient();
-                    if (Objects.nonNull(logCollectClient)) {
-                        logCollectClient.consume(logs);
-                    }
-                    lastPushTime = time;
-                } else {
-                    ThreadUtils.sleep(TimeUnit.MILLISECONDS, diffTimeMSForPush);
-                }
-            } catch (Exception e) {
-                LOG.error("DefaultLogCollector collect log error", e);
-                ThreadUtils.sleep(TimeUnit.MILLISECONDS, diffTimeMSForPush);
-            }
+    private void consume(final List<L> logs) throws Exception {
+        AbstractLogConsumeClient<?, L> logCollectClient = getLogConsumeClient();
+        if (Objects.nonNull(logCollectClient)) {
+            logCollectClient.consume(logs);
         }
     }
 
@@ -177,6 +150,11 @@ public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?,
     @Override
     public void close() throws Exception {
         started.set(false);
+        LogPipeline<L> current = pipeline;
+        pipeline = null;
+        if (Objects.nonNull(current)) {
+            current.shutdown();
+        }
         AbstractLogConsumeClient<?, ?> logCollectClient = getLogConsumeClient();
         if (logCollectClient != null) {
             logCollectClient.close();
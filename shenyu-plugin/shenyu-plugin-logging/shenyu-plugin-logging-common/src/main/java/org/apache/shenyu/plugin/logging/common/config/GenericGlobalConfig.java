@@ -43,6 +43,21 @@ public class GenericGlobalConfig {
      */
     private int bufferQueueSize = 50000;
 
+    /**
+     * default 100.
+     */
+    private int batchSize = 100;
+
+    /**
+     * default 100ms.
+     */
+    private long lingerMillis = 100;
+
+    /**
+     * block, drop or sample, default drop.
+     */
+    private String overflowPolicy = "drop";
+
     /**
      * get sampler.
      *
@@ -132,4 +147,58 @@ public class GenericGlobalConfig {
     public void setBufferQueueSize(final int bufferQueueSize) {
         this.bufferQueueSize = bufferQueueSize;
     }
+
+    /**
+     * get batch size.
+     *
+     * @return batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * set batch size.
+     *
+     * @param batchSize batch size
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * get linger millis.
+     *
+     * @return linger millis
+     */
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    /**
+     * set linger millis.
+     *
+     * @param lingerMillis linger millis
+     */
+    public void setLingerMillis(final long lingerMillis) {
+        this.lingerMillis = lingerMillis;
+    }
+
+    /**
+     * get overflow policy.
+     *
+     * @return overflow policy
+     */
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * set overflow policy.
+     *
+     * @param overflowPolicy overflow policy
+     */
+    public void setOverflowPolicy(final String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
 }
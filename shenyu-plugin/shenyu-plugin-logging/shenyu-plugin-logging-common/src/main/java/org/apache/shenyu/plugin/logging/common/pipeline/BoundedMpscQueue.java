@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.pipeline;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer single-consumer array queue.
+ * every slot carries a sequence, so producers claim slots with one CAS and the consumer never contends with them.
+ *
+ * @param <E> the element type
+ */
+public final class BoundedMpscQueue<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> buffer;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    private volatile long consumerIndex;
+
+    /**
+     * Instantiates a new Bounded mpsc queue.
+     *
+     * @param capacity the capacity, rounded up to a power of two
+     */
+    public BoundedMpscQueue(final int capacity) {
+        int size = 1;
+        while (size < Math.max(2, capacity)) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Offer an element, any thread.
+     *
+     * @param element the element
+     * @return false if the queue is full
+     */
+    public boolean offer(final E element) {
+        long index = producerIndex.get();
+        while (true) {
+            int slot = (int) index & mask;
+            long distance = sequences.get(slot) - index;
+            if (distance == 0) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    buffer.lazySet(slot, element);
+                    sequences.lazySet(slot, index + 1);
+                    return true;
+                }
+                index = producerIndex.get();
+            } else if (distance < 0) {
+                return false;
+            } else {
+                index = producerIndex.get();
+            }
+        }
+    }
+
+    /**
+     * Drain at most the limit elements into the list, the consumer thread only.
+     *
+     * @param target the target list
+     * @param limit the max elements to drain
+     * @return the drained count
+     */
+    public int drainTo(final List<E> target, final int limit) {
+        long index = consumerIndex;
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) index & mask;
+            if (sequences.get(slot) != index + 1) {
+                break;
+            }
+            target.add(buffer.get(slot));
+            buffer.lazySet(slot, null);
+            sequences.lazySet(slot, index + mask + 1);
+            index++;
+            drained++;
+        }
+        consumerIndex = index;
+        return drained;
+    }
+
+    /**
+     * The approximate size.
+     *
+     * @return the size
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity(), producerIndex.get() - consumerIndex));
+    }
+
+    /**
+     * The capacity.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.pipeline;
+
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.instrument.LogPipelineInstrumentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Batching log pipeline.
+ * producers publish into a {@link BoundedMpscQueue}, one consumer thread flushes a batch when it is full
+ * or when the oldest log of the batch has lingered long enough. the consumer thread reports the counters
+ * to the {@link LogPipelineInstrumentation}, so that publishing costs no more than the buffer offer.
+ *
+ * @param <L> the log type
+ */
+public final class LogPipeline<L> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogPipeline.class);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final long DROP_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final String name;
+
+    private final BoundedMpscQueue<L> queue;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final BatchConsumer<L> sink;
+
+    private final Thread consumer;
+
+    private final LongAdder enqueued = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder flushed = new LongAdder();
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder batchLatencyNanos = new LongAdder();
+
+    private final LogPipelineInstrumentation instrumentation = LogPipelineInstrumentation.getInstance();
+
+    private final AtomicLong lastDropWarn = new AtomicLong(System.nanoTime() - DROP_WARN_INTERVAL_NANOS);
+
+    private long reportedEnqueued;
+
+    private long reportedDropped;
+
+    private volatile boolean running = true;
+
+    private volatile int wakeThreshold = Integer.MAX_VALUE;
+
+    /**
+     * Instantiates a new Log pipeline.
+     *
+     * @param name the name, used by the consumer thread
+     * @param capacity the buffer capacity
+     * @param batchSize the max batch size
+     * @param lingerMillis the max time a log waits for its batch to fill up
+     * @param overflowPolicy the overflow policy
+     * @param sink the batch consumer
+     */
+    public LogPipeline(final String name, final int capacity, final int batchSize, final long lingerMillis,
+                       final OverflowPolicy overflowPolicy, final BatchConsumer<L> sink) {
+        this.name = name;
+        this.queue = new BoundedMpscQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, lingerMillis));
+        this.overflowPolicy = overflowPolicy;
+        this.sink = sink;
+        this.consumer = ShenyuThreadFactory.create(name, true).newThread(this::consume);
+    }
+
+    /**
+     * Start the consumer thread.
+     */
+    public void start() {
+        consumer.start();
+    }
+
+    /**
+     * Publish a log according to the overflow policy.
+     * with {@link OverflowPolicy#BLOCK}, the caller parks until the consumer frees a slot, except on a non-blocking
+     * thread such as a netty event loop, where a full buffer drops the log instead of stalling every connection of the loop.
+     *
+     * @param log the log
+     * @return false if the log is dropped
+     */
+    public boolean publish(final L log) {
+        if (!running || !admit(log)) {
+            dropped.increment();
+            warnDropped();
+            return false;
+        }
+        enqueued.increment();
+        if (queue.size() >= wakeThreshold) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    /**
+     * Stop accepting logs, flush what is buffered and wait for the consumer thread.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(consumer);
+        if (Thread.currentThread() == consumer) {
+            return;
+        }
+        try {
+            consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The count of logs accepted into the buffer.
+     *
+     * @return the count
+     */
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    /**
+     * The count of logs dropped by the overflow policy, the shutdown or a failed flush.
+     *
+     * @return the count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * The count of logs handed over to the sink.
+     *
+     * @return the count
+     */
+    public long getFlushed() {
+        return flushed.sum();
+    }
+
+    /**
+     * The count of flushed batches.
+     *
+     * @return the count
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * The total time spent in the sink, in nanoseconds.
+     *
+     * @return the nanoseconds
+     */
+    public long getBatchLatencyNanos() {
+        return batchLatencyNanos.sum();
+    }
+
+    /**
+     * The buffered log count.
+     *
+     * @return the count
+     */
+    public int getBuffered() {
+        return queue.size();
+    }
+
+    private boolean admit(final L log) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                if (Schedulers.isInNonBlockingThread()) {
+                    return queue.offer(log);
+                }
+                while (!queue.offer(log)) {
+                    if (!running) {
+                        return false;
+                    }
+                    LockSupport.unpark(consumer);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                return true;
+            case SAMPLE:
+                int half = queue.capacity() >> 1;
+                int free = queue.capacity() - queue.size();
+                // past half full, the admit probability falls linearly with the free slots
+                if (free < half && ThreadLocalRandom.current().nextInt(half) >= free) {
+                    return false;
+                }
+                return queue.offer(log);
+            default:
+                return queue.offer(log);
+        }
+    }
+
+    private void warnDropped() {
+        long now = System.nanoTime();
+        long last = lastDropWarn.get();
+        if (now - last >= DROP_WARN_INTERVAL_NANOS && lastDropWarn.compareAndSet(last, now)) {
+            LOG.warn("{} log buffer is full, policy:{}, dropped:{}, enqueued:{}, flushed:{}",
+                    name, overflowPolicy, getDropped(), getEnqueued(), getFlushed());
+        }
+    }
+
+    private void consume() {
+        List<L> batch = new ArrayList<>(batchSize);
+        long batchStart = 0;
+        while (running || queue.size() > 0 || !batch.isEmpty()) {
+            report();
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                await(lingerNanos, 1);
+                continue;
+            }
+            long now = System.nanoTime();
+            if (batchStart == 0) {
+                batchStart = now;
+            }
+            long lingered = now - batchStart;
+            if (batch.size() >= batchSize || lingered >= lingerNanos || !running) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+                batchStart = 0;
+            } else {
+                await(lingerNanos - lingered, batchSize - batch.size());
+            }
+        }
+        report();
+    }
+
+    private void report() {
+        if (!instrumentation.hasListeners()) {
+            return;
+        }
+        long enqueuedNow = enqueued.sum();
+        if (enqueuedNow > reportedEnqueued) {
+            instrumentation.recordEnqueued(name, enqueuedNow - reportedEnqueued);
+            reportedEnqueued = enqueuedNow;
+        }
+        long droppedNow = dropped.sum();
+        if (droppedNow > reportedDropped) {
+            instrumentation.recordDropped(name, droppedNow - reportedDropped);
+            reportedDropped = droppedNow;
+        }
+    }
+
+    private void await(final long nanos, final int threshold) {
+        // producers wake the consumer up once the buffered logs reach the threshold
+        wakeThreshold = threshold;
+        if (running && queue.size() < threshold) {
+            LockSupport.parkNanos(this, nanos);
+        }
+        wakeThreshold = Integer.MAX_VALUE;
+    }
+
+    private void flush(final List<L> batch) {
+        long start = System.nanoTime();
+        int count = 0;
+        try {
+            sink.accept(batch);
+            count = batch.size();
+            flushed.add(count);
+        } catch (Exception e) {
+            dropped.add(batch.size());
+            LOG.error("{} flush {} logs error", name, batch.size(), e);
+        } finally {
+            long latency = System.nanoTime() - start;
+            batches.increment();
+            batchLatencyNanos.add(latency);
+            if (instrumentation.hasListeners()) {
+                instrumentation.recordBatch(name, count, latency);
+            }
+        }
+    }
+
+    /**
+     * The batch consumer.
+     *
+     * @param <L> the log type
+     */
+    @FunctionalInterface
+    public interface BatchConsumer<L> {
+
+        /**
+         * Consume a batch.
+         *
+         * @param logs the logs
+         * @throws Exception the exception
+         */
+        void accept(List<L> logs) throws Exception;
+    }
+}
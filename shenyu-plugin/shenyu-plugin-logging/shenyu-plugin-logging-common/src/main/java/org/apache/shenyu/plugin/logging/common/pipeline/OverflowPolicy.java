@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.pipeline;
+
+import java.util.Arrays;
+
+/**
+ * What the log pipeline does when the buffer is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * wait for the consumer to free a slot, never lose a log.
+     * the caller parks while the buffer is full, so a non-blocking thread such as a netty event loop drops the log instead.
+     */
+    BLOCK,
+
+    /**
+     * drop the log.
+     */
+    DROP,
+
+    /**
+     * admit fewer logs as the buffer fills up past half, drop when full.
+     */
+    SAMPLE;
+
+    /**
+     * Resolve the policy by name, defaults to {@link #DROP}.
+     *
+     * @param name the name
+     * @return the policy
+     */
+    public static OverflowPolicy of(final String name) {
+        return Arrays.stream(values())
+                .filter(policy -> policy.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElse(DROP);
+    }
+}
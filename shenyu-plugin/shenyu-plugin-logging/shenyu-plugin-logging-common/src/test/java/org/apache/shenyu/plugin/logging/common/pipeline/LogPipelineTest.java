@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.pipeline;
+
+import org.apache.shenyu.common.instrument.LogPipelineInstrumentation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * The Test Case For LogPipeline.
+ */
+public class LogPipelineTest {
+
+    @Test
+    public void testBatchAndLinger() throws InterruptedException {
+        List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        LogPipeline<Integer> pipeline = new LogPipeline<>("test-log-pipeline", 1024, 10, 50, OverflowPolicy.DROP, logs -> {
+            sizes.add(logs.size());
+            latch.countDown();
+        });
+        pipeline.start();
+        IntStream.range(0, 25).forEach(pipeline::publish);
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        pipeline.shutdown();
+        Assertions.assertEquals(25, sizes.stream().mapToInt(Integer::intValue).sum());
+        Assertions.assertEquals(10, sizes.get(0));
+        Assertions.assertEquals(25, pipeline.getEnqueued());
+        Assertions.assertEquals(25, pipeline.getFlushed());
+        Assertions.assertEquals(0, pipeline.getDropped());
+        Assertions.assertEquals(3, pipeline.getBatches());
+    }
+
+    @Test
+    public void testDropWhenFull() {
+        LogPipeline<Integer> pipeline = new LogPipeline<>("test-log-pipeline", 4, 10, 50, OverflowPolicy.DROP, logs -> {
+        });
+        IntStream.range(0, 6).forEach(pipeline::publish);
+        Assertions.assertEquals(4, pipeline.getEnqueued());
+        Assertions.assertEquals(2, pipeline.getDropped());
+        Assertions.assertEquals(4, pipeline.getBuffered());
+    }
+
+    @Test
+    public void testBlockUntilFlushed() throws InterruptedException {
+        List<Integer> flushed = Collections.synchronizedList(new ArrayList<>());
+        LogPipeline<Integer> pipeline = new LogPipeline<>("test-log-pipeline", 2, 2, 1, OverflowPolicy.BLOCK, flushed::addAll);
+        pipeline.start();
+        IntStream.range(0, 100).forEach(pipeline::publish);
+        pipeline.shutdown();
+        Assertions.assertEquals(0, pipeline.getDropped());
+        Assertions.assertEquals(100, flushed.size());
+        Assertions.assertEquals(0, flushed.get(0));
+        Assertions.assertEquals(99, flushed.get(99));
+    }
+
+    @Test
+    public void testBlockDropsOnNonBlockingThread() {
+        LogPipeline<Integer> pipeline = new LogPipeline<>("test-log-pipeline", 2, 2, 1, OverflowPolicy.BLOCK, logs -> {
+        });
+        Long published = Mono.fromCallable(() -> IntStream.range(0, 3).filter(pipeline::publish).count())
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5));
+        Assertions.assertEquals(2L, published);
+        Assertions.assertEquals(1, pipeline.getDropped());
+    }
+
+    @Test
+    public void testReportInstrumentation() {
+        AtomicLong enqueued = new AtomicLong();
+        AtomicLong dropped = new AtomicLong();
+        AtomicLong flushed = new AtomicLong();
+        LogPipelineInstrumentation.Listener listener = new LogPipelineInstrumentation.Listener() {
+
+            @Override
+            public void onEnqueued(final String pipeline, final long count) {
+                enqueued.addAndGet(count);
+            }
+
+            @Override
+            public void onDropped(final String pipeline, final long count) {
+                dropped.addAndGet(count);
+            }
+
+            @Override
+            public void onBatch(final String pipeline, final long count, final long latencyNanos) {
+                flushed.addAndGet(count);
+            }
+        };
+        LogPipelineInstrumentation.getInstance().addListener(listener);
+        try {
+            LogPipeline<Integer> pipeline = new LogPipeline<>("test-log-pipeline", 4, 2, 1, OverflowPolicy.DROP, logs -> {
+            });
+            IntStream.range(0, 6).forEach(pipeline::publish);
+            pipeline.start();
+            pipeline.shutdown();
+            Assertions.assertEquals(4, enqueued.get());
+            Assertions.assertEquals(2, dropped.get());
+            Assertions.assertEquals(4, flushed.get());
+        } finally {
+            LogPipelineInstrumentation.getInstance().removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testOverflowPolicyOf() {
+        Assertions.assertEquals(OverflowPolicy.SAMPLE, OverflowPolicy.of("sample"));
+        Assertions.assertEquals(OverflowPolicy.DROP, OverflowPolicy.of(null));
+    }
+}
@@ -17,42 +17,171 @@
 
 package org.apache.shenyu.plugin.logging.desensitize.api.matcher;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
- * according input keyWord generate regex.
+ * according input keyWord build a case-insensitive keyword trie.
+ * a keyword no longer than 6 matches the whole key, a longer one matches a key with the same first and last 3 characters.
+ * keys can be matched on the raw bytes of a body, so they are never materialized as Strings.
  */
 public class KeyWordMatch {
 
-    private final Pattern p;
+    private static final int EXACT_MAX_LENGTH = 6;
+
+    private static final int AFFIX_LENGTH = 3;
+
+    private final Node root = new Node();
 
     /**
-     * generate regex.
+     * build keyword trie.
      *
      * @param keyWordSet keyWord set
      */
     public KeyWordMatch(final Set<String> keyWordSet) {
-        StringBuilder sb = new StringBuilder();
         keyWordSet.forEach(tempKeyWord -> {
-            sb.append("(?i)");
-            if (tempKeyWord.length() <= 6) {
-                sb.append(tempKeyWord);
+            if (tempKeyWord.isEmpty()) {
+                return;
+            }
+            if (tempKeyWord.length() <= EXACT_MAX_LENGTH) {
+                root.insert(tempKeyWord, tempKeyWord.length()).exact = true;
             } else {
-                sb.append("^").append(tempKeyWord.substring(0, 3)).append("(.*?)").append(tempKeyWord.substring(tempKeyWord.length() - 3)).append("$");
+                root.insert(tempKeyWord, AFFIX_LENGTH).addSuffix(tempKeyWord.substring(tempKeyWord.length() - AFFIX_LENGTH));
             }
-            sb.append("||");
         });
-        p = Pattern.compile(sb.toString());
     }
 
     /**
-     * according regex match keyWord.
+     * match keyWord.
      *
      * @param keyWord keyWord
      * @return isMatch
      */
     public boolean matches(final String keyWord) {
-        return p.matcher(keyWord).matches();
+        final int length = keyWord.length();
+        Node node = root;
+        for (int i = 0; i < length; i++) {
+            if (i == AFFIX_LENGTH && node.matchesSuffix(keyWord, length)) {
+                return true;
+            }
+            node = node.child(keyWord.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.exact;
+    }
+
+    /**
+     * match keyWord in utf-8 bytes.
+     *
+     * @param bytes the bytes
+     * @param from the key start, inclusive
+     * @param to the key end, exclusive
+     * @return isMatch
+     */
+    public boolean matches(final byte[] bytes, final int from, final int to) {
+        final int length = to - from;
+        Node node = root;
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[from + i];
+            if (b < 0) {
+                // non ascii key, match the decoded chars
+                return matches(new String(bytes, from, length, StandardCharsets.UTF_8));
+            }
+            if (i == AFFIX_LENGTH && node.matchesSuffix(bytes, to, length)) {
+                return true;
+            }
+            node = node.child((char) b);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.exact;
+    }
+
+    private static char toLowerCase(final char c) {
+        // the same as the ascii only case folding of the regex it replaces
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static final class Node {
+
+        private char[] labels = new char[0];
+
+        private Node[] children = new Node[0];
+
+        private boolean exact;
+
+        private char[][] suffixes;
+
+        Node insert(final String keyWord, final int length) {
+            Node node = this;
+            for (int i = 0; i < length; i++) {
+                char label = toLowerCase(keyWord.charAt(i));
+                Node child = node.child(label);
+                if (child == null) {
+                    child = new Node();
+                    node.labels = Arrays.copyOf(node.labels, node.labels.length + 1);
+                    node.children = Arrays.copyOf(node.children, node.children.length + 1);
+                    node.labels[node.labels.length - 1] = label;
+                    node.children[node.children.length - 1] = child;
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        void addSuffix(final String suffix) {
+            char[] chars = new char[AFFIX_LENGTH];
+            for (int i = 0; i < AFFIX_LENGTH; i++) {
+                chars[i] = toLowerCase(suffix.charAt(i));
+            }
+            suffixes = suffixes == null ? new char[1][] : Arrays.copyOf(suffixes, suffixes.length + 1);
+            suffixes[suffixes.length - 1] = chars;
+        }
+
+        Node child(final char c) {
+            char label = toLowerCase(c);
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        boolean matchesSuffix(final String keyWord, final int length) {
+            if (suffixes == null || length < AFFIX_LENGTH * 2) {
+                return false;
+            }
+            for (char[] suffix : suffixes) {
+                int i = 0;
+                while (i < AFFIX_LENGTH && suffix[i] == toLowerCase(keyWord.charAt(length - AFFIX_LENGTH + i))) {
+                    i++;
+                }
+                if (i == AFFIX_LENGTH) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean matchesSuffix(final byte[] bytes, final int to, final int length) {
+            if (suffixes == null || length < AFFIX_LENGTH * 2) {
+                return false;
+            }
+            for (char[] suffix : suffixes) {
+                int i = 0;
+                while (i < AFFIX_LENGTH && suffix[i] == toLowerCase((char) (bytes[to - AFFIX_LENGTH + i] & 0xff))) {
+                    i++;
+                }
+                if (i == AFFIX_LENGTH) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.desensitize.api.utils;
+
+import org.apache.shenyu.plugin.logging.desensitize.api.factory.DataDesensitizeFactory;
+import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Single pass body desensitizer working on the utf-8 bytes.
+ * a json body has the values of the matched keys replaced at any depth, a form body ({@code k=v&k=v}) has the matched values replaced,
+ * anything else is returned as is. the source is returned without copying when nothing matches.
+ */
+final class BodyDesensitizer {
+
+    private static final int NOT_FOUND = -1;
+
+    private final byte[] source;
+
+    private final KeyWordMatch keyWordMatch;
+
+    private final String algorithm;
+
+    private ByteArrayOutputStream out;
+
+    private int copied;
+
+    private BodyDesensitizer(final byte[] source, final KeyWordMatch keyWordMatch, final String algorithm) {
+        this.source = source;
+        this.keyWordMatch = keyWordMatch;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Desensitize the body.
+     *
+     * @param source the utf-8 body
+     * @param keyWordMatch the keyword match
+     * @param algorithm the desensitize algorithm
+     * @return the desensitized body, the same array if nothing is replaced
+     */
+    static byte[] desensitize(final byte[] source, final KeyWordMatch keyWordMatch, final String algorithm) {
+        BodyDesensitizer desensitizer = new BodyDesensitizer(source, keyWordMatch, algorithm);
+        int start = desensitizer.skipWhitespace(0);
+        if (start == source.length) {
+            return source;
+        }
+        if (source[start] == '{' || source[start] == '[') {
+            desensitizer.json(start);
+        } else {
+            desensitizer.form();
+        }
+        return desensitizer.finish();
+    }
+
+    private void json(final int start) {
+        int i = start;
+        while (i < source.length) {
+            if (source[i] != '"') {
+                i++;
+                continue;
+            }
+            int end = stringEnd(i);
+            if (end == NOT_FOUND) {
+                return;
+            }
+            int colon = skipWhitespace(end + 1);
+            if (colon == source.length || source[colon] != ':' || !keyWordMatch.matches(source, i + 1, end)) {
+                i = end + 1;
+                continue;
+            }
+            int valueStart = skipWhitespace(colon + 1);
+            int valueEnd = valueEnd(valueStart);
+            if (valueEnd == NOT_FOUND) {
+                return;
+            }
+            if (!isNull(valueStart, valueEnd)) {
+                String value = source[valueStart] == '"' ? unescape(valueStart + 1, valueEnd - 1)
+                        : new String(source, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+                replace(valueStart, valueEnd, quote(DataDesensitizeFactory.selectDesensitize(value, algorithm)));
+            }
+            i = valueEnd;
+        }
+    }
+
+    private void form() {
+        int pairStart = 0;
+        while (pairStart < source.length) {
+            int pairEnd = indexOf((byte) '&', pairStart, source.length);
+            int equal = indexOf((byte) '=', pairStart, pairEnd);
+            if (equal != pairEnd && equal > pairStart && keyWordMatch.matches(source, pairStart, equal)) {
+                String value = new String(source, equal + 1, pairEnd - equal - 1, StandardCharsets.UTF_8);
+                replace(equal + 1, pairEnd, DataDesensitizeFactory.selectDesensitize(value, algorithm));
+            }
+            pairStart = pairEnd + 1;
+        }
+    }
+
+    private void replace(final int from, final int to, final String replacement) {
+        if (out == null) {
+            out = new ByteArrayOutputStream(source.length + 32);
+        }
+        out.write(source, copied, from - copied);
+        byte[] bytes = replacement.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes, 0, bytes.length);
+        copied = to;
+    }
+
+    private byte[] finish() {
+        if (out == null) {
+            return source;
+        }
+        out.write(source, copied, source.length - copied);
+        return out.toByteArray();
+    }
+
+    private int skipWhitespace(final int from) {
+        int i = from;
+        while (i < source.length && (source[i] == ' ' || source[i] == '\n' || source[i] == '\r' || source[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private int indexOf(final byte target, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (source[i] == target) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private int stringEnd(final int quote) {
+        int i = quote + 1;
+        while (i < source.length) {
+            if (source[i] == '"') {
+                return i;
+            }
+            i += source[i] == '\\' ? 2 : 1;
+        }
+        return NOT_FOUND;
+    }
+
+    private int valueEnd(final int start) {
+        if (start >= source.length) {
+            return NOT_FOUND;
+        }
+        if (source[start] == '"') {
+            int end = stringEnd(start);
+            return end == NOT_FOUND ? NOT_FOUND : end + 1;
+        }
+        if (source[start] == '{' || source[start] == '[') {
+            int depth = 0;
+            int i = start;
+            while (i < source.length) {
+                byte b = source[i];
+                if (b == '"') {
+                    i = stringEnd(i);
+                    if (i == NOT_FOUND) {
+                        return NOT_FOUND;
+                    }
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return i + 1;
+                }
+                i++;
+            }
+            return NOT_FOUND;
+        }
+        int i = start;
+        while (i < source.length && source[i] != ',' && source[i] != '}' && source[i] != ']'
+                && source[i] != ' ' && source[i] != '\n' && source[i] != '\r' && source[i] != '\t') {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean isNull(final int from, final int to) {
+        return to - from == 4 && source[from] == 'n' && source[from + 1] == 'u' && source[from + 2] == 'l' && source[from + 3] == 'l';
+    }
+
+    private String unescape(final int from, final int to) {
+        if (indexOf((byte) '\\', from, to) == to) {
+            return new String(source, from, to - from, StandardCharsets.UTF_8);
+        }
+        String raw = new String(source, from, to - from, StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(raw.length());
+        int i = 0;
+        while (i < raw.length()) {
+            char c = raw.charAt(i++);
+            if (c != '\\' || i == raw.length()) {
+                sb.append(c);
+                continue;
+            }
+            char escaped = raw.charAt(i++);
+            switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 <= raw.length()) {
+                        sb.append((char) Integer.parseInt(raw.substring(i, i + 4), 16));
+                        i += 4;
+                        break;
+                    }
+                    sb.append(escaped);
+                    break;
+                default:
+                    sb.append(escaped);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String quote(final String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
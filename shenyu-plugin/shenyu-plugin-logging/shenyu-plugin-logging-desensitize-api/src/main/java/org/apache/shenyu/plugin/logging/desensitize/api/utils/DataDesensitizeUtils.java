@@ -17,13 +17,12 @@
 
 package org.apache.shenyu.plugin.logging.desensitize.api.utils;
 
-import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.plugin.logging.desensitize.api.factory.DataDesensitizeFactory;
 import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 
 /**
  * data desensitize utils.
@@ -77,6 +76,7 @@ public final class DataDesensitizeUtils {
 
     /**
      * mask for body.
+     * the values of the matched keys in a json or form body are replaced in a single pass, other bodies are kept.
      *
      * @param desensitized desensitized flag
      * @param source source data
@@ -87,18 +87,31 @@ public final class DataDesensitizeUtils {
     public static String desensitizeBody(final boolean desensitized, final String source,
                                      final KeyWordMatch keyWordMatch, final String dataDesensitizeAlg) {
         if (StringUtils.hasLength(source) && desensitized) {
-            Map<String, String> bodyMap = JsonUtils.jsonToMap(source, String.class);
-            bodyMap.forEach((key, value) -> {
-                if (keyWordMatch.matches(key)) {
-                    bodyMap.put(key, DataDesensitizeFactory.selectDesensitize(value, dataDesensitizeAlg));
-                }
-            });
-            return JsonUtils.toJson(bodyMap);
+            byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+            byte[] desensitizedBytes = BodyDesensitizer.desensitize(bytes, keyWordMatch, dataDesensitizeAlg);
+            return desensitizedBytes == bytes ? source : new String(desensitizedBytes, StandardCharsets.UTF_8);
         } else {
             return source;
         }
     }
 
+    /**
+     * mask for utf-8 body bytes.
+     *
+     * @param desensitized desensitized flag
+     * @param source source data
+     * @param keyWordMatch keyword match strategy
+     * @param dataDesensitizeAlg desensitize algorithm
+     * @return desensitized data, the source itself when nothing is replaced
+     */
+    public static byte[] desensitizeBody(final boolean desensitized, final byte[] source,
+                                         final KeyWordMatch keyWordMatch, final String dataDesensitizeAlg) {
+        if (source != null && source.length > 0 && desensitized) {
+            return BodyDesensitizer.desensitize(source, keyWordMatch, dataDesensitizeAlg);
+        }
+        return source;
+    }
+
     /**
      * desensitize for list data.
      *
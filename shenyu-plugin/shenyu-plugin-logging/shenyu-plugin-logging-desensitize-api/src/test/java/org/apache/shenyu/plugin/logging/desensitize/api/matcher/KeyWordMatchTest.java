@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -45,5 +46,16 @@ class KeyWordMatchTest {
         Assertions.assertTrue(keyWordMatch.matches("name"));
         Assertions.assertTrue(keyWordMatch.matches("test"));
         Assertions.assertFalse(keyWordMatch.matches("dsaer"));
+        Assertions.assertTrue(keyWordMatch.matches("DSA-anything-DER"));
+        Assertions.assertFalse(keyWordMatch.matches("names"));
+        Assertions.assertFalse(keyWordMatch.matches(""));
+    }
+
+    @Test
+    public void matchesBytes() {
+        byte[] bytes = "{\"NAME\":1,\"dsa_x_der\":2,\"名字\":3}".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertTrue(keyWordMatch.matches(bytes, 2, 6));
+        Assertions.assertTrue(keyWordMatch.matches(bytes, 11, 20));
+        Assertions.assertFalse(keyWordMatch.matches(bytes, 25, 31));
     }
 }
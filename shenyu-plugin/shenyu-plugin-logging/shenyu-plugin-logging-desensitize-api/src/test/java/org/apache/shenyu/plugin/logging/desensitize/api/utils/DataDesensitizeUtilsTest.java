@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -65,11 +66,23 @@ public class DataDesensitizeUtilsTest {
         Assertions.assertEquals(JSON_TEXT, noDesensitizedData);
 
         String desensitizedData = DataDesensitizeUtils.desensitizeBody(true, JSON_TEXT, keyWordMatch, DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg());
-        Map<String, String> jsonMap = JsonUtils.jsonToMap(JSON_TEXT, String.class);
-        jsonMap.put("name", DigestUtils.md5Hex(jsonMap.get("name")));
-        String jsonRet = JsonUtils.toJson(jsonMap);
-        Assertions.assertEquals(jsonRet, desensitizedData);
+        Map<String, String> jsonMap = JsonUtils.jsonToMap(desensitizedData, String.class);
+        Assertions.assertEquals("123", jsonMap.get("id"));
+        Assertions.assertEquals(DigestUtils.md5Hex("jack"), jsonMap.get("name"));
+        Assertions.assertEquals("{\"id\":\"123\",\"name\":\"" + DigestUtils.md5Hex("jack") + "\"}", desensitizedData);
+    }
 
+    @Test
+    public void desensitizeNestedBodyTest() {
+        String alg = DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg();
+        String json = "{ \"user\" : {\"Name\" : \"ja\\\"ck\", \"age\": 18}, \"list\": [{\"name\": 42}, {\"name\": null}], \"note\": \"name\"}";
+        String expected = "{ \"user\" : {\"Name\" : \"" + DigestUtils.md5Hex("ja\"ck") + "\", \"age\": 18}, \"list\": [{\"name\": \""
+                + DigestUtils.md5Hex("42") + "\"}, {\"name\": null}], \"note\": \"name\"}";
+        Assertions.assertEquals(expected, DataDesensitizeUtils.desensitizeBody(true, json, keyWordMatch, alg));
+        Assertions.assertEquals("id=1&name=" + DigestUtils.md5Hex("jack"), DataDesensitizeUtils.desensitizeBody(true, "id=1&name=jack", keyWordMatch, alg));
+        Assertions.assertEquals("plain text", DataDesensitizeUtils.desensitizeBody(true, "plain text", keyWordMatch, alg));
+        byte[] unchanged = "{\"id\":\"123\"}".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertSame(unchanged, DataDesensitizeUtils.desensitizeBody(true, unchanged, keyWordMatch, alg));
     }
 
     @Test
@@ -207,6 +207,9 @@ public class ElasticSearchLogCollectConfig {
                     && Objects.equals(getPort(), that.getPort())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerMillis(), that.getLingerMillis())
+                    && Objects.equals(getOverflowPolicy(), that.getOverflowPolicy())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody())
                     && Objects.equals(getIndexName(), that.getIndexName());
@@ -123,6 +123,9 @@ public class PulsarLogCollectConfig {
                     && Objects.equals(getServiceUrl(), that.getServiceUrl())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerMillis(), that.getLingerMillis())
+                    && Objects.equals(getOverflowPolicy(), that.getOverflowPolicy())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody());
         }
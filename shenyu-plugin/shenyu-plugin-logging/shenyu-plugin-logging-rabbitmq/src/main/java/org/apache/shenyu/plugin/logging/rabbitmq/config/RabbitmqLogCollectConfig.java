@@ -341,6 +341,9 @@ public class RabbitmqLogCollectConfig {
                     && Objects.equals(getArgs(), that.getArgs())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerMillis(), that.getLingerMillis())
+                    && Objects.equals(getOverflowPolicy(), that.getOverflowPolicy())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody());
         }
@@ -196,6 +196,9 @@ public class RocketMQLogCollectConfig {
                     && Objects.equals(getSecretKey(), that.getSecretKey())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerMillis(), that.getLingerMillis())
+                    && Objects.equals(getOverflowPolicy(), that.getOverflowPolicy())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody());
         }
@@ -17,9 +17,10 @@
 
 package org.apache.shenyu.plugin.metrics;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.PluginEnum;
-import org.apache.shenyu.common.utils.DateUtils;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -29,25 +30,49 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
 /**
  * the monitor plugin.
+ * requests are labelled by the matched plugin, selector, rule, upstream and status class instead of the raw path,
+ * and the metric children of every label tuple are resolved once and reused.
  */
 public class MetricsPlugin implements ShenyuPlugin {
     
+    /**
+     * The max route label tuples, the requests of the later routes are counted as {@link #OTHER}.
+     */
+    private static final int MAX_ROUTES = 10000;
+    
+    private static final String OTHER = "other";
+    
+    private static final String NONE = "none";
+    
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx", "unknown"};
+    
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private volatile Bindings bindings = new Bindings(-1);
+    
     @Override
     public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
-        MetricsReporter.counterIncrement(LabelNames.REQUEST_TOTAL);
+        final long start = System.nanoTime();
+        Bindings current = bindings();
+        current.requestTotal.accept(1);
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
-        assert shenyuContext != null;
-        MetricsReporter.counterIncrement(LabelNames.REQUEST_TYPE_TOTAL, new String[]{exchange.getRequest().getURI().getRawPath(), shenyuContext.getRpcType()});
-        LocalDateTime startDateTime = Optional.of(shenyuContext).map(ShenyuContext::getStartDateTime).orElseGet(LocalDateTime::now);
-        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, startDateTime))
+        String rpcType = Objects.isNull(shenyuContext) ? null : shenyuContext.getRpcType();
+        current.typeCounter(StringUtils.defaultString(rpcType)).accept(1);
+        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, current, start))
                 .doOnError(throwable -> {
-                    MetricsReporter.counterIncrement(LabelNames.REQUEST_THROW_TOTAL);
-                    responseCommitted(exchange, startDateTime);
+                    current.requestThrowTotal.accept(1);
+                    responseCommitted(exchange, current, start);
                 });
     }
 
@@ -61,20 +86,149 @@ public class MetricsPlugin implements ShenyuPlugin {
         return PluginEnum.METRICS.getName();
     }
     
-    private void responseCommitted(final ServerWebExchange exchange, final LocalDateTime startDateTime) {
+    private Bindings bindings() {
+        Bindings current = bindings;
+        int generation = MetricsReporter.getGeneration();
+        if (current.generation != generation) {
+            // the register changed, the bound children belong to the previous one
+            current = new Bindings(generation);
+            bindings = current;
+        }
+        return current;
+    }
+    
+    private void responseCommitted(final ServerWebExchange exchange, final Bindings current, final long start) {
         ServerHttpResponse response = exchange.getResponse();
         if (response.isCommitted()) {
-            recordTime(startDateTime);
+            record(exchange, current, start);
         } else {
             response.beforeCommit(() -> {
-                recordTime(startDateTime);
+                record(exchange, current, start);
                 return Mono.empty();
             });
         }
     }
     
-    private void recordTime(final LocalDateTime startDateTime) {
-        long millisBetween = DateUtils.acquireMillisBetween(startDateTime, LocalDateTime.now());
-        MetricsReporter.recordTime(LabelNames.EXECUTE_LATENCY_NAME, millisBetween);
+    private void record(final ServerWebExchange exchange, final Bindings current, final long start) {
+        double millis = (System.nanoTime() - start) / NANOS_PER_MILLI;
+        current.executeLatency.accept(millis);
+        RuleData rule = exchange.getAttribute(Constants.MATCHED_RULE);
+        String upstream = StringUtils.defaultString(exchange.getAttribute(Constants.HTTP_DOMAIN));
+        RouteMetrics route = current.route(rule, upstream);
+        route.statusCounter(statusClass(exchange.getResponse().getRawStatusCode())).accept(1);
+        route.latency.accept(millis);
+    }
+    
+    private static int statusClass(final Integer status) {
+        if (Objects.isNull(status) || status < 100 || status >= 600) {
+            return STATUS_CLASSES.length - 1;
+        }
+        return status / 100 - 1;
+    }
+    
+    private static String ruleLabel(final RuleData rule) {
+        return StringUtils.isNotBlank(rule.getName()) ? rule.getName() : StringUtils.defaultString(rule.getId());
+    }
+    
+    /**
+     * The metric children bound to one register.
+     */
+    private static final class Bindings {
+        
+        private final int generation;
+        
+        private final LongConsumer requestTotal;
+        
+        private final LongConsumer requestThrowTotal;
+        
+        private final DoubleConsumer executeLatency;
+        
+        private final Map<String, LongConsumer> typeCounters = new ConcurrentHashMap<>();
+        
+        /**
+         * selector id, rule id, upstream to the route metrics.
+         */
+        private final Map<String, Map<String, Map<String, RouteMetrics>>> routes = new ConcurrentHashMap<>();
+        
+        private final AtomicInteger routeCount = new AtomicInteger();
+        
+        private volatile RouteMetrics other;
+        
+        private volatile RouteMetrics unmatched;
+        
+        Bindings(final int generation) {
+            this.generation = generation;
+            this.requestTotal = MetricsReporter.bindCounter(LabelNames.REQUEST_TOTAL, null);
+            this.requestThrowTotal = MetricsReporter.bindCounter(LabelNames.REQUEST_THROW_TOTAL, null);
+            this.executeLatency = MetricsReporter.bindHistogram(LabelNames.EXECUTE_LATENCY_NAME, null);
+        }
+        
+        LongConsumer typeCounter(final String rpcType) {
+            return typeCounters.computeIfAbsent(rpcType, type -> MetricsReporter.bindCounter(LabelNames.REQUEST_TYPE_TOTAL, new String[]{type}));
+        }
+        
+        RouteMetrics route(final RuleData rule, final String upstream) {
+            if (Objects.isNull(rule)) {
+                if (Objects.isNull(unmatched)) {
+                    unmatched = new RouteMetrics(NONE, NONE, NONE, NONE);
+                }
+                return unmatched;
+            }
+            String selectorId = StringUtils.defaultString(rule.getSelectorId());
+            String ruleId = StringUtils.defaultString(rule.getId());
+            Map<String, RouteMetrics> upstreams = routes.computeIfAbsent(selectorId, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(ruleId, key -> new ConcurrentHashMap<>());
+            RouteMetrics route = upstreams.get(upstream);
+            String ruleLabel = ruleLabel(rule);
+            String plugin = StringUtils.defaultString(rule.getPluginName());
+            if (Objects.isNull(route)) {
+                if (routeCount.get() >= MAX_ROUTES) {
+                    if (Objects.isNull(other)) {
+                        other = new RouteMetrics(OTHER, OTHER, OTHER, OTHER);
+                    }
+                    return other;
+                }
+                route = upstreams.computeIfAbsent(upstream, key -> {
+                    routeCount.incrementAndGet();
+                    return new RouteMetrics(plugin, selectorId, ruleLabel, upstream);
+                });
+            } else if (!route.rule.equals(ruleLabel)) {
+                // the rule is renamed
+                route = new RouteMetrics(plugin, selectorId, ruleLabel, upstream);
+                upstreams.put(upstream, route);
+            }
+            return route;
+        }
+    }
+    
+    /**
+     * The metric children of one route, the status counters are bound on the first request of their class.
+     */
+    private static final class RouteMetrics {
+        
+        private final String[] labelValues;
+        
+        private final String rule;
+        
+        private final LongConsumer[] statusCounters = new LongConsumer[STATUS_CLASSES.length];
+        
+        private final DoubleConsumer latency;
+        
+        RouteMetrics(final String plugin, final String selector, final String rule, final String upstream) {
+            this.labelValues = new String[]{plugin, selector, rule, upstream};
+            this.rule = rule;
+            this.latency = MetricsReporter.bindHistogram(LabelNames.ROUTE_LATENCY_NAME, new String[]{plugin, selector, rule});
+        }
+        
+        LongConsumer statusCounter(final int statusClass) {
+            LongConsumer counter = statusCounters[statusClass];
+            if (Objects.isNull(counter)) {
+                String[] values = Arrays.copyOf(labelValues, labelValues.length + 1);
+                values[labelValues.length] = STATUS_CLASSES[statusClass];
+                counter = MetricsReporter.bindCounter(LabelNames.ROUTE_REQUEST_TOTAL, values);
+                statusCounters[statusClass] = counter;
+            }
+            return counter;
+        }
     }
 }
@@ -41,4 +41,74 @@ public final class LabelNames {
      * The constant EXECUTE_LATENCY_NAME.
      */
     public static final String EXECUTE_LATENCY_NAME = "shenyu_execute_latency_millis";
+    
+    /**
+     * The constant ROUTE_REQUEST_TOTAL.
+     */
+    public static final String ROUTE_REQUEST_TOTAL = "shenyu_route_request_total";
+    
+    /**
+     * The constant ROUTE_LATENCY_NAME.
+     */
+    public static final String ROUTE_LATENCY_NAME = "shenyu_route_latency_millis";
+    
+    /**
+     * The constant PLUGIN_SELF_TIME_NAME.
+     */
+    public static final String PLUGIN_SELF_TIME_NAME = "shenyu_plugin_self_time_millis";
+    
+    /**
+     * The constant PLUGIN_SKIP_TOTAL.
+     */
+    public static final String PLUGIN_SKIP_TOTAL = "shenyu_plugin_skip_total";
+    
+    /**
+     * The constant PLUGIN_MATCH_TOTAL.
+     */
+    public static final String PLUGIN_MATCH_TOTAL = "shenyu_plugin_match_total";
+    
+    /**
+     * The constant TCP_PROXY_CONNECT_LATENCY_NAME.
+     */
+    public static final String TCP_PROXY_CONNECT_LATENCY_NAME = "shenyu_tcp_proxy_connect_latency_millis";
+    
+    /**
+     * The constant TCP_PROXY_CONNECT_ERROR_TOTAL.
+     */
+    public static final String TCP_PROXY_CONNECT_ERROR_TOTAL = "shenyu_tcp_proxy_connect_error_total";
+    
+    /**
+     * The constant TCP_PROXY_ACTIVE_CONNECTIONS.
+     */
+    public static final String TCP_PROXY_ACTIVE_CONNECTIONS = "shenyu_tcp_proxy_active_connections";
+    
+    /**
+     * The constant TCP_PROXY_BYTES_TOTAL.
+     */
+    public static final String TCP_PROXY_BYTES_TOTAL = "shenyu_tcp_proxy_bytes_total";
+    
+    /**
+     * The constant TCP_PROXY_CONNECTION_DURATION_NAME.
+     */
+    public static final String TCP_PROXY_CONNECTION_DURATION_NAME = "shenyu_tcp_proxy_connection_duration_millis";
+    
+    /**
+     * The constant LOG_PIPELINE_ENQUEUED_TOTAL.
+     */
+    public static final String LOG_PIPELINE_ENQUEUED_TOTAL = "shenyu_log_pipeline_enqueued_total";
+    
+    /**
+     * The constant LOG_PIPELINE_DROPPED_TOTAL.
+     */
+    public static final String LOG_PIPELINE_DROPPED_TOTAL = "shenyu_log_pipeline_dropped_total";
+    
+    /**
+     * The constant LOG_PIPELINE_FLUSHED_TOTAL.
+     */
+    public static final String LOG_PIPELINE_FLUSHED_TOTAL = "shenyu_log_pipeline_flushed_total";
+    
+    /**
+     * The constant LOG_PIPELINE_BATCH_LATENCY_NAME.
+     */
+    public static final String LOG_PIPELINE_BATCH_LATENCY_NAME = "shenyu_log_pipeline_batch_latency_millis";
 }
@@ -26,6 +26,8 @@ import org.apache.shenyu.spi.Join;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
 /**
  * Prometheus metric register.
@@ -63,11 +65,19 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
     
     @Override
     public void registerHistogram(final String name, final String[] labelNames, final String document) {
+        registerHistogram(name, labelNames, document, null);
+    }
+    
+    @Override
+    public void registerHistogram(final String name, final String[] labelNames, final String document, final double[] buckets) {
         if (!HISTOGRAM_MAP.containsKey(name)) {
             Histogram.Builder builder = Histogram.build().name(name).help(document);
             if (null != labelNames) {
                 builder.labelNames(labelNames);
             }
+            if (null != buckets) {
+                builder.buckets(buckets);
+            }
             HISTOGRAM_MAP.putIfAbsent(name, builder.register());
         }
     }
@@ -124,6 +134,34 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
         }
     }
     
+    @Override
+    public LongConsumer bindCounter(final String name, final String[] labelValues) {
+        Counter counter = COUNTER_MAP.get(name);
+        if (Objects.isNull(counter)) {
+            return count -> {
+            };
+        }
+        if (null != labelValues) {
+            Counter.Child child = counter.labels(labelValues);
+            return child::inc;
+        }
+        return counter::inc;
+    }
+    
+    @Override
+    public DoubleConsumer bindHistogram(final String name, final String[] labelValues) {
+        Histogram histogram = HISTOGRAM_MAP.get(name);
+        if (Objects.isNull(histogram)) {
+            return value -> {
+            };
+        }
+        if (null != labelValues) {
+            Histogram.Child child = histogram.labels(labelValues);
+            return child::observe;
+        }
+        return histogram::observe;
+    }
+    
     /**
      * Clean.
      */
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.metrics.reporter;
+
+import org.apache.shenyu.common.instrument.LogPipelineInstrumentation;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Turn the deltas reported by the log pipelines into counters and the batch latency histogram, labeled by the pipeline name.
+ */
+final class LogPipelineInstrumentationReporter implements LogPipelineInstrumentation.Listener {
+    
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private final Map<String, LongConsumer> enqueued = new ConcurrentHashMap<>();
+    
+    private final Map<String, LongConsumer> dropped = new ConcurrentHashMap<>();
+    
+    private final Map<String, LongConsumer> flushed = new ConcurrentHashMap<>();
+    
+    private final Map<String, DoubleConsumer> batchLatencies = new ConcurrentHashMap<>();
+    
+    @Override
+    public void onEnqueued(final String pipeline, final long count) {
+        enqueued.computeIfAbsent(pipeline, name -> MetricsReporter.bindCounter(LabelNames.LOG_PIPELINE_ENQUEUED_TOTAL, new String[]{name})).accept(count);
+    }
+    
+    @Override
+    public void onDropped(final String pipeline, final long count) {
+        dropped.computeIfAbsent(pipeline, name -> MetricsReporter.bindCounter(LabelNames.LOG_PIPELINE_DROPPED_TOTAL, new String[]{name})).accept(count);
+    }
+    
+    @Override
+    public void onBatch(final String pipeline, final long count, final long latencyNanos) {
+        if (count > 0) {
+            flushed.computeIfAbsent(pipeline, name -> MetricsReporter.bindCounter(LabelNames.LOG_PIPELINE_FLUSHED_TOTAL, new String[]{name})).accept(count);
+        }
+        batchLatencies.computeIfAbsent(pipeline, name -> MetricsReporter.bindHistogram(LabelNames.LOG_PIPELINE_BATCH_LATENCY_NAME, new String[]{name}))
+                .accept(latencyNanos / NANOS_PER_MILLI);
+    }
+}
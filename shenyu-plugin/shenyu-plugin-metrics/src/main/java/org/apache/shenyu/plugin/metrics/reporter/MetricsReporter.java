@@ -17,21 +17,45 @@
 
 package org.apache.shenyu.plugin.metrics.reporter;
 
+import org.apache.shenyu.common.instrument.ListenerRegistry;
+import org.apache.shenyu.common.instrument.LogPipelineInstrumentation;
+import org.apache.shenyu.common.instrument.TcpProxyInstrumentation;
+import org.apache.shenyu.plugin.api.instrument.PluginInstrumentation;
 import org.apache.shenyu.plugin.metrics.config.Metric;
 import org.apache.shenyu.plugin.metrics.constant.LabelNames;
 import org.apache.shenyu.plugin.metrics.spi.MetricsRegister;
 
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
 /**
  * Metrics reporter.
  */
 public final class MetricsReporter {
     
+    /**
+     * HDR-style log-linear latency buckets in millis, every power of two from 0.25ms to 16s is split into two.
+     */
+    private static final double[] LATENCY_MILLIS_BUCKETS = logLinearBuckets(0.25, 16, 2);
+    
+    private static final LongConsumer NOOP_COUNTER = count -> {
+    };
+    
+    private static final DoubleConsumer NOOP_HISTOGRAM = value -> {
+    };
+    
     private static MetricsRegister metricsRegister;
     
+    private static volatile int generation;
+    
+    private static final Map<ListenerRegistry<?>, Object> REPORTERS = new IdentityHashMap<>();
+    
     /**
      * Register.
      *
@@ -40,9 +64,43 @@ public final class MetricsReporter {
     public static void register(final MetricsRegister metricsRegister) {
         MetricsReporter.metricsRegister = metricsRegister;
         MetricsReporter.registerCounter(LabelNames.REQUEST_TOTAL, "shenyu request total count");
-        MetricsReporter.registerCounter(LabelNames.REQUEST_TYPE_TOTAL, new String[]{"path", "type"}, "shenyu http request type total count");
+        MetricsReporter.registerCounter(LabelNames.REQUEST_TYPE_TOTAL, new String[]{"type"}, "shenyu http request type total count");
         MetricsReporter.registerCounter(LabelNames.REQUEST_THROW_TOTAL, "shenyu request error total count");
-        MetricsReporter.registerHistogram(LabelNames.EXECUTE_LATENCY_NAME, "the shenyu executor latency millis");
+        MetricsReporter.registerHistogram(LabelNames.EXECUTE_LATENCY_NAME, null, "the shenyu executor latency millis", LATENCY_MILLIS_BUCKETS);
+        MetricsReporter.registerCounter(LabelNames.ROUTE_REQUEST_TOTAL, new String[]{"plugin", "selector", "rule", "upstream", "status"},
+                "shenyu request total count of the matched rule");
+        MetricsReporter.registerHistogram(LabelNames.ROUTE_LATENCY_NAME, new String[]{"plugin", "selector", "rule"},
+                "the shenyu executor latency millis of the matched rule", LATENCY_MILLIS_BUCKETS);
+        MetricsReporter.registerHistogram(LabelNames.PLUGIN_SELF_TIME_NAME, new String[]{"plugin"},
+                "the shenyu plugin self time millis excluding the downstream plugins", LATENCY_MILLIS_BUCKETS);
+        MetricsReporter.registerCounter(LabelNames.PLUGIN_SKIP_TOTAL, new String[]{"plugin"}, "shenyu plugin skip total count");
+        MetricsReporter.registerCounter(LabelNames.PLUGIN_MATCH_TOTAL, new String[]{"plugin", "target", "outcome"},
+                "shenyu plugin selector and rule match total count by the match path");
+        MetricsReporter.registerHistogram(LabelNames.TCP_PROXY_CONNECT_LATENCY_NAME, new String[]{"proxy"},
+                "the shenyu tcp proxy upstream connect latency millis", LATENCY_MILLIS_BUCKETS);
+        MetricsReporter.registerCounter(LabelNames.TCP_PROXY_CONNECT_ERROR_TOTAL, new String[]{"proxy"}, "shenyu tcp proxy upstream connect error total count");
+        MetricsReporter.registerGauge(LabelNames.TCP_PROXY_ACTIVE_CONNECTIONS, new String[]{"proxy"}, "shenyu tcp proxy active connections");
+        MetricsReporter.registerCounter(LabelNames.TCP_PROXY_BYTES_TOTAL, new String[]{"proxy", "direction"}, "shenyu tcp proxy relayed bytes total count");
+        MetricsReporter.registerHistogram(LabelNames.TCP_PROXY_CONNECTION_DURATION_NAME, new String[]{"proxy"},
+                "the shenyu tcp proxy connection duration millis", LATENCY_MILLIS_BUCKETS);
+        MetricsReporter.registerCounter(LabelNames.LOG_PIPELINE_ENQUEUED_TOTAL, new String[]{"pipeline"}, "shenyu log pipeline enqueued total count");
+        MetricsReporter.registerCounter(LabelNames.LOG_PIPELINE_DROPPED_TOTAL, new String[]{"pipeline"}, "shenyu log pipeline dropped total count");
+        MetricsReporter.registerCounter(LabelNames.LOG_PIPELINE_FLUSHED_TOTAL, new String[]{"pipeline"}, "shenyu log pipeline flushed total count");
+        MetricsReporter.registerHistogram(LabelNames.LOG_PIPELINE_BATCH_LATENCY_NAME, new String[]{"pipeline"},
+                "the shenyu log pipeline batch flush latency millis", LATENCY_MILLIS_BUCKETS);
+        registerReporter(PluginInstrumentation.getInstance(), new PluginInstrumentationReporter());
+        registerReporter(TcpProxyInstrumentation.getInstance(), new TcpProxyInstrumentationReporter());
+        registerReporter(LogPipelineInstrumentation.getInstance(), new LogPipelineInstrumentationReporter());
+        generation++;
+    }
+    
+    /**
+     * The generation of the register, changed on every register and clean so that bound metrics can be dropped.
+     *
+     * @return the generation
+     */
+    public static int getGeneration() {
+        return generation;
     }
     
     /**
@@ -121,6 +179,18 @@ public final class MetricsReporter {
         Optional.ofNullable(metricsRegister).ifPresent(register -> register.registerHistogram(name, labelNames, document));
     }
     
+    /**
+     * Register histogram by label names and bucket upper bounds.
+     *
+     * @param name name
+     * @param labelNames label names
+     * @param document document for histogram
+     * @param buckets the bucket upper bounds
+     */
+    public static void registerHistogram(final String name, final String[] labelNames, final String document, final double[] buckets) {
+        Optional.ofNullable(metricsRegister).ifPresent(register -> register.registerHistogram(name, labelNames, document, buckets));
+    }
+    
     /**
      * Register histogram.
      *
@@ -220,12 +290,64 @@ public final class MetricsReporter {
         recordTime(name, null, duration);
     }
     
+    /**
+     * Bind the counter of the label values, a no-op before the register.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @return the increment by count
+     */
+    public static LongConsumer bindCounter(final String name, final String[] labelValues) {
+        return Optional.ofNullable(metricsRegister).map(register -> register.bindCounter(name, labelValues)).orElse(NOOP_COUNTER);
+    }
+    
+    /**
+     * Bind the histogram of the label values, a no-op before the register.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @return the observation of a value
+     */
+    public static DoubleConsumer bindHistogram(final String name, final String[] labelValues) {
+        return Optional.ofNullable(metricsRegister).map(register -> register.bindHistogram(name, labelValues)).orElse(NOOP_HISTOGRAM);
+    }
+    
     /**
      * Clean.
      */
     public static void clean() {
         Optional.ofNullable(metricsRegister).ifPresent(MetricsRegister::clean);
         metricsRegister = null;
+        registerReporter(PluginInstrumentation.getInstance(), null);
+        registerReporter(TcpProxyInstrumentation.getInstance(), null);
+        registerReporter(LogPipelineInstrumentation.getInstance(), null);
+        generation++;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static synchronized <L> void registerReporter(final ListenerRegistry<L> registry, final L reporter) {
+        L current = (L) REPORTERS.remove(registry);
+        if (Objects.nonNull(current)) {
+            registry.removeListener(current);
+        }
+        if (Objects.nonNull(reporter)) {
+            registry.addListener(reporter);
+            REPORTERS.put(registry, reporter);
+        }
+    }
+    
+    private static double[] logLinearBuckets(final double start, final int octaves, final int subBuckets) {
+        double[] buckets = new double[octaves * subBuckets + 1];
+        double lower = start;
+        int index = 0;
+        for (int octave = 0; octave < octaves; octave++) {
+            for (int sub = 0; sub < subBuckets; sub++) {
+                buckets[index++] = lower + lower * sub / subBuckets;
+            }
+            lower *= 2;
+        }
+        buckets[index] = lower;
+        return buckets;
     }
     
     private static String[] getLabelNames(final List<String> labels) {
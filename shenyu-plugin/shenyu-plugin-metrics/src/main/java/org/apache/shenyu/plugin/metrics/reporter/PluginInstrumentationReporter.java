@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.metrics.reporter;
+
+import org.apache.shenyu.plugin.api.instrument.MatchOutcome;
+import org.apache.shenyu.plugin.api.instrument.MatchTarget;
+import org.apache.shenyu.plugin.api.instrument.PluginInstrumentation;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Report the plugin chain instrumentation through the metrics register, the metric children are bound once per plugin.
+ */
+final class PluginInstrumentationReporter implements PluginInstrumentation.Listener {
+    
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private static final MatchTarget[] TARGETS = MatchTarget.values();
+    
+    private static final MatchOutcome[] OUTCOMES = MatchOutcome.values();
+    
+    private final Map<String, DoubleConsumer> selfTimes = new ConcurrentHashMap<>();
+    
+    private final Map<String, LongConsumer> skips = new ConcurrentHashMap<>();
+    
+    private final Map<String, LongConsumer[]> matches = new ConcurrentHashMap<>();
+    
+    @Override
+    public void onSelfTime(final String plugin, final long nanos) {
+        selfTimes.computeIfAbsent(plugin, name -> MetricsReporter.bindHistogram(LabelNames.PLUGIN_SELF_TIME_NAME, new String[]{name}))
+                .accept(nanos / NANOS_PER_MILLI);
+    }
+    
+    @Override
+    public void onSkip(final String plugin) {
+        skips.computeIfAbsent(plugin, name -> MetricsReporter.bindCounter(LabelNames.PLUGIN_SKIP_TOTAL, new String[]{name})).accept(1);
+    }
+    
+    @Override
+    public void onMatch(final String plugin, final MatchTarget target, final MatchOutcome outcome) {
+        matches.computeIfAbsent(plugin, this::bindMatches)[target.ordinal() * OUTCOMES.length + outcome.ordinal()].accept(1);
+    }
+    
+    private LongConsumer[] bindMatches(final String plugin) {
+        LongConsumer[] counters = new LongConsumer[TARGETS.length * OUTCOMES.length];
+        for (MatchTarget target : TARGETS) {
+            for (MatchOutcome outcome : OUTCOMES) {
+                counters[target.ordinal() * OUTCOMES.length + outcome.ordinal()] = MetricsReporter.bindCounter(LabelNames.PLUGIN_MATCH_TOTAL,
+                        new String[]{plugin, target.name().toLowerCase(Locale.ROOT), outcome.name().toLowerCase(Locale.ROOT)});
+            }
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.metrics.reporter;
+
+import org.apache.shenyu.common.instrument.TcpProxyInstrumentation;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Report the tcp proxy instrumentation through the metrics register, the metric children are bound once per proxy.
+ */
+final class TcpProxyInstrumentationReporter implements TcpProxyInstrumentation.Listener {
+    
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private static final TcpProxyInstrumentation.Direction[] DIRECTIONS = TcpProxyInstrumentation.Direction.values();
+    
+    private final Map<String, DoubleConsumer> connectLatencies = new ConcurrentHashMap<>();
+    
+    private final Map<String, LongConsumer> connectErrors = new ConcurrentHashMap<>();
+    
+    private final Map<String, LongConsumer[]> bytes = new ConcurrentHashMap<>();
+    
+    private final Map<String, DoubleConsumer> durations = new ConcurrentHashMap<>();
+    
+    @Override
+    public void onConnect(final String proxy, final long connectNanos) {
+        connectLatencies.computeIfAbsent(proxy, name -> MetricsReporter.bindHistogram(LabelNames.TCP_PROXY_CONNECT_LATENCY_NAME, new String[]{name}))
+                .accept(connectNanos / NANOS_PER_MILLI);
+        MetricsReporter.gaugeIncrement(LabelNames.TCP_PROXY_ACTIVE_CONNECTIONS, new String[]{proxy});
+    }
+    
+    @Override
+    public void onConnectError(final String proxy) {
+        connectErrors.computeIfAbsent(proxy, name -> MetricsReporter.bindCounter(LabelNames.TCP_PROXY_CONNECT_ERROR_TOTAL, new String[]{name})).accept(1);
+    }
+    
+    @Override
+    public void onBytes(final String proxy, final TcpProxyInstrumentation.Direction direction, final long count) {
+        bytes.computeIfAbsent(proxy, this::bindBytes)[direction.ordinal()].accept(count);
+    }
+    
+    @Override
+    public void onClose(final String proxy, final long durationNanos, final boolean counted) {
+        durations.computeIfAbsent(proxy, name -> MetricsReporter.bindHistogram(LabelNames.TCP_PROXY_CONNECTION_DURATION_NAME, new String[]{name}))
+                .accept(durationNanos / NANOS_PER_MILLI);
+        if (counted) {
+            MetricsReporter.gaugeDecrement(LabelNames.TCP_PROXY_ACTIVE_CONNECTIONS, new String[]{proxy});
+        }
+    }
+    
+    private LongConsumer[] bindBytes(final String proxy) {
+        LongConsumer[] counters = new LongConsumer[DIRECTIONS.length];
+        for (TcpProxyInstrumentation.Direction direction : DIRECTIONS) {
+            counters[direction.ordinal()] = MetricsReporter.bindCounter(LabelNames.TCP_PROXY_BYTES_TOTAL,
+                    new String[]{proxy, direction.name().toLowerCase(Locale.ROOT)});
+        }
+        return counters;
+    }
+}
@@ -19,6 +19,9 @@ package org.apache.shenyu.plugin.metrics.spi;
 
 import org.apache.shenyu.spi.SPI;
 
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
 /**
  * Metrics register.
  */
@@ -52,6 +55,18 @@ public interface MetricsRegister {
      */
     void registerHistogram(String name, String[] labelNames, String document);
     
+    /**
+     * Register histogram with the bucket upper bounds.
+     *
+     * @param name name
+     * @param labelNames label names
+     * @param document document for histogram
+     * @param buckets the bucket upper bounds, the default buckets of the register if null
+     */
+    default void registerHistogram(String name, String[] labelNames, String document, double[] buckets) {
+        registerHistogram(name, labelNames, document);
+    }
+    
     /**
      * Counter increment by count.
      *
@@ -86,6 +101,28 @@ public interface MetricsRegister {
      */
     void recordTime(String name, String[] labelValues, long duration);
     
+    /**
+     * Bind the counter of the label values once, so the hot path increments it without resolving the labels again.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @return the increment by count
+     */
+    default LongConsumer bindCounter(String name, String[] labelValues) {
+        return count -> counterIncrement(name, labelValues, count);
+    }
+    
+    /**
+     * Bind the histogram of the label values once, so the hot path observes it without resolving the labels again.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @return the observation of a value
+     */
+    default DoubleConsumer bindHistogram(String name, String[] labelValues) {
+        return value -> recordTime(name, labelValues, (long) value);
+    }
+    
     /**
      * Clean.
      */
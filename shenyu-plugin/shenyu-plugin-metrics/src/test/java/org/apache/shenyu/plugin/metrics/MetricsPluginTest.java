@@ -17,18 +17,25 @@
 
 package org.apache.shenyu.plugin.metrics;
 
+import io.prometheus.client.CollectorRegistry;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.RemoteAddressResolver;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+import org.apache.shenyu.plugin.metrics.prometheus.PrometheusMetricsRegister;
+import org.apache.shenyu.plugin.metrics.reporter.MetricsReporter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
@@ -68,6 +75,12 @@ public class MetricsPluginTest {
         exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
     }
 
+    @AfterEach
+    public void tearDown() {
+        MetricsReporter.clean();
+        CollectorRegistry.defaultRegistry.clear();
+    }
+
     @Test
     public void testDoExecute() {
         Mockito.when(chain.execute(ArgumentMatchers.any())).thenReturn(Mono.empty());
@@ -75,6 +88,35 @@ public class MetricsPluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testRouteMetrics() {
+        MetricsReporter.register(new PrometheusMetricsRegister());
+        RuleData rule = new RuleData();
+        rule.setId("ruleId");
+        rule.setName("ruleName");
+        rule.setSelectorId("selectorId");
+        rule.setPluginName(PluginEnum.DIVIDE.getName());
+        Mockito.when(chain.execute(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            exchange.getAttributes().put(Constants.MATCHED_RULE, rule);
+            exchange.getAttributes().put(Constants.HTTP_DOMAIN, "http://127.0.0.1:8080");
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        });
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(metricsPlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+        }
+        CollectorRegistry registry = CollectorRegistry.defaultRegistry;
+        Assertions.assertEquals(3.0, registry.getSampleValue(LabelNames.ROUTE_REQUEST_TOTAL,
+                new String[]{"plugin", "selector", "rule", "upstream", "status"},
+                new String[]{"divide", "selectorId", "ruleName", "http://127.0.0.1:8080", "4xx"}));
+        Assertions.assertEquals(3.0, registry.getSampleValue(LabelNames.ROUTE_LATENCY_NAME + "_count",
+                new String[]{"plugin", "selector", "rule"}, new String[]{"divide", "selectorId", "ruleName"}));
+        Assertions.assertNull(registry.getSampleValue(LabelNames.ROUTE_REQUEST_TOTAL,
+                new String[]{"plugin", "selector", "rule", "upstream", "status"},
+                new String[]{"divide", "selectorId", "ruleName", "http://127.0.0.1:8080", "2xx"}));
+        Assertions.assertEquals(3.0, registry.getSampleValue(LabelNames.EXECUTE_LATENCY_NAME + "_count"));
+    }
+
     @Test
     public void testGetOrder() {
         Assertions.assertEquals(metricsPlugin.getOrder(), PluginEnum.METRICS.getCode());
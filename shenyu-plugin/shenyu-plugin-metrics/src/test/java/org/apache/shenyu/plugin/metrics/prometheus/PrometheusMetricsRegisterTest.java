@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.metrics.prometheus;
 
+import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
@@ -27,6 +28,8 @@ import org.springframework.util.CollectionUtils;
 
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -68,6 +71,32 @@ public final class PrometheusMetricsRegisterTest {
         assertThat(histogram.labels(labelNames).get().sum, is(1000.0));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertBind() {
+        String counterName = "bind_request_total";
+        String histogramName = "bind_latency_millis";
+        String[] labelNames = new String[] {"name"};
+        prometheusMetricsRegister.registerCounter(counterName, labelNames, "shenyu request total count");
+        prometheusMetricsRegister.registerHistogram(histogramName, labelNames, "the shenyu executor latency millis", new double[] {1, 10, 100});
+        LongConsumer counter = prometheusMetricsRegister.bindCounter(counterName, new String[] {"bind"});
+        counter.accept(1);
+        counter.accept(2);
+        DoubleConsumer histogram = prometheusMetricsRegister.bindHistogram(histogramName, new String[] {"bind"});
+        histogram.accept(0.5);
+        histogram.accept(50);
+        prometheusMetricsRegister.bindCounter("unregistered", null).accept(1);
+        Map<String, Counter> counterMap = (Map<String, Counter>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "COUNTER_MAP");
+        assertThat(counterMap.get(counterName).labels("bind").get(), is(3.0d));
+        Map<String, Histogram> histogramMap = (Map<String, Histogram>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "HISTOGRAM_MAP");
+        double[] buckets = histogramMap.get(histogramName).labels("bind").get().buckets;
+        assertThat(buckets.length, is(4));
+        assertThat(buckets[0], is(1.0d));
+        assertThat(buckets[2], is(2.0d));
+        CollectorRegistry.defaultRegistry.unregister(counterMap.remove(counterName));
+        CollectorRegistry.defaultRegistry.unregister(histogramMap.remove(histogramName));
+    }
+
     @Test
     public void testRegisterGauge() throws Exception {
         String name = "request_throw_total";
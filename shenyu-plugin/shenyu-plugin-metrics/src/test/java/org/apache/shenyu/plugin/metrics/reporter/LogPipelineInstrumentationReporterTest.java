@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.metrics.reporter;
+
+import org.apache.shenyu.common.instrument.LogPipelineInstrumentation;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+import org.apache.shenyu.plugin.metrics.spi.MetricsRegister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The Test Case For LogPipelineInstrumentationReporter.
+ */
+public final class LogPipelineInstrumentationReporterTest {
+
+    private static final String PIPELINE = "shenyu-kafka-log";
+
+    private static final String[] LABELS = new String[]{PIPELINE};
+
+    private final AtomicLong enqueued = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong flushed = new AtomicLong();
+
+    private final List<Double> batchLatencies = new ArrayList<>();
+
+    private MetricsRegister metricsRegister;
+
+    @BeforeEach
+    public void setUp() {
+        metricsRegister = mock(MetricsRegister.class);
+        when(metricsRegister.bindCounter(eq(LabelNames.LOG_PIPELINE_ENQUEUED_TOTAL), eq(LABELS))).thenReturn(enqueued::addAndGet);
+        when(metricsRegister.bindCounter(eq(LabelNames.LOG_PIPELINE_DROPPED_TOTAL), eq(LABELS))).thenReturn(dropped::addAndGet);
+        when(metricsRegister.bindCounter(eq(LabelNames.LOG_PIPELINE_FLUSHED_TOTAL), eq(LABELS))).thenReturn(flushed::addAndGet);
+        when(metricsRegister.bindHistogram(eq(LabelNames.LOG_PIPELINE_BATCH_LATENCY_NAME), eq(LABELS))).thenReturn(batchLatencies::add);
+        MetricsReporter.register(metricsRegister);
+    }
+
+    @Test
+    public void testEnqueuedAndDropped() {
+        LogPipelineInstrumentation instrumentation = LogPipelineInstrumentation.getInstance();
+        instrumentation.recordEnqueued(PIPELINE, 10);
+        instrumentation.recordEnqueued(PIPELINE, 5);
+        instrumentation.recordDropped(PIPELINE, 3);
+        assertEquals(15, enqueued.get());
+        assertEquals(3, dropped.get());
+        // the children are bound once per pipeline
+        verify(metricsRegister).bindCounter(LabelNames.LOG_PIPELINE_ENQUEUED_TOTAL, LABELS);
+    }
+
+    @Test
+    public void testBatch() {
+        LogPipelineInstrumentation instrumentation = LogPipelineInstrumentation.getInstance();
+        instrumentation.recordBatch(PIPELINE, 100, 2_000_000L);
+        // a failed batch counts its latency but flushes nothing
+        instrumentation.recordBatch(PIPELINE, 0, 4_000_000L);
+        assertEquals(100, flushed.get());
+        assertEquals(2, batchLatencies.size());
+        assertEquals(2.0d, batchLatencies.get(0));
+        assertEquals(4.0d, batchLatencies.get(1));
+    }
+
+    @AfterEach
+    public void clean() {
+        MetricsReporter.clean();
+    }
+}
@@ -57,11 +57,11 @@ public final class MetricsReporterTest {
         Field field1 = metricsRegister.getClass().getDeclaredField("COUNTER_MAP");
         field1.setAccessible(true);
         Map<String, Counter> map1 = (Map<String, Counter>) field1.get(metricsRegister);
-        Assertions.assertEquals(map1.size(), 3);
+        Assertions.assertEquals(map1.size(), 11);
         Field field2 = metricsRegister.getClass().getDeclaredField("HISTOGRAM_MAP");
         field2.setAccessible(true);
         Map<String, Histogram> map2 = (Map<String, Histogram>) field2.get(metricsRegister);
-        Assertions.assertEquals(map2.size(), 3);
+        Assertions.assertEquals(map2.size(), 8);
         List<String> labels = new ArrayList<>();
         labels.add("shenyu_request_total");
         Collection<Metric> metrics = new ArrayList<>();
@@ -72,15 +72,15 @@ public final class MetricsReporterTest {
         Field field3 = metricsRegister.getClass().getDeclaredField("COUNTER_MAP");
         field3.setAccessible(true);
         Map<String, Counter> map3 = (Map<String, Counter>) field3.get(metricsRegister);
-        Assertions.assertEquals(map3.size(), 4);
+        Assertions.assertEquals(map3.size(), 12);
         Field field4 = metricsRegister.getClass().getDeclaredField("HISTOGRAM_MAP");
         field4.setAccessible(true);
         Map<String, Histogram> map4 = (Map<String, Histogram>) field4.get(metricsRegister);
-        Assertions.assertEquals(map4.size(), 4);
+        Assertions.assertEquals(map4.size(), 9);
         Field field5 = metricsRegister.getClass().getDeclaredField("GAUGE_MAP");
         field5.setAccessible(true);
         Map<String, Gauge> map5 = (Map<String, Gauge>) field5.get(metricsRegister);
-        Assertions.assertEquals(map5.size(), 3);
+        Assertions.assertEquals(map5.size(), 4);
         MetricsReporter.clean();
         Assertions.assertTrue(CollectionUtils.isEmpty(map3));
     }
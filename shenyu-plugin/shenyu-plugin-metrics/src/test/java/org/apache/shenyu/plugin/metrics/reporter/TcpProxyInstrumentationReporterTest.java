@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.metrics.reporter;
+
+import org.apache.shenyu.common.instrument.TcpProxyInstrumentation;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+import org.apache.shenyu.plugin.metrics.spi.MetricsRegister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The Test Case For TcpProxyInstrumentationReporter.
+ */
+public final class TcpProxyInstrumentationReporterTest {
+
+    private static final String PROXY = "tcp-proxy";
+
+    private static final String[] LABELS = new String[]{PROXY};
+
+    private final List<Double> connectLatencies = new ArrayList<>();
+
+    private final List<Double> durations = new ArrayList<>();
+
+    private final AtomicLong connectErrors = new AtomicLong();
+
+    private final AtomicLong upstreamBytes = new AtomicLong();
+
+    private MetricsRegister metricsRegister;
+
+    @BeforeEach
+    public void setUp() {
+        metricsRegister = mock(MetricsRegister.class);
+        when(metricsRegister.bindHistogram(eq(LabelNames.TCP_PROXY_CONNECT_LATENCY_NAME), eq(LABELS))).thenReturn(connectLatencies::add);
+        when(metricsRegister.bindHistogram(eq(LabelNames.TCP_PROXY_CONNECTION_DURATION_NAME), eq(LABELS))).thenReturn(durations::add);
+        when(metricsRegister.bindCounter(eq(LabelNames.TCP_PROXY_CONNECT_ERROR_TOTAL), eq(LABELS))).thenReturn(connectErrors::addAndGet);
+        when(metricsRegister.bindCounter(eq(LabelNames.TCP_PROXY_BYTES_TOTAL), eq(new String[]{PROXY, "upstream"}))).thenReturn(upstreamBytes::addAndGet);
+        MetricsReporter.register(metricsRegister);
+    }
+
+    @Test
+    public void testConnectAndClose() {
+        TcpProxyInstrumentation instrumentation = TcpProxyInstrumentation.getInstance();
+        instrumentation.recordConnect(PROXY, 2_000_000L);
+        instrumentation.recordConnect(PROXY, 4_000_000L);
+        verify(metricsRegister, times(2)).gaugeIncrement(LabelNames.TCP_PROXY_ACTIVE_CONNECTIONS, LABELS);
+        assertEquals(2, connectLatencies.size());
+        assertEquals(2.0d, connectLatencies.get(0));
+        assertEquals(4.0d, connectLatencies.get(1));
+
+        instrumentation.recordClose(PROXY, 5_000_000L, true);
+        verify(metricsRegister).gaugeDecrement(LabelNames.TCP_PROXY_ACTIVE_CONNECTIONS, LABELS);
+        assertEquals(1, durations.size());
+        assertEquals(5.0d, durations.get(0));
+
+        // a connection opened before the reporter is added is not taken off the gauge
+        instrumentation.recordClose(PROXY, 6_000_000L, false);
+        verify(metricsRegister).gaugeDecrement(LabelNames.TCP_PROXY_ACTIVE_CONNECTIONS, LABELS);
+        assertEquals(2, durations.size());
+    }
+
+    @Test
+    public void testConnectErrorAndBytes() {
+        TcpProxyInstrumentation instrumentation = TcpProxyInstrumentation.getInstance();
+        instrumentation.recordConnectError(PROXY);
+        instrumentation.recordBytes(PROXY, TcpProxyInstrumentation.Direction.UPSTREAM, 10);
+        instrumentation.recordBytes(PROXY, TcpProxyInstrumentation.Direction.UPSTREAM, 5);
+        assertEquals(1, connectErrors.get());
+        assertEquals(15, upstreamBytes.get());
+        // the children are bound once per proxy
+        verify(metricsRegister).bindCounter(LabelNames.TCP_PROXY_BYTES_TOTAL, new String[]{PROXY, "upstream"});
+    }
+
+    @AfterEach
+    public void clean() {
+        MetricsReporter.clean();
+    }
+}
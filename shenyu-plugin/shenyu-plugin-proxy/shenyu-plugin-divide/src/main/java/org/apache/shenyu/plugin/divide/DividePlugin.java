@@ -118,6 +118,11 @@ public class DividePlugin extends AbstractShenyuPlugin {
         exchange.getAttributes().put(Constants.RETRY_STRATEGY, StringUtils.defaultString(ruleHandle.getRetryStrategy(), RetryEnum.CURRENT.getName()));
         exchange.getAttributes().put(Constants.LOAD_BALANCE, StringUtils.defaultString(ruleHandle.getLoadBalance(), LoadBalanceEnum.RANDOM.getName()));
         exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, selector.getId());
+        // set hedge stuff
+        if (ruleHandle.getHedgeDelay() > 0 || ruleHandle.getHedgePercentile() > 0) {
+            exchange.getAttributes().put(Constants.HTTP_HEDGE_DELAY, ruleHandle.getHedgeDelay());
+            exchange.getAttributes().put(Constants.HTTP_HEDGE_PERCENTILE, ruleHandle.getHedgePercentile());
+        }
         if (ruleHandle.getLoadBalance().equals(P2C)) {
             return chain.execute(exchange).doOnSuccess(e -> responseTrigger(upstream
             )).doOnError(throwable -> responseTrigger(upstream));
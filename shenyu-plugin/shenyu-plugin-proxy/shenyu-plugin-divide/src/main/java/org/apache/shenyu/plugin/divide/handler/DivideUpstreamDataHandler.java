@@ -46,6 +46,7 @@ public class DivideUpstreamDataHandler implements DiscoveryUpstreamDataHandler {
             return;
         }
         List<DiscoveryUpstreamData> upstreamList = discoverySyncData.getUpstreamDataList();
+        UpstreamCacheManager.getInstance().submitProbe(discoverySyncData.getSelectorId(), upstreamProps(upstreamList));
         UpstreamCacheManager.getInstance().submit(discoverySyncData.getSelectorId(), convertUpstreamList(upstreamList));
         // the update is also need to clean, but there is no way to
         // distinguish between crate and update, so it is always clean
@@ -62,7 +63,7 @@ public class DivideUpstreamDataHandler implements DiscoveryUpstreamDataHandler {
             return Collections.emptyList();
         }
         return upstreamList.stream().map(u -> {
-            Properties properties = Optional.ofNullable(u.getProps()).map(ps -> GsonUtils.getInstance().fromJson(ps, Properties.class)).orElse(new Properties());
+            Properties properties = properties(u);
             return Upstream.builder()
                     .protocol(u.getProtocol())
                     .url(u.getUrl())
@@ -74,4 +75,12 @@ public class DivideUpstreamDataHandler implements DiscoveryUpstreamDataHandler {
         }).collect(Collectors.toList());
     }
 
+    private List<Properties> upstreamProps(final List<DiscoveryUpstreamData> upstreamList) {
+        return Optional.ofNullable(upstreamList).orElse(Collections.emptyList()).stream().map(this::properties).collect(Collectors.toList());
+    }
+
+    private Properties properties(final DiscoveryUpstreamData upstream) {
+        return Optional.ofNullable(upstream.getProps()).map(ps -> GsonUtils.getInstance().fromJson(ps, Properties.class)).orElse(new Properties());
+    }
+
 }
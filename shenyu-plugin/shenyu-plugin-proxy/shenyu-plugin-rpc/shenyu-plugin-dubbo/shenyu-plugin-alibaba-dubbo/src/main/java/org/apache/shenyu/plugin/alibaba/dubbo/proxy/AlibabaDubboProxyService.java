@@ -74,7 +74,7 @@ public class AlibabaDubboProxyService {
             if (StringUtils.isBlank(metaData.getParameterTypes()) || ParamCheckUtils.bodyIsEmpty(body)) {
                 pair = new ImmutablePair<>(new String[]{}, new Object[]{});
             } else {
-                pair = dubboParamResolveService.buildParameter(body, metaData.getParameterTypes());
+                pair = dubboParamResolveService.buildParameter(body, metaData.extension());
             }
             genericService.$invoke(metaData.getMethodName(), pair.getLeft(), pair.getRight());
         } catch (GenericException e) {
@@ -79,7 +79,7 @@ public class ApacheDubboProxyService {
         if (StringUtils.isBlank(metaData.getParameterTypes()) || ParamCheckUtils.bodyIsEmpty(body)) {
             pair = new ImmutablePair<>(new String[]{}, new Object[]{});
         } else {
-            pair = dubboParamResolveService.buildParameter(body, metaData.getParameterTypes());
+            pair = dubboParamResolveService.buildParameter(body, metaData.extension());
         }
         return Mono.fromFuture(invokeAsync(genericService, metaData.getMethodName(), pair.getLeft(), pair.getRight()).thenApply(ret -> {
             if (Objects.isNull(ret)) {
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.dubbo.common.param;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.MetaDataExtension;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read the generic invocation parameters from the json body in one pass.
+ * the values are the same as {@link org.apache.shenyu.plugin.api.utils.BodyParamUtils#buildParameters(String, String)} builds
+ * from the gson trees: the integers are long, the decimals are double, the objects are maps, the arrays are lists,
+ * and the objects nested in the object parameters keep the conversion of {@link org.apache.shenyu.common.utils.GsonUtils#convertToMap(String)}.
+ */
+public final class DubboParamReader {
+
+    private static final String LEFT_BRACE = "{";
+
+    private static final String RIGHT_BRACE = "}";
+
+    private DubboParamReader() {
+    }
+
+    /**
+     * Read the parameters.
+     *
+     * @param body      the json body
+     * @param extension the parsed parameter types of the meta data
+     * @return the parameter types and the parameters
+     */
+    public static Pair<String[], Object[]> read(final String body, final MetaDataExtension extension) {
+        try (JsonReader reader = new JsonReader(new StringReader(body))) {
+            reader.setLenient(true);
+            reader.beginObject();
+            Object[] args;
+            if (extension.isSingleBeanParameter()) {
+                Map<String, Object> bean = new LinkedHashMap<>();
+                while (reader.hasNext()) {
+                    bean.put(reader.nextName(), readValue(reader));
+                }
+                args = new Object[]{bean};
+            } else if (extension.isNameMapping()) {
+                args = new Object[extension.getParameterTypeNames().length];
+                while (reader.hasNext()) {
+                    int index = extension.indexOf(reader.nextName());
+                    if (index < 0) {
+                        reader.skipValue();
+                    } else {
+                        args[index] = readValue(reader);
+                    }
+                }
+            } else {
+                List<Object> values = new ArrayList<>(extension.getParameterTypeNames().length);
+                while (reader.hasNext()) {
+                    reader.nextName();
+                    values.add(readValue(reader));
+                }
+                args = values.toArray();
+            }
+            reader.endObject();
+            return new ImmutablePair<>(extension.getParameterTypeNames(), args);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    // the parameter, or a field of the single bean parameter
+    private static Object readValue(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readMap(reader);
+            case BEGIN_ARRAY:
+                return readList(reader);
+            default:
+                return readPrimitive(reader);
+        }
+    }
+
+    // the object as GsonUtils#convertToMap converts it, the strings of json objects are parsed and the elements of the arrays are strings
+    private static Map<String, Object> readMap(final JsonReader reader) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if (JsonToken.BEGIN_OBJECT == token) {
+                map.put(name, readMap(reader));
+            } else if (JsonToken.BEGIN_ARRAY == token) {
+                map.put(name, readStringList(reader));
+            } else if (JsonToken.STRING == token) {
+                String value = reader.nextString();
+                String trimmed = value.trim();
+                map.put(name, trimmed.startsWith(LEFT_BRACE) && trimmed.endsWith(RIGHT_BRACE) ? parseMap(value) : value);
+            } else {
+                map.put(name, readPrimitive(reader));
+            }
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private static List<Object> readStringList(final JsonReader reader) throws IOException {
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            switch (reader.peek()) {
+                case NULL:
+                    reader.nextNull();
+                    list.add(null);
+                    break;
+                case BEGIN_OBJECT:
+                    list.add(readMap(reader));
+                    break;
+                case BEGIN_ARRAY:
+                    list.add(readStringList(reader));
+                    break;
+                case BOOLEAN:
+                    list.add(String.valueOf(reader.nextBoolean()));
+                    break;
+                default:
+                    String value = reader.nextString();
+                    list.add(value.startsWith(LEFT_BRACE) && value.endsWith(RIGHT_BRACE) ? parseMap(value) : value);
+                    break;
+            }
+        }
+        reader.endArray();
+        return list;
+    }
+
+    // the array as gson reads it into a list of objects, the numbers are double
+    private static List<Object> readList(final JsonReader reader) throws IOException {
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(readObject(reader));
+        }
+        reader.endArray();
+        return list;
+    }
+
+    private static Object readObject(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readObjectMap(reader);
+            case BEGIN_ARRAY:
+                return readList(reader);
+            case NUMBER:
+                return reader.nextDouble();
+            default:
+                return readPrimitive(reader);
+        }
+    }
+
+    private static Map<String, Object> readObjectMap(final JsonReader reader) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            map.put(reader.nextName(), readObject(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private static Object readPrimitive(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return readNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                throw new JsonSyntaxException("unexpected json token " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    private static Object readNumber(final String number) {
+        if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+            return Double.parseDouble(number);
+        }
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            // a long out of range is rejected as gson does, it is not truncated
+            throw new JsonSyntaxException("the number " + number + " is not a long", e);
+        }
+    }
+
+    private static Map<String, Object> parseMap(final String json) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.setLenient(true);
+            if (JsonToken.BEGIN_OBJECT != reader.peek()) {
+                return null;
+            }
+            return readMap(reader);
+        }
+    }
+}
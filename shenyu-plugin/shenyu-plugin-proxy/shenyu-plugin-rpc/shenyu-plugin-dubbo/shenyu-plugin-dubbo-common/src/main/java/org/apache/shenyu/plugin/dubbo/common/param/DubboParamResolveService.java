@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.dubbo.common.param;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.MetaDataExtension;
 
 /**
  * The interface Generic param service.
@@ -34,4 +35,15 @@ public interface DubboParamResolveService {
      * @return the pair
      */
     Pair<String[], Object[]> buildParameter(String body, String parameterTypes);
+
+    /**
+     * Build parameter pair with the parameter types parsed from the meta data.
+     *
+     * @param body      the body
+     * @param extension the parsed meta data extension
+     * @return the pair
+     */
+    default Pair<String[], Object[]> buildParameter(final String body, final MetaDataExtension extension) {
+        return buildParameter(body, extension.getParameterTypes());
+    }
 }
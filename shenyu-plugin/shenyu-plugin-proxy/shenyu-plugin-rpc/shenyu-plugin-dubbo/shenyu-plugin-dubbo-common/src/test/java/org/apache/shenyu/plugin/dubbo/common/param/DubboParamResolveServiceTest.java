@@ -17,7 +17,9 @@
 
 package org.apache.shenyu.plugin.dubbo.common.param;
 
+import com.google.gson.JsonSyntaxException;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.MetaDataExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -31,7 +33,9 @@ import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test cases for DefaultDubboParamResolveService.
@@ -80,5 +84,29 @@ public class DubboParamResolveServiceTest {
         assertNull(idList1.get(0));
         assertNull(idList1.get(1));
     }
-}
 
+    @Test
+    public void testBuildParameterWithExtension() {
+        String body = "{\"id\":1,\"name\":\"name\",\"price\":1.5,\"enabled\":true,\"ids\":[1,2],"
+                + "\"bean\":{\"list\":[1,\"a\",{\"id\":2},null],\"nested\":\"{\\\"id\\\":3}\",\"empty\":null}}";
+        assertSameParameter(body, "java.lang.Long,java.lang.String,java.lang.Double,java.lang.Boolean,java.util.List,java.util.Map");
+
+        body = "{\"name\":\"name\",\"unknown\":[1],\"id\":2}";
+        Pair<String[], Object[]> pair = assertSameParameter(body, "{\"id\":\"java.lang.Long\",\"name\":\"java.lang.String\"}");
+        assertArrayEquals(new Object[]{2L, "name"}, pair.getRight());
+
+        body = "{\"id\":null,\"ids\":[null,1],\"bean\":{\"id\":1}}";
+        assertSameParameter(body, "org.apache.shenyu.web.rpc.DubboMultiParameterResolveServiceImplTest.ComplexBean");
+
+        assertThrows(JsonSyntaxException.class, () -> impl.buildParameter("{\"id\":12345678901234567890}",
+                MetaDataExtension.ofParameterTypes("java.lang.Long")));
+    }
+
+    private Pair<String[], Object[]> assertSameParameter(final String body, final String parameterTypes) {
+        Pair<String[], Object[]> expected = impl.buildParameter(body, parameterTypes);
+        Pair<String[], Object[]> pair = impl.buildParameter(body, MetaDataExtension.ofParameterTypes(parameterTypes));
+        assertArrayEquals(expected.getLeft(), pair.getLeft());
+        assertArrayEquals(expected.getRight(), pair.getRight());
+        return pair;
+    }
+}
@@ -93,7 +93,7 @@ public class MotanProxyService {
         if (StringUtils.isBlank(metaData.getParameterTypes()) || ParamCheckUtils.bodyIsEmpty(body)) {
             pair = new ImmutablePair<>(new String[]{}, new Object[]{});
         } else {
-            pair = BodyParamUtils.buildParameters(body, metaData.getParameterTypes());
+            pair = BodyParamUtils.buildParameters(body, metaData.extension());
         }
         ResponseFuture responseFuture;
         //CHECKSTYLE:OFF IllegalCatch
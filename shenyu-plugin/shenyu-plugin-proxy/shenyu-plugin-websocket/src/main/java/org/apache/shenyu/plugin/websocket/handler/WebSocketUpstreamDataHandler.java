@@ -46,6 +46,7 @@ public class WebSocketUpstreamDataHandler implements DiscoveryUpstreamDataHandle
             return;
         }
         List<DiscoveryUpstreamData> upstreamList = discoverySyncData.getUpstreamDataList();
+        UpstreamCacheManager.getInstance().submitProbe(discoverySyncData.getSelectorId(), upstreamProps(upstreamList));
         UpstreamCacheManager.getInstance().submit(discoverySyncData.getSelectorId(), convertUpstreamList(upstreamList));
         MetaDataCache.getInstance().clean();
     }
@@ -55,7 +56,7 @@ public class WebSocketUpstreamDataHandler implements DiscoveryUpstreamDataHandle
             return Collections.emptyList();
         }
         return upstreamList.stream().map(u -> {
-            Properties properties = Optional.ofNullable(u.getProps()).map(ps -> GsonUtils.getInstance().fromJson(ps, Properties.class)).orElse(new Properties());
+            Properties properties = properties(u);
             return Upstream.builder()
                     .protocol(u.getProtocol())
                     .url(u.getUrl())
@@ -67,6 +68,14 @@ public class WebSocketUpstreamDataHandler implements DiscoveryUpstreamDataHandle
         }).collect(Collectors.toList());
     }
 
+    private List<Properties> upstreamProps(final List<DiscoveryUpstreamData> upstreamList) {
+        return Optional.ofNullable(upstreamList).orElse(Collections.emptyList()).stream().map(this::properties).collect(Collectors.toList());
+    }
+
+    private Properties properties(final DiscoveryUpstreamData upstream) {
+        return Optional.ofNullable(upstream.getProps()).map(ps -> GsonUtils.getInstance().fromJson(ps, Properties.class)).orElse(new Properties());
+    }
+
     @Override
     public String pluginName() {
         return PluginEnum.WEB_SOCKET.getName();
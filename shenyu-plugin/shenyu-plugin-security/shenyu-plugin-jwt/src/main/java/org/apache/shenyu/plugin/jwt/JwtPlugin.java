@@ -17,10 +17,6 @@
 
 package org.apache.shenyu.plugin.jwt;
 
-import io.jsonwebtoken.Jwt;
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.JwtParserBuilder;
-import io.jsonwebtoken.Jwts;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
@@ -32,17 +28,15 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
-import org.apache.shenyu.plugin.jwt.config.JwtConfig;
-import org.apache.shenyu.plugin.jwt.exception.ThrowingFunction;
 import org.apache.shenyu.plugin.jwt.handle.JwtPluginDataHandler;
 import org.apache.shenyu.plugin.jwt.rule.JwtRuleHandle;
 import org.apache.shenyu.plugin.jwt.strategy.JwtConvertStrategy;
 import org.apache.shenyu.plugin.jwt.strategy.JwtConvertStrategyFactory;
+import org.apache.shenyu.plugin.jwt.verifier.JwtVerifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 
@@ -57,17 +51,17 @@ public class JwtPlugin extends AbstractShenyuPlugin {
 
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
-        JwtConfig jwtConfig = Singleton.INST.get(JwtConfig.class);
+        JwtVerifier jwtVerifier = Singleton.INST.get(JwtVerifier.class);
         String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         String token = exchange.getRequest().getHeaders().getFirst(TOKEN);
         // check secreteKey
-        if (StringUtils.isEmpty(jwtConfig.getSecretKey())) {
+        if (Objects.isNull(jwtVerifier) || !jwtVerifier.isConfigured()) {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.SECRET_KEY_MUST_BE_CONFIGURED);
             return WebFluxResultUtils.result(exchange, error);
         }
         // compatible processing
         String finalAuthorization = compatible(token, authorization);
-        Map<String, Object> jwtBody = checkAuthorization(finalAuthorization, jwtConfig.getSecretKey());
+        Map<String, Object> jwtBody = jwtVerifier.verify(finalAuthorization);
         if (Objects.isNull(jwtBody)) {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.ERROR_TOKEN);
             return WebFluxResultUtils.result(exchange, error);
@@ -116,31 +110,4 @@ public class JwtPlugin extends AbstractShenyuPlugin {
     private boolean isAuth2(final String authorization) {
         return authorization.contains(AUTH2_TOKEN);
     }
-
-    /**
-     * check Authorization.
-     *
-     * @param authorization the authorization after processing
-     * @param secretKey     secretKey of authorization
-     * @return Map
-     */
-    private Map<String, Object> checkAuthorization(final String authorization,
-                                                   final String secretKey) {
-
-        if (StringUtils.isEmpty(authorization)) {
-            return null;
-        }
-        JwtParserBuilder jwtParserBuilder = Jwts.parserBuilder();
-        JwtParser jwtParser = jwtParserBuilder.build();
-        if (jwtParser.isSigned(authorization)) {
-            jwtParserBuilder.setSigningKey(secretKey.getBytes(StandardCharsets.UTF_8));
-            JwtParser jwtParserExec = jwtParserBuilder.build();
-            Jwt jwt = ThrowingFunction.wrap(() -> jwtParserExec.parse(authorization));
-            if (jwt == null) {
-                return null;
-            }
-            return (Map<String, Object>) jwt.getBody();
-        }
-        return null;
-    }
 }
@@ -29,6 +29,16 @@ public class JwtConfig implements Serializable {
      */
     private String secretKey;
 
+    /**
+     * the path of the local json web key set file.
+     */
+    private String jwksPath;
+
+    /**
+     * the max verified tokens cached, 0 means no cache.
+     */
+    private long claimsCacheSize;
+
     /**
      * Gets secret key.
      *
@@ -47,4 +57,39 @@ public class JwtConfig implements Serializable {
         this.secretKey = secretKey;
     }
 
+    /**
+     * Gets jwks path.
+     *
+     * @return the jwks path
+     */
+    public String getJwksPath() {
+        return jwksPath;
+    }
+
+    /**
+     * Sets jwks path.
+     *
+     * @param jwksPath the jwks path
+     */
+    public void setJwksPath(final String jwksPath) {
+        this.jwksPath = jwksPath;
+    }
+
+    /**
+     * Gets claims cache size.
+     *
+     * @return the claims cache size
+     */
+    public long getClaimsCacheSize() {
+        return claimsCacheSize;
+    }
+
+    /**
+     * Sets claims cache size.
+     *
+     * @param claimsCacheSize the claims cache size
+     */
+    public void setClaimsCacheSize(final long claimsCacheSize) {
+        this.claimsCacheSize = claimsCacheSize;
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.jwt.handle;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
@@ -29,6 +30,7 @@ import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.jwt.config.JwtConfig;
 import org.apache.shenyu.plugin.jwt.rule.JwtRuleHandle;
+import org.apache.shenyu.plugin.jwt.verifier.JwtVerifier;
 
 import java.util.Map;
 import java.util.Optional;
@@ -41,13 +43,21 @@ public class JwtPluginDataHandler implements PluginDataHandler {
 
     public static final Supplier<CommonHandleCache<String, JwtRuleHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
 
+    private static final String JWKS_PATH = "jwksPath";
+
+    private static final String CLAIMS_CACHE_SIZE = "claimsCacheSize";
+
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         Map<String, String> configMap = GsonUtils.getInstance().toObjectMap(pluginData.getConfig(), String.class);
         String secretKey = Optional.ofNullable(configMap.get(Constants.SECRET_KEY)).orElse("");
         JwtConfig jwtConfig = new JwtConfig();
         jwtConfig.setSecretKey(secretKey);
+        jwtConfig.setJwksPath(configMap.get(JWKS_PATH));
+        jwtConfig.setClaimsCacheSize(NumberUtils.toLong(configMap.get(CLAIMS_CACHE_SIZE)));
         Singleton.INST.single(JwtConfig.class, jwtConfig);
+        // the parser and the keys are built once per config change
+        Singleton.INST.single(JwtVerifier.class, new JwtVerifier(jwtConfig));
     }
     
     @Override
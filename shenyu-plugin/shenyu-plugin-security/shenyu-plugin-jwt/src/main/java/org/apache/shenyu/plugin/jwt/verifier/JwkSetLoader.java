@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.verifier;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.shenyu.common.exception.ShenyuException;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load the keys of a local JSON Web Key Set file, see <a href="https://www.rfc-editor.org/rfc/rfc7517">RFC 7517</a>.
+ * RSA, EC and oct keys are supported, keyed by {@code kid}.
+ */
+public final class JwkSetLoader {
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private JwkSetLoader() {
+    }
+
+    /**
+     * Load the keys.
+     *
+     * @param path the path of the jwks file
+     * @return the keys by key id
+     */
+    public static Map<String, Key> load(final String path) {
+        try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            return parse(JsonParser.parseReader(reader).getAsJsonObject());
+        } catch (IOException | RuntimeException e) {
+            throw new ShenyuException("failed to load the jwks file: " + path, e);
+        }
+    }
+
+    /**
+     * Parse the keys.
+     *
+     * @param jwks the json web key set
+     * @return the keys by key id
+     */
+    public static Map<String, Key> parse(final JsonObject jwks) {
+        JsonArray keys = jwks.getAsJsonArray("keys");
+        Map<String, Key> result = new HashMap<>(keys.size());
+        for (JsonElement element : keys) {
+            JsonObject jwk = element.getAsJsonObject();
+            String keyId = jwk.has("kid") ? jwk.get("kid").getAsString() : String.valueOf(result.size());
+            result.put(keyId, toKey(jwk));
+        }
+        return result;
+    }
+
+    private static Key toKey(final JsonObject jwk) {
+        String type = jwk.get("kty").getAsString();
+        try {
+            switch (type) {
+                case "RSA":
+                    return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(number(jwk, "n"), number(jwk, "e")));
+                case "EC":
+                    AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                    parameters.init(new ECGenParameterSpec(curve(jwk.get("crv").getAsString())));
+                    ECPoint point = new ECPoint(number(jwk, "x"), number(jwk, "y"));
+                    return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+                case "oct":
+                    return new SecretKeySpec(DECODER.decode(jwk.get("k").getAsString()), "HmacSHA256");
+                default:
+                    throw new ShenyuException("unsupported jwk type: " + type);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new ShenyuException(e);
+        }
+    }
+
+    private static BigInteger number(final JsonObject jwk, final String name) {
+        return new BigInteger(1, DECODER.decode(jwk.get(name).getAsString()));
+    }
+
+    private static String curve(final String crv) {
+        switch (crv) {
+            case "P-256":
+                return "secp256r1";
+            case "P-384":
+                return "secp384r1";
+            case "P-521":
+                return "secp521r1";
+            default:
+                throw new ShenyuException("unsupported jwk curve: " + crv);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.verifier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.plugin.jwt.config.JwtConfig;
+import org.apache.shenyu.plugin.jwt.exception.ThrowingFunction;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The jwt verifier built once per {@link JwtConfig}.
+ * the parser and the keys are reused by every request, the claims of the verified tokens
+ * can be cached until they expire.
+ */
+public final class JwtVerifier {
+
+    private final JwtParser parser;
+
+    private final boolean configured;
+
+    private final Cache<String, Map<String, Object>> claimsCache;
+
+    /**
+     * Instantiates a new Jwt verifier.
+     *
+     * @param jwtConfig the jwt config
+     */
+    public JwtVerifier(final JwtConfig jwtConfig) {
+        final byte[] secretKey = StringUtils.isEmpty(jwtConfig.getSecretKey()) ? null : jwtConfig.getSecretKey().getBytes(StandardCharsets.UTF_8);
+        final Map<String, Key> jwkSet = StringUtils.isEmpty(jwtConfig.getJwksPath()) ? Collections.emptyMap() : JwkSetLoader.load(jwtConfig.getJwksPath());
+        this.configured = Objects.nonNull(secretKey) || !jwkSet.isEmpty();
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new KeyResolver(secretKey, jwkSet)).build();
+        this.claimsCache = jwtConfig.getClaimsCacheSize() > 0 ? Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getClaimsCacheSize())
+                .expireAfter(new ClaimsExpiry())
+                .build() : null;
+    }
+
+    /**
+     * Whether there is any key to verify the token.
+     *
+     * @return the configured
+     */
+    public boolean isConfigured() {
+        return configured;
+    }
+
+    /**
+     * Verify the token.
+     *
+     * @param token the token
+     * @return the claims, null if the token is not signed or invalid
+     */
+    public Map<String, Object> verify(final String token) {
+        if (StringUtils.isEmpty(token)) {
+            return null;
+        }
+        if (Objects.isNull(claimsCache)) {
+            return parse(token);
+        }
+        Map<String, Object> claims = claimsCache.getIfPresent(token);
+        if (Objects.nonNull(claims)) {
+            return claims;
+        }
+        claims = parse(token);
+        if (Objects.nonNull(claims)) {
+            claimsCache.put(token, claims);
+        }
+        return claims;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parse(final String token) {
+        if (!parser.isSigned(token)) {
+            return null;
+        }
+        Jwt<?, ?> jwt = ThrowingFunction.wrap(() -> parser.parse(token));
+        if (Objects.isNull(jwt) || !(jwt.getBody() instanceof Map)) {
+            return null;
+        }
+        return Collections.unmodifiableMap((Map<String, Object>) jwt.getBody());
+    }
+
+    /**
+     * Expire the cached claims at the {@code exp} of the token.
+     */
+    private static final class ClaimsExpiry implements Expiry<String, Map<String, Object>> {
+
+        @Override
+        public long expireAfterCreate(final String key, final Map<String, Object> claims, final long currentTime) {
+            Object exp = claims.get(Claims.EXPIRATION);
+            if (!(exp instanceof Number)) {
+                return Long.MAX_VALUE;
+            }
+            long millis = TimeUnit.SECONDS.toMillis(((Number) exp).longValue()) - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Map<String, Object> claims, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Map<String, Object> claims, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Resolve the key by the algorithm and the key id of the token.
+     */
+    private static final class KeyResolver extends SigningKeyResolverAdapter {
+
+        private final byte[] secretKey;
+
+        private final Map<String, Key> jwkSet;
+
+        KeyResolver(final byte[] secretKey, final Map<String, Key> jwkSet) {
+            this.secretKey = secretKey;
+            this.jwkSet = jwkSet;
+        }
+
+        @Override
+        public Key resolveSigningKey(final JwsHeader header, final Claims claims) {
+            return resolve(header);
+        }
+
+        @Override
+        public Key resolveSigningKey(final JwsHeader header, final String plaintext) {
+            return resolve(header);
+        }
+
+        private Key resolve(final JwsHeader header) {
+            SignatureAlgorithm algorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+            String keyId = header.getKeyId();
+            if (StringUtils.isNotEmpty(keyId) && jwkSet.containsKey(keyId)) {
+                return jwkSet.get(keyId);
+            }
+            if (algorithm.isHmac() && Objects.nonNull(secretKey)) {
+                return new SecretKeySpec(secretKey, algorithm.getJcaName());
+            }
+            // a token without key id can only be verified by the only key of the set
+            if (StringUtils.isEmpty(keyId) && jwkSet.size() == 1) {
+                return jwkSet.values().iterator().next();
+            }
+            throw new JwtException("no key found for the token, kid: " + keyId + ", alg: " + algorithm.getValue());
+        }
+    }
+}
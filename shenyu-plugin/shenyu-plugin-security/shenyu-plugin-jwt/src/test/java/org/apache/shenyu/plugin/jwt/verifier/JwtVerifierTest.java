@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.verifier;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.apache.shenyu.plugin.jwt.config.JwtConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link JwtVerifier}.
+ */
+public final class JwtVerifierTest {
+
+    // HMAC-SHA algorithms MUST have a size >= 256 bits
+    private static final String SECRET_KEY = "shenyu-test-shenyu-test-shenyu-test";
+
+    @Test
+    public void testVerifyHmac() {
+        JwtVerifier jwtVerifier = new JwtVerifier(config(SECRET_KEY, null, 0));
+        String token = Jwts.builder()
+                .claim("userId", 1)
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        assertTrue(jwtVerifier.isConfigured());
+        assertEquals(1, jwtVerifier.verify(token).get("userId"));
+        assertNull(jwtVerifier.verify(token + "x"));
+        assertNull(jwtVerifier.verify(Jwts.builder().claim("userId", 1).compact()));
+        assertNull(jwtVerifier.verify(null));
+    }
+
+    @Test
+    public void testClaimsCache() {
+        JwtVerifier jwtVerifier = new JwtVerifier(config(SECRET_KEY, null, 16));
+        String token = Jwts.builder()
+                .claim("userId", 1)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        Map<String, Object> claims = jwtVerifier.verify(token);
+        assertSame(claims, jwtVerifier.verify(token));
+        String expired = Jwts.builder()
+                .claim("userId", 1)
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        assertNull(jwtVerifier.verify(expired));
+    }
+
+    @Test
+    public void testVerifyJwks(@TempDir final Path dir) throws IOException {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        String jwks = "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"key-1\",\"n\":\"" + encode(publicKey.getModulus())
+                + "\",\"e\":\"" + encode(publicKey.getPublicExponent()) + "\"}]}";
+        Path path = Files.write(dir.resolve("jwks.json"), jwks.getBytes(StandardCharsets.UTF_8));
+        JwtVerifier jwtVerifier = new JwtVerifier(config(null, path.toString(), 0));
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "key-1")
+                .claim("userId", 1)
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        assertTrue(jwtVerifier.isConfigured());
+        assertEquals(1, jwtVerifier.verify(token).get("userId"));
+        String unknown = Jwts.builder()
+                .setHeaderParam("kid", "key-2")
+                .claim("userId", 1)
+                .signWith(Keys.keyPairFor(SignatureAlgorithm.RS256).getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        assertNull(jwtVerifier.verify(unknown));
+    }
+
+    @Test
+    public void testNotConfigured() {
+        assertFalse(new JwtVerifier(config("", null, 0)).isConfigured());
+    }
+
+    private static JwtConfig config(final String secretKey, final String jwksPath, final long claimsCacheSize) {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecretKey(secretKey);
+        jwtConfig.setJwksPath(jwksPath);
+        jwtConfig.setClaimsCacheSize(claimsCacheSize);
+        return jwtConfig;
+    }
+
+    private static String encode(final BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int offset = bytes[0] == 0 ? 1 : 0;
+        byte[] unsigned = new byte[bytes.length - offset];
+        System.arraycopy(bytes, offset, unsigned, 0, unsigned.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+}
@@ -27,16 +27,29 @@ import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.base.utils.ServerWebExchangeUtils;
+import org.apache.shenyu.plugin.sign.api.BodySignVerifier;
 import org.apache.shenyu.plugin.sign.service.SignService;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.apache.shenyu.plugin.sign.handler.SignPluginDataHandler;
 import org.apache.shenyu.plugin.sign.handler.SignRuleHandler;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.lang.NonNull;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Sign Plugin.
@@ -80,6 +93,14 @@ public class SignPlugin extends AbstractShenyuPlugin {
             return chain.execute(exchange);
         }
 
+        if (ruleHandler.getStreamRequestBody() && isUtf8(exchange)) {
+            BodySignVerifier verifier = signService.bodySignVerifier(exchange);
+            if (Objects.nonNull(verifier)) {
+                int maxPreReadSize = ruleHandler.getMaxPreReadSize() > 0 ? ruleHandler.getMaxPreReadSize() : SignRuleHandler.DEFAULT_MAX_PRE_READ_SIZE;
+                return streamVerify(exchange, chain, verifier, maxPreReadSize);
+            }
+        }
+
         return ServerWebExchangeUtils.rewriteRequestBody(exchange, messageReaders, body -> {
             VerifyResult result = signVerifyWithBody(body, exchange);
             if (result.isSuccess()) {
@@ -95,8 +116,106 @@ public class SignPlugin extends AbstractShenyuPlugin {
                 });
     }
 
+    private Mono<Void> streamVerify(final ServerWebExchange exchange, final ShenyuPluginChain chain,
+                                    final BodySignVerifier verifier, final int maxPreReadSize) {
+        if (verifier.getPreVerifyResult().isFailed()) {
+            return WebFluxResultUtils.failedResult(ShenyuResultEnum.SIGN_IS_NOT_PASS.getCode(),
+                    verifier.getPreVerifyResult().getReason(), exchange);
+        }
+        // the sign is updated as the buffers arrive, the upstream must not see unverified bytes,
+        // so the original buffers are held back, up to maxPreReadSize, until the body ends
+        return Mono.defer(() -> {
+            PreReadBody body = new PreReadBody(verifier, maxPreReadSize);
+            return exchange.getRequest().getBody()
+                    .doOnNext(body::add)
+                    .then(Mono.just(body))
+                    .doOnError(error -> body.release())
+                    .doOnCancel(body::release);
+        }).flatMap(body -> {
+            VerifyResult result = verifier.verify();
+            if (result.isFailed()) {
+                body.release();
+                return WebFluxResultUtils.failedResult(ShenyuResultEnum.SIGN_IS_NOT_PASS.getCode(), result.getReason(), exchange);
+            }
+            VerifiedBodyRequest request = new VerifiedBodyRequest(exchange.getRequest(), body.buffers);
+            return chain.execute(exchange.mutate().request(request).build()).doFinally(signal -> request.releaseIfUnread());
+        }).onErrorResume(DataBufferLimitException.class, error -> WebFluxResultUtils.failedResult(ShenyuResultEnum.SIGN_IS_NOT_PASS.getCode(),
+                "the request body is larger than " + maxPreReadSize + " bytes to verify", exchange));
+    }
+
+    private boolean isUtf8(final ServerWebExchange exchange) {
+        MediaType contentType = exchange.getRequest().getHeaders().getContentType();
+        return Objects.isNull(contentType) || Objects.isNull(contentType.getCharset()) || StandardCharsets.UTF_8.equals(contentType.getCharset());
+    }
+
     private VerifyResult signVerifyWithBody(final String originalBody, final ServerWebExchange exchange) {
         // get url params
         return signService.signatureVerify(exchange, originalBody);
     }
+
+    /**
+     * The body held back while its sign is verified, the read bytes are bounded by the max pre-read size.
+     */
+    private static final class PreReadBody {
+
+        private final BodySignVerifier verifier;
+
+        private final int maxPreReadSize;
+
+        private final List<DataBuffer> buffers = new ArrayList<>();
+
+        private int size;
+
+        PreReadBody(final BodySignVerifier verifier, final int maxPreReadSize) {
+            this.verifier = verifier;
+            this.maxPreReadSize = maxPreReadSize;
+        }
+
+        void add(final DataBuffer buffer) {
+            size += buffer.readableByteCount();
+            if (size > maxPreReadSize) {
+                DataBufferUtils.release(buffer);
+                throw new DataBufferLimitException("Exceeded limit on max bytes to verify : " + maxPreReadSize);
+            }
+            buffers.add(buffer);
+            verifier.update(buffer.asByteBuffer());
+        }
+
+        void release() {
+            buffers.forEach(DataBufferUtils::release);
+            buffers.clear();
+        }
+    }
+
+    /**
+     * The request whose body is verified, the body is released if nobody reads it.
+     */
+    static class VerifiedBodyRequest extends ServerHttpRequestDecorator {
+
+        private final List<DataBuffer> body;
+
+        private final AtomicBoolean read = new AtomicBoolean();
+
+        VerifiedBodyRequest(final ServerHttpRequest delegate, final List<DataBuffer> body) {
+            super(delegate);
+            this.body = body;
+        }
+
+        @Override
+        @NonNull
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> {
+                if (!read.compareAndSet(false, true)) {
+                    return Flux.empty();
+                }
+                return Flux.fromIterable(body);
+            });
+        }
+
+        void releaseIfUnread() {
+            if (read.compareAndSet(false, true)) {
+                body.forEach(DataBufferUtils::release);
+            }
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.api;
+
+import org.apache.shenyu.common.utils.SignUtils;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+/**
+ * Verifies the sign whose body is fed in pieces as it streams through.
+ * the parameters are verified when it is created, the sign is verified when the body ends.
+ */
+public final class BodySignVerifier {
+
+    private final VerifyResult preVerifyResult;
+
+    private final SignUtils.Signer signer;
+
+    private final Function<String, VerifyResult> signVerifier;
+
+    private BodySignVerifier(final VerifyResult preVerifyResult, final SignUtils.Signer signer, final Function<String, VerifyResult> signVerifier) {
+        this.preVerifyResult = preVerifyResult;
+        this.signer = signer;
+        this.signVerifier = signVerifier;
+    }
+
+    /**
+     * The verifier whose parameters are invalid.
+     *
+     * @param preVerifyResult the failed result
+     * @return verifier
+     */
+    public static BodySignVerifier failed(final VerifyResult preVerifyResult) {
+        return new BodySignVerifier(preVerifyResult, null, null);
+    }
+
+    /**
+     * The verifier whose parameters are valid.
+     *
+     * @param signer       the signer fed with the data before the body
+     * @param signVerifier verifies the sign generated
+     * @return verifier
+     */
+    public static BodySignVerifier of(final SignUtils.Signer signer, final Function<String, VerifyResult> signVerifier) {
+        return new BodySignVerifier(VerifyResult.success(), signer, signVerifier);
+    }
+
+    /**
+     * Get the result of the parameters, which are verified before the body.
+     *
+     * @return result
+     */
+    public VerifyResult getPreVerifyResult() {
+        return preVerifyResult;
+    }
+
+    /**
+     * Feeds a piece of the body.
+     *
+     * @param body the piece
+     */
+    public void update(final ByteBuffer body) {
+        signer.update(body);
+    }
+
+    /**
+     * Verifies the sign after the whole body is fed.
+     *
+     * @return result
+     */
+    public VerifyResult verify() {
+        if (preVerifyResult.isFailed()) {
+            return preVerifyResult;
+        }
+        return signVerifier.apply(signer.sign());
+    }
+}
@@ -24,8 +24,17 @@ import org.apache.shenyu.common.dto.convert.rule.RuleHandle;
  */
 public class SignRuleHandler implements RuleHandle {
 
+    /**
+     * the default max bytes of the streamed request body held back to verify, the same as the default codec limit.
+     */
+    public static final int DEFAULT_MAX_PRE_READ_SIZE = 256 * 1024;
+
     private boolean signRequestBody;
 
+    private boolean streamRequestBody;
+
+    private int maxPreReadSize = DEFAULT_MAX_PRE_READ_SIZE;
+
     /**
      * get getSignRequestBody.
      * @return boolean
@@ -42,9 +51,45 @@ public class SignRuleHandler implements RuleHandle {
         this.signRequestBody = signRequestBody;
     }
 
+    /**
+     * get streamRequestBody, whether the request body is signed as it streams through instead of being decoded as a whole.
+     * @return boolean
+     */
+    public boolean getStreamRequestBody() {
+        return streamRequestBody;
+    }
+
+    /**
+     * set streamRequestBody.
+     * @param streamRequestBody streamRequestBody
+     */
+    public void setStreamRequestBody(final boolean streamRequestBody) {
+        this.streamRequestBody = streamRequestBody;
+    }
+
+    /**
+     * get maxPreReadSize, the max bytes of the streamed request body held back while its sign is verified,
+     * a larger body is rejected as soon as it crosses the limit, a value not positive falls back to {@link #DEFAULT_MAX_PRE_READ_SIZE}.
+     * the body is always verified before the request is passed on, so no plugin sees a body whose sign is wrong.
+     * @return int
+     */
+    public int getMaxPreReadSize() {
+        return maxPreReadSize;
+    }
+
+    /**
+     * set maxPreReadSize.
+     * @param maxPreReadSize maxPreReadSize
+     */
+    public void setMaxPreReadSize(final int maxPreReadSize) {
+        this.maxPreReadSize = maxPreReadSize;
+    }
+
     @Override
     public String toString() {
         return "SignRuleHandler{"
-                + "signRequestBody=" + signRequestBody + '}';
+                + "signRequestBody=" + signRequestBody
+                + ", streamRequestBody=" + streamRequestBody
+                + ", maxPreReadSize=" + maxPreReadSize + '}';
     }
 }
@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.sign.provider;
 
 import com.google.common.collect.ImmutableMap;
+import org.apache.shenyu.common.utils.SignUtils;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
 
 import java.util.Map;
@@ -44,4 +45,10 @@ public class DefaultSignProvider implements SignProvider {
         return VERSION_SIGN.get(signParameters.getVersion())
                 .generateSign(signKey, signParameters);
     }
+
+    @Override
+    public SignUtils.Signer bodySigner(final String signKey, final SignParameters signParameters) {
+        return VERSION_SIGN.get(signParameters.getVersion())
+                .bodySigner(signKey, signParameters);
+    }
 }
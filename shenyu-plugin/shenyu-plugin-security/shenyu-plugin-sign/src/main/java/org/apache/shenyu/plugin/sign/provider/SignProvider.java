@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.sign.provider;
 
+import org.apache.shenyu.common.utils.SignUtils;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
 
 public interface SignProvider {
@@ -39,4 +40,15 @@ public interface SignProvider {
      * @return sign
      */
     String generateSign(String signKey, SignParameters signParameters);
+
+    /**
+     * Creates a signer fed with the data before the request body, so the body can be fed in pieces.
+     *
+     * @param signKey        signKey
+     * @param signParameters signParameters
+     * @return signer, null if the body can not be signed in pieces
+     */
+    default SignUtils.Signer bodySigner(String signKey, SignParameters signParameters) {
+        return null;
+    }
 }
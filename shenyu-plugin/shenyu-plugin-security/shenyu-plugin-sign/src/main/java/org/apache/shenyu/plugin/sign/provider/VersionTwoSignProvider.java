@@ -21,6 +21,7 @@ import org.apache.shenyu.common.utils.SignUtils;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -40,6 +41,13 @@ public class VersionTwoSignProvider implements SignProvider {
         return generateSign(signKey, signParameters, null);
     }
 
+    @Override
+    public SignUtils.Signer bodySigner(final String signKey, final SignParameters signParameters) {
+        SignUtils.Signer signer = SignUtils.signer(signParameters.getSignAlg(), signKey);
+        signer.update((signParameters.getParameters() + getRelativeURL(signParameters.getUri())).getBytes(StandardCharsets.UTF_8));
+        return signer;
+    }
+
     private String getRelativeURL(final URI uri) {
         if (Objects.isNull(uri.getQuery())) {
             return uri.getRawPath();
@@ -28,9 +28,11 @@ import org.apache.shenyu.common.dto.AuthPathData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.DateUtils;
+import org.apache.shenyu.common.utils.SignUtils;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.base.utils.PathMatchUtils;
+import org.apache.shenyu.plugin.sign.api.BodySignVerifier;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.apache.shenyu.plugin.sign.api.VerifySupplier;
@@ -101,6 +103,41 @@ public class ComposableSignService implements SignService {
         return signatureVerify(exchange, signProvider::generateSign);
     }
 
+    @Override
+    public BodySignVerifier bodySignVerifier(final ServerWebExchange exchange) {
+
+        final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+        assert shenyuContext != null;
+
+        SignParameters signParameters = extractor.extract(exchange.getRequest());
+
+        AppAuthData appAuthData = Optional.ofNullable(signParameters.getAppKey())
+                .map(key -> SignAuthDataCache.getInstance().obtainAuthData(key))
+                .orElse(null);
+
+        VerifyResult result = VerifySupplier
+                .apply(() -> verifySignParameters(signParameters))
+                .and(() -> verifyExpires(signParameters))
+                .and(() -> verifyAuthConfig(appAuthData, signParameters))
+                .and(() -> verifyPath(appAuthData, signParameters))
+                .verify();
+        if (result.isFailed()) {
+            return BodySignVerifier.failed(result);
+        }
+
+        SignUtils.Signer signer = signProvider.bodySigner(appAuthData.getAppSecret(), signParameters);
+        if (Objects.isNull(signer)) {
+            return null;
+        }
+        return BodySignVerifier.of(signer, sign -> {
+            VerifyResult signResult = verifySign(sign.toUpperCase(), signParameters);
+            if (signResult.isSuccess()) {
+                handleExchange(exchange, appAuthData, shenyuContext);
+            }
+            return signResult;
+        });
+    }
+
     private VerifyResult signatureVerify(final ServerWebExchange exchange, final BiFunction<String, SignParameters, String> signFunction) {
 
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
@@ -194,7 +231,10 @@ public class ComposableSignService implements SignService {
                                     final SignParameters signParameters,
                                     final BiFunction<String, SignParameters, String> signFunction) {
 
-        String sign = signFunction.apply(signKey, signParameters);
+        return verifySign(signFunction.apply(signKey, signParameters), signParameters);
+    }
+
+    private VerifyResult verifySign(final String sign, final SignParameters signParameters) {
 
         boolean result = Objects.equals(sign, signParameters.getSignature());
         if (!result) {
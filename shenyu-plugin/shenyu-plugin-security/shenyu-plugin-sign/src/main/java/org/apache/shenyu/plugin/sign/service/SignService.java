@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.sign.service;
 
+import org.apache.shenyu.plugin.sign.api.BodySignVerifier;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -36,4 +37,13 @@ public interface SignService {
      * @return result
      */
     VerifyResult signatureVerify(ServerWebExchange exchange);
+
+    /**
+     * Gets the verifier of the sign whose request body is fed in pieces.
+     * @param exchange exchange
+     * @return verifier, null if the request body can not be signed in pieces
+     */
+    default BodySignVerifier bodySignVerifier(ServerWebExchange exchange) {
+        return null;
+    }
 }
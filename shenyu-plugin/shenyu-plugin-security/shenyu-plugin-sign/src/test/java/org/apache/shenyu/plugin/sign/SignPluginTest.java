@@ -20,10 +20,12 @@ package org.apache.shenyu.plugin.sign;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.utils.SignUtils;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.sign.api.BodySignVerifier;
 import org.apache.shenyu.plugin.sign.service.SignService;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.apache.shenyu.plugin.sign.handler.SignPluginDataHandler;
@@ -38,21 +40,29 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.reactive.function.server.HandlerStrategies;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -153,6 +163,83 @@ public final class SignPluginTest {
 
     }
 
+    @Test
+    public void testSignPluginStreamBodyPreRead() {
+        this.ruleData.setHandle("{\"signRequestBody\": true, \"streamRequestBody\": true, \"maxPreReadSize\": 1024}");
+        String requestBody = "{\"data\": \"5\"}";
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .method(HttpMethod.POST, "/test")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(requestBody));
+        String sign = SignUtils.sign(SignUtils.SIGN_HS256, "key", requestBody);
+        when(signService.bodySignVerifier(exchange)).thenReturn(BodySignVerifier.of(SignUtils.signer(SignUtils.SIGN_HS256, "key"),
+            generated -> sign.equals(generated) ? VerifyResult.success() : VerifyResult.fail("")));
+        when(this.chain.execute(any())).thenAnswer(invocation -> DataBufferUtils.join(invocation.<ServerWebExchange>getArgument(0).getRequest().getBody())
+            .doOnNext(body -> assertEquals(requestBody, body.toString(StandardCharsets.UTF_8))).then());
+        SelectorData selectorData = mock(SelectorData.class);
+        signPluginDataHandler.handlerRule(ruleData);
+        StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        verify(this.chain).execute(any());
+    }
+
+    @Test
+    public void testSignPluginStreamBodyFailed() {
+        this.ruleData.setHandle("{\"signRequestBody\": true, \"streamRequestBody\": true}");
+        String requestBody = "{\"data\": \"6\"}";
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .method(HttpMethod.POST, "/test")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(requestBody));
+        when(signService.bodySignVerifier(exchange)).thenReturn(BodySignVerifier.of(SignUtils.signer(SignUtils.SIGN_HS256, "key"),
+            generated -> VerifyResult.fail("sign is not right")));
+        // a plugin that never reads the body, such as a cache hit, must not be reached with a wrong sign
+        when(this.chain.execute(any())).thenReturn(Mono.empty());
+        SelectorData selectorData = mock(SelectorData.class);
+        signPluginDataHandler.handlerRule(ruleData);
+        StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        verify(this.chain, never()).execute(any());
+    }
+
+    @Test
+    public void testSignPluginStreamBodyInPieces() {
+        this.ruleData.setHandle("{\"signRequestBody\": true, \"streamRequestBody\": true}");
+        DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+        Flux<DataBuffer> requestBody = Flux.just("{\"data\": ", "\"7\"}")
+                .map(piece -> bufferFactory.wrap(piece.getBytes(StandardCharsets.UTF_8)));
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .method(HttpMethod.POST, "/test")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(requestBody));
+        String sign = SignUtils.sign(SignUtils.SIGN_HS256, "key", "{\"data\": \"7\"}");
+        when(signService.bodySignVerifier(exchange)).thenReturn(BodySignVerifier.of(SignUtils.signer(SignUtils.SIGN_HS256, "key"),
+            generated -> sign.equals(generated) ? VerifyResult.success() : VerifyResult.fail("")));
+        // the original buffers are passed on once the sign is verified
+        when(this.chain.execute(any())).thenAnswer(invocation -> invocation.<ServerWebExchange>getArgument(0).getRequest().getBody()
+            .doOnNext(DataBufferUtils::release).count().doOnNext(count -> assertEquals(2L, count)).then());
+        SelectorData selectorData = mock(SelectorData.class);
+        signPluginDataHandler.handlerRule(ruleData);
+        StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        verify(this.chain).execute(any());
+    }
+
+    @Test
+    public void testSignPluginStreamBodyOverDefaultLimit() {
+        // a max pre-read size not positive falls back to the default limit instead of reading without a bound
+        this.ruleData.setHandle("{\"signRequestBody\": true, \"streamRequestBody\": true, \"maxPreReadSize\": 0}");
+        String requestBody = String.join("", Collections.nCopies(SignRuleHandler.DEFAULT_MAX_PRE_READ_SIZE + 1, "a"));
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .method(HttpMethod.POST, "/test")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(requestBody));
+        when(signService.bodySignVerifier(exchange)).thenReturn(BodySignVerifier.of(SignUtils.signer(SignUtils.SIGN_HS256, "key"),
+            generated -> VerifyResult.success()));
+        when(this.chain.execute(any())).thenReturn(Mono.empty());
+        SelectorData selectorData = mock(SelectorData.class);
+        signPluginDataHandler.handlerRule(ruleData);
+        StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        verify(this.chain, never()).execute(any());
+    }
+
     @AfterEach
     public void clean() throws IOException {
         signPluginDataHandler.removeRule(this.ruleData);
@@ -18,7 +18,6 @@
 package org.apache.shenyu.protocol.mqtt;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttFixedHeader;
@@ -32,8 +31,7 @@ import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
 
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
 
 import static io.netty.handler.codec.mqtt.MqttMessageType.PUBACK;
 
@@ -49,12 +47,11 @@ public class Publish extends MessageType {
         }
         String topic = msg.variableHeader().topicName();
         ByteBuf payload = msg.payload();
-        String message = byteBufToString(payload);
         //// todo qos
         MqttQoS mqttQoS = msg.fixedHeader().qosLevel();
-        Singleton.INST.get(TopicRepository.class).add(topic, message);
+        Singleton.INST.get(TopicRepository.class).add(topic, payload);
         int packetId = msg.variableHeader().packetId();
-        CompletableFuture.runAsync(() -> send(topic, payload, packetId));
+        send(topic, payload, packetId);
 
         switch (mqttQoS.value()) {
             case 0:
@@ -102,26 +99,19 @@ public class Publish extends MessageType {
         ctx.writeAndFlush(mqttPubAckMessage);
     }
 
-    private String byteBufToString(final ByteBuf byteBuf) {
-        if (byteBuf.hasArray()) {
-            return new String(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes());
-        } else {
-            byte[] bytes = new byte[byteBuf.readableBytes()];
-            byteBuf.getBytes(byteBuf.readerIndex(), bytes);
-            return new String(bytes, 0, byteBuf.readableBytes());
-        }
-    }
-
     private void send(final String topic, final ByteBuf payload, final int packetId) {
-        List<Channel> channels = Singleton.INST.get(SubscribeRepository.class).get(topic);
-        //// todo thread pool
-        channels.parallelStream().forEach(channel -> {
+        Set<Channel> channels = Singleton.INST.get(SubscribeRepository.class).get(topic);
+        if (channels.isEmpty()) {
+            return;
+        }
+        // the headers are immutable and shared, every subscriber gets its own view of the payload,
+        // the writes are queued to the event loops of the subscribers
+        MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0);
+        MqttPublishVariableHeader mqttPublishVariableHeader = new MqttPublishVariableHeader(topic, packetId);
+        for (Channel channel : channels) {
             if (channel.isActive()) {
-                MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0);
-                MqttPublishVariableHeader mqttPublishVariableHeader = new MqttPublishVariableHeader(topic, packetId);
-                MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(mqttFixedHeader, mqttPublishVariableHeader, Unpooled.wrappedBuffer(payload));
-                channel.writeAndFlush(mqttPublishMessage);
+                channel.writeAndFlush(new MqttPublishMessage(mqttFixedHeader, mqttPublishVariableHeader, payload.retainedDuplicate()), channel.voidPromise());
             }
-        });
+        }
     }
 }
@@ -17,7 +17,7 @@
 
 package org.apache.shenyu.protocol.mqtt;
 
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttFixedHeader;
@@ -29,14 +29,14 @@ import io.netty.handler.codec.mqtt.MqttSubAckPayload;
 import io.netty.handler.codec.mqtt.MqttSubAckMessage;
 import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
 import io.netty.handler.codec.mqtt.MqttPublishMessage;
-import io.netty.util.CharsetUtil;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
+import org.apache.shenyu.protocol.mqtt.repositories.TopicTrie;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static io.netty.channel.ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE;
@@ -60,37 +60,35 @@ public class Subscribe extends MessageType {
         List<MqttTopicSubscription> mqttTopicSubscriptions = msg.payload().topicSubscriptions();
         int packetId = msg.variableHeader().messageId();
 
-        //// todo Regular match
         List<String> ackTopics = mqttTopicSubscriptions
                 .stream()
                 .filter(topicSub -> topicSub.qualityOfService() != FAILURE)
                 .map(MqttTopicSubscription::topicName)
+                .filter(TopicTrie::isValidFilter)
                 .collect(Collectors.toList());
 
         Singleton.INST.get(SubscribeRepository.class).add(ctx.channel(), mqttTopicSubscriptions);
 
         for (String ackTopic : ackTopics) {
-            String message = Singleton.INST.get(TopicRepository.class).get(ackTopic);
-            if (StringUtils.isNotEmpty(message)) {
-                sendSubMessage(ackTopic, message, packetId, channel);
-            }
+            sendSubMessages(ackTopic, packetId, channel);
         }
 
-        sendSubAckMessage(packetId, ackTopics, channel);
+        sendSubAckMessage(packetId, mqttTopicSubscriptions, channel);
     }
 
     /**
-     * call back request of message.
+     * call back request of message, the invalid topic filters are acked as failure.
      * @param packetId packetId
-     * @param ackTopics ackTopics
+     * @param subscriptions subscriptions
      * @param channel channel
      */
-    private void sendSubAckMessage(final int packetId, final List<String> ackTopics, final Channel channel) {
+    private void sendSubAckMessage(final int packetId, final List<MqttTopicSubscription> subscriptions, final Channel channel) {
 
-        List<Integer> qos = new ArrayList<>();
-        for (int i = 0; i < ackTopics.size(); i++) {
+        List<Integer> qos = new ArrayList<>(subscriptions.size());
+        for (MqttTopicSubscription subscription : subscriptions) {
             // default qos 0
-            qos.add(MqttQoS.AT_MOST_ONCE.value());
+            boolean accepted = subscription.qualityOfService() != FAILURE && TopicTrie.isValidFilter(subscription.topicName());
+            qos.add(accepted ? MqttQoS.AT_MOST_ONCE.value() : FAILURE.value());
         }
 
         MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.SUBACK, false, AT_MOST_ONCE,
@@ -100,6 +98,24 @@ public class Subscribe extends MessageType {
         channel.writeAndFlush(mqttSubAckMessage);
     }
 
+    /**
+     * send the saved messages of the topics matching the topic filter.
+     * @param filter topic filter
+     * @param packetId packetId
+     * @param channel channel
+     */
+    private void sendSubMessages(final String filter, final int packetId, final Channel channel) {
+        TopicRepository topicRepository = Singleton.INST.get(TopicRepository.class);
+        if (!filter.contains("+") && !filter.contains("#")) {
+            ByteBuf message = topicRepository.get(filter);
+            if (Objects.nonNull(message)) {
+                sendSubMessage(filter, message, packetId, channel);
+            }
+            return;
+        }
+        topicRepository.match(filter).forEach((topic, message) -> sendSubMessage(topic, message, packetId, channel));
+    }
+
     /**
      * send subscribe message.
      * @param topic topic
@@ -107,10 +123,10 @@ public class Subscribe extends MessageType {
      * @param packetId packetId
      * @param channel channel
      */
-    private void sendSubMessage(final String topic, final String message, final int packetId, final Channel channel) {
+    private void sendSubMessage(final String topic, final ByteBuf message, final int packetId, final Channel channel) {
         MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, AT_MOST_ONCE, true, 0);
         MqttPublishVariableHeader varHeader = new MqttPublishVariableHeader(topic, packetId);
-        MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(fixedHeader, varHeader, Unpooled.copiedBuffer(message, CharsetUtil.UTF_8));
+        MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(fixedHeader, varHeader, message.retainedDuplicate());
         channel.writeAndFlush(mqttPublishMessage);
     }
 }
@@ -18,34 +18,39 @@
 package org.apache.shenyu.protocol.mqtt.repositories;
 
 import io.netty.channel.Channel;
+import io.netty.handler.codec.mqtt.MqttQoS;
 import io.netty.handler.codec.mqtt.MqttTopicSubscription;
+import io.netty.util.AttributeKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * Topic and channel association.
+ * the topic filters are kept in a {@link TopicTrie} so the wildcards are matched when a message is published,
+ * and the filters of a channel are kept on the channel so they can be removed when it is closed.
  */
 public class SubscribeRepository implements BaseRepository<List<String>, List<Channel>> {
 
     private static final Logger LOG = LoggerFactory.getLogger(SubscribeRepository.class);
 
-    private static final Map<String, List<Channel>> TOPIC_CHANNEL_FACTORY = new ConcurrentHashMap<>();
+    private static final TopicTrie TOPIC_TRIE = new TopicTrie();
+
+    private static final AttributeKey<Set<String>> SUBSCRIPTIONS = AttributeKey.valueOf("shenyuMqttSubscriptions");
 
     @Override
     public void add(final List<String> topics, final List<Channel> channels) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(s -> {
-            List<Channel> list = get(s);
-            list.addAll(channels);
-            TOPIC_CHANNEL_FACTORY.put(s, list);
-        }));
+        for (String topic : topics) {
+            for (Channel channel : channels) {
+                subscribe(channel, topic);
+            }
+        }
     }
 
     /**
@@ -54,16 +59,16 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @param mqttTopicSubscription mqtt subscription info
      */
     public void add(final Channel channel, final List<MqttTopicSubscription> mqttTopicSubscription) {
-        CompletableFuture.runAsync(() -> mqttTopicSubscription.parallelStream().forEach(s -> {
-            List<Channel> channels = get(s.topicName());
-            channels.add(channel);
-            TOPIC_CHANNEL_FACTORY.put(s.topicName(), channels);
-        }));
+        for (MqttTopicSubscription subscription : mqttTopicSubscription) {
+            if (subscription.qualityOfService() != MqttQoS.FAILURE) {
+                subscribe(channel, subscription.topicName());
+            }
+        }
     }
 
     @Override
     public void remove(final List<String> topics) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(TOPIC_CHANNEL_FACTORY::remove));
+        topics.forEach(TOPIC_TRIE::unsubscribeAll);
     }
 
     /**
@@ -72,23 +77,55 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @param channel channel
      */
     public void remove(final List<String> topics, final Channel channel) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(topic -> TOPIC_CHANNEL_FACTORY.get(topic).remove(channel)));
+        Set<String> subscriptions = channel.attr(SUBSCRIPTIONS).get();
+        for (String topic : topics) {
+            TOPIC_TRIE.unsubscribe(topic, channel);
+            if (Objects.nonNull(subscriptions)) {
+                subscriptions.remove(topic);
+            }
+        }
+    }
+
+    /**
+     * remove all the subscriptions of the channel.
+     * @param channel channel
+     */
+    public void remove(final Channel channel) {
+        Set<String> subscriptions = channel.attr(SUBSCRIPTIONS).getAndSet(null);
+        if (Objects.nonNull(subscriptions)) {
+            subscriptions.forEach(topic -> TOPIC_TRIE.unsubscribe(topic, channel));
+        }
     }
 
     @Override
     public List<Channel> get(final List<String> topics) {
-        Set<Channel> channels = new CopyOnWriteArraySet<>();
-        topics.parallelStream().forEach(s -> channels.addAll(TOPIC_CHANNEL_FACTORY.get(s)));
-        return new CopyOnWriteArrayList<>(channels);
+        Set<Channel> channels = new LinkedHashSet<>();
+        topics.forEach(topic -> channels.addAll(TOPIC_TRIE.match(topic)));
+        return new ArrayList<>(channels);
     }
 
     /**
-     * get Channels.
+     * get Channels subscribed to a filter matching the topic.
      * @param topic topic
      * @return Channels
      */
-    public List<Channel> get(final String topic) {
-        return TOPIC_CHANNEL_FACTORY.getOrDefault(topic, new CopyOnWriteArrayList<>());
+    public Set<Channel> get(final String topic) {
+        return TOPIC_TRIE.match(topic);
+    }
+
+    private void subscribe(final Channel channel, final String topic) {
+        if (!TopicTrie.isValidFilter(topic)) {
+            LOG.warn("shenyu mqtt ignore the invalid topic filter {}", topic);
+            return;
+        }
+        Set<String> subscriptions = channel.attr(SUBSCRIPTIONS).get();
+        if (Objects.isNull(subscriptions)) {
+            Set<String> created = ConcurrentHashMap.newKeySet();
+            subscriptions = channel.attr(SUBSCRIPTIONS).setIfAbsent(created);
+            subscriptions = Objects.isNull(subscriptions) ? created : subscriptions;
+        }
+        subscriptions.add(topic);
+        TOPIC_TRIE.subscribe(topic, channel);
     }
 
 }
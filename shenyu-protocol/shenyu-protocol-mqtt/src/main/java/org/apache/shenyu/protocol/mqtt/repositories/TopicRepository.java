@@ -17,23 +17,29 @@
 
 package org.apache.shenyu.protocol.mqtt.repositories;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Topic repository.
  * Save the posted message.
+ * the payload is copied once into an unpooled heap buffer, so the received frame is not held,
+ * the subscribers are sent retained duplicates of it and the replaced buffer is left to the garbage collector,
+ * as a reader may still be duplicating it.
  * {@link org.apache.shenyu.protocol.mqtt.agent.MessageAgent}
  */
-public class TopicRepository implements BaseRepository<String, String> {
+public class TopicRepository implements BaseRepository<String, ByteBuf> {
 
-    private static final Map<String, String> TOPIC_FACTORY = new ConcurrentHashMap<>();
+    private static final Map<String, ByteBuf> TOPIC_FACTORY = new ConcurrentHashMap<>();
 
     @Override
-    public void add(final String topic, final String message) {
+    public void add(final String topic, final ByteBuf message) {
         //// todo MessageAgent.java. Carry out message processing and processing
-        CompletableFuture.runAsync(() -> TOPIC_FACTORY.put(topic, message));
+        TOPIC_FACTORY.put(topic, Unpooled.copiedBuffer(message));
     }
 
     @Override
@@ -42,8 +48,23 @@ public class TopicRepository implements BaseRepository<String, String> {
     }
 
     @Override
-    public String get(final String topic) {
+    public ByteBuf get(final String topic) {
         return TOPIC_FACTORY.getOrDefault(topic, null);
     }
 
+    /**
+     * get the messages of the topics matching the topic filter.
+     * @param filter topic filter
+     * @return the messages by topic
+     */
+    public Map<String, ByteBuf> match(final String filter) {
+        Map<String, ByteBuf> messages = new HashMap<>();
+        TOPIC_FACTORY.forEach((topic, message) -> {
+            if (TopicTrie.matches(filter, topic)) {
+                messages.put(topic, message);
+            }
+        });
+        return messages;
+    }
+
 }
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.repositories;
+
+import io.netty.channel.Channel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The topic filters indexed by level, matched with the mqtt {@code +} and {@code #} wildcards.
+ * the matching reads the trie without locking, the subscribes and unsubscribes are serialized
+ * and replace the channel set of a filter with a new one, so a matching never sees a set changing.
+ */
+public class TopicTrie {
+
+    private static final String LEVEL_SEPARATOR = "/";
+
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private final Node root = new Node(null);
+
+    /**
+     * Whether the topic filter is valid, {@code #} must be the last level and the wildcards must be a whole level.
+     *
+     * @param filter the topic filter
+     * @return true if valid
+     */
+    public static boolean isValidFilter(final String filter) {
+        if (Objects.isNull(filter) || filter.isEmpty()) {
+            return false;
+        }
+        String[] levels = filter.split(LEVEL_SEPARATOR, -1);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            if (MULTI_LEVEL_WILDCARD.equals(level) && i != levels.length - 1) {
+                return false;
+            }
+            if (level.length() > 1 && (level.contains(SINGLE_LEVEL_WILDCARD) || level.contains(MULTI_LEVEL_WILDCARD))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the topic name matches the topic filter.
+     *
+     * @param filter the topic filter
+     * @param topic the topic name
+     * @return true if matched
+     */
+    public static boolean matches(final String filter, final String topic) {
+        String[] filterLevels = filter.split(LEVEL_SEPARATOR, -1);
+        String[] topicLevels = topic.split(LEVEL_SEPARATOR, -1);
+        if (isSystemTopic(topicLevels) && isWildcard(filterLevels[0])) {
+            return false;
+        }
+        for (int i = 0; i < filterLevels.length; i++) {
+            if (MULTI_LEVEL_WILDCARD.equals(filterLevels[i])) {
+                return true;
+            }
+            if (i >= topicLevels.length || !SINGLE_LEVEL_WILDCARD.equals(filterLevels[i]) && !filterLevels[i].equals(topicLevels[i])) {
+                return false;
+            }
+        }
+        return filterLevels.length == topicLevels.length;
+    }
+
+    /**
+     * Subscribe the channel to the topic filter.
+     *
+     * @param filter the topic filter
+     * @param channel the channel
+     */
+    public synchronized void subscribe(final String filter, final Channel channel) {
+        Node node = root;
+        for (String level : filter.split(LEVEL_SEPARATOR, -1)) {
+            node = node.children.computeIfAbsent(level, key -> new Node(key));
+        }
+        if (node.channels.contains(channel)) {
+            return;
+        }
+        Set<Channel> channels = new HashSet<>(node.channels);
+        channels.add(channel);
+        node.channels = Collections.unmodifiableSet(channels);
+    }
+
+    /**
+     * Unsubscribe the channel from the topic filter, the levels no longer used are dropped.
+     *
+     * @param filter the topic filter
+     * @param channel the channel
+     */
+    public synchronized void unsubscribe(final String filter, final Channel channel) {
+        Node leaf = find(filter);
+        if (Objects.isNull(leaf) || !leaf.channels.contains(channel)) {
+            return;
+        }
+        Set<Channel> channels = new HashSet<>(leaf.channels);
+        channels.remove(channel);
+        leaf.channels = channels.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(channels);
+        prune(filter);
+    }
+
+    /**
+     * Unsubscribe all the channels from the topic filter.
+     *
+     * @param filter the topic filter
+     */
+    public synchronized void unsubscribeAll(final String filter) {
+        Node leaf = find(filter);
+        if (Objects.isNull(leaf)) {
+            return;
+        }
+        leaf.channels = Collections.emptySet();
+        prune(filter);
+    }
+
+    /**
+     * The channels subscribed to a filter matching the topic name, a channel is returned once
+     * even if several of its filters match.
+     *
+     * @param topic the topic name
+     * @return the channels
+     */
+    public Set<Channel> match(final String topic) {
+        String[] levels = topic.split(LEVEL_SEPARATOR, -1);
+        Set<Channel> result = new HashSet<>();
+        match(root, levels, 0, !isSystemTopic(levels), result);
+        return result;
+    }
+
+    private void match(final Node node, final String[] levels, final int index, final boolean wildcards, final Set<Channel> result) {
+        if (wildcards) {
+            // "a/#" also matches "a"
+            addAll(node.children.get(MULTI_LEVEL_WILDCARD), result);
+        }
+        if (index == levels.length) {
+            result.addAll(node.channels);
+            return;
+        }
+        if (wildcards) {
+            Node single = node.children.get(SINGLE_LEVEL_WILDCARD);
+            if (Objects.nonNull(single)) {
+                match(single, levels, index + 1, true, result);
+            }
+        }
+        Node exact = node.children.get(levels[index]);
+        if (Objects.nonNull(exact)) {
+            match(exact, levels, index + 1, true, result);
+        }
+    }
+
+    private static void addAll(final Node node, final Collection<Channel> result) {
+        if (Objects.nonNull(node)) {
+            result.addAll(node.channels);
+        }
+    }
+
+    private Node find(final String filter) {
+        Node node = root;
+        for (String level : filter.split(LEVEL_SEPARATOR, -1)) {
+            node = node.children.get(level);
+            if (Objects.isNull(node)) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private void prune(final String filter) {
+        String[] levels = filter.split(LEVEL_SEPARATOR, -1);
+        Node[] path = new Node[levels.length + 1];
+        path[0] = root;
+        for (int i = 0; i < levels.length; i++) {
+            path[i + 1] = path[i].children.get(levels[i]);
+        }
+        for (int i = levels.length; i > 0; i--) {
+            Node node = path[i];
+            if (!node.channels.isEmpty() || !node.children.isEmpty()) {
+                return;
+            }
+            path[i - 1].children.remove(node.level, node);
+        }
+    }
+
+    private static boolean isSystemTopic(final String[] levels) {
+        // the wildcards of the first level do not match the topics starting with "$"
+        return levels[0].startsWith("$");
+    }
+
+    private static boolean isWildcard(final String level) {
+        return SINGLE_LEVEL_WILDCARD.equals(level) || MULTI_LEVEL_WILDCARD.equals(level);
+    }
+
+    private static final class Node {
+
+        private final String level;
+
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+
+        private volatile Set<Channel> channels = Collections.emptySet();
+
+        Node(final String level) {
+            this.level = level;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.repositories;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.mqtt.MqttFixedHeader;
+import io.netty.handler.codec.mqtt.MqttMessageType;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.protocol.mqtt.MqttTransportHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The Test Case For TopicTrie.
+ */
+public final class TopicTrieTest {
+
+    private TopicTrie topicTrie;
+
+    private EmbeddedChannel first;
+
+    private EmbeddedChannel second;
+
+    @BeforeEach
+    public void setUp() {
+        topicTrie = new TopicTrie();
+        first = new EmbeddedChannel();
+        second = new EmbeddedChannel();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        first.finishAndReleaseAll();
+        second.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testSingleLevelWildcard() {
+        topicTrie.subscribe("a/+/c", first);
+        topicTrie.subscribe("+", second);
+        assertEquals(Collections.singleton(first), topicTrie.match("a/b/c"));
+        assertTrue(topicTrie.match("a/b").isEmpty());
+        assertTrue(topicTrie.match("a/b/c/d").isEmpty());
+        assertEquals(Collections.singleton(second), topicTrie.match("a"));
+        assertTrue(TopicTrie.matches("a/+/c", "a/b/c"));
+        assertTrue(TopicTrie.matches("a/+", "a/"));
+        assertFalse(TopicTrie.matches("a/+/c", "a/b/d"));
+    }
+
+    @Test
+    public void testMultiLevelWildcard() {
+        topicTrie.subscribe("a/#", first);
+        topicTrie.subscribe("#", second);
+        assertEquals(2, topicTrie.match("a").size());
+        assertEquals(2, topicTrie.match("a/b/c").size());
+        assertEquals(Collections.singleton(second), topicTrie.match("b"));
+        assertTrue(TopicTrie.matches("a/#", "a"));
+        assertTrue(TopicTrie.matches("a/#", "a/b/c"));
+        assertFalse(TopicTrie.matches("a/#", "b"));
+    }
+
+    @Test
+    public void testChannelMatchedOnce() {
+        topicTrie.subscribe("a/+", first);
+        topicTrie.subscribe("a/#", first);
+        topicTrie.subscribe("a/b", first);
+        assertEquals(Collections.singleton(first), topicTrie.match("a/b"));
+    }
+
+    @Test
+    public void testSystemTopic() {
+        topicTrie.subscribe("#", first);
+        topicTrie.subscribe("+/info", first);
+        topicTrie.subscribe("$SYS/#", second);
+        assertEquals(Collections.singleton(second), topicTrie.match("$SYS/info"));
+        assertFalse(TopicTrie.matches("#", "$SYS/info"));
+        assertFalse(TopicTrie.matches("+/info", "$SYS/info"));
+        assertTrue(TopicTrie.matches("$SYS/+", "$SYS/info"));
+        // only the first level is excluded
+        topicTrie.subscribe("$SYS/+", second);
+        assertEquals(Collections.singleton(second), topicTrie.match("$SYS/broker"));
+    }
+
+    @Test
+    public void testIsValidFilter() {
+        assertTrue(TopicTrie.isValidFilter("#"));
+        assertTrue(TopicTrie.isValidFilter("+"));
+        assertTrue(TopicTrie.isValidFilter("a/+/c"));
+        assertTrue(TopicTrie.isValidFilter("a/#"));
+        assertTrue(TopicTrie.isValidFilter("/"));
+        assertFalse(TopicTrie.isValidFilter(null));
+        assertFalse(TopicTrie.isValidFilter(""));
+        assertFalse(TopicTrie.isValidFilter("a/#/c"));
+        assertFalse(TopicTrie.isValidFilter("a#"));
+        assertFalse(TopicTrie.isValidFilter("a/b+"));
+        assertFalse(TopicTrie.isValidFilter("+a/b"));
+    }
+
+    @Test
+    public void testUnsubscribePrunesUnusedLevels() throws Exception {
+        topicTrie.subscribe("a/b/c", first);
+        topicTrie.subscribe("a/b", second);
+        topicTrie.subscribe("x/y", first);
+
+        topicTrie.unsubscribe("a/b/c", first);
+        assertTrue(topicTrie.match("a/b/c").isEmpty());
+        assertEquals(Collections.singleton(second), topicTrie.match("a/b"));
+        assertEquals(2, rootChildren(topicTrie).size());
+
+        topicTrie.unsubscribe("a/b", second);
+        assertEquals(1, rootChildren(topicTrie).size());
+        assertFalse(rootChildren(topicTrie).containsKey("a"));
+
+        topicTrie.subscribe("x/y", second);
+        topicTrie.unsubscribeAll("x/y");
+        assertTrue(topicTrie.match("x/y").isEmpty());
+        assertTrue(rootChildren(topicTrie).isEmpty());
+    }
+
+    @Test
+    public void testPayloadReleasedAfterFanOut() {
+        Singleton.INST.single(TopicRepository.class, new TopicRepository());
+        SubscribeRepository subscribeRepository = new SubscribeRepository();
+        Singleton.INST.single(SubscribeRepository.class, subscribeRepository);
+        subscribeRepository.add(Collections.singletonList("fan-out/+"), Collections.singletonList(first));
+        subscribeRepository.add(Collections.singletonList("fan-out/#"), Collections.singletonList(second));
+        EmbeddedChannel publisher = new EmbeddedChannel(new MqttTransportHandler());
+        try {
+            ByteBuf payload = Unpooled.buffer().writeBytes("hello".getBytes(StandardCharsets.UTF_8));
+            MqttPublishMessage message = new MqttPublishMessage(new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0),
+                    new MqttPublishVariableHeader("fan-out/a", 1), payload);
+            publisher.writeInbound(message);
+            // the inbound message is released, every subscriber holds its own retained view
+            assertEquals(2, payload.refCnt());
+
+            MqttPublishMessage firstMessage = first.readOutbound();
+            MqttPublishMessage secondMessage = second.readOutbound();
+            assertEquals("hello", firstMessage.payload().toString(StandardCharsets.UTF_8));
+            assertEquals("hello", secondMessage.payload().toString(StandardCharsets.UTF_8));
+            firstMessage.release();
+            secondMessage.release();
+            assertEquals(0, payload.refCnt());
+        } finally {
+            subscribeRepository.remove(first);
+            subscribeRepository.remove(second);
+            publisher.finishAndReleaseAll();
+        }
+    }
+
+    private static Map<?, ?> rootChildren(final TopicTrie topicTrie) throws Exception {
+        Field rootField = TopicTrie.class.getDeclaredField("root");
+        rootField.setAccessible(true);
+        Object root = rootField.get(topicTrie);
+        Field childrenField = root.getClass().getDeclaredField("children");
+        childrenField.setAccessible(true);
+        return (Map<?, ?>) childrenField.get(root);
+    }
+}
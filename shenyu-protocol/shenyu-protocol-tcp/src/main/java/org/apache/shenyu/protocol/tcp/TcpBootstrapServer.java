@@ -21,10 +21,12 @@ import com.google.common.eventbus.EventBus;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import org.apache.shenyu.common.dto.DiscoveryUpstreamData;
+import org.apache.shenyu.common.instrument.TcpProxyInstrumentation;
 import org.apache.shenyu.protocol.tcp.connection.ActivityConnectionObserver;
 import org.apache.shenyu.protocol.tcp.connection.Bridge;
 import org.apache.shenyu.protocol.tcp.connection.ConnectionContext;
 import org.apache.shenyu.protocol.tcp.connection.DefaultConnectionConfigProvider;
+import org.apache.shenyu.protocol.tcp.connection.DirectConnectionBridge;
 import org.apache.shenyu.protocol.tcp.connection.TcpConnectionBridge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +46,16 @@ import java.util.List;
 public class TcpBootstrapServer implements BootstrapServer {
     private static final Logger LOG = LoggerFactory.getLogger(TcpBootstrapServer.class);
 
+    /**
+     * the bytes are piped through the reactive streams, every connection and byte is logged.
+     */
+    private static final String DEBUG_PROXY_MODE = "debug";
+
+    /**
+     * the bytes are relayed without copying or logging, the connections and bytes are reported as metrics.
+     */
+    private static final String PRODUCTION_PROXY_MODE = "production";
+
     private Bridge bridge;
 
     private ConnectionContext connectionContext;
@@ -52,6 +64,12 @@ public class TcpBootstrapServer implements BootstrapServer {
 
     private DisposableServer server;
 
+    private ActivityConnectionObserver connectionObserver;
+
+    private String proxyName;
+
+    private boolean production;
+
     private final EventBus eventBus;
 
     public TcpBootstrapServer(final EventBus eventBus) {
@@ -63,30 +81,60 @@ public class TcpBootstrapServer implements BootstrapServer {
         final String loadBalanceAlgorithm = tcpServerConfiguration.getProps().getOrDefault("loadBalance", "random").toString();
         final String bossGroupThreadCount = tcpServerConfiguration.getProps().getOrDefault("bossGroupThreadCount", "1").toString();
         final String workerGroupThreadCount = tcpServerConfiguration.getProps().getOrDefault("workerGroupThreadCount", "12").toString();
+        final String proxyMode = tcpServerConfiguration.getProps().getOrDefault("proxyMode", DEBUG_PROXY_MODE).toString();
+        final boolean preferNative = Boolean.parseBoolean(tcpServerConfiguration.getProps().getOrDefault("nativeTransport", "false").toString());
+        proxyName = tcpServerConfiguration.getPluginSelectorName();
+        production = PRODUCTION_PROXY_MODE.equals(proxyMode);
         DefaultConnectionConfigProvider connectionConfigProvider = new DefaultConnectionConfigProvider(loadBalanceAlgorithm, tcpServerConfiguration.getPluginSelectorName());
-        this.bridge = new TcpConnectionBridge();
-        connectionContext = new ConnectionContext(connectionConfigProvider);
-        connectionContext.init(tcpServerConfiguration.getProps());
+        this.bridge = production ? new DirectConnectionBridge(proxyName) : new TcpConnectionBridge();
         loopResources = LoopResources.create("shenyu-tcp-bootstrap-server-" + tcpServerConfiguration.getPort(), Integer.parseInt(bossGroupThreadCount),
                 Integer.parseInt(workerGroupThreadCount), true);
-        TcpServer tcpServer = TcpServer.create()
-                .doOnChannelInit((connObserver, channel, remoteAddress) -> channel.pipeline().addFirst(new LoggingHandler(LogLevel.INFO)))
-                .wiretap(true)
-                .observe((c, s) -> LOG.info("connection={}|status={}", c, s))
+        connectionContext = new ConnectionContext(connectionConfigProvider);
+        if (production) {
+            // the upstream connections are created on the event loop of the client connection
+            connectionContext.init(tcpServerConfiguration.getProps(), loopResources, preferNative);
+        } else {
+            connectionContext.init(tcpServerConfiguration.getProps());
+        }
+        // one observer tracks the upstream connections of the server, so the removed upstreams can be disconnected
+        connectionObserver = new ActivityConnectionObserver("TcpClient");
+        eventBus.register(connectionObserver);
+        TcpServer tcpServer = TcpServer.create();
+        if (!production) {
+            tcpServer = tcpServer.doOnChannelInit((connObserver, channel, remoteAddress) -> channel.pipeline().addFirst(new LoggingHandler(LogLevel.INFO)))
+                    .wiretap(true)
+                    .observe((c, s) -> LOG.info("connection={}|status={}", c, s));
+        }
+        tcpServer = tcpServer
                 //.childObserve(connectionObserver)
                 .doOnConnection(this::bridgeConnections)
                 .port(tcpServerConfiguration.getPort())
-                .runOn(loopResources);
+                .runOn(loopResources, preferNative);
         server = tcpServer.bindNow();
     }
 
     private void bridgeConnections(final Connection serverConn) {
-        LOG.info("Starting proxy client ={}", serverConn);
+        if (!production) {
+            LOG.info("Starting proxy client ={}", serverConn);
+        }
         SocketAddress socketAddress = serverConn.channel().remoteAddress();
-        ActivityConnectionObserver connectionObserver = new ActivityConnectionObserver("TcpClient");
-        eventBus.register(connectionObserver);
         Mono<Connection> client = connectionContext.getTcpClientConnection(getIp(socketAddress), connectionObserver);
-        client.subscribe(clientConn -> bridge.bridge(serverConn, clientConn));
+        if (!production) {
+            client.subscribe(clientConn -> bridge.bridge(serverConn, clientConn));
+            return;
+        }
+        long start = System.nanoTime();
+        client.subscribe(clientConn -> {
+            long connectedAt = System.nanoTime();
+            // only a connection counted on connect is taken off the active connections on close
+            boolean counted = TcpProxyInstrumentation.getInstance().recordConnect(proxyName, connectedAt - start);
+            serverConn.onDispose(() -> TcpProxyInstrumentation.getInstance().recordClose(proxyName, System.nanoTime() - connectedAt, counted));
+            bridge.bridge(serverConn, clientConn);
+        }, error -> {
+            TcpProxyInstrumentation.getInstance().recordConnectError(proxyName);
+            LOG.warn("shenyu tcp proxy {} failed to connect the upstream", proxyName, error);
+            serverConn.dispose();
+        });
     }
 
     private String getIp(final SocketAddress socketAddress) {
@@ -114,6 +162,8 @@ public class TcpBootstrapServer implements BootstrapServer {
     @Override
     public void shutdown() {
         server.disposeNow();
+        eventBus.unregister(connectionObserver);
+        connectionContext.dispose();
         loopResources.dispose();
     }
 
@@ -17,12 +17,15 @@
 
 package org.apache.shenyu.protocol.tcp.connection;
 
+import io.netty.channel.ChannelOption;
 import reactor.core.publisher.Mono;
 import reactor.netty.Connection;
 import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
 import reactor.netty.tcp.TcpClient;
 
 import java.time.Duration;
+import java.util.Objects;
 import java.util.Properties;
 
 /**
@@ -34,6 +37,8 @@ public class ConnectionContext {
 
     private ConnectionProvider connectionProvider;
 
+    private TcpClient tcpClient;
+
     public ConnectionContext(final ClientConnectionConfigProvider connectionConfigProvider) {
         this.connectionConfigProvider = connectionConfigProvider;
     }
@@ -44,6 +49,18 @@ public class ConnectionContext {
      * @param props props
      */
     public void init(final Properties props) {
+        init(props, null, false);
+    }
+
+    /**
+     * init, the upstream connections run on the loop resources of the server if given,
+     * so the two sides of a proxied connection share an event loop.
+     *
+     * @param props         props
+     * @param loopResources the loop resources of the server, the default if null
+     * @param preferNative  whether to use the native transport, such as epoll, if available
+     */
+    public void init(final Properties props, final LoopResources loopResources, final boolean preferNative) {
         final String tcpProxyClientName = "shenyu-tcp-connection-pool-client";
         final String maxConnections = props.getProperty("clientMaxConnections", "20");
         final String maxIdleTimeMs = props.getProperty("clientMaxIdleTimeMs", "30000");
@@ -57,6 +74,9 @@ public class ConnectionContext {
                 .maxIdleTime(Duration.ofMillis(Integer.parseInt(maxIdleTimeMs)))
                 .maxLifeTime(Duration.ofMillis(Integer.parseInt(maxLifeTimeMs)))
                 .build();
+        TcpClient client = TcpClient.create(connectionProvider)
+                .option(ChannelOption.TCP_NODELAY, true);
+        tcpClient = Objects.isNull(loopResources) ? client : client.runOn(loopResources, preferNative);
     }
 
     /**
@@ -69,12 +89,20 @@ public class ConnectionContext {
     public Mono<Connection> getTcpClientConnection(final String ip, final ActivityConnectionObserver observer) {
         return Mono.just(connectionConfigProvider.getProxiedService(ip))
                 .flatMap(url ->
-                        TcpClient.create(connectionProvider)
-                                .host(url.getHost())
+                        tcpClient.host(url.getHost())
                                 .port(url.getPort())
                                 .observe(observer)
                                 .connect()
                 );
     }
 
+    /**
+     * dispose the upstream connection pool.
+     */
+    public void dispose() {
+        if (Objects.nonNull(connectionProvider)) {
+            connectionProvider.disposeLater().subscribe();
+        }
+    }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+import org.apache.shenyu.common.instrument.TcpProxyInstrumentation;
+import reactor.netty.Connection;
+
+/**
+ * The bridge of the production proxy mode, the bytes are relayed by a netty handler on each side
+ * instead of a reactive stream, see {@link RelayHandler}.
+ */
+public class DirectConnectionBridge implements Bridge {
+
+    private static final String RELAY_HANDLER = "shenyuTcpRelay";
+
+    private final String proxyName;
+
+    public DirectConnectionBridge(final String proxyName) {
+        this.proxyName = proxyName;
+    }
+
+    @Override
+    public void bridge(final Connection server, final Connection client) {
+        server.addHandlerLast(RELAY_HANDLER, new RelayHandler(client.channel(), proxyName, TcpProxyInstrumentation.Direction.UPSTREAM));
+        client.addHandlerLast(RELAY_HANDLER, new RelayHandler(server.channel(), proxyName, TcpProxyInstrumentation.Direction.DOWNSTREAM));
+        server.onDispose(client.channel()::close);
+        client.onDispose(server.channel()::close);
+        // the reactive inbound is never subscribed, so the reads are driven by the relay
+        server.channel().config().setAutoRead(true);
+        client.channel().config().setAutoRead(true);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.shenyu.common.instrument.TcpProxyInstrumentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Relay the reads of a channel to its peer channel as they are, the buffers are handed over without copying.
+ * the peer is flushed once per read batch, and the reads of the peer are paused while this channel
+ * is not writable, so a slow side holds the other side back instead of queueing in memory.
+ */
+class RelayHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RelayHandler.class);
+
+    private final Channel peer;
+
+    private final String proxyName;
+
+    private final TcpProxyInstrumentation.Direction direction;
+
+    private long unreportedBytes;
+
+    RelayHandler(final Channel peer, final String proxyName, final TcpProxyInstrumentation.Direction direction) {
+        this.peer = peer;
+        this.proxyName = proxyName;
+        this.direction = direction;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (!peer.isActive()) {
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        if (msg instanceof ByteBuf) {
+            unreportedBytes += ((ByteBuf) msg).readableBytes();
+        }
+        peer.write(msg, peer.voidPromise());
+    }
+
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext ctx) {
+        peer.flush();
+        reportBytes();
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+        // this channel is the one written by the peer's relay
+        peer.config().setAutoRead(ctx.channel().isWritable());
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) {
+        reportBytes();
+        if (peer.isActive()) {
+            peer.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+        }
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        LOG.debug("shenyu tcp proxy {} relay {} error, close the connection", proxyName, direction, cause);
+        ctx.close();
+    }
+
+    private void reportBytes() {
+        if (unreportedBytes > 0 && TcpProxyInstrumentation.getInstance().hasListeners()) {
+            TcpProxyInstrumentation.getInstance().recordBytes(proxyName, direction, unreportedBytes);
+        }
+        unreportedBytes = 0;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.shenyu.common.instrument.TcpProxyInstrumentation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The Test Case For RelayHandler.
+ */
+public final class RelayHandlerTest {
+
+    private static final String PROXY = "tcp-proxy";
+
+    private final AtomicLong upstreamBytes = new AtomicLong();
+
+    private final TcpProxyInstrumentation.Listener listener = new TcpProxyInstrumentation.Listener() {
+
+        @Override
+        public void onBytes(final String proxy, final TcpProxyInstrumentation.Direction direction, final long count) {
+            if (PROXY.equals(proxy) && direction == TcpProxyInstrumentation.Direction.UPSTREAM) {
+                upstreamBytes.addAndGet(count);
+            }
+        }
+    };
+
+    private EmbeddedChannel peer;
+
+    private EmbeddedChannel source;
+
+    @BeforeEach
+    public void setUp() {
+        TcpProxyInstrumentation.getInstance().addListener(listener);
+        peer = new EmbeddedChannel();
+        source = new EmbeddedChannel(new RelayHandler(peer, PROXY, TcpProxyInstrumentation.Direction.UPSTREAM));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TcpProxyInstrumentation.getInstance().removeListener(listener);
+        source.finishAndReleaseAll();
+        peer.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testRelay() {
+        ByteBuf buf = Unpooled.copiedBuffer(new byte[]{1, 2, 3, 4});
+        source.writeInbound(buf);
+        assertSame(buf, peer.readOutbound());
+        assertEquals(1, buf.refCnt());
+        assertEquals(4, upstreamBytes.get());
+        buf.release();
+
+        source.close();
+        peer.runPendingTasks();
+        assertFalse(peer.isActive());
+    }
+
+    @Test
+    public void testReleaseWhenPeerInactive() {
+        peer.close();
+        ByteBuf buf = Unpooled.copiedBuffer(new byte[]{1, 2, 3, 4});
+        source.writeInbound(buf);
+        assertEquals(0, buf.refCnt());
+        assertNull(peer.readOutbound());
+        assertEquals(0, upstreamBytes.get());
+    }
+
+    @Test
+    public void testAutoReadFollowsWritability() {
+        source.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 8));
+        source.write(Unpooled.copiedBuffer(new byte[16]));
+        source.runPendingTasks();
+        assertFalse(source.isWritable());
+        assertFalse(peer.config().isAutoRead());
+
+        source.flush();
+        source.runPendingTasks();
+        assertTrue(source.isWritable());
+        assertTrue(peer.config().isAutoRead());
+        ByteBuf written = source.readOutbound();
+        written.release();
+    }
+}
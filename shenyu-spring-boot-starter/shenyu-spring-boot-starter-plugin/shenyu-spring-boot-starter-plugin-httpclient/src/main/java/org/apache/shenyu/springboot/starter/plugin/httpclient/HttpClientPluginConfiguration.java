@@ -123,7 +123,7 @@ public class HttpClientPluginConfiguration {
                             .build())
                     .clientConnector(new ReactorClientHttpConnector(Objects.requireNonNull(httpClient.getIfAvailable())))
                     .build();
-            return new WebClientPlugin(webClient, responseHeaderProperties);
+            return new WebClientPlugin(webClient, responseHeaderProperties, properties.getBodyReplay());
         }
     }
 
@@ -137,13 +137,15 @@ public class HttpClientPluginConfiguration {
         /**
          * Netty http client plugin.
          *
+         * @param properties the http client properties
          * @param httpClient the http client
          * @return the shenyu plugin
          */
         @Bean
-        public ShenyuPlugin nettyHttpClientPlugin(final ObjectProvider<HttpClient> httpClient,
+        public ShenyuPlugin nettyHttpClientPlugin(final HttpClientProperties properties,
+                                                  final ObjectProvider<HttpClient> httpClient,
                                                   final DuplicateResponseHeaderProperties responseHeaderProperties) {
-            return new NettyHttpClientPlugin(httpClient.getIfAvailable(), responseHeaderProperties);
+            return new NettyHttpClientPlugin(httpClient.getIfAvailable(), responseHeaderProperties, properties.getBodyReplay());
         }
     }
 }
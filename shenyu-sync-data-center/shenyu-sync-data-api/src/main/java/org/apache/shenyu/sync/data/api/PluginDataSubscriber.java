@@ -79,6 +79,17 @@ public interface PluginDataSubscriber {
     default void refreshSelectorDataAll() {
     }
     
+    /**
+     * Replace all selector data with the selector data list.
+     * the default implementation clears all the selector data, then subscribes the list one by one.
+     *
+     * @param selectorDataList the selector data list
+     */
+    default void replaceSelectorDataAll(List<SelectorData> selectorDataList) {
+        refreshSelectorDataAll();
+        selectorDataList.forEach(this::onSelectorSubscribe);
+    }
+    
     /**
      * Refresh selector data.
      *
@@ -109,6 +120,17 @@ public interface PluginDataSubscriber {
     default void refreshRuleDataAll() {
     }
     
+    /**
+     * Replace all rule data with the rule data list.
+     * the default implementation clears all the rule data, then subscribes the list one by one.
+     *
+     * @param ruleDataList the rule data list
+     */
+    default void replaceRuleDataAll(List<RuleData> ruleDataList) {
+        refreshRuleDataAll();
+        ruleDataList.forEach(this::onRuleSubscribe);
+    }
+    
     /**
      * Refresh rule data self.
      *
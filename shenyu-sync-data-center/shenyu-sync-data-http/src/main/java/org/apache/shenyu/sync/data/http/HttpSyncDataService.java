@@ -48,6 +48,8 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -82,6 +84,11 @@ public class HttpSyncDataService implements SyncDataService {
     
     private final OkHttpClient okHttpClient;
 
+    /**
+     * the version of the changes applied, unknown after the whole group is fetched.
+     */
+    private final ConcurrentMap<ConfigGroupEnum, Long> versions = new ConcurrentHashMap<>();
+
     public HttpSyncDataService(final HttpConfig httpConfig,
                                final PluginDataSubscriber pluginDataSubscriber,
                                final OkHttpClient okHttpClient,
@@ -155,6 +162,9 @@ public class HttpSyncDataService implements SyncDataService {
             LOG.warn(message);
             throw new ShenyuException(message, e);
         }
+        for (ConfigGroupEnum group : groups) {
+            versions.remove(group);
+        }
         // update local cache
         boolean updated = this.updateCacheWithJson(json);
         if (updated) {
@@ -167,6 +177,50 @@ public class HttpSyncDataService implements SyncDataService {
     }
 
 
+    /**
+     * fetch the changes of the group since the cached config and apply them.
+     *
+     * @param server the server
+     * @param group  the group
+     * @return false if the changes can not be fetched or applied, the whole group should be fetched.
+     */
+    private boolean doFetchGroupDelta(final String server, final ConfigGroupEnum group) {
+        ConfigData<?> cacheConfig = factory.cacheConfigData(group);
+        if (Objects.isNull(cacheConfig)) {
+            return false;
+        }
+        String url = UriComponentsBuilder.fromHttpUrl(server + Constants.SHENYU_ADMIN_PATH_CONFIGS_DELTA)
+                .queryParam("groupKey", group.name())
+                .queryParam("version", versions.getOrDefault(group, -1L))
+                .queryParam("md5", cacheConfig.getMd5())
+                .build().toUriString();
+        LOG.info("request config delta: [{}]", url);
+        Request request = new Request.Builder().url(url)
+                .addHeader(Constants.X_ACCESS_TOKEN, this.accessTokenManager.getAccessToken())
+                .get()
+                .build();
+        String json;
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            // the server may not support the delta, fetch the whole group instead
+            if (!response.isSuccessful()) {
+                LOG.info("fetch config delta fail from server[{}], http status code[{}]", url, response.code());
+                return false;
+            }
+            ResponseBody responseBody = response.body();
+            Assert.notNull(responseBody, "Resolve response responseBody failed.");
+            json = responseBody.string();
+        } catch (IOException e) {
+            LOG.warn("fetch config delta fail from server[{}], {}", url, e.getMessage());
+            return false;
+        }
+        JsonObject delta = GsonUtils.getGson().fromJson(json, JsonObject.class).getAsJsonObject("data");
+        if (Objects.isNull(delta) || !factory.executorDelta(group, delta)) {
+            return false;
+        }
+        versions.put(group, delta.get("version").getAsLong());
+        return true;
+    }
+
     /**
      * update local cache.
      *
@@ -222,7 +276,13 @@ public class HttpSyncDataService implements SyncDataService {
             // fetch group configuration async.
             ConfigGroupEnum[] changedGroups = GsonUtils.getGson().fromJson(groupJson, ConfigGroupEnum[].class);
             LOG.info("Group config changed: {}", Arrays.toString(changedGroups));
-            this.doFetchGroupConfig(server, changedGroups);
+            // apply the changes only, fall back to the whole group if the changes are no longer kept by the server.
+            ConfigGroupEnum[] fullGroups = Arrays.stream(changedGroups)
+                    .filter(group -> !this.doFetchGroupDelta(server, group))
+                    .toArray(ConfigGroupEnum[]::new);
+            if (fullGroups.length > 0) {
+                this.doFetchGroupConfig(server, fullGroups);
+            }
         }
     }
 
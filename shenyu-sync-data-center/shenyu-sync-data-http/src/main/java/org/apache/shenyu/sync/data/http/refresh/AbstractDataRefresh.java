@@ -17,13 +17,18 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,6 +43,8 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
 
     /**
      * The Group cache.
+     * only the md5 and the last modify time of a group are compared by the polling, so a group refreshed
+     * by a delta keeps no data, the data lives in the subscribers.
      */
     protected static final ConcurrentMap<ConfigGroupEnum, ConfigData<?>> GROUP_CACHE = new ConcurrentHashMap<>();
 
@@ -62,6 +69,14 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
      */
     protected abstract ConfigData<T> fromJson(JsonObject data);
 
+    /**
+     * From json the changed data of a delta.
+     *
+     * @param data the data
+     * @return the changed data
+     */
+    protected abstract List<T> fromJson(JsonArray data);
+
     /**
      * Refresh.
      *
@@ -69,6 +84,20 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
      */
     protected abstract void refresh(List<T> data);
 
+    /**
+     * Do update the created or updated data of a delta.
+     *
+     * @param data the data
+     */
+    protected abstract void doUpdate(List<T> data);
+
+    /**
+     * Do delete the deleted data of a delta.
+     *
+     * @param data the data
+     */
+    protected abstract void doDelete(List<T> data);
+
     @Override
     public Boolean refresh(final JsonObject data) {
         JsonObject jsonObject = convert(data);
@@ -86,6 +115,35 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
         return updated;
     }
 
+    @Override
+    public Boolean refreshDelta(final ConfigGroupEnum groupEnum, final JsonObject delta) {
+        ConfigData<?> oldVal = GROUP_CACHE.get(groupEnum);
+        if (Objects.isNull(oldVal) || delta.get("full").getAsBoolean()) {
+            return false;
+        }
+        String md5 = delta.get("md5").getAsString();
+        if (StringUtils.equals(oldVal.getMd5(), md5)) {
+            return true;
+        }
+        for (JsonElement element : delta.getAsJsonArray("changes")) {
+            JsonObject change = element.getAsJsonObject();
+            List<T> data = fromJson(change.getAsJsonArray("data"));
+            if (CollectionUtils.isEmpty(data)) {
+                continue;
+            }
+            if (DataEventTypeEnum.DELETE == DataEventTypeEnum.acquireByName(change.get("eventType").getAsString())) {
+                doDelete(data);
+            } else {
+                doUpdate(data);
+            }
+        }
+        // the changed data has been applied to the subscribers, the cache keeps the md5 and last modify time only
+        ConfigData<T> newVal = new ConfigData<>(md5, delta.get("lastModifyTime").getAsLong(), Collections.emptyList());
+        GROUP_CACHE.put(groupEnum, newVal);
+        LOG.info("update {} config by delta: {}", groupEnum, newVal);
+        return true;
+    }
+
     /**
      * Update cache if need boolean.
      *
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
@@ -57,6 +58,12 @@ public class AppAuthDataRefresh extends AbstractDataRefresh<AppAuthData> {
         }.getType());
     }
 
+    @Override
+    protected List<AppAuthData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<AppAuthData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<AppAuthData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.APP_AUTH);
@@ -76,4 +83,14 @@ public class AppAuthDataRefresh extends AbstractDataRefresh<AppAuthData> {
             data.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(authData)));
         }
     }
+
+    @Override
+    protected void doUpdate(final List<AppAuthData> data) {
+        data.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(authData)));
+    }
+
+    @Override
+    protected void doDelete(final List<AppAuthData> data) {
+        data.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(authData)));
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.shenyu.sync.data.http.refresh;
 
 import com.google.gson.JsonObject;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
 
 /**
  * The interface Data refresh.
@@ -33,8 +34,18 @@ public interface DataRefresh {
      */
     Boolean refresh(JsonObject data);
 
+    /**
+     * Apply the changes since the cached config.
+     *
+     * @param groupEnum the group enum
+     * @param delta     the delta
+     * @return false if the changes can not be applied and the whole group should be fetched
+     */
+    Boolean refreshDelta(ConfigGroupEnum groupEnum, JsonObject delta);
+
     /**
      * Cache config data config data.
+     * the data is empty once the group is refreshed by a delta, only the md5 and the last modify time are kept.
      *
      * @return the config data
      */
@@ -72,6 +72,17 @@ public final class DataRefreshFactory {
         return result.stream().anyMatch(Boolean.TRUE::equals);
     }
 
+    /**
+     * Executor the delta of a group.
+     *
+     * @param group the group
+     * @param delta the delta
+     * @return false if the whole group should be fetched
+     */
+    public boolean executorDelta(final ConfigGroupEnum group, final JsonObject delta) {
+        return Boolean.TRUE.equals(ENUM_MAP.get(group).refreshDelta(group, delta));
+    }
+
     /**
      * Cache config data.
      *
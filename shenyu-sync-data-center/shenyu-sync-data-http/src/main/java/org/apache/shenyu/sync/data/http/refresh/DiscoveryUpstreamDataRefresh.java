@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
@@ -60,6 +61,12 @@ public class DiscoveryUpstreamDataRefresh extends AbstractDataRefresh<DiscoveryS
         data.forEach(d -> discoveryUpstreamDataSubscribers.forEach(dus -> dus.onSubscribe(d)));
     }
 
+    @Override
+    protected List<DiscoverySyncData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<DiscoverySyncData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<DiscoverySyncData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.DISCOVER_UPSTREAM);
@@ -67,7 +74,16 @@ public class DiscoveryUpstreamDataRefresh extends AbstractDataRefresh<DiscoveryS
 
     @Override
     public ConfigData<?> cacheConfigData() {
-        return GROUP_CACHE.get(ConfigGroupEnum.PROXY_SELECTOR);
+        return GROUP_CACHE.get(ConfigGroupEnum.DISCOVER_UPSTREAM);
+    }
+
+    @Override
+    protected void doUpdate(final List<DiscoverySyncData> data) {
+        data.forEach(d -> discoveryUpstreamDataSubscribers.forEach(dus -> dus.onSubscribe(d)));
     }
 
+    @Override
+    protected void doDelete(final List<DiscoverySyncData> data) {
+        data.forEach(d -> discoveryUpstreamDataSubscribers.forEach(dus -> dus.unSubscribe(d)));
+    }
 }
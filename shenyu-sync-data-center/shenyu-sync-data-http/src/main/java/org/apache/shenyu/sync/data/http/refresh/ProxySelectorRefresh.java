@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
@@ -60,6 +61,12 @@ public class ProxySelectorRefresh extends AbstractDataRefresh<ProxySelectorData>
         data.forEach(d -> proxySelectorDataSubscribers.forEach(pss -> pss.onSubscribe(d)));
     }
 
+    @Override
+    protected List<ProxySelectorData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<ProxySelectorData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<ProxySelectorData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.PROXY_SELECTOR);
@@ -70,4 +77,13 @@ public class ProxySelectorRefresh extends AbstractDataRefresh<ProxySelectorData>
         return GROUP_CACHE.get(ConfigGroupEnum.PROXY_SELECTOR);
     }
 
+    @Override
+    protected void doUpdate(final List<ProxySelectorData> data) {
+        data.forEach(d -> proxySelectorDataSubscribers.forEach(pss -> pss.onSubscribe(d)));
+    }
+
+    @Override
+    protected void doDelete(final List<ProxySelectorData> data) {
+        data.forEach(d -> proxySelectorDataSubscribers.forEach(pss -> pss.unSubscribe(d)));
+    }
 }
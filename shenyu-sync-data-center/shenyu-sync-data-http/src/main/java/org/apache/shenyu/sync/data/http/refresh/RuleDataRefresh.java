@@ -17,9 +17,11 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
@@ -57,6 +59,12 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
         }.getType());
     }
 
+    @Override
+    protected List<RuleData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<RuleData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<RuleData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.RULE);
@@ -71,12 +79,18 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
     protected void refresh(final List<RuleData> data) {
         if (CollectionUtils.isEmpty(data)) {
             LOG.info("clear all rule cache, old cache");
-            data.forEach(pluginDataSubscriber::unRuleSubscribe);
-            pluginDataSubscriber.refreshRuleDataAll();
-        } else {
-            // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshRuleDataAll();
-            data.forEach(pluginDataSubscriber::onRuleSubscribe);
         }
+        // update cache for UpstreamCacheManager
+        pluginDataSubscriber.replaceRuleDataAll(ListUtils.emptyIfNull(data));
+    }
+
+    @Override
+    protected void doUpdate(final List<RuleData> data) {
+        data.forEach(pluginDataSubscriber::onRuleSubscribe);
+    }
+
+    @Override
+    protected void doDelete(final List<RuleData> data) {
+        data.forEach(pluginDataSubscriber::unRuleSubscribe);
     }
 }
@@ -17,9 +17,11 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
@@ -57,6 +59,12 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
         }.getType());
     }
 
+    @Override
+    protected List<SelectorData> fromJson(final JsonArray data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<List<SelectorData>>() {
+        }.getType());
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<SelectorData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.SELECTOR);
@@ -71,12 +79,18 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
     protected void refresh(final List<SelectorData> data) {
         if (CollectionUtils.isEmpty(data)) {
             LOG.info("clear all selector cache, old cache");
-            data.forEach(pluginDataSubscriber::unSelectorSubscribe);
-            pluginDataSubscriber.refreshSelectorDataAll();
-        } else {
-            // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshSelectorDataAll();
-            data.forEach(pluginDataSubscriber::onSelectorSubscribe);
         }
+        // update cache for UpstreamCacheManager
+        pluginDataSubscriber.replaceSelectorDataAll(ListUtils.emptyIfNull(data));
+    }
+
+    @Override
+    protected void doUpdate(final List<SelectorData> data) {
+        data.forEach(pluginDataSubscriber::onSelectorSubscribe);
+    }
+
+    @Override
+    protected void doDelete(final List<SelectorData> data) {
+        data.forEach(pluginDataSubscriber::unSelectorSubscribe);
     }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.dto.PluginData;
@@ -28,6 +29,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -78,4 +81,50 @@ public final class SelectorDataRefreshTest {
         selectorDataList.add(selectorData);
         selectorDataRefresh.refresh(selectorDataList);
     }
+
+    @Test
+    public void testRefreshDelta() {
+        final List<SelectorData> updated = new ArrayList<>();
+        final List<SelectorData> deleted = new ArrayList<>();
+        final SelectorDataRefresh selectorDataRefresh = new SelectorDataRefresh(new PluginDataSubscriber() {
+            @Override
+            public void onSelectorSubscribe(final SelectorData selectorData) {
+                updated.add(selectorData);
+            }
+
+            @Override
+            public void unSelectorSubscribe(final SelectorData selectorData) {
+                deleted.add(selectorData);
+            }
+        });
+        selectorDataRefresh.updateCacheIfNeed(new ConfigData<>("md5-0", 1L, Collections.emptyList()));
+        JsonObject delta = new JsonObject();
+        delta.addProperty("md5", "md5-2");
+        delta.addProperty("lastModifyTime", 2L);
+        delta.addProperty("full", false);
+        JsonArray changes = new JsonArray();
+        changes.add(change("UPDATE", SelectorData.builder().id("1").build()));
+        changes.add(change("DELETE", SelectorData.builder().id("2").build()));
+        delta.add("changes", changes);
+        assertTrue(selectorDataRefresh.refreshDelta(ConfigGroupEnum.SELECTOR, delta));
+        assertThat(updated.get(0).getId(), is("1"));
+        assertThat(deleted.get(0).getId(), is("2"));
+        assertThat(selectorDataRefresh.cacheConfigData().getMd5(), is("md5-2"));
+        assertThat(selectorDataRefresh.cacheConfigData().getLastModifyTime(), is(2L));
+        // the cache keeps the md5 only, the data lives in the subscribers
+        assertTrue(selectorDataRefresh.cacheConfigData().getData().isEmpty());
+        // a later full fetch still replaces the md5 only cache
+        ConfigData<SelectorData> full = new ConfigData<>("md5-3", 3L, Collections.singletonList(SelectorData.builder().id("1").build()));
+        assertTrue(selectorDataRefresh.updateCacheIfNeed(full));
+        assertThat(selectorDataRefresh.cacheConfigData(), is(full));
+        delta.addProperty("full", true);
+        assertFalse(selectorDataRefresh.refreshDelta(ConfigGroupEnum.SELECTOR, delta));
+    }
+
+    private static JsonObject change(final String eventType, final SelectorData selectorData) {
+        JsonObject change = new JsonObject();
+        change.addProperty("eventType", eventType);
+        change.add("data", GsonUtils.getGson().toJsonTree(Collections.singletonList(selectorData)));
+        return change;
+    }
 }
@@ -23,6 +23,8 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.instrument.PluginInstrumentation;
+import org.apache.shenyu.plugin.api.instrument.PluginStats;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.MatchDataCache;
@@ -160,5 +162,14 @@ public class ShenyuControllerEndpoint {
         ShenyuTrie ruleTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.RULE.getTrieType());
         return Flux.just(ruleTrie.getKeyRootKeys());
     }
-
+    
+    /**
+     * get the plugin stats recorded when the plugin chain instrumentation is enabled.
+     *
+     * @return the plugin stats by plugin name
+     */
+    @GetMapping("/pluginStats")
+    public Flux<Map<String, PluginStats>> getPluginStats() {
+        return Flux.just(PluginInstrumentation.getInstance().getStats());
+    }
 }
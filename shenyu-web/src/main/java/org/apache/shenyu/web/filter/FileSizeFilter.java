@@ -17,53 +17,42 @@
 
 package org.apache.shenyu.web.filter;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
-import org.apache.shenyu.plugin.base.support.BodyInserterContext;
-import org.apache.shenyu.plugin.base.support.CachedBodyOutputMessage;
-import org.apache.shenyu.plugin.base.utils.ResponseUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ReactiveHttpOutputMessage;
-import org.springframework.http.codec.HttpMessageReader;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.NonNull;
-import org.springframework.web.reactive.function.BodyInserter;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.server.HandlerStrategies;
-import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-import java.util.function.Function;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The type File size filter.
+ * the multipart body is counted while it is streamed to the downstream instead of being aggregated,
+ * the request is rejected by its content length up front, or as soon as the streamed bytes cross the limit.
  */
 public class FileSizeFilter implements WebFilter {
     private static final Logger LOG = LoggerFactory.getLogger(FileSizeFilter.class);
 
-    private final int fileMaxSize;
-
-    private final List<HttpMessageReader<?>> messageReaders;
+    private final long fileMaxBytes;
 
     public FileSizeFilter(final int fileMaxSize) {
-        HandlerStrategies handlerStrategies = HandlerStrategies.builder().codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(-1)).build();
-        this.messageReaders = handlerStrategies.messageReaders();
-        this.fileMaxSize = fileMaxSize;
+        this.fileMaxBytes = (long) Constants.BYTES_PER_MB * fileMaxSize;
     }
 
     @Override
@@ -71,41 +60,85 @@ public class FileSizeFilter implements WebFilter {
     public Mono<Void> filter(@NonNull final ServerWebExchange exchange, @NonNull final WebFilterChain chain) {
         MediaType mediaType = exchange.getRequest().getHeaders().getContentType();
         if (MediaType.MULTIPART_FORM_DATA.isCompatibleWith(mediaType)) {
-            ServerRequest serverRequest = ServerRequest.create(exchange,
-                    messageReaders);
-            return serverRequest.bodyToMono(DataBuffer.class)
-                    .flatMap(dataBuffer -> {
-                        if (dataBuffer.capacity() > Constants.BYTES_PER_MB * fileMaxSize) {
-                            ServerHttpResponse response = exchange.getResponse();
-                            response.setStatusCode(HttpStatus.BAD_REQUEST);
-                            Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.PAYLOAD_TOO_LARGE);
-                            LOG.info("The file size exceeds the limit. The actual size is {}M , response:{}", dataBuffer.capacity() / Constants.BYTES_PER_MB, error);
-                            return WebFluxResultUtils.result(exchange, error);
+            long contentLength = exchange.getRequest().getHeaders().getContentLength();
+            if (contentLength > fileMaxBytes) {
+                return reject(exchange, contentLength);
+            }
+            return chain.filter(exchange.mutate().request(decorate(exchange)).build())
+                    .onErrorResume(e -> {
+                        // the http client and its failover wrap the error of the body
+                        FileSizeExceededException exceeded = ExceptionUtils.throwableOfType(e, FileSizeExceededException.class);
+                        if (Objects.isNull(exceeded) || exchange.getResponse().isCommitted()) {
+                            return Mono.error(e);
                         }
-                        BodyInserter<Mono<DataBuffer>, ReactiveHttpOutputMessage> bodyInsert = BodyInserters.fromPublisher(Mono.just(dataBuffer), DataBuffer.class);
-                        HttpHeaders headers = new HttpHeaders();
-                        headers.putAll(exchange.getRequest().getHeaders());
-                        headers.remove(HttpHeaders.CONTENT_LENGTH);
-                        CachedBodyOutputMessage outputMessage = new CachedBodyOutputMessage(
-                                exchange, headers);
-                        return bodyInsert.insert(outputMessage, new BodyInserterContext())
-                                .then(Mono.defer(() -> {
-                                    ServerHttpRequest decorator = decorate(exchange, outputMessage);
-                                    return chain.filter(exchange.mutate().request(decorator).build());
-                                })).doFinally(signalType -> DataBufferUtils.release(dataBuffer))
-                                .onErrorResume((Function<Throwable, Mono<Void>>) throwable -> ResponseUtils.release(outputMessage, throwable));
+                        return reject(exchange, exceeded.getSize());
                     });
         }
         return chain.filter(exchange);
 
     }
 
-    private ServerHttpRequestDecorator decorate(final ServerWebExchange exchange, final CachedBodyOutputMessage outputMessage) {
+    private Mono<Void> reject(final ServerWebExchange exchange, final long size) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.BAD_REQUEST);
+        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.PAYLOAD_TOO_LARGE);
+        LOG.info("The file size exceeds the limit. The actual size is at least {}M , response:{}", size / Constants.BYTES_PER_MB, error);
+        return WebFluxResultUtils.result(exchange, error);
+    }
+
+    private ServerHttpRequestDecorator decorate(final ServerWebExchange exchange) {
         return new ServerHttpRequestDecorator(exchange.getRequest()) {
             @Override
+            @NonNull
             public Flux<DataBuffer> getBody() {
-                return outputMessage.getBody();
+                return limit(super.getBody());
             }
         };
     }
+
+    private Flux<DataBuffer> limit(final Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            AtomicLong size = new AtomicLong();
+            return body.handle((dataBuffer, sink) -> {
+                // the buffers pass through untouched, only their sizes are summed
+                long total = size.addAndGet(dataBuffer.readableByteCount());
+                if (total > fileMaxBytes) {
+                    DataBufferUtils.release(dataBuffer);
+                    sink.error(new FileSizeExceededException(total));
+                    return;
+                }
+                sink.next(dataBuffer);
+            });
+        });
+    }
+
+    /**
+     * The streamed body crossed the limit, it has no stack trace as it is an expected rejection.
+     * it is a {@link DataBufferLimitException} so that the http client does not resend the request to another upstream.
+     */
+    static final class FileSizeExceededException extends DataBufferLimitException {
+
+        private static final long serialVersionUID = -2389327432906218946L;
+
+        private final long size;
+
+        FileSizeExceededException(final long size) {
+            super("The file size exceeds the limit");
+            this.size = size;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+        /**
+         * Gets the size read when the limit is crossed.
+         *
+         * @return the size
+         */
+        long getSize() {
+            return size;
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.instrument.PluginInstrumentation;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.PluginHandlerEvent;
 import org.apache.shenyu.web.loader.ShenyuLoaderService;
@@ -66,6 +67,8 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
 
     private final boolean scheduled;
 
+    private final boolean instrumented;
+
     private Scheduler scheduler;
     
     /**
@@ -88,6 +91,8 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                 this.scheduler = Schedulers.boundedElastic();
             }
         }
+        this.instrumented = shenyuConfig.getInstrumentation().getEnabled();
+        PluginInstrumentation.getInstance().setEnabled(instrumented);
     }
 
     /**
@@ -98,7 +103,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
      */
     @Override
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
-        Mono<Void> execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
+        Mono<Void> execute = new DefaultShenyuPluginChain(plugins, instrumented).execute(exchange);
         if (scheduled) {
             return execute.subscribeOn(scheduler);
         }
@@ -241,14 +246,26 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         private int index;
 
         private final List<ShenyuPlugin> plugins;
+
+        /**
+         * the downstream time of every plugin when instrumented, null otherwise.
+         */
+        private final long[] downstreamNanos;
+
+        /**
+         * the index of the executing plugin, which is the caller of the downstream plugin.
+         */
+        private int executing = -1;
     
         /**
          * Instantiates a new Default shenyu plugin chain.
          *
          * @param plugins the plugins
+         * @param instrumented whether to record the self time and skips of the plugins
          */
-        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins) {
+        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins, final boolean instrumented) {
             this.plugins = plugins;
+            this.downstreamNanos = instrumented ? new long[plugins.size()] : null;
         }
 
         /**
@@ -261,11 +278,18 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         public Mono<Void> execute(final ServerWebExchange exchange) {
             return Mono.defer(() -> {
                 if (this.index < plugins.size()) {
-                    ShenyuPlugin plugin = plugins.get(this.index++);
+                    int current = this.index++;
+                    ShenyuPlugin plugin = plugins.get(current);
                     boolean skip = plugin.skip(exchange);
                     if (skip) {
+                        if (Objects.nonNull(downstreamNanos)) {
+                            PluginInstrumentation.getInstance().recordSkip(plugin.named());
+                        }
                         return this.execute(exchange);
                     }
+                    if (Objects.nonNull(downstreamNanos)) {
+                        return instrumentedExecute(exchange, plugin, current);
+                    }
                     try {
                         plugin.before(exchange);
                         return plugin.execute(exchange, this);
@@ -276,5 +300,29 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                 return Mono.empty();
             });
         }
+
+        private Mono<Void> instrumentedExecute(final ServerWebExchange exchange, final ShenyuPlugin plugin, final int current) {
+            final int caller = this.executing;
+            final long start = System.nanoTime();
+            this.executing = current;
+            Mono<Void> execute;
+            try {
+                plugin.before(exchange);
+                execute = plugin.execute(exchange, this);
+            } finally {
+                plugin.after(exchange);
+            }
+            // on terminate rather than finally, so the downstream plugin is measured before its caller
+            Runnable finish = () -> {
+                // the self time is the whole time of the plugin minus the time of the plugins it called
+                long total = System.nanoTime() - start;
+                PluginInstrumentation.getInstance().recordSelfTime(plugin.named(), total - downstreamNanos[current]);
+                if (caller >= 0) {
+                    downstreamNanos[caller] += total;
+                }
+                this.executing = caller;
+            };
+            return execute.doOnTerminate(finish).doOnCancel(finish);
+        }
     }
 }
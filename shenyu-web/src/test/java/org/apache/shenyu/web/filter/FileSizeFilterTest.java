@@ -17,28 +17,37 @@
 
 package org.apache.shenyu.web.filter;
 
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
-import org.apache.shenyu.plugin.base.support.CachedBodyOutputMessage;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
@@ -110,11 +119,72 @@ public final class FileSizeFilterTest {
                         .contentType(MediaType.TEXT_PLAIN)
                         .contentLength(4)
                         .body("test"));
-        FileSizeFilter fileSizeFilterError = new FileSizeFilter(1);
-        Method declaredMethod = FileSizeFilter.class.getDeclaredMethod("decorate", ServerWebExchange.class, CachedBodyOutputMessage.class);
-        CachedBodyOutputMessage cachedBodyOutputMessage = mock(CachedBodyOutputMessage.class);
+        FileSizeFilter fileSizeFilter = new FileSizeFilter(1);
+        Method declaredMethod = FileSizeFilter.class.getDeclaredMethod("decorate", ServerWebExchange.class);
         declaredMethod.setAccessible(true);
-        ServerHttpRequestDecorator decorator = (ServerHttpRequestDecorator) declaredMethod.invoke(fileSizeFilterError, webExchangeTextPlain, cachedBodyOutputMessage);
-        Assertions.assertEquals(decorator.getBody(), cachedBodyOutputMessage.getBody());
+        ServerHttpRequestDecorator decorator = (ServerHttpRequestDecorator) declaredMethod.invoke(fileSizeFilter, webExchangeTextPlain);
+        StepVerifier.create(DataBufferUtils.join(decorator.getBody()).map(dataBuffer -> dataBuffer.toString(StandardCharsets.UTF_8)))
+                .expectNext("test")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testRejectByContentLength() {
+        ServerWebExchange webExchange =
+                MockServerWebExchange.from(MockServerHttpRequest
+                        .post("http://localhost:8080")
+                        .contentType(MediaType.MULTIPART_FORM_DATA)
+                        .contentLength(Constants.BYTES_PER_MB + 1)
+                        .body("test"));
+        WebFilterChain webFilterChain = mock(WebFilterChain.class);
+
+        StepVerifier.create(new FileSizeFilter(1).filter(webExchange, webFilterChain)).expectSubscription().verifyComplete();
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, webExchange.getResponse().getStatusCode());
+        verify(webFilterChain, never()).filter(any());
+    }
+
+    @Test
+    public void testRejectWhileStreaming() {
+        DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+        byte[] chunk = new byte[Constants.BYTES_PER_MB / 2];
+        ServerWebExchange webExchange =
+                MockServerWebExchange.from(MockServerHttpRequest
+                        .post("http://localhost:8080")
+                        .contentType(MediaType.MULTIPART_FORM_DATA)
+                        .body(Flux.range(0, 4).map(i -> bufferFactory.wrap(chunk))));
+        AtomicInteger received = new AtomicInteger();
+        WebFilterChain webFilterChain = exchange -> exchange.getRequest().getBody()
+                .doOnNext(dataBuffer -> received.incrementAndGet())
+                .then();
+
+        StepVerifier.create(new FileSizeFilter(1).filter(webExchange, webFilterChain)).expectSubscription().verifyComplete();
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, webExchange.getResponse().getStatusCode());
+        Assertions.assertEquals(2, received.get());
+    }
+
+    @Test
+    public void testRejectThroughRetryingChain() {
+        DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+        byte[] chunk = new byte[Constants.BYTES_PER_MB / 2];
+        ServerWebExchange webExchange =
+                MockServerWebExchange.from(MockServerHttpRequest
+                        .post("http://localhost:8080")
+                        .contentType(MediaType.MULTIPART_FORM_DATA)
+                        .body(Flux.range(0, 4).map(i -> bufferFactory.wrap(chunk))));
+        AtomicInteger attempts = new AtomicInteger();
+        // the http client wraps the body error, and its failover resends and maps what is left to a 503
+        WebFilterChain webFilterChain = exchange -> {
+            Mono<Void> send = Mono.defer(() -> {
+                attempts.incrementAndGet();
+                return exchange.getRequest().getBody().then()
+                        .onErrorMap(e -> new IllegalStateException("write the request body failed", e));
+            });
+            return send.retry(1)
+                    .onErrorMap(e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e));
+        };
+
+        StepVerifier.create(new FileSizeFilter(1).filter(webExchange, webFilterChain)).expectSubscription().verifyComplete();
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, webExchange.getResponse().getStatusCode());
+        Assertions.assertEquals(2, attempts.get());
     }
 }
@@ -24,6 +24,8 @@ import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.instrument.PluginInstrumentation;
+import org.apache.shenyu.plugin.api.instrument.PluginStats;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.PluginHandlerEvent;
 import org.apache.shenyu.web.loader.ShenyuLoaderService;
@@ -40,9 +42,11 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -110,6 +114,37 @@ public final class ShenyuWebHandlerTest {
         assertNotNull(handle2);
     }
 
+    @Test
+    public void instrumentedTest() {
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .remoteAddress(new InetSocketAddress(8090))
+                .build());
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getInstrumentation().setEnabled(true);
+        PluginInstrumentation.getInstance().reset();
+        // warm up the timer scheduler
+        Mono.delay(Duration.ofMillis(1)).block();
+        List<ShenyuPlugin> plugins = new ArrayList<>();
+        plugins.add(new DelayPlugin("delay-before", 30, true));
+        plugins.add(plugin2);
+        plugins.add(new DelayPlugin("delay-terminal", 50, false));
+        try {
+            ShenyuWebHandler instrumented = new ShenyuWebHandler(plugins, shenyuLoaderService, shenyuConfig);
+            StepVerifier.create(instrumented.handle(exchange)).expectSubscription().verifyComplete();
+            Map<String, PluginStats> stats = PluginInstrumentation.getInstance().getStats();
+            PluginStats before = stats.get("delay-before");
+            assertEquals(1, before.getExecutions());
+            // the downstream 50ms is excluded
+            assertTrue(before.getSelfTimeMaxMicros() >= 30_000 && before.getSelfTimeMaxMicros() < 50_000);
+            assertTrue(stats.get("delay-terminal").getSelfTimeMaxMicros() >= 50_000);
+            assertEquals(1, stats.get("test-plugin2").getSkips());
+            assertEquals(0, stats.get("test-plugin2").getExecutions());
+        } finally {
+            PluginInstrumentation.getInstance().setEnabled(false);
+            PluginInstrumentation.getInstance().reset();
+        }
+    }
+
     @Test
     public void testOnApplicationEvent() {
         PluginData pluginData1 = PluginData.builder().id("1")
@@ -176,6 +211,37 @@ public final class ShenyuWebHandlerTest {
         }
     }
 
+    static class DelayPlugin implements ShenyuPlugin {
+
+        private final String name;
+
+        private final long delayMillis;
+
+        private final boolean next;
+
+        DelayPlugin(final String name, final long delayMillis, final boolean next) {
+            this.name = name;
+            this.delayMillis = delayMillis;
+            this.next = next;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            Mono<Void> delay = Mono.delay(Duration.ofMillis(delayMillis)).then();
+            return next ? delay.then(chain.execute(exchange)) : delay;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return name;
+        }
+    }
+
     static class TestPlugin2 implements ShenyuPlugin {
 
         @Override